@@ -1,13 +1,86 @@
 package com.micatechnologies.micautils_j8;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Comparator;
+
 /**
  * Tool/utility class for working with byte arrays.
  *
- * @version 1.0.0
+ * @version 1.1.0
  * @since 1.0.0
  */
 public class ByteArrayTool {
 
+  /**
+   * The comparator returned by {@link #lexicographicalComparator()}.
+   *
+   * @since 1.1.0
+   */
+  private static final Comparator<byte[]> LEXICOGRAPHICAL_COMPARATOR = ByteArrayTool::compare;
+
+  /**
+   * The lowercase hexadecimal digits, indexed by nibble value.
+   *
+   * @since 1.1.0
+   */
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  /**
+   * The nibble value of each ASCII character, or {@code -1} if the character is not a hexadecimal
+   * digit.
+   *
+   * @since 1.1.0
+   */
+  private static final byte[] HEX_VALUES = new byte[128];
+
+  static {
+    Arrays.fill(HEX_VALUES, (byte) -1);
+    for (int i = 0; i < 10; i++) {
+      HEX_VALUES['0' + i] = (byte) i;
+    }
+    for (int i = 0; i < 6; i++) {
+      HEX_VALUES['a' + i] = (byte) (10 + i);
+      HEX_VALUES['A' + i] = (byte) (10 + i);
+    }
+  }
+
+  /**
+   * The first xxHash64 prime constant.
+   *
+   * @since 1.1.0
+   */
+  private static final long PRIME64_1 = 0x9E3779B185EBCA87L;
+
+  /**
+   * The second xxHash64 prime constant.
+   *
+   * @since 1.1.0
+   */
+  private static final long PRIME64_2 = 0xC2B2AE3D27D4EB4FL;
+
+  /**
+   * The third xxHash64 prime constant.
+   *
+   * @since 1.1.0
+   */
+  private static final long PRIME64_3 = 0x165667B19E3779F9L;
+
+  /**
+   * The fourth xxHash64 prime constant.
+   *
+   * @since 1.1.0
+   */
+  private static final long PRIME64_4 = 0x85EBCA77C2B2AE63L;
+
+  /**
+   * The fifth xxHash64 prime constant.
+   *
+   * @since 1.1.0
+   */
+  private static final long PRIME64_5 = 0x27D4EB2F165667C5L;
+
   /**
    * Gets the byte array representation (2 bytes) of a char value in standard
    * (non-reversed/big-endian) order.
@@ -216,6 +289,191 @@ public class ByteArrayTool {
     };
   }
 
+  /**
+   * Gets the order-preserving byte array representation (4 bytes) of an int value in standard
+   * (non-reversed/big-endian) order. The sign bit is flipped so that the unsigned lexicographic
+   * order of the resulting byte arrays matches the numeric order of the int values.
+   *
+   * @param value the int value to be converted.
+   *
+   * @return the order-preserving byte array representation (4 bytes) of the int value.
+   *
+   * @since 1.1.0
+   */
+  public static byte[] fromIntSortable(int value) {
+    return fromInt(value ^ Integer.MIN_VALUE);
+  }
+
+  /**
+   * Gets the order-preserving byte array representation (4 bytes) of an int value in reversed
+   * (little-endian) order.
+   *
+   * @param value the int value to be converted.
+   *
+   * @return the reversed order-preserving byte array representation (4 bytes) of the int value.
+   *
+   * @see #fromIntSortable(int)
+   * @since 1.1.0
+   */
+  public static byte[] fromIntSortableReversed(int value) {
+    return fromIntReversed(value ^ Integer.MIN_VALUE);
+  }
+
+  /**
+   * Gets the order-preserving byte array representation (8 bytes) of a long value in standard
+   * (non-reversed/big-endian) order. The sign bit is flipped so that the unsigned lexicographic
+   * order of the resulting byte arrays matches the numeric order of the long values.
+   *
+   * @param value the long value to be converted.
+   *
+   * @return the order-preserving byte array representation (8 bytes) of the long value.
+   *
+   * @since 1.1.0
+   */
+  public static byte[] fromLongSortable(long value) {
+    return fromLong(value ^ Long.MIN_VALUE);
+  }
+
+  /**
+   * Gets the order-preserving byte array representation (8 bytes) of a long value in reversed
+   * (little-endian) order.
+   *
+   * @param value the long value to be converted.
+   *
+   * @return the reversed order-preserving byte array representation (8 bytes) of the long value.
+   *
+   * @see #fromLongSortable(long)
+   * @since 1.1.0
+   */
+  public static byte[] fromLongSortableReversed(long value) {
+    return fromLongReversed(value ^ Long.MIN_VALUE);
+  }
+
+  /**
+   * Gets the order-preserving bits of a float value. Positive values have their sign bit flipped
+   * and negative values have all of their bits flipped, so that the unsigned order of the resulting
+   * bits matches the numeric order of the float values. Negative zero orders before positive zero,
+   * and all NaN values are collapsed to the canonical NaN, which orders after positive infinity.
+   *
+   * @param value the float value to be converted.
+   *
+   * @return the order-preserving bits of the float value, to be compared as unsigned.
+   *
+   * @since 1.1.0
+   */
+  public static int toSortableBits(float value) {
+    int bits = Float.floatToIntBits(value);
+    return bits ^ ((bits >> 31) | Integer.MIN_VALUE);
+  }
+
+  /**
+   * Gets the float value represented by the specified order-preserving bits, as produced by
+   * {@link #toSortableBits(float)}.
+   *
+   * @param sortableBits the order-preserving bits.
+   *
+   * @return the float value.
+   *
+   * @since 1.1.0
+   */
+  public static float fromSortableBits(int sortableBits) {
+    return Float.intBitsToFloat(sortableBits ^ ((~sortableBits >> 31) | Integer.MIN_VALUE));
+  }
+
+  /**
+   * Gets the order-preserving bits of a double value. Positive values have their sign bit flipped
+   * and negative values have all of their bits flipped, so that the unsigned order of the resulting
+   * bits matches the numeric order of the double values. Negative zero orders before positive
+   * zero, and all NaN values are collapsed to the canonical NaN, which orders after positive
+   * infinity.
+   *
+   * @param value the double value to be converted.
+   *
+   * @return the order-preserving bits of the double value, to be compared as unsigned.
+   *
+   * @since 1.1.0
+   */
+  public static long toSortableBits(double value) {
+    long bits = Double.doubleToLongBits(value);
+    return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+  }
+
+  /**
+   * Gets the double value represented by the specified order-preserving bits, as produced by
+   * {@link #toSortableBits(double)}.
+   *
+   * @param sortableBits the order-preserving bits.
+   *
+   * @return the double value.
+   *
+   * @since 1.1.0
+   */
+  public static double fromSortableBits(long sortableBits) {
+    return Double.longBitsToDouble(sortableBits ^ ((~sortableBits >> 63) | Long.MIN_VALUE));
+  }
+
+  /**
+   * Gets the order-preserving byte array representation (4 bytes) of a float value in standard
+   * (non-reversed/big-endian) order. The unsigned lexicographic order of the resulting byte arrays
+   * matches the numeric order of the float values.
+   *
+   * @param value the float value to be converted.
+   *
+   * @return the order-preserving byte array representation (4 bytes) of the float value.
+   *
+   * @see #toSortableBits(float)
+   * @since 1.1.0
+   */
+  public static byte[] fromFloatSortable(float value) {
+    return fromInt(toSortableBits(value));
+  }
+
+  /**
+   * Gets the order-preserving byte array representation (4 bytes) of a float value in reversed
+   * (little-endian) order.
+   *
+   * @param value the float value to be converted.
+   *
+   * @return the reversed order-preserving byte array representation (4 bytes) of the float value.
+   *
+   * @see #fromFloatSortable(float)
+   * @since 1.1.0
+   */
+  public static byte[] fromFloatSortableReversed(float value) {
+    return fromIntReversed(toSortableBits(value));
+  }
+
+  /**
+   * Gets the order-preserving byte array representation (8 bytes) of a double value in standard
+   * (non-reversed/big-endian) order. The unsigned lexicographic order of the resulting byte arrays
+   * matches the numeric order of the double values.
+   *
+   * @param value the double value to be converted.
+   *
+   * @return the order-preserving byte array representation (8 bytes) of the double value.
+   *
+   * @see #toSortableBits(double)
+   * @since 1.1.0
+   */
+  public static byte[] fromDoubleSortable(double value) {
+    return fromLong(toSortableBits(value));
+  }
+
+  /**
+   * Gets the order-preserving byte array representation (8 bytes) of a double value in reversed
+   * (little-endian) order.
+   *
+   * @param value the double value to be converted.
+   *
+   * @return the reversed order-preserving byte array representation (8 bytes) of the double value.
+   *
+   * @see #fromDoubleSortable(double)
+   * @since 1.1.0
+   */
+  public static byte[] fromDoubleSortableReversed(double value) {
+    return fromLongReversed(toSortableBits(value));
+  }
+
   /**
    * Gets the reversed representation of a byte array.
    *
@@ -232,4 +490,1172 @@ public class ByteArrayTool {
     }
     return reversed;
   }
+
+  /**
+   * Encodes a signed int value using ZigZag encoding, which maps signed values to unsigned values
+   * so that numbers with a small absolute value (positive or negative) have a small encoded value.
+   * For example, {@code 0 -> 0}, {@code -1 -> 1}, {@code 1 -> 2}, {@code -2 -> 3}.
+   *
+   * @param value the signed int value to be encoded.
+   *
+   * @return the ZigZag encoded value, to be interpreted as an unsigned int.
+   *
+   * @since 1.1.0
+   */
+  public static int encodeZigZag(int value) {
+    return (value << 1) ^ (value >> 31);
+  }
+
+  /**
+   * Decodes an int value which was encoded using {@link #encodeZigZag(int)}.
+   *
+   * @param value the ZigZag encoded value.
+   *
+   * @return the decoded signed int value.
+   *
+   * @since 1.1.0
+   */
+  public static int decodeZigZag(int value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * Encodes a signed long value using ZigZag encoding, which maps signed values to unsigned values
+   * so that numbers with a small absolute value (positive or negative) have a small encoded value.
+   *
+   * @param value the signed long value to be encoded.
+   *
+   * @return the ZigZag encoded value, to be interpreted as an unsigned long.
+   *
+   * @since 1.1.0
+   */
+  public static long encodeZigZag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  /**
+   * Decodes a long value which was encoded using {@link #encodeZigZag(long)}.
+   *
+   * @param value the ZigZag encoded value.
+   *
+   * @return the decoded signed long value.
+   *
+   * @since 1.1.0
+   */
+  public static long decodeZigZag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * Gets the number of bytes (1 to 5) required to store an int value, interpreted as unsigned,
+   * using the LEB128 variable-length encoding.
+   *
+   * @param value the int value, interpreted as unsigned.
+   *
+   * @return the number of bytes in the variable-length encoding of the value.
+   *
+   * @since 1.1.0
+   */
+  public static int varIntLength(int value) {
+    return (31 - Integer.numberOfLeadingZeros(value | 1)) / 7 + 1;
+  }
+
+  /**
+   * Gets the number of bytes (1 to 10) required to store a long value, interpreted as unsigned,
+   * using the LEB128 variable-length encoding.
+   *
+   * @param value the long value, interpreted as unsigned.
+   *
+   * @return the number of bytes in the variable-length encoding of the value.
+   *
+   * @since 1.1.0
+   */
+  public static int varLongLength(long value) {
+    return (63 - Long.numberOfLeadingZeros(value | 1)) / 7 + 1;
+  }
+
+  /**
+   * Gets the LEB128 variable-length byte array representation (1 to 5 bytes) of an int value,
+   * interpreted as unsigned. Each byte stores 7 bits of the value, least significant group first,
+   * and the high bit of each byte is set when more bytes follow.
+   * <p>
+   * The encoding is prefix-free, so variable-length values can safely be used as keys in a
+   * {@link com.micatechnologies.micautils_j8.data.ByteBasedTrie}. Signed values should first be
+   * encoded with {@link #encodeZigZag(int)} so that small negative numbers remain short.
+   * </p>
+   *
+   * @param value the int value to be converted, interpreted as unsigned.
+   *
+   * @return the variable-length byte array representation of the int value.
+   *
+   * @since 1.1.0
+   */
+  public static byte[] fromVarInt(int value) {
+    byte[] bytes = new byte[varIntLength(value)];
+    writeVarInt(value, bytes, 0);
+    return bytes;
+  }
+
+  /**
+   * Gets the reversed LEB128 variable-length byte array representation (1 to 5 bytes) of an int
+   * value, interpreted as unsigned. The result is the same as {@link #fromVarInt(int)}, but with
+   * the bytes in reverse order.
+   *
+   * @param value the int value to be converted, interpreted as unsigned.
+   *
+   * @return the reversed variable-length byte array representation of the int value.
+   *
+   * @since 1.1.0
+   */
+  public static byte[] fromVarIntReversed(int value) {
+    byte[] bytes = new byte[varIntLength(value)];
+    for (int i = bytes.length - 1; i > 0; i--) {
+      bytes[i] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    bytes[0] = (byte) value;
+    return bytes;
+  }
+
+  /**
+   * Gets the LEB128 variable-length byte array representation (1 to 10 bytes) of a long value,
+   * interpreted as unsigned.
+   *
+   * @param value the long value to be converted, interpreted as unsigned.
+   *
+   * @return the variable-length byte array representation of the long value.
+   *
+   * @see #fromVarInt(int)
+   * @since 1.1.0
+   */
+  public static byte[] fromVarLong(long value) {
+    byte[] bytes = new byte[varLongLength(value)];
+    writeVarLong(value, bytes, 0);
+    return bytes;
+  }
+
+  /**
+   * Gets the reversed LEB128 variable-length byte array representation (1 to 10 bytes) of a long
+   * value, interpreted as unsigned. The result is the same as {@link #fromVarLong(long)}, but with
+   * the bytes in reverse order.
+   *
+   * @param value the long value to be converted, interpreted as unsigned.
+   *
+   * @return the reversed variable-length byte array representation of the long value.
+   *
+   * @since 1.1.0
+   */
+  public static byte[] fromVarLongReversed(long value) {
+    byte[] bytes = new byte[varLongLength(value)];
+    for (int i = bytes.length - 1; i > 0; i--) {
+      bytes[i] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    bytes[0] = (byte) value;
+    return bytes;
+  }
+
+  /**
+   * Writes the LEB128 variable-length representation of an int value, interpreted as unsigned,
+   * into the specified byte array at the specified offset.
+   *
+   * @param value  the int value to be written, interpreted as unsigned.
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written (1 to 5).
+   *
+   * @throws ArrayIndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  public static int writeVarInt(int value, byte[] dst, int offset) {
+    int position = offset;
+    while ((value & ~0x7F) != 0) {
+      dst[position++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    dst[position++] = (byte) value;
+    return position - offset;
+  }
+
+  /**
+   * Writes the LEB128 variable-length representation of a long value, interpreted as unsigned,
+   * into the specified byte array at the specified offset.
+   *
+   * @param value  the long value to be written, interpreted as unsigned.
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written (1 to 10).
+   *
+   * @throws ArrayIndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  public static int writeVarLong(long value, byte[] dst, int offset) {
+    int position = offset;
+    while ((value & ~0x7FL) != 0) {
+      dst[position++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    dst[position++] = (byte) value;
+    return position - offset;
+  }
+
+  /**
+   * Writes the LEB128 variable-length representation of an int value, interpreted as unsigned, to
+   * the specified buffer at its current position, advancing the position by the number of bytes
+   * written.
+   *
+   * @param value  the int value to be written, interpreted as unsigned.
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written (1 to 5).
+   *
+   * @throws java.nio.BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  public static int writeVarInt(int value, ByteBuffer buffer) {
+    int count = 1;
+    while ((value & ~0x7F) != 0) {
+      buffer.put((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+      count++;
+    }
+    buffer.put((byte) value);
+    return count;
+  }
+
+  /**
+   * Writes the LEB128 variable-length representation of a long value, interpreted as unsigned, to
+   * the specified buffer at its current position, advancing the position by the number of bytes
+   * written.
+   *
+   * @param value  the long value to be written, interpreted as unsigned.
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written (1 to 10).
+   *
+   * @throws java.nio.BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  public static int writeVarLong(long value, ByteBuffer buffer) {
+    int count = 1;
+    while ((value & ~0x7FL) != 0) {
+      buffer.put((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+      count++;
+    }
+    buffer.put((byte) value);
+    return count;
+  }
+
+  /**
+   * Writes the standard (big-endian) byte representation of a short value into the specified byte
+   * array at the specified offset, without creating an intermediate byte array.
+   *
+   * @param value  the short value to be written.
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written (2).
+   *
+   * @throws ArrayIndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  public static int writeShort(short value, byte[] dst, int offset) {
+    dst[offset + 0] = (byte) (value >>> 8);
+    dst[offset + 1] = (byte) value;
+    return 2;
+  }
+
+  /**
+   * Writes the standard (big-endian) byte representation of a short value to the specified buffer
+   * at its current position, regardless of the byte order of the buffer, advancing the position
+   * by the number of bytes written.
+   *
+   * @param value  the short value to be written.
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written (2).
+   *
+   * @throws java.nio.BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  public static int writeShort(short value, ByteBuffer buffer) {
+    buffer.putShort(buffer.order() == ByteOrder.BIG_ENDIAN ? value : Short.reverseBytes(value));
+    return 2;
+  }
+
+  /**
+   * Writes the standard (big-endian) byte representation of an int value into the specified byte
+   * array at the specified offset, without creating an intermediate byte array.
+   *
+   * @param value  the int value to be written.
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written (4).
+   *
+   * @throws ArrayIndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  public static int writeInt(int value, byte[] dst, int offset) {
+    dst[offset + 0] = (byte) (value >>> 24);
+    dst[offset + 1] = (byte) (value >>> 16);
+    dst[offset + 2] = (byte) (value >>> 8);
+    dst[offset + 3] = (byte) value;
+    return 4;
+  }
+
+  /**
+   * Writes the standard (big-endian) byte representation of an int value to the specified buffer
+   * at its current position, regardless of the byte order of the buffer, advancing the position
+   * by the number of bytes written.
+   *
+   * @param value  the int value to be written.
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written (4).
+   *
+   * @throws java.nio.BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  public static int writeInt(int value, ByteBuffer buffer) {
+    buffer.putInt(buffer.order() == ByteOrder.BIG_ENDIAN ? value : Integer.reverseBytes(value));
+    return 4;
+  }
+
+  /**
+   * Writes the standard (big-endian) byte representation of a long value into the specified byte
+   * array at the specified offset, without creating an intermediate byte array.
+   *
+   * @param value  the long value to be written.
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written (8).
+   *
+   * @throws ArrayIndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  public static int writeLong(long value, byte[] dst, int offset) {
+    dst[offset + 0] = (byte) (value >>> 56);
+    dst[offset + 1] = (byte) (value >>> 48);
+    dst[offset + 2] = (byte) (value >>> 40);
+    dst[offset + 3] = (byte) (value >>> 32);
+    dst[offset + 4] = (byte) (value >>> 24);
+    dst[offset + 5] = (byte) (value >>> 16);
+    dst[offset + 6] = (byte) (value >>> 8);
+    dst[offset + 7] = (byte) value;
+    return 8;
+  }
+
+  /**
+   * Writes the standard (big-endian) byte representation of a long value to the specified buffer
+   * at its current position, regardless of the byte order of the buffer, advancing the position
+   * by the number of bytes written.
+   *
+   * @param value  the long value to be written.
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written (8).
+   *
+   * @throws java.nio.BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  public static int writeLong(long value, ByteBuffer buffer) {
+    buffer.putLong(buffer.order() == ByteOrder.BIG_ENDIAN ? value : Long.reverseBytes(value));
+    return 8;
+  }
+
+  /**
+   * Writes the reversed LEB128 variable-length representation of an int value, interpreted as
+   * unsigned, into the specified byte array at the specified offset. The bytes written are the
+   * same as those returned by {@link #fromVarIntReversed(int)}.
+   *
+   * @param value  the int value to be written, interpreted as unsigned.
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written (1 to 5).
+   *
+   * @throws ArrayIndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  public static int writeVarIntReversed(int value, byte[] dst, int offset) {
+    return writeVarLongReversed(value & 0xFFFFFFFFL, dst, offset);
+  }
+
+  /**
+   * Writes the reversed LEB128 variable-length representation of a long value, interpreted as
+   * unsigned, into the specified byte array at the specified offset. The bytes written are the
+   * same as those returned by {@link #fromVarLongReversed(long)}.
+   *
+   * @param value  the long value to be written, interpreted as unsigned.
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written (1 to 10).
+   *
+   * @throws ArrayIndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  public static int writeVarLongReversed(long value, byte[] dst, int offset) {
+    int length = varLongLength(value);
+    int position = offset + length - 1;
+    while ((value & ~0x7FL) != 0) {
+      dst[position--] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    dst[position] = (byte) value;
+    return length;
+  }
+
+  /**
+   * Writes the reversed LEB128 variable-length representation of an int value, interpreted as
+   * unsigned, to the specified buffer at its current position, advancing the position by the
+   * number of bytes written.
+   *
+   * @param value  the int value to be written, interpreted as unsigned.
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written (1 to 5).
+   *
+   * @throws java.nio.BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  public static int writeVarIntReversed(int value, ByteBuffer buffer) {
+    return writeVarLongReversed(value & 0xFFFFFFFFL, buffer);
+  }
+
+  /**
+   * Writes the reversed LEB128 variable-length representation of a long value, interpreted as
+   * unsigned, to the specified buffer at its current position, advancing the position by the
+   * number of bytes written.
+   *
+   * @param value  the long value to be written, interpreted as unsigned.
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written (1 to 10).
+   *
+   * @throws java.nio.BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  public static int writeVarLongReversed(long value, ByteBuffer buffer) {
+    int length = varLongLength(value);
+    buffer.put((byte) (value >>> (7 * (length - 1))));
+    for (int group = length - 2; group >= 0; group--) {
+      buffer.put((byte) (((value >>> (7 * group)) & 0x7F) | 0x80));
+    }
+    return length;
+  }
+
+  /**
+   * Reads an int value, interpreted as unsigned, from its LEB128 variable-length representation in
+   * the specified byte array at the specified offset.
+   * <p>
+   * The number of bytes consumed by a canonically encoded value is
+   * {@link #varIntLength(int) varIntLength(result)}.
+   * </p>
+   *
+   * @param src    the source byte array.
+   * @param offset the offset in the source byte array at which to start reading.
+   *
+   * @return the decoded int value.
+   *
+   * @throws IllegalArgumentException       if the encoded value is longer than 5 bytes.
+   * @throws ArrayIndexOutOfBoundsException if the encoded value is truncated.
+   * @since 1.1.0
+   */
+  public static int readVarInt(byte[] src, int offset) {
+    int result = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      byte b = src[offset++];
+      result |= (b & 0x7F) << shift;
+      if (b >= 0) {
+        return result;
+      }
+    }
+    throw new IllegalArgumentException("Malformed variable-length int: more than 5 bytes");
+  }
+
+  /**
+   * Reads a long value, interpreted as unsigned, from its LEB128 variable-length representation in
+   * the specified byte array at the specified offset.
+   * <p>
+   * The number of bytes consumed by a canonically encoded value is
+   * {@link #varLongLength(long) varLongLength(result)}.
+   * </p>
+   *
+   * @param src    the source byte array.
+   * @param offset the offset in the source byte array at which to start reading.
+   *
+   * @return the decoded long value.
+   *
+   * @throws IllegalArgumentException       if the encoded value is longer than 10 bytes.
+   * @throws ArrayIndexOutOfBoundsException if the encoded value is truncated.
+   * @since 1.1.0
+   */
+  public static long readVarLong(byte[] src, int offset) {
+    long result = 0;
+    for (int shift = 0; shift < 70; shift += 7) {
+      byte b = src[offset++];
+      result |= (long) (b & 0x7F) << shift;
+      if (b >= 0) {
+        return result;
+      }
+    }
+    throw new IllegalArgumentException("Malformed variable-length long: more than 10 bytes");
+  }
+
+  /**
+   * Compares the LEB128 variable-length representations of two int values, interpreted as
+   * unsigned, in the unsigned lexicographic order of their bytes, without creating byte arrays. As
+   * the representation stores the least significant group first, this order differs from the
+   * numeric order of the values.
+   *
+   * @param a the first int value.
+   * @param b the second int value.
+   *
+   * @return a negative value if the representation of {@code a} is less than that of {@code b},
+   *     zero if they are equal, or a positive value if it is greater.
+   *
+   * @since 1.1.0
+   */
+  public static int compareVarInt(int a, int b) {
+    return compareVarLong(a & 0xFFFFFFFFL, b & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Compares the LEB128 variable-length representations of two long values, interpreted as
+   * unsigned, in the unsigned lexicographic order of their bytes, without creating byte arrays. As
+   * the representation stores the least significant group first, this order differs from the
+   * numeric order of the values.
+   *
+   * @param a the first long value.
+   * @param b the second long value.
+   *
+   * @return a negative value if the representation of {@code a} is less than that of {@code b},
+   *     zero if they are equal, or a positive value if it is greater.
+   *
+   * @since 1.1.0
+   */
+  public static int compareVarLong(long a, long b) {
+    while (true) {
+      int byteA = (int) (a & 0x7F) | ((a >>> 7) != 0 ? 0x80 : 0);
+      int byteB = (int) (b & 0x7F) | ((b >>> 7) != 0 ? 0x80 : 0);
+      if (byteA != byteB) {
+        return byteA - byteB;
+      }
+      if (byteA < 0x80) {
+        return 0;
+      }
+      a >>>= 7;
+      b >>>= 7;
+    }
+  }
+
+  /**
+   * Reads an int value, interpreted as unsigned, from its LEB128 variable-length representation at
+   * the current position of the specified buffer, advancing the position past the encoded value.
+   *
+   * @param buffer the source buffer.
+   *
+   * @return the decoded int value.
+   *
+   * @throws IllegalArgumentException         if the encoded value is longer than 5 bytes.
+   * @throws java.nio.BufferUnderflowException if the encoded value is truncated.
+   * @since 1.1.0
+   */
+  public static int readVarInt(ByteBuffer buffer) {
+    int result = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      byte b = buffer.get();
+      result |= (b & 0x7F) << shift;
+      if (b >= 0) {
+        return result;
+      }
+    }
+    throw new IllegalArgumentException("Malformed variable-length int: more than 5 bytes");
+  }
+
+  /**
+   * Reads a long value, interpreted as unsigned, from its LEB128 variable-length representation at
+   * the current position of the specified buffer, advancing the position past the encoded value.
+   *
+   * @param buffer the source buffer.
+   *
+   * @return the decoded long value.
+   *
+   * @throws IllegalArgumentException         if the encoded value is longer than 10 bytes.
+   * @throws java.nio.BufferUnderflowException if the encoded value is truncated.
+   * @since 1.1.0
+   */
+  public static long readVarLong(ByteBuffer buffer) {
+    long result = 0;
+    for (int shift = 0; shift < 70; shift += 7) {
+      byte b = buffer.get();
+      result |= (long) (b & 0x7F) << shift;
+      if (b >= 0) {
+        return result;
+      }
+    }
+    throw new IllegalArgumentException("Malformed variable-length long: more than 10 bytes");
+  }
+
+  /**
+   * Compares two byte arrays lexicographically, treating the bytes as unsigned values. This is the
+   * order in which keys are arranged in a
+   * {@link com.micatechnologies.micautils_j8.data.ByteBasedTrie}. The arrays are compared 8 bytes
+   * at a time.
+   *
+   * @param a the first byte array.
+   * @param b the second byte array.
+   *
+   * @return a negative value if {@code a} is less than {@code b}, zero if they are equal, or a
+   *     positive value if {@code a} is greater than {@code b}.
+   *
+   * @since 1.1.0
+   */
+  public static int compare(byte[] a, byte[] b) {
+    return compare(a, 0, a.length, b, 0, b.length);
+  }
+
+  /**
+   * Compares two byte array ranges lexicographically, treating the bytes as unsigned values. The
+   * ranges are compared 8 bytes at a time.
+   *
+   * @param a       the first byte array.
+   * @param aOffset the offset of the first range in the first byte array.
+   * @param aLength the length of the first range.
+   * @param b       the second byte array.
+   * @param bOffset the offset of the second range in the second byte array.
+   * @param bLength the length of the second range.
+   *
+   * @return a negative value if the first range is less than the second range, zero if they are
+   *     equal, or a positive value if the first range is greater than the second range.
+   *
+   * @throws ArrayIndexOutOfBoundsException if either range is out of bounds.
+   * @since 1.1.0
+   */
+  public static int compare(byte[] a, int aOffset, int aLength, byte[] b, int bOffset,
+      int bLength) {
+    int index = mismatch(a, aOffset, aLength, b, bOffset, bLength);
+    if (index < 0) {
+      return 0;
+    }
+    if (index < aLength && index < bLength) {
+      return (a[aOffset + index] & 0xFF) - (b[bOffset + index] & 0xFF);
+    }
+    return aLength - bLength;
+  }
+
+  /**
+   * Gets a comparator which compares byte arrays lexicographically, treating the bytes as unsigned
+   * values.
+   *
+   * @return the lexicographical byte array comparator.
+   *
+   * @see #compare(byte[], byte[])
+   * @since 1.1.0
+   */
+  public static Comparator<byte[]> lexicographicalComparator() {
+    return LEXICOGRAPHICAL_COMPARATOR;
+  }
+
+  /**
+   * Finds the index of the first mismatch between two byte arrays. The arrays are compared 8 bytes
+   * at a time.
+   *
+   * @param a the first byte array.
+   * @param b the second byte array.
+   *
+   * @return the index of the first mismatching byte, the length of the shorter array if it is a
+   *     prefix of the longer array, or {@code -1} if the arrays are equal.
+   *
+   * @since 1.1.0
+   */
+  public static int mismatch(byte[] a, byte[] b) {
+    return mismatch(a, 0, a.length, b, 0, b.length);
+  }
+
+  /**
+   * Finds the relative index of the first mismatch between two byte array ranges. The ranges are
+   * compared 8 bytes at a time, reading each 8 bytes as a single long through a little-endian
+   * {@link ByteBuffer} view of the array, followed by a byte-by-byte comparison of the remaining
+   * bytes.
+   *
+   * @param a       the first byte array.
+   * @param aOffset the offset of the first range in the first byte array.
+   * @param aLength the length of the first range.
+   * @param b       the second byte array.
+   * @param bOffset the offset of the second range in the second byte array.
+   * @param bLength the length of the second range.
+   *
+   * @return the relative index of the first mismatching byte, the length of the shorter range if it
+   *     is a prefix of the longer range, or {@code -1} if the ranges are equal.
+   *
+   * @throws ArrayIndexOutOfBoundsException if either range is out of bounds.
+   * @since 1.1.0
+   */
+  public static int mismatch(byte[] a, int aOffset, int aLength, byte[] b, int bOffset,
+      int bLength) {
+    checkRange(a, aOffset, aLength);
+    checkRange(b, bOffset, bLength);
+    int length = Math.min(aLength, bLength);
+    int index = 0;
+    if (length >= 8) {
+      ByteBuffer aView = littleEndianView(a);
+      ByteBuffer bView = littleEndianView(b);
+      for (; index <= length - 8; index += 8) {
+        long difference = aView.getLong(aOffset + index) ^ bView.getLong(bOffset + index);
+        if (difference != 0) {
+          return index + (Long.numberOfTrailingZeros(difference) >>> 3);
+        }
+      }
+    }
+    for (; index < length; index++) {
+      if (a[aOffset + index] != b[bOffset + index]) {
+        return index;
+      }
+    }
+    return aLength == bLength ? -1 : length;
+  }
+
+  /**
+   * Determines if two byte arrays are equal.
+   *
+   * @param a the first byte array.
+   * @param b the second byte array.
+   *
+   * @return {@code true} if the arrays have the same length and contents, {@code false} otherwise.
+   *
+   * @since 1.1.0
+   */
+  public static boolean equals(byte[] a, byte[] b) {
+    return Arrays.equals(a, b);
+  }
+
+  /**
+   * Determines if two byte array ranges are equal. The ranges are compared 8 bytes at a time.
+   *
+   * @param a       the first byte array.
+   * @param aOffset the offset of the first range in the first byte array.
+   * @param aLength the length of the first range.
+   * @param b       the second byte array.
+   * @param bOffset the offset of the second range in the second byte array.
+   * @param bLength the length of the second range.
+   *
+   * @return {@code true} if the ranges have the same length and contents, {@code false} otherwise.
+   *
+   * @throws ArrayIndexOutOfBoundsException if either range is out of bounds.
+   * @since 1.1.0
+   */
+  public static boolean equals(byte[] a, int aOffset, int aLength, byte[] b, int bOffset,
+      int bLength) {
+    return aLength == bLength && mismatch(a, aOffset, aLength, b, bOffset, bLength) < 0;
+  }
+
+  /**
+   * Computes the 64-bit xxHash (XXH64) of a byte array with a seed of zero. xxHash64 is a fast,
+   * high-quality, non-cryptographic hash function suitable for hash tables and deduplication.
+   *
+   * @param data the byte array to be hashed.
+   *
+   * @return the 64-bit hash of the byte array.
+   *
+   * @since 1.1.0
+   */
+  public static long xxHash64(byte[] data) {
+    return xxHash64(data, 0, data.length, 0L);
+  }
+
+  /**
+   * Computes the 64-bit xxHash (XXH64) of a byte array range with the specified seed. The data is
+   * processed 8 bytes at a time, reading each 8 bytes as a single long through a little-endian
+   * {@link ByteBuffer} view of the array.
+   *
+   * @param data   the byte array containing the range to be hashed.
+   * @param offset the offset of the range in the byte array.
+   * @param length the length of the range.
+   * @param seed   the seed of the hash.
+   *
+   * @return the 64-bit hash of the byte array range.
+   *
+   * @throws ArrayIndexOutOfBoundsException if the range is out of bounds.
+   * @since 1.1.0
+   */
+  public static long xxHash64(byte[] data, int offset, int length, long seed) {
+    checkRange(data, offset, length);
+    int end = offset + length;
+    int position = offset;
+    ByteBuffer view = littleEndianView(data);
+    long hash;
+
+    if (length >= 32) {
+      long v1 = seed + PRIME64_1 + PRIME64_2;
+      long v2 = seed + PRIME64_2;
+      long v3 = seed;
+      long v4 = seed - PRIME64_1;
+      do {
+        v1 = xxHash64Round(v1, view.getLong(position));
+        v2 = xxHash64Round(v2, view.getLong(position + 8));
+        v3 = xxHash64Round(v3, view.getLong(position + 16));
+        v4 = xxHash64Round(v4, view.getLong(position + 24));
+        position += 32;
+      } while (position <= end - 32);
+      hash = xxHash64Merge(v1, v2, v3, v4);
+    } else {
+      hash = seed + PRIME64_5;
+    }
+
+    hash += length;
+    for (; position <= end - 8; position += 8) {
+      hash ^= xxHash64Round(0, view.getLong(position));
+      hash = Long.rotateLeft(hash, 27) * PRIME64_1 + PRIME64_4;
+    }
+    if (position <= end - 4) {
+      hash ^= (view.getInt(position) & 0xFFFFFFFFL) * PRIME64_1;
+      hash = Long.rotateLeft(hash, 23) * PRIME64_2 + PRIME64_3;
+      position += 4;
+    }
+    for (; position < end; position++) {
+      hash ^= (data[position] & 0xFF) * PRIME64_5;
+      hash = Long.rotateLeft(hash, 11) * PRIME64_1;
+    }
+    return xxHash64Avalanche(hash);
+  }
+
+  /**
+   * Computes the 64-bit xxHash (XXH64) of the remaining bytes of a buffer with a seed of zero. The
+   * position, limit and byte order of the buffer are not modified.
+   *
+   * @param buffer the buffer whose remaining bytes are to be hashed.
+   *
+   * @return the 64-bit hash of the remaining bytes of the buffer.
+   *
+   * @since 1.1.0
+   */
+  public static long xxHash64(ByteBuffer buffer) {
+    return xxHash64(buffer, 0L);
+  }
+
+  /**
+   * Computes the 64-bit xxHash (XXH64) of the remaining bytes of a buffer with the specified seed.
+   * The position, limit and byte order of the buffer are not modified. Heap buffers are hashed
+   * directly from their backing array, and other buffers are read 8 bytes at a time using
+   * absolute reads.
+   *
+   * @param buffer the buffer whose remaining bytes are to be hashed.
+   * @param seed   the seed of the hash.
+   *
+   * @return the 64-bit hash of the remaining bytes of the buffer.
+   *
+   * @since 1.1.0
+   */
+  public static long xxHash64(ByteBuffer buffer, long seed) {
+    int position = buffer.position();
+    int end = buffer.limit();
+    int length = end - position;
+    if (buffer.hasArray()) {
+      return xxHash64(buffer.array(), buffer.arrayOffset() + position, length, seed);
+    }
+
+    boolean swap = buffer.order() == ByteOrder.BIG_ENDIAN;
+    long hash;
+    if (length >= 32) {
+      long v1 = seed + PRIME64_1 + PRIME64_2;
+      long v2 = seed + PRIME64_2;
+      long v3 = seed;
+      long v4 = seed - PRIME64_1;
+      do {
+        v1 = xxHash64Round(v1, readLongLittleEndian(buffer, position, swap));
+        v2 = xxHash64Round(v2, readLongLittleEndian(buffer, position + 8, swap));
+        v3 = xxHash64Round(v3, readLongLittleEndian(buffer, position + 16, swap));
+        v4 = xxHash64Round(v4, readLongLittleEndian(buffer, position + 24, swap));
+        position += 32;
+      } while (position <= end - 32);
+      hash = xxHash64Merge(v1, v2, v3, v4);
+    } else {
+      hash = seed + PRIME64_5;
+    }
+
+    hash += length;
+    for (; position <= end - 8; position += 8) {
+      hash ^= xxHash64Round(0, readLongLittleEndian(buffer, position, swap));
+      hash = Long.rotateLeft(hash, 27) * PRIME64_1 + PRIME64_4;
+    }
+    if (position <= end - 4) {
+      int lane = buffer.getInt(position);
+      hash ^= ((swap ? Integer.reverseBytes(lane) : lane) & 0xFFFFFFFFL) * PRIME64_1;
+      hash = Long.rotateLeft(hash, 23) * PRIME64_2 + PRIME64_3;
+      position += 4;
+    }
+    for (; position < end; position++) {
+      hash ^= (buffer.get(position) & 0xFF) * PRIME64_5;
+      hash = Long.rotateLeft(hash, 11) * PRIME64_1;
+    }
+    return xxHash64Avalanche(hash);
+  }
+
+  /**
+   * Gets the lowercase hexadecimal representation of a byte array.
+   *
+   * @param bytes the byte array to be encoded.
+   *
+   * @return the hexadecimal representation of the byte array, two characters per byte.
+   *
+   * @since 1.1.0
+   */
+  public static String toHex(byte[] bytes) {
+    return toHex(bytes, 0, bytes.length);
+  }
+
+  /**
+   * Gets the lowercase hexadecimal representation of a byte array range.
+   *
+   * @param bytes  the byte array containing the range to be encoded.
+   * @param offset the offset of the range in the byte array.
+   * @param length the length of the range.
+   *
+   * @return the hexadecimal representation of the byte array range, two characters per byte.
+   *
+   * @throws ArrayIndexOutOfBoundsException if the range is out of bounds.
+   * @since 1.1.0
+   */
+  public static String toHex(byte[] bytes, int offset, int length) {
+    char[] chars = new char[length * 2];
+    toHex(bytes, offset, length, chars, 0);
+    return new String(chars);
+  }
+
+  /**
+   * Writes the lowercase hexadecimal representation of a byte array range into the specified char
+   * array at the specified offset, using a lookup table and without allocating.
+   *
+   * @param src       the byte array containing the range to be encoded.
+   * @param srcOffset the offset of the range in the byte array.
+   * @param length    the length of the range.
+   * @param dst       the destination char array.
+   * @param dstOffset the offset in the destination char array at which to start writing.
+   *
+   * @return the number of chars written, i.e., {@code length * 2}.
+   *
+   * @throws ArrayIndexOutOfBoundsException if the range is out of bounds or the destination char
+   *                                        array is too small.
+   * @since 1.1.0
+   */
+  public static int toHex(byte[] src, int srcOffset, int length, char[] dst, int dstOffset) {
+    checkRange(src, srcOffset, length);
+    int position = dstOffset;
+    for (int i = srcOffset; i < srcOffset + length; i++) {
+      dst[position++] = HEX_DIGITS[(src[i] >>> 4) & 0x0F];
+      dst[position++] = HEX_DIGITS[src[i] & 0x0F];
+    }
+    return position - dstOffset;
+  }
+
+  /**
+   * Appends the lowercase hexadecimal representation of a byte array range to the specified
+   * {@link StringBuilder}, using a lookup table and without allocating (other than growing the
+   * builder when needed).
+   *
+   * @param builder the builder to which the hexadecimal representation is appended.
+   * @param src     the byte array containing the range to be encoded.
+   * @param offset  the offset of the range in the byte array.
+   * @param length  the length of the range.
+   *
+   * @return the builder.
+   *
+   * @throws ArrayIndexOutOfBoundsException if the range is out of bounds.
+   * @since 1.1.0
+   */
+  public static StringBuilder appendHex(StringBuilder builder, byte[] src, int offset,
+      int length) {
+    checkRange(src, offset, length);
+    builder.ensureCapacity(builder.length() + length * 2);
+    for (int i = offset; i < offset + length; i++) {
+      builder.append(HEX_DIGITS[(src[i] >>> 4) & 0x0F]);
+      builder.append(HEX_DIGITS[src[i] & 0x0F]);
+    }
+    return builder;
+  }
+
+  /**
+   * Gets the byte array represented by a hexadecimal string. Both lowercase and uppercase digits
+   * are accepted.
+   *
+   * @param hex the hexadecimal string to be decoded.
+   *
+   * @return the decoded byte array.
+   *
+   * @throws IllegalArgumentException if the string has an odd length or contains a character
+   *                                  which is not a hexadecimal digit.
+   * @since 1.1.0
+   */
+  public static byte[] fromHex(CharSequence hex) {
+    if ((hex.length() & 1) != 0) {
+      throw new IllegalArgumentException("Hexadecimal string has an odd length: " + hex.length());
+    }
+    byte[] bytes = new byte[hex.length() / 2];
+    fromHex(hex, 0, hex.length(), bytes, 0);
+    return bytes;
+  }
+
+  /**
+   * Decodes a range of hexadecimal characters into the specified byte array at the specified
+   * offset, using a lookup table and without allocating. Both lowercase and uppercase digits are
+   * accepted.
+   *
+   * @param hex       the character sequence containing the range to be decoded.
+   * @param hexOffset the offset of the range in the character sequence.
+   * @param hexLength the length of the range, which must be even.
+   * @param dst       the destination byte array.
+   * @param dstOffset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written, i.e., {@code hexLength / 2}.
+   *
+   * @throws IllegalArgumentException       if the range has an odd length or contains a character
+   *                                        which is not a hexadecimal digit.
+   * @throws ArrayIndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  public static int fromHex(CharSequence hex, int hexOffset, int hexLength, byte[] dst,
+      int dstOffset) {
+    if ((hexLength & 1) != 0) {
+      throw new IllegalArgumentException("Hexadecimal range has an odd length: " + hexLength);
+    }
+    checkRange(dst, dstOffset, hexLength / 2);
+    int position = dstOffset;
+    for (int i = hexOffset; i < hexOffset + hexLength; i += 2) {
+      int high = hexValue(hex.charAt(i), i);
+      int low = hexValue(hex.charAt(i + 1), i + 1);
+      dst[position++] = (byte) ((high << 4) | low);
+    }
+    return position - dstOffset;
+  }
+
+  /**
+   * Gets the nibble value of a hexadecimal digit.
+   *
+   * @param c     the hexadecimal digit.
+   * @param index the index of the digit, used in the exception message.
+   *
+   * @return the nibble value (0 to 15) of the digit.
+   *
+   * @throws IllegalArgumentException if the character is not a hexadecimal digit.
+   * @since 1.1.0
+   */
+  private static int hexValue(char c, int index) {
+    int value = c < HEX_VALUES.length ? HEX_VALUES[c] : -1;
+    if (value < 0) {
+      throw new IllegalArgumentException(
+          "Invalid hexadecimal character '" + c + "' at index " + index);
+    }
+    return value;
+  }
+
+  /**
+   * Performs an xxHash64 accumulator round.
+   *
+   * @param accumulator the accumulator.
+   * @param lane        the 8-byte input lane.
+   *
+   * @return the updated accumulator.
+   *
+   * @since 1.1.0
+   */
+  private static long xxHash64Round(long accumulator, long lane) {
+    accumulator += lane * PRIME64_2;
+    accumulator = Long.rotateLeft(accumulator, 31);
+    return accumulator * PRIME64_1;
+  }
+
+  /**
+   * Converges the four xxHash64 accumulators into a single hash value.
+   *
+   * @param v1 the first accumulator.
+   * @param v2 the second accumulator.
+   * @param v3 the third accumulator.
+   * @param v4 the fourth accumulator.
+   *
+   * @return the converged hash value.
+   *
+   * @since 1.1.0
+   */
+  private static long xxHash64Merge(long v1, long v2, long v3, long v4) {
+    long hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12)
+        + Long.rotateLeft(v4, 18);
+    hash = (hash ^ xxHash64Round(0, v1)) * PRIME64_1 + PRIME64_4;
+    hash = (hash ^ xxHash64Round(0, v2)) * PRIME64_1 + PRIME64_4;
+    hash = (hash ^ xxHash64Round(0, v3)) * PRIME64_1 + PRIME64_4;
+    hash = (hash ^ xxHash64Round(0, v4)) * PRIME64_1 + PRIME64_4;
+    return hash;
+  }
+
+  /**
+   * Performs the final xxHash64 avalanche mix of a hash value.
+   *
+   * @param hash the hash value.
+   *
+   * @return the mixed hash value.
+   *
+   * @since 1.1.0
+   */
+  private static long xxHash64Avalanche(long hash) {
+    hash ^= hash >>> 33;
+    hash *= PRIME64_2;
+    hash ^= hash >>> 29;
+    hash *= PRIME64_3;
+    hash ^= hash >>> 32;
+    return hash;
+  }
+
+  /**
+   * Wraps a byte array in a little-endian {@link ByteBuffer} view, whose absolute {@code getLong}
+   * and {@code getInt} reads are compiled to single loads on common platforms.
+   *
+   * @param array the byte array.
+   *
+   * @return the little-endian view of the byte array.
+   *
+   * @since 1.1.0
+   */
+  private static ByteBuffer littleEndianView(byte[] array) {
+    return ByteBuffer.wrap(array).order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  /**
+   * Reads 8 bytes from a buffer at an absolute index as a little-endian long value.
+   *
+   * @param buffer the source buffer.
+   * @param index  the absolute index of the first byte.
+   * @param swap   {@code true} if the byte order of the buffer is big-endian.
+   *
+   * @return the little-endian long value.
+   *
+   * @since 1.1.0
+   */
+  private static long readLongLittleEndian(ByteBuffer buffer, int index, boolean swap) {
+    long value = buffer.getLong(index);
+    return swap ? Long.reverseBytes(value) : value;
+  }
+
+  /**
+   * Checks that a range is within the bounds of a byte array.
+   *
+   * @param array  the byte array.
+   * @param offset the offset of the range.
+   * @param length the length of the range.
+   *
+   * @throws ArrayIndexOutOfBoundsException if the range is out of bounds.
+   * @since 1.1.0
+   */
+  private static void checkRange(byte[] array, int offset, int length) {
+    if (offset < 0 || length < 0 || offset > array.length - length) {
+      throw new ArrayIndexOutOfBoundsException(
+          "Range [" + offset + ", " + offset + " + " + length + ") out of bounds for length "
+              + array.length);
+    }
+  }
 }
@@ -0,0 +1,509 @@
+package com.micatechnologies.micautils_j8.data;
+
+import com.micatechnologies.micautils_j8.data.ByteBasedTrie.KeyOrder;
+import com.micatechnologies.micautils_j8.types.ByteBased;
+import com.micatechnologies.micautils_j8.types.ByteBasedSequence;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A trie for a single writer thread and any number of reader threads, in which the writer stages
+ * changes and publishes them atomically by replacing a volatile root.
+ * <p>
+ * Changes made with {@link #setValue(ByteBased, Object)} and {@link #remove(ByteBased)} are not
+ * visible to readers until {@link #publish()} is called. Staged changes copy only the nodes on the
+ * paths of the modified keys, and a node is copied at most once per batch, so a batch of changes
+ * to nearby keys shares most of its copies. Published nodes are never modified afterwards, so
+ * readers traverse them with plain reads, without locks, CAS operations or retries.
+ * </p>
+ * <p>
+ * Read methods, such as {@link #getValue(ByteBased)} and {@link #iterator()}, may be called from
+ * any thread and see the most recently published version. Each call reads a single version, even
+ * while a new version is published. Write methods, such as {@link #setValue(ByteBased, Object)},
+ * {@link #remove(ByteBased)}, {@link #publish()} and {@link #discard()}, must only be called from
+ * one thread at a time.
+ * </p>
+ *
+ * @param <T> the type of values stored in the trie
+ *
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class ByteBasedCopyOnWriteTrie<T> implements Iterable<T> {
+
+  /**
+   * The order in which key bytes are traversed.
+   *
+   * @since 1.1.0
+   */
+  private final KeyOrder keyOrder;
+
+  /**
+   * The root of the most recently published version, which is read by readers.
+   *
+   * @since 1.1.0
+   */
+  private volatile Node<T> published;
+
+  /**
+   * The root of the version being staged by the writer, which is the same as {@link #published}
+   * when there are no staged changes.
+   *
+   * @since 1.1.0
+   */
+  private Node<T> working;
+
+  /**
+   * The batch number of the version being staged. Nodes with this batch number were created for
+   * the staged version and may be modified in place.
+   *
+   * @since 1.1.0
+   */
+  private long batch = 1;
+
+  /**
+   * Constructor for a new, empty {@link ByteBasedCopyOnWriteTrie} which traverses keys in standard
+   * order.
+   *
+   * @since 1.1.0
+   */
+  public ByteBasedCopyOnWriteTrie() {
+    this(KeyOrder.STANDARD);
+  }
+
+  /**
+   * Constructor for a new, empty {@link ByteBasedCopyOnWriteTrie} which traverses keys in the
+   * specified order.
+   *
+   * @param keyOrder the order in which key bytes are traversed.
+   *
+   * @since 1.1.0
+   */
+  public ByteBasedCopyOnWriteTrie(KeyOrder keyOrder) {
+    this.keyOrder = keyOrder;
+    this.published = new Node<>(0);
+    this.working = published;
+  }
+
+  /**
+   * Gets the order in which key bytes are traversed.
+   *
+   * @return the key order.
+   *
+   * @since 1.1.0
+   */
+  public KeyOrder getKeyOrder() {
+    return keyOrder;
+  }
+
+  /**
+   * Retrieves the value associated with the given {@link ByteBased} key in the most recently
+   * published version. This method may be called from any thread.
+   *
+   * @param key the key whose associated value is to be returned
+   *
+   * @return the value associated with the given key, or {@code null} if the published version
+   *     contains no mapping for the key
+   *
+   * @since 1.1.0
+   */
+  public T getValue(ByteBased key) {
+    return getValue(published, ByteBasedTrie.asSequence(key));
+  }
+
+  /**
+   * Retrieves the value associated with the given {@link ByteBased} key in the version being
+   * staged, including changes which have not been published. This method must only be called from
+   * the writer thread.
+   *
+   * @param key the key whose associated value is to be returned
+   *
+   * @return the value associated with the given key, or {@code null} if the staged version contains
+   *     no mapping for the key
+   *
+   * @since 1.1.0
+   */
+  public T getStagedValue(ByteBased key) {
+    return getValue(working, ByteBasedTrie.asSequence(key));
+  }
+
+  /**
+   * Stages an association of the specified value with the given {@link ByteBased} key, copying
+   * the nodes on the path of the key which have not already been copied in the current batch. If
+   * the specified value is {@code null}, the removal of the mapping is staged instead.
+   *
+   * @param key   the key with which the specified value is to be associated
+   * @param value the value to be associated with the specified key
+   *
+   * @return the previous value associated with the key in the staged version, or {@code null} if
+   *     there was no mapping for the key
+   *
+   * @since 1.1.0
+   */
+  public T setValue(ByteBased key, T value) {
+    if (value == null) {
+      return remove(key);
+    }
+    ByteBasedSequence sequence = ByteBasedTrie.asSequence(key);
+    int length = sequence.byteLength();
+    working = modifiable(working);
+    Node<T> current = working;
+    for (int i = 0; i < length; i++) {
+      int index = ByteBasedTrie.keyByte(keyOrder, sequence, i);
+      Node<T> child = current.child(index);
+      if (child == null) {
+        child = new Node<>(batch);
+        current.setChild(index, child);
+      } else if (child.batch != batch) {
+        child = child.copy(batch);
+        current.setChild(index, child);
+      }
+      current = child;
+    }
+    T previous = current.value;
+    current.value = value;
+    return previous;
+  }
+
+  /**
+   * Stages the removal of the mapping for the specified {@link ByteBased} key if present, copying
+   * the nodes on the path of the key and pruning nodes which become empty.
+   *
+   * @param key the key whose mapping is to be removed
+   *
+   * @return the previous value associated with the key in the staged version, or {@code null} if
+   *     there was no mapping for the key
+   *
+   * @since 1.1.0
+   */
+  public T remove(ByteBased key) {
+    ByteBasedSequence sequence = ByteBasedTrie.asSequence(key);
+    T previous = getValue(working, sequence);
+    if (previous != null) {
+      working = modifiable(working);
+      remove(working, sequence, 0);
+    }
+    return previous;
+  }
+
+  /**
+   * Recursively removes the mapping for the specified key from a modifiable node, copying the
+   * child on the path of the key and pruning it if it becomes empty. The key must be present.
+   *
+   * @param current the modifiable node being inspected
+   * @param key     the key, as a byte sequence
+   * @param depth   the depth of the current node
+   *
+   * @since 1.1.0
+   */
+  private void remove(Node<T> current, ByteBasedSequence key, int depth) {
+    if (depth == key.byteLength()) {
+      current.value = null;
+      return;
+    }
+    int index = ByteBasedTrie.keyByte(keyOrder, key, depth);
+    Node<T> child = modifiable(current.child(index));
+    remove(child, key, depth + 1);
+    current.setChild(index, child.isEmpty() ? null : child);
+  }
+
+  /**
+   * Atomically publishes the staged changes, making them visible to readers. This method must only
+   * be called from the writer thread.
+   *
+   * @return {@code true} if there were staged changes to publish, {@code false} otherwise
+   *
+   * @since 1.1.0
+   */
+  public boolean publish() {
+    if (working == published) {
+      return false;
+    }
+    published = working;
+    batch++;
+    return true;
+  }
+
+  /**
+   * Discards the staged changes, reverting the staged version to the most recently published
+   * version. This method must only be called from the writer thread.
+   *
+   * @since 1.1.0
+   */
+  public void discard() {
+    working = published;
+    batch++;
+  }
+
+  /**
+   * Determines if there are staged changes which have not been published. This method must only be
+   * called from the writer thread.
+   *
+   * @return {@code true} if there are staged changes, {@code false} otherwise
+   *
+   * @since 1.1.0
+   */
+  public boolean hasStagedChanges() {
+    return working != published;
+  }
+
+  /**
+   * Retrieves the value associated with the given key in the version with the specified root.
+   *
+   * @param root the root of the version
+   * @param key  the key, as a byte sequence
+   *
+   * @return the value associated with the given key, or {@code null} if there is no mapping
+   *
+   * @since 1.1.0
+   */
+  private T getValue(Node<T> root, ByteBasedSequence key) {
+    int length = key.byteLength();
+    Node<T> current = root;
+    for (int i = 0; i < length; i++) {
+      current = current.child(ByteBasedTrie.keyByte(keyOrder, key, i));
+      if (current == null) {
+        return null;
+      }
+    }
+    return current.value;
+  }
+
+  /**
+   * Gets a node which may be modified in the current batch: the node itself if it was created in
+   * the current batch, or a copy of it otherwise.
+   *
+   * @param node the node
+   *
+   * @return the modifiable node
+   *
+   * @since 1.1.0
+   */
+  private Node<T> modifiable(Node<T> node) {
+    return node.batch == batch ? node : node.copy(batch);
+  }
+
+  /**
+   * Returns an iterator over the values of the most recently published version, in the unsigned
+   * lexicographic order of their key bytes. The iterator is unaffected by later publications. This
+   * method may be called from any thread.
+   *
+   * @return an Iterator over elements of type {@code T} in the published version
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public Iterator<T> iterator() {
+    return new CopyOnWriteTrieIterator<>(published);
+  }
+
+  /**
+   * Represents a node in the {@link ByteBasedCopyOnWriteTrie}. A node is only modified while its
+   * batch number is that of the version being staged, and is immutable once published.
+   *
+   * @param <T> the type of the value of the node
+   *
+   * @since 1.1.0
+   */
+  private static final class Node<T> {
+
+    /**
+     * The batch in which the node was created.
+     *
+     * @since 1.1.0
+     */
+    private final long batch;
+
+    /**
+     * The children of the node, indexed by byte value, or {@code null} if the node has no
+     * children.
+     *
+     * @since 1.1.0
+     */
+    private Object[] children;
+
+    /**
+     * The number of non-null children.
+     *
+     * @since 1.1.0
+     */
+    private int count;
+
+    /**
+     * The value associated with the node.
+     *
+     * @since 1.1.0
+     */
+    private T value;
+
+    /**
+     * Constructs a new, empty node for the specified batch.
+     *
+     * @param batch the batch in which the node is created
+     *
+     * @since 1.1.0
+     */
+    private Node(long batch) {
+      this.batch = batch;
+    }
+
+    /**
+     * Creates a copy of the node for the specified batch. The children array is copied, while the
+     * children themselves are shared.
+     *
+     * @param batch the batch in which the copy is created
+     *
+     * @return the copy
+     *
+     * @since 1.1.0
+     */
+    private Node<T> copy(long batch) {
+      Node<T> copy = new Node<>(batch);
+      copy.children = children == null ? null : children.clone();
+      copy.count = count;
+      copy.value = value;
+      return copy;
+    }
+
+    /**
+     * Gets the child of the node for the specified byte value.
+     *
+     * @param index the byte value, from {@code 0} to {@code 255}
+     *
+     * @return the child, or {@code null} if there is none
+     *
+     * @since 1.1.0
+     */
+    @SuppressWarnings("unchecked")
+    private Node<T> child(int index) {
+      return children == null ? null : (Node<T>) children[index];
+    }
+
+    /**
+     * Sets the child of the node for the specified byte value.
+     *
+     * @param index the byte value, from {@code 0} to {@code 255}
+     * @param child the child, or {@code null} to remove the child
+     *
+     * @since 1.1.0
+     */
+    private void setChild(int index, Node<T> child) {
+      if (children == null) {
+        if (child == null) {
+          return;
+        }
+        children = new Object[ByteBasedTrie.FAN_OUT];
+      }
+      if (children[index] == null) {
+        if (child != null) {
+          count++;
+        }
+      } else if (child == null) {
+        count--;
+      }
+      children[index] = child;
+      if (count == 0) {
+        children = null;
+      }
+    }
+
+    /**
+     * Determines if the node is empty, i.e., it has no children and no value.
+     *
+     * @return {@code true} if the node is empty, {@code false} otherwise
+     *
+     * @since 1.1.0
+     */
+    private boolean isEmpty() {
+      return value == null && count == 0;
+    }
+  }
+
+  /**
+   * An iterator over the values of one published version of a {@link ByteBasedCopyOnWriteTrie}, in
+   * key order.
+   *
+   * @param <T> the type of values returned by the iterator
+   *
+   * @since 1.1.0
+   */
+  private static final class CopyOnWriteTrieIterator<T> implements Iterator<T> {
+
+    /**
+     * A stack of nodes still to be visited, with the next node in key order on top.
+     *
+     * @since 1.1.0
+     */
+    private final Deque<Node<T>> stack = new ArrayDeque<>();
+
+    /**
+     * The next value to be returned by the iterator, or {@code null} if there are no more values.
+     *
+     * @since 1.1.0
+     */
+    private T nextValue;
+
+    /**
+     * Constructs a new {@link CopyOnWriteTrieIterator} over the version with the specified root.
+     *
+     * @param root the root of the version
+     *
+     * @since 1.1.0
+     */
+    private CopyOnWriteTrieIterator(Node<T> root) {
+      stack.push(root);
+      findNext();
+    }
+
+    /**
+     * Finds the next value in key order, updating {@link #nextValue}.
+     *
+     * @since 1.1.0
+     */
+    private void findNext() {
+      nextValue = null;
+      while (nextValue == null && !stack.isEmpty()) {
+        Node<T> node = stack.pop();
+        for (int i = ByteBasedTrie.FAN_OUT - 1; i >= 0 && node.children != null; i--) {
+          Node<T> child = node.child(i);
+          if (child != null) {
+            stack.push(child);
+          }
+        }
+        nextValue = node.value;
+      }
+    }
+
+    /**
+     * Determines if the iterator has more values to return.
+     *
+     * @return {@code true} if there are more values to return, {@code false} otherwise
+     *
+     * @since 1.1.0
+     */
+    @Override
+    public boolean hasNext() {
+      return nextValue != null;
+    }
+
+    /**
+     * Returns the next value in the iteration.
+     *
+     * @return the next value
+     *
+     * @throws NoSuchElementException if there are no more values.
+     * @since 1.1.0
+     */
+    @Override
+    public T next() {
+      if (nextValue == null) {
+        throw new NoSuchElementException();
+      }
+      T currentValue = nextValue;
+      findNext();
+      return currentValue;
+    }
+  }
+}
@@ -0,0 +1,577 @@
+package com.micatechnologies.micautils_j8.data;
+
+import com.micatechnologies.micautils_j8.ByteArrayTool;
+import com.micatechnologies.micautils_j8.io.ByteBasedReader;
+import com.micatechnologies.micautils_j8.io.ByteBasedWriter;
+import com.micatechnologies.micautils_j8.types.ByteBased;
+import com.micatechnologies.micautils_j8.types.ByteBasedSlice;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * A {@link ByteBasedTrie} whose modifications are recorded in an append-only write-ahead log, so
+ * that its contents can be recovered after a crash.
+ * <p>
+ * The trie is stored in a directory as a snapshot file and a log file. Each call to
+ * {@link #setValue(ByteBased, Object)} or {@link #remove(ByteBased)} appends a record to the log
+ * through a {@link ByteBasedWriter} with a direct buffer, and the log is forced to the storage
+ * device by group commit: once every {@code syncEveryOperations} modifications, or on the first
+ * modification after {@code syncIntervalMillis} have elapsed since the last sync, whichever comes
+ * first. Modifications since the last sync may be lost in a crash, and {@link #sync()} may be
+ * called, for example from a timer, to bound their age.
+ * </p>
+ * <p>
+ * {@link #checkpoint()} writes the contents of the trie to a new snapshot, atomically replaces
+ * the previous snapshot, syncs the directory so that the replacement is durable, and only then
+ * truncates the log. On construction, the snapshot is loaded with
+ * {@link ByteBasedTrie#setValuesInParallel(java.util.Collection)} and the log is replayed on top
+ * of it. Each log record carries an xxHash64 checksum, and a torn or corrupt record at the end of
+ * the log, as left by a crash during a write, ends the replay and is truncated.
+ * </p>
+ * <p>
+ * Values are stored using the specified encoder and decoder. All methods are synchronized on the
+ * trie.
+ * </p>
+ *
+ * @param <T> the type of values stored in the trie
+ *
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class ByteBasedDurableTrie<T> implements Iterable<T>, Closeable {
+
+  /**
+   * The name of the snapshot file in the directory.
+   *
+   * @since 1.1.0
+   */
+  private static final String SNAPSHOT_FILE_NAME = "trie.snapshot";
+
+  /**
+   * The name of the temporary file to which a new snapshot is written.
+   *
+   * @since 1.1.0
+   */
+  private static final String SNAPSHOT_TEMP_FILE_NAME = "trie.snapshot.tmp";
+
+  /**
+   * The name of the log file in the directory.
+   *
+   * @since 1.1.0
+   */
+  private static final String LOG_FILE_NAME = "trie.log";
+
+  /**
+   * The log record type for {@link #setValue(ByteBased, Object)}.
+   *
+   * @since 1.1.0
+   */
+  private static final int RECORD_SET = 1;
+
+  /**
+   * The log record type for {@link #remove(ByteBased)}.
+   *
+   * @since 1.1.0
+   */
+  private static final int RECORD_REMOVE = 2;
+
+  /**
+   * The in-memory trie.
+   *
+   * @since 1.1.0
+   */
+  private final ByteBasedTrie<T> trie = new ByteBasedTrie<>();
+
+  /**
+   * The directory containing the snapshot and log files.
+   *
+   * @since 1.1.0
+   */
+  private final Path directory;
+
+  /**
+   * The function which encodes values for storage.
+   *
+   * @since 1.1.0
+   */
+  private final Function<? super T, ? extends ByteBased> valueEncoder;
+
+  /**
+   * The function which decodes stored values.
+   *
+   * @since 1.1.0
+   */
+  private final Function<byte[], ? extends T> valueDecoder;
+
+  /**
+   * The number of modifications after which the log is synced.
+   *
+   * @since 1.1.0
+   */
+  private final int syncEveryOperations;
+
+  /**
+   * The time after which the next modification syncs the log, in nanoseconds, or {@code 0} to
+   * sync by number of modifications only.
+   *
+   * @since 1.1.0
+   */
+  private final long syncIntervalNanos;
+
+  /**
+   * The channel of the log file.
+   *
+   * @since 1.1.0
+   */
+  private final FileChannel logChannel;
+
+  /**
+   * The writer which appends records to the log.
+   *
+   * @since 1.1.0
+   */
+  private final ByteBasedWriter logWriter;
+
+  /**
+   * The length of the log, in bytes, including records which have not been synced.
+   *
+   * @since 1.1.0
+   */
+  private long logLength;
+
+  /**
+   * The number of modifications since the last sync.
+   *
+   * @since 1.1.0
+   */
+  private int unsyncedOperations;
+
+  /**
+   * The time of the last sync, as returned by {@link System#nanoTime()}.
+   *
+   * @since 1.1.0
+   */
+  private long lastSyncNanos;
+
+  /**
+   * Constructor for a {@link ByteBasedDurableTrie} stored in the specified directory, which syncs
+   * the log after every modification. The contents are recovered from the directory if it
+   * contains a snapshot or a log.
+   *
+   * @param directory    the directory containing the snapshot and log files, which is created if
+   *                     it does not exist
+   * @param valueEncoder the function which encodes values for storage
+   * @param valueDecoder the function which decodes stored values
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public ByteBasedDurableTrie(Path directory, Function<? super T, ? extends ByteBased> valueEncoder,
+      Function<byte[], ? extends T> valueDecoder) throws IOException {
+    this(directory, valueEncoder, valueDecoder, 1, 0);
+  }
+
+  /**
+   * Constructor for a {@link ByteBasedDurableTrie} stored in the specified directory, with the
+   * specified group commit policy. The contents are recovered from the directory if it contains a
+   * snapshot or a log.
+   *
+   * @param directory           the directory containing the snapshot and log files, which is
+   *                            created if it does not exist
+   * @param valueEncoder        the function which encodes values for storage
+   * @param valueDecoder        the function which decodes stored values
+   * @param syncEveryOperations the number of modifications after which the log is synced
+   * @param syncIntervalMillis  the time after which the next modification syncs the log, in
+   *                            milliseconds, or {@code 0} to sync by number of modifications only
+   *
+   * @throws IllegalArgumentException if {@code syncEveryOperations} is not positive or
+   *                                  {@code syncIntervalMillis} is negative.
+   * @throws IOException              if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public ByteBasedDurableTrie(Path directory, Function<? super T, ? extends ByteBased> valueEncoder,
+      Function<byte[], ? extends T> valueDecoder, int syncEveryOperations,
+      long syncIntervalMillis) throws IOException {
+    if (syncEveryOperations <= 0) {
+      throw new IllegalArgumentException(
+          "Sync operation count must be positive: " + syncEveryOperations);
+    }
+    if (syncIntervalMillis < 0) {
+      throw new IllegalArgumentException(
+          "Sync interval must not be negative: " + syncIntervalMillis);
+    }
+    this.directory = directory;
+    this.valueEncoder = valueEncoder;
+    this.valueDecoder = valueDecoder;
+    this.syncEveryOperations = syncEveryOperations;
+    this.syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(syncIntervalMillis);
+
+    Files.createDirectories(directory);
+    Files.deleteIfExists(directory.resolve(SNAPSHOT_TEMP_FILE_NAME));
+    loadSnapshot();
+    Path logPath = directory.resolve(LOG_FILE_NAME);
+    logChannel = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+    try {
+      logLength = replayLog(logPath);
+      if (logLength < logChannel.size()) {
+        logChannel.truncate(logLength);
+        logChannel.force(true);
+      }
+      logChannel.position(logLength);
+    } catch (IOException | RuntimeException e) {
+      logChannel.close();
+      throw e;
+    }
+    logWriter = new ByteBasedWriter(logChannel,
+        ByteBuffer.allocateDirect(ByteBasedWriter.DEFAULT_BUFFER_SIZE));
+    lastSyncNanos = System.nanoTime();
+  }
+
+  /**
+   * Retrieves the value associated with the given {@link ByteBased} key.
+   *
+   * @param key the key whose associated value is to be returned
+   *
+   * @return the value associated with the given key, or {@code null} if the trie contains no
+   *     mapping for the key
+   *
+   * @since 1.1.0
+   */
+  public synchronized T getValue(ByteBased key) {
+    return trie.getValue(key);
+  }
+
+  /**
+   * Associates the specified value with the given {@link ByteBased} key, and appends the
+   * modification to the log. If the specified value is {@code null}, the mapping is removed
+   * instead.
+   *
+   * @param key   the key with which the specified value is to be associated
+   * @param value the value to be associated with the specified key
+   *
+   * @return the previous value associated with the key, or {@code null} if there was no mapping for
+   *     the key
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public synchronized T setValue(ByteBased key, T value) throws IOException {
+    if (value == null) {
+      return remove(key);
+    }
+    byte[] keyBytes = key.toBytes();
+    byte[] valueBytes = valueEncoder.apply(value).toBytes();
+    appendRecord(RECORD_SET, keyBytes, valueBytes);
+    return trie.setValue(ByteBasedSlice.of(keyBytes), value);
+  }
+
+  /**
+   * Removes the mapping for the specified {@link ByteBased} key if present, and appends the
+   * modification to the log.
+   *
+   * @param key the key whose mapping is to be removed
+   *
+   * @return the previous value associated with the key, or {@code null} if there was no mapping for
+   *     the key
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public synchronized T remove(ByteBased key) throws IOException {
+    byte[] keyBytes = key.toBytes();
+    ByteBasedSlice slice = ByteBasedSlice.of(keyBytes);
+    if (trie.getValue(slice) == null) {
+      return null;
+    }
+    appendRecord(RECORD_REMOVE, keyBytes, null);
+    return trie.remove(slice);
+  }
+
+  /**
+   * Writes the buffered log records and forces them to the storage device.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public synchronized void sync() throws IOException {
+    logWriter.flush();
+    logChannel.force(false);
+    unsyncedOperations = 0;
+    lastSyncNanos = System.nanoTime();
+  }
+
+  /**
+   * Writes the contents of the trie to a new snapshot, which atomically replaces the previous
+   * snapshot, syncs the directory, and truncates the log. If a crash occurs before the log is
+   * truncated, the log is replayed on top of the new snapshot, which yields the same contents.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public synchronized void checkpoint() throws IOException {
+    sync();
+    Path temp = directory.resolve(SNAPSHOT_TEMP_FILE_NAME);
+    try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      ByteBasedWriter writer = new ByteBasedWriter(channel,
+          ByteBuffer.allocateDirect(ByteBasedWriter.DEFAULT_BUFFER_SIZE));
+      try {
+        trie.forEachEntry((key, value) -> {
+          byte[] valueBytes = valueEncoder.apply(value).toBytes();
+          try {
+            writer.writeVarInt(key.length);
+            writer.writeBytes(key, 0, key.length);
+            writer.writeVarInt(valueBytes.length);
+            writer.writeBytes(valueBytes, 0, valueBytes.length);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+      writer.flush();
+      channel.force(true);
+    }
+    Files.move(temp, directory.resolve(SNAPSHOT_FILE_NAME), StandardCopyOption.ATOMIC_MOVE,
+        StandardCopyOption.REPLACE_EXISTING);
+    // The rename must be durable before the log is truncated, or a crash could leave the previous
+    // snapshot with an empty log
+    syncDirectory();
+    logChannel.truncate(0);
+    logChannel.position(0);
+    logChannel.force(true);
+    logLength = 0;
+  }
+
+  /**
+   * Forces the entries of the directory, such as the name of a renamed snapshot, to the storage
+   * device. Platforms on which a directory cannot be opened, such as Windows, are skipped, as they
+   * do not provide this guarantee through file channels.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  void syncDirectory() throws IOException {
+    FileChannel channel;
+    try {
+      channel = FileChannel.open(directory, StandardOpenOption.READ);
+    } catch (IOException e) {
+      return;
+    }
+    try {
+      channel.force(true);
+    } finally {
+      channel.close();
+    }
+  }
+
+  /**
+   * Gets the length of the log, in bytes, including records which have not been synced. This can
+   * be used to decide when to call {@link #checkpoint()}.
+   *
+   * @return the length of the log
+   *
+   * @since 1.1.0
+   */
+  public synchronized long getLogLength() {
+    return logLength;
+  }
+
+  /**
+   * Syncs the log and closes the log file.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    try {
+      sync();
+    } finally {
+      logChannel.close();
+    }
+  }
+
+  /**
+   * Returns an iterator over the values in the trie. The trie must not be modified during the
+   * iteration.
+   *
+   * @return an Iterator over elements of type {@code T}
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public synchronized Iterator<T> iterator() {
+    return trie.iterator();
+  }
+
+  /**
+   * Appends a record to the log, and syncs the log if required by the group commit policy. A
+   * record consists of its type, the length-prefixed key bytes, the length-prefixed value bytes
+   * for {@link #RECORD_SET}, and an xxHash64 checksum of these bytes.
+   *
+   * @param type       the record type
+   * @param keyBytes   the key bytes
+   * @param valueBytes the value bytes, or {@code null} for {@link #RECORD_REMOVE}
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  private void appendRecord(int type, byte[] keyBytes, byte[] valueBytes) throws IOException {
+    logWriter.writeVarInt(type);
+    logWriter.writeVarInt(keyBytes.length);
+    logWriter.writeBytes(keyBytes, 0, keyBytes.length);
+    long length = ByteArrayTool.varIntLength(type) + ByteArrayTool.varIntLength(keyBytes.length)
+        + keyBytes.length + Long.BYTES;
+    if (valueBytes != null) {
+      logWriter.writeVarInt(valueBytes.length);
+      logWriter.writeBytes(valueBytes, 0, valueBytes.length);
+      length += ByteArrayTool.varIntLength(valueBytes.length) + valueBytes.length;
+    }
+    logWriter.writeLong(checksum(type, keyBytes, valueBytes));
+    logLength += length;
+    unsyncedOperations++;
+    if (unsyncedOperations >= syncEveryOperations || (syncIntervalNanos > 0
+        && System.nanoTime() - lastSyncNanos >= syncIntervalNanos)) {
+      sync();
+    }
+  }
+
+  /**
+   * Computes the checksum of a log record.
+   *
+   * @param type       the record type
+   * @param keyBytes   the key bytes
+   * @param valueBytes the value bytes, or {@code null} for {@link #RECORD_REMOVE}
+   *
+   * @return the checksum
+   *
+   * @since 1.1.0
+   */
+  private static long checksum(int type, byte[] keyBytes, byte[] valueBytes) {
+    long hash = ByteArrayTool.xxHash64(keyBytes, 0, keyBytes.length, type);
+    if (valueBytes != null) {
+      hash = ByteArrayTool.xxHash64(valueBytes, 0, valueBytes.length, hash);
+    }
+    return hash;
+  }
+
+  /**
+   * Loads the snapshot file, if it exists, into the trie.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  private void loadSnapshot() throws IOException {
+    Path path = directory.resolve(SNAPSHOT_FILE_NAME);
+    if (!Files.exists(path)) {
+      return;
+    }
+    List<Map.Entry<ByteBased, T>> entries = new ArrayList<>();
+    try (ByteBasedReader reader = new ByteBasedReader(FileChannel.open(path),
+        ByteBuffer.allocateDirect(ByteBasedWriter.DEFAULT_BUFFER_SIZE))) {
+      while (reader.hasRemaining()) {
+        ByteBasedSlice key = ByteBasedSlice.of(reader.readLengthPrefixed());
+        entries.add(new AbstractMap.SimpleEntry<>(key,
+            valueDecoder.apply(reader.readLengthPrefixed())));
+      }
+    }
+    trie.setValuesInParallel(entries);
+  }
+
+  /**
+   * Replays the records of the log file into the trie, stopping at the end of the file or at the
+   * first torn or corrupt record.
+   *
+   * @param path the path of the log file
+   *
+   * @return the length of the valid records at the start of the log, in bytes
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  private long replayLog(Path path) throws IOException {
+    long size = Files.size(path);
+    long position = 0;
+    try (ByteBasedReader reader = new ByteBasedReader(FileChannel.open(path),
+        ByteBuffer.allocateDirect(ByteBasedWriter.DEFAULT_BUFFER_SIZE))) {
+      while (reader.hasRemaining()) {
+        int type = reader.readVarInt();
+        if (type != RECORD_SET && type != RECORD_REMOVE) {
+          break;
+        }
+        long length = ByteArrayTool.varIntLength(type) + Long.BYTES;
+        byte[] keyBytes = readRecordBytes(reader, size - position);
+        if (keyBytes == null) {
+          break;
+        }
+        length += ByteArrayTool.varIntLength(keyBytes.length) + keyBytes.length;
+        byte[] valueBytes = null;
+        if (type == RECORD_SET) {
+          valueBytes = readRecordBytes(reader, size - position - length);
+          if (valueBytes == null) {
+            break;
+          }
+          length += ByteArrayTool.varIntLength(valueBytes.length) + valueBytes.length;
+        }
+        if (reader.readLong() != checksum(type, keyBytes, valueBytes)) {
+          break;
+        }
+        if (type == RECORD_SET) {
+          trie.setValue(ByteBasedSlice.of(keyBytes), valueDecoder.apply(valueBytes));
+        } else {
+          trie.remove(ByteBasedSlice.of(keyBytes));
+        }
+        position += length;
+      }
+    } catch (EOFException e) {
+      // A torn record at the end of the log, which is truncated
+    } catch (IOException e) {
+      // A malformed length at the end of the log is truncated, while other errors are rethrown
+      if (!(e.getCause() instanceof IllegalArgumentException)) {
+        throw e;
+      }
+    }
+    return position;
+  }
+
+  /**
+   * Reads length-prefixed bytes of a log record, checking the length against the remaining length
+   * of the log so that a corrupt length does not cause a large allocation.
+   *
+   * @param reader    the reader of the log
+   * @param remaining an upper bound of the remaining length of the log, in bytes
+   *
+   * @return the bytes, or {@code null} if the length is corrupt
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  private static byte[] readRecordBytes(ByteBasedReader reader, long remaining)
+      throws IOException {
+    int length = reader.readVarInt();
+    if (length < 0 || length > remaining) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    reader.readBytes(bytes, 0, length);
+    return bytes;
+  }
+}
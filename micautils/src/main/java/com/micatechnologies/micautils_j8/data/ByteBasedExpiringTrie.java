@@ -0,0 +1,546 @@
+package com.micatechnologies.micautils_j8.data;
+
+import com.micatechnologies.micautils_j8.types.ByteBased;
+import com.micatechnologies.micautils_j8.types.ByteBasedSlice;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A trie of values with {@link ByteBased} keys and optional per-entry time-to-live, in which
+ * expired entries are removed by a hierarchical timing wheel.
+ * <p>
+ * Expired entries are never returned: {@link #getValue(ByteBased)} checks the expiration time of
+ * the entry it finds and removes it lazily if it has expired. Expired entries which are not read
+ * are removed by {@link #cleanUp()}, which should be called periodically, for example from a
+ * {@link java.util.concurrent.ScheduledExecutorService}. Instead of scanning the trie, the cleanup
+ * advances a timing wheel of {@value #LEVELS} levels of {@value #SLOTS} slots, in which each entry
+ * with a time-to-live is linked into the slot of its expiration tick, and is removed by the first
+ * cleanup after that tick has passed. The cost of a cleanup is therefore proportional to the number
+ * of expiring entries and elapsed ticks, not to the size of the trie, and {@link #cleanUp(int)} can
+ * further bound the number of entries removed per call.
+ * </p>
+ * <p>
+ * Each entry holds a copy of its key bytes as a {@link ByteBasedSlice}, so that the timing wheel
+ * can remove it from the trie, which prunes the nodes which become empty. All methods are
+ * synchronized on the trie.
+ * </p>
+ *
+ * @param <T> the type of values stored in the trie
+ *
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class ByteBasedExpiringTrie<T> implements Iterable<T> {
+
+  /**
+   * The number of levels of the timing wheel.
+   *
+   * @since 1.1.0
+   */
+  private static final int LEVELS = 4;
+
+  /**
+   * The number of bits of the tick used to index the slots of one level.
+   *
+   * @since 1.1.0
+   */
+  private static final int SLOT_BITS = 6;
+
+  /**
+   * The number of slots of each level of the timing wheel.
+   *
+   * @since 1.1.0
+   */
+  private static final int SLOTS = 1 << SLOT_BITS;
+
+  /**
+   * The mask of the tick bits used to index the slots of one level.
+   *
+   * @since 1.1.0
+   */
+  private static final int SLOT_MASK = SLOTS - 1;
+
+  /**
+   * The number of ticks covered by the timing wheel. Entries which expire further ahead are placed
+   * on the last level and rescheduled when their slot is reached.
+   *
+   * @since 1.1.0
+   */
+  private static final long WHEEL_SPAN = 1L << (SLOT_BITS * LEVELS);
+
+  /**
+   * The default duration of a tick of the timing wheel, in milliseconds.
+   *
+   * @since 1.1.0
+   */
+  public static final long DEFAULT_TICK_MILLIS = 1000;
+
+  /**
+   * The trie which maps keys to entries.
+   *
+   * @since 1.1.0
+   */
+  private final ByteBasedTrie<Entry<T>> trie = new ByteBasedTrie<>();
+
+  /**
+   * The first entry of each slot of each level of the timing wheel.
+   *
+   * @since 1.1.0
+   */
+  @SuppressWarnings("unchecked")
+  private final Entry<T>[][] wheel = new Entry[LEVELS][SLOTS];
+
+  /**
+   * The duration of a tick of the timing wheel, in milliseconds.
+   *
+   * @since 1.1.0
+   */
+  private final long tickMillis;
+
+  /**
+   * The clock which supplies the current time, in milliseconds.
+   *
+   * @since 1.1.0
+   */
+  private final LongSupplier clock;
+
+  /**
+   * The last tick to which the timing wheel has been advanced.
+   *
+   * @since 1.1.0
+   */
+  private long currentTick;
+
+  /**
+   * The number of entries in the trie, including expired entries which have not been removed.
+   *
+   * @since 1.1.0
+   */
+  private int size;
+
+  /**
+   * The number of entries linked into the timing wheel.
+   *
+   * @since 1.1.0
+   */
+  private int scheduled;
+
+  /**
+   * Constructor for a new, empty {@link ByteBasedExpiringTrie} with a tick of
+   * {@value #DEFAULT_TICK_MILLIS} milliseconds, using {@link System#nanoTime()} as its clock.
+   *
+   * @since 1.1.0
+   */
+  public ByteBasedExpiringTrie() {
+    this(DEFAULT_TICK_MILLIS, () -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime()));
+  }
+
+  /**
+   * Constructor for a new, empty {@link ByteBasedExpiringTrie} with the specified tick duration
+   * and clock. The clock must be monotonic.
+   *
+   * @param tickMillis the duration of a tick of the timing wheel, in milliseconds
+   * @param clock      the clock which supplies the current time, in milliseconds
+   *
+   * @throws IllegalArgumentException if {@code tickMillis} is not positive.
+   * @since 1.1.0
+   */
+  public ByteBasedExpiringTrie(long tickMillis, LongSupplier clock) {
+    if (tickMillis <= 0) {
+      throw new IllegalArgumentException("Tick duration must be positive: " + tickMillis);
+    }
+    this.tickMillis = tickMillis;
+    this.clock = clock;
+    this.currentTick = Math.floorDiv(clock.getAsLong(), tickMillis);
+  }
+
+  /**
+   * Retrieves the value associated with the given {@link ByteBased} key, removing the entry if it
+   * has expired.
+   *
+   * @param key the key whose associated value is to be returned
+   *
+   * @return the value associated with the given key, or {@code null} if the trie contains no
+   *     unexpired mapping for the key
+   *
+   * @since 1.1.0
+   */
+  public synchronized T getValue(ByteBased key) {
+    Entry<T> entry = trie.getValue(key);
+    if (entry == null) {
+      return null;
+    }
+    if (entry.expiresAt <= clock.getAsLong()) {
+      removeEntry(entry);
+      return null;
+    }
+    return entry.value;
+  }
+
+  /**
+   * Associates the specified value with the given {@link ByteBased} key, without expiration.
+   *
+   * @param key   the key with which the specified value is to be associated
+   * @param value the value to be associated with the specified key
+   *
+   * @return the previous unexpired value associated with the key, or {@code null} if there was
+   *     none
+   *
+   * @since 1.1.0
+   */
+  public synchronized T setValue(ByteBased key, T value) {
+    return setValue(key, value, Long.MAX_VALUE);
+  }
+
+  /**
+   * Associates the specified value with the given {@link ByteBased} key, expiring after the
+   * specified time-to-live. Any previous expiration of the key is replaced.
+   *
+   * @param key        the key with which the specified value is to be associated
+   * @param value      the value to be associated with the specified key
+   * @param timeToLive the time after which the mapping expires
+   * @param unit       the unit of {@code timeToLive}
+   *
+   * @return the previous unexpired value associated with the key, or {@code null} if there was
+   *     none
+   *
+   * @throws IllegalArgumentException if {@code timeToLive} is not positive.
+   * @since 1.1.0
+   */
+  public synchronized T setValue(ByteBased key, T value, long timeToLive, TimeUnit unit) {
+    if (timeToLive <= 0) {
+      throw new IllegalArgumentException("Time-to-live must be positive: " + timeToLive);
+    }
+    long now = clock.getAsLong();
+    long ttlMillis = unit.toMillis(timeToLive);
+    long sum = now + ttlMillis;
+    // The sum saturates only on overflow, as the clock may be negative, like System.nanoTime()
+    long expiresAt = ((now ^ sum) & (ttlMillis ^ sum)) < 0 ? Long.MAX_VALUE : sum;
+    return setValue(key, value, expiresAt);
+  }
+
+  /**
+   * Associates the specified value with the given key, expiring at the specified time.
+   *
+   * @param key       the key with which the specified value is to be associated
+   * @param value     the value to be associated with the specified key
+   * @param expiresAt the time at which the mapping expires, or {@link Long#MAX_VALUE} for none
+   *
+   * @return the previous unexpired value associated with the key, or {@code null} if there was
+   *     none
+   *
+   * @since 1.1.0
+   */
+  private T setValue(ByteBased key, T value, long expiresAt) {
+    if (value == null) {
+      return remove(key);
+    }
+    T previous = null;
+    Entry<T> entry = trie.getValue(key);
+    if (entry == null) {
+      entry = new Entry<>(ByteBasedSlice.of(key.toBytes()));
+      trie.setValue(entry.key, entry);
+      size++;
+    } else {
+      if (entry.expiresAt > clock.getAsLong()) {
+        previous = entry.value;
+      }
+      unschedule(entry);
+    }
+    entry.value = value;
+    entry.expiresAt = expiresAt;
+    if (expiresAt != Long.MAX_VALUE) {
+      entry.expiryTick = Math.floorDiv(expiresAt, tickMillis)
+          + (Math.floorMod(expiresAt, tickMillis) == 0 ? 0 : 1);
+      schedule(entry);
+    }
+    return previous;
+  }
+
+  /**
+   * Removes the mapping for the specified {@link ByteBased} key from the trie if present.
+   *
+   * @param key the key whose mapping is to be removed
+   *
+   * @return the previous unexpired value associated with the key, or {@code null} if there was
+   *     none
+   *
+   * @since 1.1.0
+   */
+  public synchronized T remove(ByteBased key) {
+    Entry<T> entry = trie.getValue(key);
+    if (entry == null) {
+      return null;
+    }
+    removeEntry(entry);
+    return entry.expiresAt > clock.getAsLong() ? entry.value : null;
+  }
+
+  /**
+   * Gets the number of entries in the trie, including expired entries which have not yet been
+   * removed by a read or a cleanup.
+   *
+   * @return the number of entries
+   *
+   * @since 1.1.0
+   */
+  public synchronized int size() {
+    return size;
+  }
+
+  /**
+   * Removes all expired entries by advancing the timing wheel to the current time.
+   *
+   * @return the number of entries removed
+   *
+   * @since 1.1.0
+   */
+  public int cleanUp() {
+    return cleanUp(Integer.MAX_VALUE);
+  }
+
+  /**
+   * Removes at most the specified number of expired entries by advancing the timing wheel towards
+   * the current time. If the limit is reached, the next call continues where this call stopped,
+   * so that a large number of simultaneous expirations can be spread over several calls.
+   *
+   * @param maxExpirations the maximum number of entries to remove
+   *
+   * @return the number of entries removed
+   *
+   * @since 1.1.0
+   */
+  public synchronized int cleanUp(int maxExpirations) {
+    long targetTick = Math.floorDiv(clock.getAsLong(), tickMillis);
+    if (scheduled == 0) {
+      currentTick = Math.max(currentTick, targetTick);
+      return 0;
+    }
+    int expired = expireSlot(maxExpirations);
+    while (expired < maxExpirations && currentTick < targetTick) {
+      currentTick++;
+      cascade();
+      expired += expireSlot(maxExpirations - expired);
+    }
+    return expired;
+  }
+
+  /**
+   * Moves the entries of the higher level slots which start at the current tick to lower levels,
+   * from the highest level downwards.
+   *
+   * @since 1.1.0
+   */
+  private void cascade() {
+    int level = 0;
+    while (level + 1 < LEVELS && (currentTick & ((1L << (SLOT_BITS * (level + 1))) - 1)) == 0) {
+      level++;
+    }
+    for (; level > 0; level--) {
+      int slot = (int) (currentTick >>> (SLOT_BITS * level)) & SLOT_MASK;
+      Entry<T> entry = wheel[level][slot];
+      wheel[level][slot] = null;
+      while (entry != null) {
+        Entry<T> next = entry.next;
+        scheduled--;
+        schedule(entry);
+        entry = next;
+      }
+    }
+  }
+
+  /**
+   * Removes at most the specified number of entries from the lowest level slot of the current
+   * tick, all of which have expired.
+   *
+   * @param maxExpirations the maximum number of entries to remove
+   *
+   * @return the number of entries removed
+   *
+   * @since 1.1.0
+   */
+  private int expireSlot(int maxExpirations) {
+    int slot = (int) currentTick & SLOT_MASK;
+    int expired = 0;
+    while (expired < maxExpirations && wheel[0][slot] != null) {
+      removeEntry(wheel[0][slot]);
+      expired++;
+    }
+    return expired;
+  }
+
+  /**
+   * Links the specified entry into the slot of the timing wheel for its expiration tick, relative
+   * to the current tick. The level is the lowest whose span covers the remaining ticks, so that
+   * the slot is reached, and the entry cascaded, before it expires.
+   *
+   * @param entry the entry to schedule
+   *
+   * @since 1.1.0
+   */
+  private void schedule(Entry<T> entry) {
+    long tick = entry.expiryTick;
+    long delta = tick - currentTick;
+    if (delta < 0) {
+      tick = currentTick;
+    } else if (delta >= WHEEL_SPAN) {
+      tick = currentTick + WHEEL_SPAN - 1;
+    }
+    int level = 0;
+    while (level + 1 < LEVELS && tick - currentTick >= 1L << (SLOT_BITS * (level + 1))) {
+      level++;
+    }
+    int slot = (int) (tick >>> (SLOT_BITS * level)) & SLOT_MASK;
+    Entry<T> head = wheel[level][slot];
+    entry.level = level;
+    entry.slot = slot;
+    entry.previous = null;
+    entry.next = head;
+    if (head != null) {
+      head.previous = entry;
+    }
+    wheel[level][slot] = entry;
+    scheduled++;
+  }
+
+  /**
+   * Unlinks the specified entry from the timing wheel, if it is scheduled.
+   *
+   * @param entry the entry to unschedule
+   *
+   * @since 1.1.0
+   */
+  private void unschedule(Entry<T> entry) {
+    if (entry.level < 0) {
+      return;
+    }
+    if (entry.previous == null) {
+      wheel[entry.level][entry.slot] = entry.next;
+    } else {
+      entry.previous.next = entry.next;
+    }
+    if (entry.next != null) {
+      entry.next.previous = entry.previous;
+    }
+    entry.previous = null;
+    entry.next = null;
+    entry.level = -1;
+    scheduled--;
+  }
+
+  /**
+   * Removes the specified entry from the timing wheel and from the trie, pruning emptied nodes.
+   *
+   * @param entry the entry to remove
+   *
+   * @since 1.1.0
+   */
+  private void removeEntry(Entry<T> entry) {
+    unschedule(entry);
+    trie.remove(entry.key);
+    size--;
+  }
+
+  /**
+   * Returns an iterator over the values of the entries which have not expired when this method is
+   * called. The values are collected when this method is called, so the iterator is unaffected by
+   * later modifications.
+   *
+   * @return an Iterator over elements of type {@code T}
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public synchronized Iterator<T> iterator() {
+    long now = clock.getAsLong();
+    List<T> values = new ArrayList<>(size);
+    for (Entry<T> entry : trie) {
+      if (entry.expiresAt > now) {
+        values.add(entry.value);
+      }
+    }
+    return values.iterator();
+  }
+
+  /**
+   * Represents an entry of the {@link ByteBasedExpiringTrie}, which is a node of the list of its
+   * timing wheel slot while it is scheduled.
+   *
+   * @param <T> the type of the value of the entry
+   *
+   * @since 1.1.0
+   */
+  private static final class Entry<T> {
+
+    /**
+     * A copy of the key bytes of the entry.
+     *
+     * @since 1.1.0
+     */
+    private final ByteBasedSlice key;
+
+    /**
+     * The value of the entry.
+     *
+     * @since 1.1.0
+     */
+    private T value;
+
+    /**
+     * The time at which the entry expires, in milliseconds, or {@link Long#MAX_VALUE} for none.
+     *
+     * @since 1.1.0
+     */
+    private long expiresAt = Long.MAX_VALUE;
+
+    /**
+     * The first tick at which the entry has expired.
+     *
+     * @since 1.1.0
+     */
+    private long expiryTick;
+
+    /**
+     * The level of the timing wheel in which the entry is scheduled, or {@code -1} if it is not
+     * scheduled.
+     *
+     * @since 1.1.0
+     */
+    private int level = -1;
+
+    /**
+     * The slot of the timing wheel in which the entry is scheduled.
+     *
+     * @since 1.1.0
+     */
+    private int slot;
+
+    /**
+     * The previous entry of the slot, or {@code null} if this is the first entry.
+     *
+     * @since 1.1.0
+     */
+    private Entry<T> previous;
+
+    /**
+     * The next entry of the slot, or {@code null} if this is the last entry.
+     *
+     * @since 1.1.0
+     */
+    private Entry<T> next;
+
+    /**
+     * Constructs a new entry with the specified key bytes.
+     *
+     * @param key a copy of the key bytes
+     *
+     * @since 1.1.0
+     */
+    private Entry(ByteBasedSlice key) {
+      this.key = key;
+    }
+  }
+}
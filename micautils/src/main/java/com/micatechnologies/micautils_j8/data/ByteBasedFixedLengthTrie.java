@@ -0,0 +1,419 @@
+package com.micatechnologies.micautils_j8.data;
+
+import com.micatechnologies.micautils_j8.data.ByteBasedTrie.KeyOrder;
+import com.micatechnologies.micautils_j8.types.ByteBased;
+import com.micatechnologies.micautils_j8.types.ByteBasedSequence;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A trie data structure for {@link ByteBased} keys which all have the same length, such as
+ * {@link com.micatechnologies.micautils_j8.types.ByteBasedInteger} or
+ * {@link com.micatechnologies.micautils_j8.types.ByteBasedLong} keys.
+ * <p>
+ * Unlike {@link ByteBasedTrie}, which creates a node for every key to hold its value, this trie
+ * stores values directly in a dense 256-entry array on the node for the second to last key byte,
+ * indexed by the last key byte. No object is created per key, which removes the largest node
+ * population of the trie. Each node also tracks its number of occupied slots, so that emptied
+ * nodes are pruned without scanning.
+ * </p>
+ * <p>
+ * Keys are traversed in the same way as in {@link ByteBasedTrie}, including support for
+ * {@link KeyOrder#REVERSED}, and the trie never retains key objects. {@code null} values are not
+ * stored: setting a {@code null} value removes the mapping.
+ * </p>
+ *
+ * @param <T> the type of values stored in the trie
+ *
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class ByteBasedFixedLengthTrie<T> implements Iterable<T> {
+
+  /**
+   * The length of the keys, in bytes.
+   *
+   * @since 1.1.0
+   */
+  private final int keyLength;
+
+  /**
+   * The order in which key bytes are traversed.
+   *
+   * @since 1.1.0
+   */
+  private final KeyOrder keyOrder;
+
+  /**
+   * The root node of the trie.
+   *
+   * @since 1.1.0
+   */
+  private final Node root = new Node();
+
+  /**
+   * The number of values in the trie.
+   *
+   * @since 1.1.0
+   */
+  private int size;
+
+  /**
+   * Constructor for a new {@link ByteBasedFixedLengthTrie} which traverses keys in standard order.
+   *
+   * @param keyLength the length of the keys, in bytes.
+   *
+   * @throws IllegalArgumentException if the key length is less than 1.
+   * @since 1.1.0
+   */
+  public ByteBasedFixedLengthTrie(int keyLength) {
+    this(keyLength, KeyOrder.STANDARD);
+  }
+
+  /**
+   * Constructor for a new {@link ByteBasedFixedLengthTrie} which traverses keys in the specified
+   * order.
+   *
+   * @param keyLength the length of the keys, in bytes.
+   * @param keyOrder  the order in which key bytes are traversed.
+   *
+   * @throws IllegalArgumentException if the key length is less than 1.
+   * @since 1.1.0
+   */
+  public ByteBasedFixedLengthTrie(int keyLength, KeyOrder keyOrder) {
+    if (keyLength < 1) {
+      throw new IllegalArgumentException("Key length must be at least 1: " + keyLength);
+    }
+    this.keyLength = keyLength;
+    this.keyOrder = keyOrder;
+  }
+
+  /**
+   * Gets the length of the keys, in bytes.
+   *
+   * @return the key length.
+   *
+   * @since 1.1.0
+   */
+  public int getKeyLength() {
+    return keyLength;
+  }
+
+  /**
+   * Gets the order in which key bytes are traversed.
+   *
+   * @return the key order.
+   *
+   * @since 1.1.0
+   */
+  public KeyOrder getKeyOrder() {
+    return keyOrder;
+  }
+
+  /**
+   * Gets the number of values in the trie.
+   *
+   * @return the number of values.
+   *
+   * @since 1.1.0
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Determines if the trie contains no values.
+   *
+   * @return {@code true} if the trie is empty, {@code false} otherwise.
+   *
+   * @since 1.1.0
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Retrieves the value associated with the given {@link ByteBased} key.
+   *
+   * @param key the key whose associated value is to be returned
+   *
+   * @return the value associated with the given key, or {@code null} if the trie contains no
+   *     mapping for the key
+   *
+   * @throws IllegalArgumentException if the length of the key does not match the key length of the
+   *                                  trie.
+   * @since 1.1.0
+   */
+  @SuppressWarnings("unchecked")
+  public T getValue(ByteBased key) {
+    ByteBasedSequence sequence = checkKey(key);
+    int last = keyLength - 1;
+    Node current = root;
+    for (int i = 0; i < last; i++) {
+      current = (Node) current.slots[ByteBasedTrie.keyByte(keyOrder, sequence, i)];
+      if (current == null) {
+        return null;
+      }
+    }
+    return (T) current.slots[ByteBasedTrie.keyByte(keyOrder, sequence, last)];
+  }
+
+  /**
+   * Associates the specified value with the given {@link ByteBased} key in the trie. If the trie
+   * previously contained a mapping for the key, the old value is replaced by the specified value.
+   * If the specified value is {@code null}, the mapping is removed.
+   *
+   * @param key   the key with which the specified value is to be associated
+   * @param value the value to be associated with the specified key
+   *
+   * @return the previous value associated with the key, or {@code null} if there was no mapping for
+   *     the key
+   *
+   * @throws IllegalArgumentException if the length of the key does not match the key length of the
+   *                                  trie.
+   * @since 1.1.0
+   */
+  @SuppressWarnings("unchecked")
+  public T setValue(ByteBased key, T value) {
+    if (value == null) {
+      return remove(key);
+    }
+    ByteBasedSequence sequence = checkKey(key);
+    int last = keyLength - 1;
+    Node current = root;
+    for (int i = 0; i < last; i++) {
+      int index = ByteBasedTrie.keyByte(keyOrder, sequence, i);
+      Node child = (Node) current.slots[index];
+      if (child == null) {
+        child = new Node();
+        current.slots[index] = child;
+        current.count++;
+      }
+      current = child;
+    }
+    int index = ByteBasedTrie.keyByte(keyOrder, sequence, last);
+    Object previous = current.slots[index];
+    current.slots[index] = value;
+    if (previous == null) {
+      current.count++;
+      size++;
+    }
+    return (T) previous;
+  }
+
+  /**
+   * Removes the mapping for the specified {@link ByteBased} key from the trie if present.
+   *
+   * @param key the key whose mapping is to be removed from the trie
+   *
+   * @return the previous value associated with the key, or {@code null} if there was no mapping for
+   *     the key
+   *
+   * @throws IllegalArgumentException if the length of the key does not match the key length of the
+   *                                  trie.
+   * @since 1.1.0
+   */
+  @SuppressWarnings("unchecked")
+  public T remove(ByteBased key) {
+    return (T) remove(root, checkKey(key), 0);
+  }
+
+  /**
+   * Recursively removes the mapping for the specified key from the trie if present. This method
+   * prunes nodes that become empty after the removal.
+   *
+   * @param current the current node being inspected
+   * @param key     the key, as a byte sequence
+   * @param depth   the depth of the current node
+   *
+   * @return the value that was associated with the key, or {@code null} if there was no mapping for
+   *     the key
+   *
+   * @since 1.1.0
+   */
+  private Object remove(Node current, ByteBasedSequence key, int depth) {
+    int index = ByteBasedTrie.keyByte(keyOrder, key, depth);
+    Object slot = current.slots[index];
+    if (slot == null) {
+      return null;
+    }
+    if (depth == keyLength - 1) {
+      current.slots[index] = null;
+      current.count--;
+      size--;
+      return slot;
+    }
+
+    Node child = (Node) slot;
+    Object oldValue = remove(child, key, depth + 1);
+    if (child.count == 0) {
+      current.slots[index] = null;
+      current.count--;
+    }
+    return oldValue;
+  }
+
+  /**
+   * Gets a {@link ByteBasedSequence} view of the given key, checking that its length matches the
+   * key length of the trie.
+   *
+   * @param key the key
+   *
+   * @return the key as a byte sequence
+   *
+   * @throws IllegalArgumentException if the length of the key does not match the key length of the
+   *                                  trie.
+   * @since 1.1.0
+   */
+  private ByteBasedSequence checkKey(ByteBased key) {
+    ByteBasedSequence sequence = ByteBasedTrie.asSequence(key);
+    if (sequence.byteLength() != keyLength) {
+      throw new IllegalArgumentException(
+          "Key length " + sequence.byteLength() + " does not match trie key length " + keyLength);
+    }
+    return sequence;
+  }
+
+  /**
+   * Returns an iterator over the values in the {@link ByteBasedFixedLengthTrie}, in the unsigned
+   * lexicographic order of their key bytes.
+   *
+   * @return an Iterator over elements of type {@code T} in the {@link ByteBasedFixedLengthTrie}
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public Iterator<T> iterator() {
+    return new FixedLengthTrieIterator();
+  }
+
+  /**
+   * Represents a node in the {@link ByteBasedFixedLengthTrie}. The slots of a node hold its child
+   * nodes, indexed by byte value, or, for nodes at the depth of the last key byte, the values
+   * themselves.
+   *
+   * @since 1.1.0
+   */
+  private static class Node {
+
+    /**
+     * The child nodes or values of the node, indexed by byte value.
+     *
+     * @since 1.1.0
+     */
+    private final Object[] slots = new Object[ByteBasedTrie.FAN_OUT];
+
+    /**
+     * The number of non-null slots.
+     *
+     * @since 1.1.0
+     */
+    private int count;
+  }
+
+  /**
+   * An iterator for the {@link ByteBasedFixedLengthTrie} that traverses the trie in depth-first
+   * order, using the fixed key length to track its path without a stack of nodes.
+   *
+   * @since 1.1.0
+   */
+  private class FixedLengthTrieIterator implements Iterator<T> {
+
+    /**
+     * The nodes on the current path, indexed by depth.
+     *
+     * @since 1.1.0
+     */
+    private final Node[] path = new Node[keyLength];
+
+    /**
+     * The next slot to visit in each node on the current path, indexed by depth.
+     *
+     * @since 1.1.0
+     */
+    private final int[] positions = new int[keyLength];
+
+    /**
+     * The depth of the deepest node on the current path, or {@code -1} once traversal is complete.
+     *
+     * @since 1.1.0
+     */
+    private int depth;
+
+    /**
+     * The next value to be returned by the iterator, or {@code null} if there are no more values.
+     *
+     * @since 1.1.0
+     */
+    private T nextValue;
+
+    /**
+     * Constructs a new {@link FixedLengthTrieIterator}, starting from the root of the trie.
+     *
+     * @since 1.1.0
+     */
+    private FixedLengthTrieIterator() {
+      path[0] = root;
+      findNext();
+    }
+
+    /**
+     * Finds the next value in the trie, updating {@link #nextValue}.
+     *
+     * @since 1.1.0
+     */
+    @SuppressWarnings("unchecked")
+    private void findNext() {
+      nextValue = null;
+      while (depth >= 0) {
+        Node node = path[depth];
+        int position = positions[depth];
+        while (position < ByteBasedTrie.FAN_OUT && node.slots[position] == null) {
+          position++;
+        }
+        if (position == ByteBasedTrie.FAN_OUT) {
+          depth--;
+          continue;
+        }
+        positions[depth] = position + 1;
+        if (depth == keyLength - 1) {
+          nextValue = (T) node.slots[position];
+          return;
+        }
+        depth++;
+        path[depth] = (Node) node.slots[position];
+        positions[depth] = 0;
+      }
+    }
+
+    /**
+     * Determines if the iterator has more values to return.
+     *
+     * @return {@code true} if there are more values to return, {@code false} otherwise
+     *
+     * @since 1.1.0
+     */
+    @Override
+    public boolean hasNext() {
+      return nextValue != null;
+    }
+
+    /**
+     * Returns the next value in the iteration.
+     *
+     * @return the next value
+     *
+     * @throws NoSuchElementException if there are no more values.
+     * @since 1.1.0
+     */
+    @Override
+    public T next() {
+      if (nextValue == null) {
+        throw new NoSuchElementException();
+      }
+      T currentValue = nextValue;
+      findNext();
+      return currentValue;
+    }
+  }
+}
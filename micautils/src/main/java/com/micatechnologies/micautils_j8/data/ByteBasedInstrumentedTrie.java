@@ -0,0 +1,458 @@
+package com.micatechnologies.micautils_j8.data;
+
+import com.micatechnologies.micautils_j8.types.ByteBased;
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BinaryOperator;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * A {@link ByteBasedTrie} which records runtime metrics: operation counters, a histogram of
+ * sampled lookup latencies, and on demand, the structure of the trie, i.e., its entry and node
+ * counts, entry depths, node fan-outs and estimated memory.
+ * <p>
+ * Instrumentation is opt-in: a plain {@link ByteBasedTrie} records nothing, so its operations have
+ * no overhead. In this subclass, the latency of one in every {@code sampleInterval} lookups is
+ * measured with {@link System#nanoTime()}, so that timing does not dominate the cost of lookups.
+ * </p>
+ * <p>
+ * Metrics are available as an immutable {@link ByteBasedTrieMetrics} snapshot from
+ * {@link #getMetrics()}, and through JMX as a {@link ByteBasedTrieMetricsMXBean} registered with
+ * {@link #registerMBean(ObjectName)}. Like {@link ByteBasedTrie}, this class is not thread-safe,
+ * but its counters may be read by the JMX thread at any time.
+ * </p>
+ * <p>
+ * Entries added by {@link #setValuesInParallel(Collection, ForkJoinPool)} are counted as
+ * insertions, but the other bulk operations, {@link #merge(ByteBasedTrie, BinaryOperator)},
+ * {@link #intersect(ByteBasedTrie, BinaryOperator)}, {@link #diff(ByteBasedTrie)} and
+ * {@link #compact()}, modify subtrees directly and are not counted. The structural attributes of
+ * the MBean are those of the most recent {@link #getMetrics()} snapshot, so they do not reflect
+ * changes made by any operation since then, including bulk operations.
+ * </p>
+ *
+ * @param <T> the type of values stored in the trie
+ *
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class ByteBasedInstrumentedTrie<T> extends ByteBasedTrie<T> {
+
+  /**
+   * The default number of lookups per sampled lookup latency.
+   *
+   * @since 1.1.0
+   */
+  public static final int DEFAULT_SAMPLE_INTERVAL = 64;
+
+  /**
+   * The mask applied to the lookup sequence to select sampled lookups.
+   *
+   * @since 1.1.0
+   */
+  private final int sampleMask;
+
+  /**
+   * The sequence number of the next lookup, used to select sampled lookups.
+   *
+   * @since 1.1.0
+   */
+  private int lookupSequence;
+
+  /**
+   * The number of lookups.
+   *
+   * @since 1.1.0
+   */
+  private final LongAdder lookupCount = new LongAdder();
+
+  /**
+   * The number of lookups which found a value.
+   *
+   * @since 1.1.0
+   */
+  private final LongAdder hitCount = new LongAdder();
+
+  /**
+   * The number of insertions and updates.
+   *
+   * @since 1.1.0
+   */
+  private final LongAdder setCount = new LongAdder();
+
+  /**
+   * The number of removals.
+   *
+   * @since 1.1.0
+   */
+  private final LongAdder removeCount = new LongAdder();
+
+  /**
+   * The histogram of sampled lookup latencies.
+   *
+   * @since 1.1.0
+   */
+  private final AtomicLongArray lookupLatencyHistogram =
+      new AtomicLongArray(ByteBasedTrieMetrics.LATENCY_BUCKETS);
+
+  /**
+   * The structure of the trie at the most recent snapshot.
+   *
+   * @since 1.1.0
+   */
+  private volatile ByteBasedTrieMetrics.Structure lastStructure =
+      new ByteBasedTrieMetrics.Structure();
+
+  /**
+   * The name under which the MBean of the trie is registered, or {@code null} if it is not
+   * registered.
+   *
+   * @since 1.1.0
+   */
+  private ObjectName mbeanName;
+
+  /**
+   * Constructor for a new {@link ByteBasedInstrumentedTrie} which traverses keys in standard order
+   * and samples one in every {@value #DEFAULT_SAMPLE_INTERVAL} lookup latencies.
+   *
+   * @since 1.1.0
+   */
+  public ByteBasedInstrumentedTrie() {
+    this(KeyOrder.STANDARD, DEFAULT_SAMPLE_INTERVAL);
+  }
+
+  /**
+   * Constructor for a new {@link ByteBasedInstrumentedTrie} which traverses keys in the specified
+   * order and samples one in every {@code sampleInterval} lookup latencies.
+   *
+   * @param keyOrder       the order in which key bytes are traversed.
+   * @param sampleInterval the number of lookups per sampled lookup latency, which must be a power
+   *                       of two
+   *
+   * @throws IllegalArgumentException if {@code sampleInterval} is not a positive power of two.
+   * @since 1.1.0
+   */
+  public ByteBasedInstrumentedTrie(KeyOrder keyOrder, int sampleInterval) {
+    super(keyOrder);
+    if (sampleInterval <= 0 || Integer.bitCount(sampleInterval) != 1) {
+      throw new IllegalArgumentException(
+          "Sample interval must be a positive power of two: " + sampleInterval);
+    }
+    this.sampleMask = sampleInterval - 1;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The lookup is counted, and its latency is measured if it is sampled.
+   * </p>
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public T getValue(ByteBased key) {
+    lookupCount.increment();
+    T value;
+    if ((lookupSequence++ & sampleMask) == 0) {
+      long start = System.nanoTime();
+      value = super.getValue(key);
+      long elapsed = System.nanoTime() - start;
+      int bucket = 63 - Long.numberOfLeadingZeros(elapsed | 1);
+      lookupLatencyHistogram.incrementAndGet(
+          Math.min(bucket, ByteBasedTrieMetrics.LATENCY_BUCKETS - 1));
+    } else {
+      value = super.getValue(key);
+    }
+    if (value != null) {
+      hitCount.increment();
+    }
+    return value;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The operation is counted.
+   * </p>
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public T setValue(ByteBased key, T value) {
+    setCount.increment();
+    return super.setValue(key, value);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Each of the entries is counted as an insertion or update.
+   * </p>
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public void setValuesInParallel(
+      Collection<? extends Map.Entry<? extends ByteBased, ? extends T>> entries,
+      ForkJoinPool pool) {
+    setCount.add(entries.size());
+    super.setValuesInParallel(entries, pool);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The operation is counted.
+   * </p>
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public T remove(ByteBased key) {
+    removeCount.increment();
+    return super.remove(key);
+  }
+
+  /**
+   * Takes a snapshot of the metrics of the trie, visiting every node to collect its structure.
+   * The structure is also retained for the structural attributes of the MBean.
+   *
+   * @return the snapshot of the metrics
+   *
+   * @since 1.1.0
+   */
+  public ByteBasedTrieMetrics getMetrics() {
+    ByteBasedTrieMetrics.Structure structure = new ByteBasedTrieMetrics.Structure();
+    collectStructure(structure);
+    lastStructure = structure;
+    return snapshot(structure);
+  }
+
+  /**
+   * Resets the operation counters and the lookup latency histogram.
+   *
+   * @since 1.1.0
+   */
+  public void resetMetrics() {
+    lookupCount.reset();
+    hitCount.reset();
+    setCount.reset();
+    removeCount.reset();
+    for (int i = 0; i < lookupLatencyHistogram.length(); i++) {
+      lookupLatencyHistogram.set(i, 0);
+    }
+  }
+
+  /**
+   * Registers the metrics of the trie as an MBean with the platform MBean server, under the
+   * specified name.
+   *
+   * @param name the name of the MBean
+   *
+   * @throws JMException           if the MBean cannot be registered.
+   * @throws IllegalStateException if the MBean is already registered.
+   * @since 1.1.0
+   */
+  public synchronized void registerMBean(ObjectName name) throws JMException {
+    if (mbeanName != null) {
+      throw new IllegalStateException("MBean is already registered as " + mbeanName);
+    }
+    ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricsMXBean(), name);
+    mbeanName = name;
+  }
+
+  /**
+   * Unregisters the MBean of the trie from the platform MBean server, if it is registered.
+   *
+   * @throws JMException if the MBean cannot be unregistered.
+   * @since 1.1.0
+   */
+  public synchronized void unregisterMBean() throws JMException {
+    if (mbeanName != null) {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(mbeanName);
+      mbeanName = null;
+    }
+  }
+
+  /**
+   * Creates a snapshot of the current counters and the specified structure.
+   *
+   * @param structure the structure of the trie
+   *
+   * @return the snapshot of the metrics
+   *
+   * @since 1.1.0
+   */
+  private ByteBasedTrieMetrics snapshot(ByteBasedTrieMetrics.Structure structure) {
+    long[] histogram = new long[lookupLatencyHistogram.length()];
+    for (int i = 0; i < histogram.length; i++) {
+      histogram[i] = lookupLatencyHistogram.get(i);
+    }
+    return new ByteBasedTrieMetrics(lookupCount.sum(), hitCount.sum(), setCount.sum(),
+        removeCount.sum(), histogram, structure);
+  }
+
+  /**
+   * The MBean which exposes the metrics of the trie, combining the live counters with the
+   * structure of the most recent snapshot.
+   *
+   * @since 1.1.0
+   */
+  private final class MetricsMXBean implements ByteBasedTrieMetricsMXBean {
+
+    /**
+     * Creates a snapshot of the live counters and the most recent structure.
+     *
+     * @return the snapshot of the metrics
+     *
+     * @since 1.1.0
+     */
+    private ByteBasedTrieMetrics current() {
+      return snapshot(lastStructure);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1.0
+     */
+    @Override
+    public long getLookupCount() {
+      return lookupCount.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1.0
+     */
+    @Override
+    public long getHitCount() {
+      return hitCount.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1.0
+     */
+    @Override
+    public long getMissCount() {
+      return current().getMissCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1.0
+     */
+    @Override
+    public long getSetCount() {
+      return setCount.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1.0
+     */
+    @Override
+    public long getRemoveCount() {
+      return removeCount.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1.0
+     */
+    @Override
+    public long[] getLookupLatencyHistogram() {
+      return current().getLookupLatencyHistogram();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1.0
+     */
+    @Override
+    public long getLookupLatencyP50Nanos() {
+      return current().getLookupLatencyPercentileNanos(50);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1.0
+     */
+    @Override
+    public long getLookupLatencyP99Nanos() {
+      return current().getLookupLatencyPercentileNanos(99);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1.0
+     */
+    @Override
+    public long getEntryCount() {
+      return current().getEntryCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1.0
+     */
+    @Override
+    public long getNodeCount() {
+      return current().getNodeCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1.0
+     */
+    @Override
+    public double getAverageDepth() {
+      return current().getAverageDepth();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1.0
+     */
+    @Override
+    public int getMaxDepth() {
+      return current().getMaxDepth();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1.0
+     */
+    @Override
+    public long[] getFanOutHistogram() {
+      return current().getFanOutHistogram();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1.0
+     */
+    @Override
+    public long getEstimatedMemoryBytes() {
+      return current().getEstimatedMemoryBytes();
+    }
+  }
+}
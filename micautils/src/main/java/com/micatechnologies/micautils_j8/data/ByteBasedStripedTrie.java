@@ -0,0 +1,349 @@
+package com.micatechnologies.micautils_j8.data;
+
+import com.micatechnologies.micautils_j8.data.ByteBasedTrie.KeyOrder;
+import com.micatechnologies.micautils_j8.types.ByteBased;
+import com.micatechnologies.micautils_j8.types.ByteBasedSequence;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A thread-safe trie which partitions its keys into stripes by the leading bits of their first
+ * byte, each stripe being a {@link ByteBasedTrie} guarded by its own {@link StampedLock}.
+ * <p>
+ * Writers to keys in different stripes do not contend with each other. Readers first attempt an
+ * optimistic read, which takes no lock and only blocks if a writer modified the same stripe during
+ * the read, in which case the read is retried under a read lock. The number of stripes is
+ * {@code 2^stripeBits}, from 2 to 256. Empty keys are stored in the first stripe.
+ * </p>
+ * <p>
+ * A read which races with a write may observe a node of a stripe in an inconsistent state, for
+ * example while a sparse node is converted to a dense node. Such a read may return a stale or
+ * missing value, or throw a {@link RuntimeException}, and in both cases its result is discarded and
+ * the read is retried under the read lock. Optimistic reads only traverse a bounded number of
+ * nodes and children, so they cannot loop indefinitely.
+ * </p>
+ *
+ * @param <T> the type of values stored in the trie
+ *
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class ByteBasedStripedTrie<T> implements Iterable<T> {
+
+  /**
+   * The default number of leading bits of the first key byte used to select a stripe.
+   *
+   * @since 1.1.0
+   */
+  public static final int DEFAULT_STRIPE_BITS = 8;
+
+  /**
+   * The tries of the stripes.
+   *
+   * @since 1.1.0
+   */
+  private final ByteBasedTrie<T>[] stripes;
+
+  /**
+   * The locks of the stripes, indexed in the same way as {@link #stripes}.
+   *
+   * @since 1.1.0
+   */
+  private final StampedLock[] locks;
+
+  /**
+   * The number of bits by which the first key byte is shifted to obtain the stripe index.
+   *
+   * @since 1.1.0
+   */
+  private final int stripeShift;
+
+  /**
+   * The order in which key bytes are traversed.
+   *
+   * @since 1.1.0
+   */
+  private final KeyOrder keyOrder;
+
+  /**
+   * Constructor for a new {@link ByteBasedStripedTrie} with 256 stripes, one per first key byte,
+   * which traverses keys in standard order.
+   *
+   * @since 1.1.0
+   */
+  public ByteBasedStripedTrie() {
+    this(DEFAULT_STRIPE_BITS, KeyOrder.STANDARD);
+  }
+
+  /**
+   * Constructor for a new {@link ByteBasedStripedTrie} which traverses keys in the specified order.
+   *
+   * @param stripeBits the number of leading bits of the first key byte used to select a stripe,
+   *                   from 1 to 8.
+   * @param keyOrder   the order in which key bytes are traversed.
+   *
+   * @throws IllegalArgumentException if the number of stripe bits is out of range.
+   * @since 1.1.0
+   */
+  @SuppressWarnings("unchecked")
+  public ByteBasedStripedTrie(int stripeBits, KeyOrder keyOrder) {
+    if (stripeBits < 1 || stripeBits > Byte.SIZE) {
+      throw new IllegalArgumentException("Stripe bits must be from 1 to 8: " + stripeBits);
+    }
+    int stripeCount = 1 << stripeBits;
+    this.stripes = new ByteBasedTrie[stripeCount];
+    this.locks = new StampedLock[stripeCount];
+    for (int i = 0; i < stripeCount; i++) {
+      stripes[i] = new ByteBasedTrie<>(keyOrder);
+      locks[i] = new StampedLock();
+    }
+    this.stripeShift = Byte.SIZE - stripeBits;
+    this.keyOrder = keyOrder;
+  }
+
+  /**
+   * Gets the number of stripes.
+   *
+   * @return the number of stripes.
+   *
+   * @since 1.1.0
+   */
+  public int getStripeCount() {
+    return stripes.length;
+  }
+
+  /**
+   * Gets the order in which key bytes are traversed.
+   *
+   * @return the key order.
+   *
+   * @since 1.1.0
+   */
+  public KeyOrder getKeyOrder() {
+    return keyOrder;
+  }
+
+  /**
+   * Retrieves the value associated with the given {@link ByteBased} key, using an optimistic read
+   * of its stripe, which is retried under the read lock if it raced with a write.
+   *
+   * @param key the key whose associated value is to be returned
+   *
+   * @return the value associated with the given key, or {@code null} if the trie contains no
+   *     mapping for the key
+   *
+   * @since 1.1.0
+   */
+  public T getValue(ByteBased key) {
+    ByteBasedSequence sequence = ByteBasedTrie.asSequence(key);
+    int stripe = stripeOf(sequence);
+    StampedLock lock = locks[stripe];
+    long stamp = lock.tryOptimisticRead();
+    if (stamp != 0) {
+      try {
+        T value = stripes[stripe].getValue(sequence);
+        if (lock.validate(stamp)) {
+          return value;
+        }
+      } catch (RuntimeException e) {
+        // The read raced with a write and observed an inconsistent node, so it is retried
+      }
+    }
+    stamp = lock.readLock();
+    try {
+      return stripes[stripe].getValue(sequence);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Associates the specified value with the given {@link ByteBased} key, holding the write lock of
+   * its stripe only.
+   *
+   * @param key   the key with which the specified value is to be associated
+   * @param value the value to be associated with the specified key
+   *
+   * @return the previous value associated with the key, or {@code null} if there was no mapping for
+   *     the key
+   *
+   * @since 1.1.0
+   */
+  public T setValue(ByteBased key, T value) {
+    ByteBasedSequence sequence = ByteBasedTrie.asSequence(key);
+    int stripe = stripeOf(sequence);
+    StampedLock lock = locks[stripe];
+    long stamp = lock.writeLock();
+    try {
+      return stripes[stripe].setValue(sequence, value);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Removes the mapping for the specified {@link ByteBased} key if present, holding the write lock
+   * of its stripe only.
+   *
+   * @param key the key whose mapping is to be removed from the trie
+   *
+   * @return the previous value associated with the key, or {@code null} if there was no mapping for
+   *     the key
+   *
+   * @since 1.1.0
+   */
+  public T remove(ByteBased key) {
+    ByteBasedSequence sequence = ByteBasedTrie.asSequence(key);
+    int stripe = stripeOf(sequence);
+    StampedLock lock = locks[stripe];
+    long stamp = lock.writeLock();
+    try {
+      return stripes[stripe].remove(sequence);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Retrieves the values associated with all keys which start with the given {@link ByteBased}
+   * prefix, in the unsigned lexicographic order of the key bytes. A non-empty prefix is looked up
+   * in a single stripe under its read lock, while an empty prefix reads each stripe in turn, so the
+   * result is not an atomic snapshot of the whole trie.
+   *
+   * @param prefix the prefix of the keys whose values are to be returned
+   *
+   * @return the values associated with keys starting with the prefix, in key order
+   *
+   * @since 1.1.0
+   */
+  public List<T> getValuesWithPrefix(ByteBased prefix) {
+    ByteBasedSequence sequence = ByteBasedTrie.asSequence(prefix);
+    if (sequence.byteLength() == 0) {
+      List<T> values = new ArrayList<>();
+      for (int stripe = 0; stripe < stripes.length; stripe++) {
+        values.addAll(readValuesWithPrefix(stripe, sequence));
+      }
+      return values;
+    }
+    return readValuesWithPrefix(stripeOf(sequence), sequence);
+  }
+
+  /**
+   * Retrieves the values of a stripe whose keys start with the given prefix, under the read lock of
+   * the stripe.
+   *
+   * @param stripe the index of the stripe
+   * @param prefix the prefix, as a byte sequence
+   *
+   * @return the values associated with keys starting with the prefix, in key order
+   *
+   * @since 1.1.0
+   */
+  private List<T> readValuesWithPrefix(int stripe, ByteBasedSequence prefix) {
+    StampedLock lock = locks[stripe];
+    long stamp = lock.readLock();
+    try {
+      return stripes[stripe].getValuesWithPrefix(prefix);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Gets the index of the stripe of the given key.
+   *
+   * @param key the key, as a byte sequence
+   *
+   * @return the index of the stripe
+   *
+   * @since 1.1.0
+   */
+  private int stripeOf(ByteBasedSequence key) {
+    if (key.byteLength() == 0) {
+      return 0;
+    }
+    byte first = keyOrder == KeyOrder.REVERSED ? key.byteAtReversed(0) : key.byteAt(0);
+    return (first & 0xFF) >>> stripeShift;
+  }
+
+  /**
+   * Returns an iterator over the values in the {@link ByteBasedStripedTrie}. The values of each
+   * stripe are copied under its read lock when the iterator reaches the stripe, so the iterator is
+   * weakly consistent and never throws {@link java.util.ConcurrentModificationException}.
+   *
+   * @return an Iterator over elements of type {@code T} in the {@link ByteBasedStripedTrie}
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public Iterator<T> iterator() {
+    return new StripedTrieIterator();
+  }
+
+  /**
+   * An iterator for the {@link ByteBasedStripedTrie} which copies the values of one stripe at a
+   * time.
+   *
+   * @since 1.1.0
+   */
+  private class StripedTrieIterator implements Iterator<T> {
+
+    /**
+     * The index of the next stripe to be copied.
+     *
+     * @since 1.1.0
+     */
+    private int nextStripe;
+
+    /**
+     * The iterator over the copied values of the current stripe.
+     *
+     * @since 1.1.0
+     */
+    private Iterator<T> current = Collections.emptyIterator();
+
+    /**
+     * Determines if the iterator has more values to return, copying the values of the following
+     * stripes as needed.
+     *
+     * @return {@code true} if there are more values to return, {@code false} otherwise
+     *
+     * @since 1.1.0
+     */
+    @Override
+    public boolean hasNext() {
+      while (!current.hasNext() && nextStripe < stripes.length) {
+        List<T> values = new ArrayList<>();
+        StampedLock lock = locks[nextStripe];
+        long stamp = lock.readLock();
+        try {
+          for (T value : stripes[nextStripe]) {
+            values.add(value);
+          }
+        } finally {
+          lock.unlockRead(stamp);
+        }
+        nextStripe++;
+        current = values.iterator();
+      }
+      return current.hasNext();
+    }
+
+    /**
+     * Returns the next value in the iteration.
+     *
+     * @return the next value
+     *
+     * @throws java.util.NoSuchElementException if there are no more values.
+     * @since 1.1.0
+     */
+    @Override
+    public T next() {
+      hasNext();
+      return current.next();
+    }
+  }
+}
@@ -1,23 +1,85 @@
 package com.micatechnologies.micautils_j8.data;
 
 import com.micatechnologies.micautils_j8.types.ByteBased;
+import com.micatechnologies.micautils_j8.types.ByteBasedSequence;
+import com.micatechnologies.micautils_j8.types.ByteBasedSlice;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Stack;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
 
 /**
  * A trie data structure that uses bytes as keys, allowing for efficient storage and retrieval of
  * values based on {@link ByteBased} keys. Each node in the trie corresponds to a byte, and the path
  * from the root to a node represents the key for the value stored in that node.
+ * <p>
+ * Keys which implement {@link ByteBasedSequence} are traversed byte by byte, without creating a
+ * byte array. Other keys are traversed using their {@link ByteBased#toBytes()} representation.
+ * Keys may have different lengths, and a key may be a prefix of another key.
+ * </p>
+ * <p>
+ * The trie never retains key objects: a key is only read during the call to which it is passed,
+ * and only its bytes are stored. Mutable keys, such as
+ * {@link com.micatechnologies.micautils_j8.types.MutableByteBasedLong}, can therefore be reused
+ * and changed as soon as a method returns.
+ * </p>
+ * <p>
+ * By default, keys are traversed in the order of {@link ByteBased#toBytes()}. A trie created with
+ * {@link KeyOrder#REVERSED} traverses keys in the order of {@link ByteBased#toBytesReversed()}
+ * instead, using {@link ByteBasedSequence#byteAtReversed(int)} where available. For keys whose
+ * low-order bytes vary the most, such as sequential identifiers, this places the varying bytes near
+ * the root, so that the shared upper levels are dense and there are fewer, shorter single-child
+ * chains.
+ * </p>
+ * <p>
+ * Each node is created with 256 child slots, which are never shrunk by removals. After heavy
+ * churn, {@link #compact()}, or {@link #compactNext()} one subtree at a time, removes empty nodes
+ * and converts sparsely populated nodes to exact-size arrays.
+ * </p>
  *
  * @param <T> the type of values stored in the trie
  *
- * @version 1.0.1
+ * @version 1.1.0
  * @since 1.0.0
  */
 public class ByteBasedTrie<T> implements Iterable<T> {
 
+  /**
+   * The number of children of each node, one for each possible byte value.
+   *
+   * @since 1.1.0
+   */
+  static final int FAN_OUT = Byte.MAX_VALUE - Byte.MIN_VALUE + 1;
+
+  /**
+   * The maximum number of children of a sparse node.
+   *
+   * @since 1.1.0
+   */
+  private static final int SPARSE_MAX_CHILDREN = 32;
+
+  /**
+   * The byte values of the children of a sparse node without children, shared by all such nodes.
+   *
+   * @since 1.1.0
+   */
+  private static final byte[] EMPTY_INDICES = new byte[0];
+
+  /**
+   * The children of a sparse node without children, shared by all such nodes.
+   *
+   * @since 1.1.0
+   */
+  private static final Object[] EMPTY_CHILDREN = new Object[0];
+
   /**
    * The root node of the trie.
    *
@@ -25,6 +87,52 @@ public class ByteBasedTrie<T> implements Iterable<T> {
    */
   private final Node root = new Node();
 
+  /**
+   * The byte value of the root child whose subtree is compacted by the next call to
+   * {@link #compactNext()}, or {@link #FAN_OUT} if the root itself is compacted next.
+   *
+   * @since 1.1.0
+   */
+  private int compactionCursor;
+
+  /**
+   * The order in which key bytes are traversed.
+   *
+   * @since 1.1.0
+   */
+  private final KeyOrder keyOrder;
+
+  /**
+   * Constructor for a new {@link ByteBasedTrie} which traverses keys in standard order.
+   *
+   * @since 1.1.0
+   */
+  public ByteBasedTrie() {
+    this(KeyOrder.STANDARD);
+  }
+
+  /**
+   * Constructor for a new {@link ByteBasedTrie} which traverses keys in the specified order.
+   *
+   * @param keyOrder the order in which key bytes are traversed.
+   *
+   * @since 1.1.0
+   */
+  public ByteBasedTrie(KeyOrder keyOrder) {
+    this.keyOrder = keyOrder;
+  }
+
+  /**
+   * Gets the order in which key bytes are traversed.
+   *
+   * @return the key order.
+   *
+   * @since 1.1.0
+   */
+  public KeyOrder getKeyOrder() {
+    return keyOrder;
+  }
+
   /**
    * Retrieves the value associated with the given {@link ByteBased} key.
    *
@@ -36,12 +144,14 @@ public class ByteBasedTrie<T> implements Iterable<T> {
    * @since 1.0.0
    */
   public T getValue(ByteBased key) {
+    ByteBasedSequence sequence = asSequence(key);
+    int length = sequence.byteLength();
     Node current = root;
-    for (byte b : key.toBytes()) {
-      if (current.children.get(b & 0xFF) == null) {
+    for (int i = 0; i < length; i++) {
+      current = current.child(keyByte(keyOrder, sequence, i));
+      if (current == null) {
         return null;
       }
-      current = current.children.get(b & 0xFF);
     }
     return current.value;
   }
@@ -59,15 +169,115 @@ public class ByteBasedTrie<T> implements Iterable<T> {
    * @since 1.0.0
    */
   public T setValue(ByteBased key, T value) {
-    Node current = root;
-    for (byte b : key.toBytes()) {
-      if (current.children.get(b & 0xFF) == null) {
-        current.children.set(b & 0xFF, new Node());
+    return setValue(root, asSequence(key), 0, value);
+  }
+
+  /**
+   * Associates the specified value with the given key in the subtree rooted at the given node,
+   * creating the missing nodes along the path of the key.
+   *
+   * @param start the root of the subtree
+   * @param key   the key, as a byte sequence
+   * @param depth the depth of the root of the subtree, i.e., the number of key bytes already
+   *              traversed
+   * @param value the value to be associated with the key
+   *
+   * @return the previous value associated with the key, or {@code null} if there was no mapping for
+   *     the key
+   *
+   * @since 1.1.0
+   */
+  private T setValue(Node start, ByteBasedSequence key, int depth, T value) {
+    int length = key.byteLength();
+    Node current = start;
+    for (int i = depth; i < length; i++) {
+      int index = keyByte(keyOrder, key, i);
+      Node child = current.child(index);
+      if (child == null) {
+        child = new Node();
+        current.setChild(index, child);
       }
-      current = current.children.get(b & 0xFF);
+      current = child;
     }
+    T previous = current.value;
     current.value = value;
-    return value;
+    return previous;
+  }
+
+  /**
+   * Associates the values of the specified entries with their keys, building the subtrees under
+   * each root child in parallel on the {@link ForkJoinPool#commonPool() common pool}.
+   *
+   * @param entries the entries to be added to the trie
+   *
+   * @see #setValuesInParallel(Collection, ForkJoinPool)
+   * @since 1.1.0
+   */
+  public void setValuesInParallel(
+      Collection<? extends Map.Entry<? extends ByteBased, ? extends T>> entries) {
+    setValuesInParallel(entries, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Associates the values of the specified entries with their keys, building the subtrees under
+   * each root child in parallel on the specified {@link ForkJoinPool}.
+   * <p>
+   * The entries are first partitioned by the first traversed byte of their keys. The root children
+   * for all partitions are then created, after which each partition is inserted into its own
+   * subtree by a separate task. As no two tasks modify the same node, no locking is needed, and the
+   * subtrees are visible under the root once all tasks have completed. If several entries have the
+   * same key, the value of the last one in the iteration order of the collection is kept. The trie
+   * must not be accessed by other threads while this method runs.
+   * </p>
+   *
+   * @param entries the entries to be added to the trie
+   * @param pool    the pool on which the subtrees are built
+   *
+   * @since 1.1.0
+   */
+  @SuppressWarnings("unchecked")
+  public void setValuesInParallel(
+      Collection<? extends Map.Entry<? extends ByteBased, ? extends T>> entries,
+      ForkJoinPool pool) {
+    List<ByteBasedSequence>[] keys = new List[FAN_OUT];
+    List<T>[] values = new List[FAN_OUT];
+    for (Map.Entry<? extends ByteBased, ? extends T> entry : entries) {
+      ByteBasedSequence sequence = asSequence(entry.getKey());
+      if (sequence.byteLength() == 0) {
+        root.value = entry.getValue();
+        continue;
+      }
+      int index = keyByte(keyOrder, sequence, 0);
+      if (keys[index] == null) {
+        keys[index] = new ArrayList<>();
+        values[index] = new ArrayList<>();
+      }
+      keys[index].add(sequence);
+      values[index].add(entry.getValue());
+    }
+
+    List<ForkJoinTask<?>> tasks = new ArrayList<>();
+    for (int index = 0; index < FAN_OUT; index++) {
+      if (keys[index] == null) {
+        continue;
+      }
+      Node child = root.child(index);
+      if (child == null) {
+        child = new Node();
+        root.setChild(index, child);
+      }
+      Node subtree = child;
+      List<ByteBasedSequence> partitionKeys = keys[index];
+      List<T> partitionValues = values[index];
+      tasks.add(pool.submit(() -> {
+        for (int i = 0; i < partitionKeys.size(); i++) {
+          setValue(subtree, partitionKeys.get(i), 1, partitionValues.get(i));
+        }
+      }));
+    }
+    for (ForkJoinTask<?> task : tasks) {
+      task.join();
+    }
   }
 
   /**
@@ -81,15 +291,15 @@ public class ByteBasedTrie<T> implements Iterable<T> {
    * @since 1.0.0
    */
   public T remove(ByteBased key) {
-    return remove(root, key.toBytes(), 0);
+    return remove(root, asSequence(key), 0);
   }
 
   /**
-   * Recursively removes the mapping for the specified byte array key from the trie if present. This
-   * method cleans up nodes that become unnecessary after the removal.
+   * Recursively removes the mapping for the specified key from the trie if present. This method
+   * cleans up nodes that become unnecessary after the removal.
    *
    * @param current the current node being inspected
-   * @param key     the byte array representation of the key
+   * @param key     the key, as a byte sequence
    * @param index   the current index within the key
    *
    * @return the value that was associated with the key, or {@code null} if there was no mapping for
@@ -97,8 +307,8 @@ public class ByteBasedTrie<T> implements Iterable<T> {
    *
    * @since 1.0.0
    */
-  private T remove(Node current, byte[] key, int index) {
-    if (index == key.length) {
+  private T remove(Node current, ByteBasedSequence key, int index) {
+    if (index == key.byteLength()) {
       if (current.value == null) {
         return null;
       }
@@ -107,19 +317,578 @@ public class ByteBasedTrie<T> implements Iterable<T> {
       return oldValue;
     }
 
-    byte b = key[index];
-    Node child = current.children.get(b & 0xFF);
+    int b = keyByte(keyOrder, key, index);
+    Node child = current.child(b);
     if (child == null) {
       return null;
     }
 
     T oldValue = remove(child, key, index + 1);
     if (child.isEmpty()) {
-      current.children.set(b & 0xFF, null);
+      current.setChild(b, null);
     }
     return oldValue;
   }
 
+  /**
+   * Retrieves the values associated with all keys between the given {@link ByteBased} keys
+   * (inclusive), in the unsigned lexicographic order of the key bytes. Only the subtrees which
+   * overlap the range are visited.
+   * <p>
+   * When used with order-preserving key types, such as
+   * {@link com.micatechnologies.micautils_j8.types.ByteBasedSortableLong}, the order of the keys
+   * matches their numeric order, making this method suitable for numeric range queries. With
+   * {@link KeyOrder#REVERSED}, the range and the order apply to the reversed key bytes.
+   * </p>
+   *
+   * @param fromKey the lowest key of the range (inclusive)
+   * @param toKey   the highest key of the range (inclusive)
+   *
+   * @return the values associated with keys in the range, in key order, or an empty list if there
+   *     are none
+   *
+   * @since 1.1.0
+   */
+  public List<T> getValuesInRange(ByteBased fromKey, ByteBased toKey) {
+    List<T> values = new ArrayList<>();
+    if (keyOrder == KeyOrder.REVERSED) {
+      collectRange(root, fromKey.toBytesReversed(), toKey.toBytesReversed(), 0, true, true, values);
+    } else {
+      collectRange(root, fromKey.toBytes(), toKey.toBytes(), 0, true, true, values);
+    }
+    return values;
+  }
+
+  /**
+   * Recursively collects, in key order, the values of the subtree rooted at the given node whose
+   * keys are within the given byte array range (inclusive).
+   *
+   * @param current the current node being inspected
+   * @param from    the byte array representation of the lowest key of the range
+   * @param to      the byte array representation of the highest key of the range
+   * @param depth   the depth of the current node, i.e., the length of its key
+   * @param onLower whether the key of the current node is a prefix of the lowest key
+   * @param onUpper whether the key of the current node is a prefix of the highest key
+   * @param values  the list to which values within the range are added
+   *
+   * @since 1.1.0
+   */
+  private void collectRange(Node current, byte[] from, byte[] to, int depth, boolean onLower,
+      boolean onUpper, List<T> values) {
+    boolean belowLower = onLower && depth < from.length;
+    if (current.value != null && !belowLower) {
+      values.add(current.value);
+    }
+    if (onUpper && depth >= to.length) {
+      return;
+    }
+
+    int low = belowLower ? from[depth] & 0xFF : 0;
+    int high = onUpper ? to[depth] & 0xFF : 0xFF;
+    for (int i = low; i <= high; i++) {
+      Node child = current.child(i);
+      if (child != null) {
+        collectRange(child, from, to, depth + 1, belowLower && i == low, onUpper && i == high,
+            values);
+      }
+    }
+  }
+
+  /**
+   * Retrieves the values associated with all keys which start with the given {@link ByteBased}
+   * prefix, including the prefix itself, in the unsigned lexicographic order of the key bytes. Only
+   * the subtree below the prefix is visited.
+   * <p>
+   * With {@link KeyOrder#REVERSED}, the values associated with keys which end with the given key
+   * are returned, in the order of the reversed key bytes.
+   * </p>
+   *
+   * @param prefix the prefix of the keys whose values are to be returned
+   *
+   * @return the values associated with keys starting with the prefix, in key order, or an empty
+   *     list if there are none
+   *
+   * @since 1.1.0
+   */
+  public List<T> getValuesWithPrefix(ByteBased prefix) {
+    ByteBasedSequence sequence = asSequence(prefix);
+    int length = sequence.byteLength();
+    Node current = root;
+    for (int i = 0; i < length && current != null; i++) {
+      current = current.child(keyByte(keyOrder, sequence, i));
+    }
+    List<T> values = new ArrayList<>();
+    if (current != null) {
+      collectAll(current, values);
+    }
+    return values;
+  }
+
+  /**
+   * Recursively collects, in key order, all values of the subtree rooted at the given node.
+   *
+   * @param current the current node being inspected
+   * @param values  the list to which values are added
+   *
+   * @since 1.1.0
+   */
+  private void collectAll(Node current, List<T> values) {
+    if (current.value != null) {
+      values.add(current.value);
+    }
+    for (int i = current.nextChildIndex(0); i >= 0; i = current.nextChildIndex(i + 1)) {
+      collectAll(current.child(i), values);
+    }
+  }
+
+  /**
+   * Compacts the whole trie, removing the nodes which hold no value and lead to no value, and
+   * converting the nodes with at most {@value #SPARSE_MAX_CHILDREN} children from a list of 256
+   * child slots to exact-size arrays. This reclaims most of the memory of tries with many
+   * sparsely populated nodes, such as after heavy churn. Compacted nodes stay compact until a
+   * child beyond {@value #SPARSE_MAX_CHILDREN} is added, and lookups in compacted nodes scan their
+   * children.
+   * <p>
+   * This method visits every node. To spread the work over several calls, use
+   * {@link #compactNext()} instead.
+   * </p>
+   *
+   * @return the estimated number of bytes reclaimed
+   *
+   * @since 1.1.0
+   */
+  public long compact() {
+    long reclaimed = compactChildren(root);
+    compactionCursor = 0;
+    return reclaimed + root.compact();
+  }
+
+  /**
+   * Compacts the next subtree of the trie, as {@link #compact()} does for the whole trie. Each
+   * call compacts the subtree under one child of the root, in turn, and the root itself after its
+   * last child, so that repeated calls, for example from a background task which holds the lock
+   * of the trie, compact the whole trie without a long pause.
+   *
+   * @return the estimated number of bytes reclaimed
+   *
+   * @since 1.1.0
+   */
+  public long compactNext() {
+    int index = compactionCursor < FAN_OUT ? root.nextChildIndex(compactionCursor) : -1;
+    if (index < 0) {
+      compactionCursor = 0;
+      return root.compact();
+    }
+    compactionCursor = index + 1;
+    return compactChild(root, index);
+  }
+
+  /**
+   * Recursively compacts the children of the given node, removing the empty ones.
+   *
+   * @param current the node whose children are compacted
+   *
+   * @return the estimated number of bytes reclaimed
+   *
+   * @since 1.1.0
+   */
+  private long compactChildren(Node current) {
+    long reclaimed = 0;
+    for (int index = current.nextChildIndex(0); index >= 0;
+        index = current.nextChildIndex(index + 1)) {
+      reclaimed += compactChild(current, index);
+    }
+    return reclaimed;
+  }
+
+  /**
+   * Recursively compacts the subtree under the specified child of the given node, removing the
+   * child if it becomes empty.
+   *
+   * @param parent the parent of the child
+   * @param index  the byte value of the child
+   *
+   * @return the estimated number of bytes reclaimed
+   *
+   * @since 1.1.0
+   */
+  private long compactChild(Node parent, int index) {
+    Node child = parent.child(index);
+    long reclaimed = compactChildren(child);
+    if (child.isEmpty()) {
+      parent.setChild(index, null);
+      return reclaimed + child.estimatedBytes();
+    }
+    return reclaimed + child.compact();
+  }
+
+  /**
+   * Rounds the specified size of an object up to the 8-byte alignment of objects in memory.
+   *
+   * @param bytes the size of the object, in bytes
+   *
+   * @return the aligned size, in bytes
+   *
+   * @since 1.1.0
+   */
+  private static long align(long bytes) {
+    return (bytes + 7) & ~7L;
+  }
+
+  /**
+   * Creates a copy of the specified byte array without the element at the specified position.
+   *
+   * @param array    the array
+   * @param position the position of the element to omit
+   *
+   * @return the copy, one element shorter
+   *
+   * @since 1.1.0
+   */
+  private static byte[] removeAt(byte[] array, int position) {
+    byte[] result = new byte[array.length - 1];
+    System.arraycopy(array, 0, result, 0, position);
+    System.arraycopy(array, position + 1, result, position, result.length - position);
+    return result;
+  }
+
+  /**
+   * Creates a copy of the specified array without the element at the specified position.
+   *
+   * @param array    the array
+   * @param position the position of the element to omit
+   *
+   * @return the copy, one element shorter
+   *
+   * @since 1.1.0
+   */
+  private static Object[] removeAt(Object[] array, int position) {
+    Object[] result = new Object[array.length - 1];
+    System.arraycopy(array, 0, result, 0, position);
+    System.arraycopy(array, position + 1, result, position, result.length - position);
+    return result;
+  }
+
+  /**
+   * Performs the given action for each mapping of the trie, in key order. As the trie does not
+   * retain key objects, each key is reconstructed from the path of its node, as a new byte array in
+   * the order of {@link ByteBased#toBytes()}.
+   *
+   * @param action the action to be performed for each key and value
+   *
+   * @since 1.1.0
+   */
+  void forEachEntry(BiConsumer<byte[], ? super T> action) {
+    forEachEntry(root, new byte[16], 0, action);
+  }
+
+  /**
+   * Recursively performs the given action for each mapping of the subtree rooted at the given
+   * node, in key order.
+   *
+   * @param current the current node being inspected
+   * @param path    the traversed key bytes, which may be grown
+   * @param depth   the depth of the current node, i.e., the number of bytes of the path in use
+   * @param action  the action to be performed for each key and value
+   *
+   * @return the path, which is a new array if it was grown
+   *
+   * @since 1.1.0
+   */
+  private byte[] forEachEntry(Node current, byte[] path, int depth,
+      BiConsumer<byte[], ? super T> action) {
+    if (current.value != null) {
+      byte[] key = Arrays.copyOf(path, depth);
+      if (keyOrder == KeyOrder.REVERSED) {
+        for (int i = 0, j = depth - 1; i < j; i++, j--) {
+          byte b = key[i];
+          key[i] = key[j];
+          key[j] = b;
+        }
+      }
+      action.accept(key, current.value);
+    }
+    for (int index = current.nextChildIndex(0); index >= 0;
+        index = current.nextChildIndex(index + 1)) {
+      if (depth == path.length) {
+        path = Arrays.copyOf(path, depth * 2);
+      }
+      path[depth] = (byte) index;
+      path = forEachEntry(current.child(index), path, depth + 1, action);
+    }
+    return path;
+  }
+
+  /**
+   * Collects the structural statistics of the trie, i.e., its entry and node counts, entry depths
+   * and node fan-outs, by visiting every node.
+   *
+   * @param structure the statistics to which the nodes of the trie are added
+   *
+   * @since 1.1.0
+   */
+  void collectStructure(ByteBasedTrieMetrics.Structure structure) {
+    collectStructure(root, 0, structure);
+  }
+
+  /**
+   * Recursively collects the structural statistics of the subtree rooted at the given node.
+   *
+   * @param current   the current node being inspected
+   * @param depth     the depth of the current node
+   * @param structure the statistics to which the nodes of the subtree are added
+   *
+   * @since 1.1.0
+   */
+  private void collectStructure(Node current, int depth, ByteBasedTrieMetrics.Structure structure) {
+    int fanOut = 0;
+    for (int i = current.nextChildIndex(0); i >= 0; i = current.nextChildIndex(i + 1)) {
+      fanOut++;
+      collectStructure(current.child(i), depth + 1, structure);
+    }
+    structure.addNode(depth, fanOut, current.value != null, current.estimatedBytes());
+  }
+
+  /**
+   * Merges the mappings of the specified trie into this trie. Keys present in only one trie keep
+   * their value, while the values of keys present in both tries are combined with the specified
+   * function, whose {@code null} result removes the mapping.
+   * <p>
+   * Both tries are walked in lockstep, and the subtrees under different root children are merged
+   * in parallel on the {@link ForkJoinPool#commonPool() common pool}. Subtrees present only in this
+   * trie are skipped without being visited, while subtrees present only in the other trie are
+   * copied, so that the tries never share nodes. Neither trie may be modified by other threads
+   * while this method runs.
+   * </p>
+   *
+   * @param other    the trie whose mappings are merged into this trie
+   * @param combiner the function which combines the value of this trie with the value of the other
+   *                 trie for keys present in both
+   *
+   * @throws IllegalArgumentException if the tries have different key orders.
+   * @since 1.1.0
+   */
+  public void merge(ByteBasedTrie<T> other, BinaryOperator<T> combiner) {
+    combine(other, CombineMode.MERGE, combiner);
+  }
+
+  /**
+   * Retains only the mappings of this trie whose keys are also present in the specified trie,
+   * combining their values with the specified function, whose {@code null} result removes the
+   * mapping.
+   * <p>
+   * Both tries are walked in lockstep, and the subtrees under different root children are
+   * processed in parallel on the {@link ForkJoinPool#commonPool() common pool}. Subtrees present
+   * in only one trie are skipped, or dropped from this trie, without being visited. Neither trie
+   * may be modified by other threads while this method runs.
+   * </p>
+   *
+   * @param other    the trie whose keys are retained in this trie
+   * @param combiner the function which combines the value of this trie with the value of the other
+   *                 trie for keys present in both
+   *
+   * @throws IllegalArgumentException if the tries have different key orders.
+   * @since 1.1.0
+   */
+  public void intersect(ByteBasedTrie<T> other, BinaryOperator<T> combiner) {
+    combine(other, CombineMode.INTERSECT, combiner);
+  }
+
+  /**
+   * Removes the mappings of this trie whose keys are present in the specified trie.
+   *
+   * @param other the trie whose keys are removed from this trie
+   *
+   * @throws IllegalArgumentException if the tries have different key orders.
+   * @see #diff(ByteBasedTrie, BinaryOperator)
+   * @since 1.1.0
+   */
+  public void diff(ByteBasedTrie<T> other) {
+    diff(other, (value, otherValue) -> null);
+  }
+
+  /**
+   * Combines the values of the mappings of this trie whose keys are present in the specified trie
+   * with the specified function, whose {@code null} result removes the mapping, and keeps the other
+   * mappings of this trie. For example, a function which returns {@code null} for equal values
+   * leaves only the mappings which were added or changed relative to the other trie.
+   * <p>
+   * Both tries are walked in lockstep, and the subtrees under different root children are
+   * processed in parallel on the {@link ForkJoinPool#commonPool() common pool}. Subtrees present
+   * in only one trie are skipped without being visited. Neither trie may be modified by other
+   * threads while this method runs.
+   * </p>
+   *
+   * @param other    the trie whose keys are compared with this trie
+   * @param combiner the function which combines the value of this trie with the value of the other
+   *                 trie for keys present in both
+   *
+   * @throws IllegalArgumentException if the tries have different key orders.
+   * @since 1.1.0
+   */
+  public void diff(ByteBasedTrie<T> other, BinaryOperator<T> combiner) {
+    combine(other, CombineMode.DIFF, combiner);
+  }
+
+  /**
+   * Combines the specified trie into this trie, processing the subtrees under the root children
+   * present in both tries in parallel.
+   *
+   * @param other    the trie to combine into this trie
+   * @param mode     the kind of combination
+   * @param combiner the function which combines the values of keys present in both tries
+   *
+   * @throws IllegalArgumentException if the tries have different key orders.
+   * @since 1.1.0
+   */
+  private void combine(ByteBasedTrie<T> other, CombineMode mode, BinaryOperator<T> combiner) {
+    if (other.keyOrder != keyOrder) {
+      throw new IllegalArgumentException("Tries have different key orders: " + keyOrder + ", "
+          + other.keyOrder);
+    }
+    combineValue(root, other.root, mode, combiner);
+    List<ForkJoinTask<?>> tasks = new ArrayList<>();
+    int[] indices = new int[FAN_OUT];
+    for (int index = 0; index < FAN_OUT; index++) {
+      Node target = root.child(index);
+      Node source = other.root.child(index);
+      if (target != null && source != null) {
+        indices[tasks.size()] = index;
+        tasks.add(ForkJoinPool.commonPool().submit(() -> combine(target, source, mode, combiner)));
+      } else {
+        combineChild(root, index, target, source, mode);
+      }
+    }
+    for (int i = 0; i < tasks.size(); i++) {
+      tasks.get(i).join();
+      if (root.child(indices[i]).isEmpty()) {
+        root.setChild(indices[i], null);
+      }
+    }
+  }
+
+  /**
+   * Recursively combines the subtree rooted at the given source node into the subtree rooted at
+   * the given target node, which represent the same key, pruning emptied target nodes.
+   *
+   * @param target   the node of this trie
+   * @param source   the node of the other trie
+   * @param mode     the kind of combination
+   * @param combiner the function which combines the values of keys present in both tries
+   *
+   * @since 1.1.0
+   */
+  private void combine(Node target, Node source, CombineMode mode, BinaryOperator<T> combiner) {
+    combineValue(target, source, mode, combiner);
+    for (int index = 0; index < FAN_OUT; index++) {
+      Node targetChild = target.child(index);
+      Node sourceChild = source.child(index);
+      if (targetChild != null && sourceChild != null) {
+        combine(targetChild, sourceChild, mode, combiner);
+        if (targetChild.isEmpty()) {
+          target.setChild(index, null);
+        }
+      } else {
+        combineChild(target, index, targetChild, sourceChild, mode);
+      }
+    }
+  }
+
+  /**
+   * Combines a child which is present in at most one of the tries, in constant time unless a
+   * subtree of the other trie is copied by a merge.
+   *
+   * @param target      the node of this trie
+   * @param index       the byte value of the child
+   * @param targetChild the child of the node of this trie, or {@code null}
+   * @param sourceChild the child of the node of the other trie, or {@code null}
+   * @param mode        the kind of combination
+   *
+   * @since 1.1.0
+   */
+  private void combineChild(Node target, int index, Node targetChild, Node sourceChild,
+      CombineMode mode) {
+    if (targetChild != null && mode == CombineMode.INTERSECT) {
+      target.setChild(index, null);
+    } else if (sourceChild != null && mode == CombineMode.MERGE) {
+      target.setChild(index, copyOf(sourceChild));
+    }
+  }
+
+  /**
+   * Combines the value of the given source node into the given target node, which represent the
+   * same key.
+   *
+   * @param target   the node of this trie
+   * @param source   the node of the other trie
+   * @param mode     the kind of combination
+   * @param combiner the function which combines the values of keys present in both tries
+   *
+   * @since 1.1.0
+   */
+  private void combineValue(Node target, Node source, CombineMode mode,
+      BinaryOperator<T> combiner) {
+    if (target.value != null && source.value != null) {
+      target.value = combiner.apply(target.value, source.value);
+    } else if (mode == CombineMode.MERGE && target.value == null) {
+      target.value = source.value;
+    } else if (mode == CombineMode.INTERSECT) {
+      target.value = null;
+    }
+  }
+
+  /**
+   * Creates a deep copy of the subtree rooted at the given node, which may belong to another trie.
+   *
+   * @param node the root of the subtree
+   *
+   * @return the root of the copy
+   *
+   * @since 1.1.0
+   */
+  private Node copyOf(Node node) {
+    Node copy = new Node();
+    copy.value = node.value;
+    for (int index = node.nextChildIndex(0); index >= 0; index = node.nextChildIndex(index + 1)) {
+      copy.setChild(index, copyOf(node.child(index)));
+    }
+    return copy;
+  }
+
+  /**
+   * Gets a {@link ByteBasedSequence} view of the given key. Keys which already implement
+   * {@link ByteBasedSequence} are returned as-is, while other keys are converted using
+   * {@link ByteBased#toBytes()}.
+   *
+   * @param key the key
+   *
+   * @return the key as a byte sequence
+   *
+   * @since 1.1.0
+   */
+  static ByteBasedSequence asSequence(ByteBased key) {
+    if (key instanceof ByteBasedSequence) {
+      return (ByteBasedSequence) key;
+    }
+    return ByteBasedSlice.of(key.toBytes());
+  }
+
+  /**
+   * Gets the byte of the given key at the specified traversal depth, as an unsigned value, in the
+   * specified key order.
+   *
+   * @param keyOrder the order in which key bytes are traversed
+   * @param key      the key, as a byte sequence
+   * @param index    the traversal depth
+   *
+   * @return the unsigned byte value, from {@code 0} to {@code 255}
+   *
+   * @since 1.1.0
+   */
+  static int keyByte(KeyOrder keyOrder, ByteBasedSequence key, int index) {
+    return (keyOrder == KeyOrder.REVERSED ? key.byteAtReversed(index) : key.byteAt(index)) & 0xFF;
+  }
+
   /**
    * Returns an iterator over elements in the {@link ByteBasedTrie} of type {@code T}.
    *
@@ -137,13 +906,20 @@ public class ByteBasedTrie<T> implements Iterable<T> {
    * ({@code Byte.MAX_VALUE - Byte.MIN_VALUE + 1}) children, one for each possible byte value. The
    * node also stores a value, which is the value associated with the key represented by the path
    * from the root to this node.
+   * <p>
+   * A node is either dense, with a list of 256 child slots indexed by byte value, or sparse, with
+   * exact-size arrays of the byte values and children which are present. Nodes are created dense,
+   * and only become sparse when compacted. A sparse node stays sparse while it has at most
+   * {@value #SPARSE_MAX_CHILDREN} children, and becomes dense again when a child beyond that is
+   * added.
+   * </p>
    *
    * @since 1.0.0
    */
   private class Node {
 
     /**
-     * The children of the node, indexed by byte value.
+     * The children of a dense node, indexed by byte value, or {@code null} if the node is sparse.
      * <p>
      * The {@link ArrayList} is pre-populated with {@code null} values to avoid the possibility of
      * {@link IndexOutOfBoundsException}s when checking for children.
@@ -151,8 +927,23 @@ public class ByteBasedTrie<T> implements Iterable<T> {
      *
      * @since 1.0.0
      */
-    private final ArrayList<Node> children =
-        new ArrayList<>(Collections.nCopies(Byte.MAX_VALUE - Byte.MIN_VALUE + 1, null));
+    private ArrayList<Node> children = new ArrayList<>(Collections.nCopies(FAN_OUT, null));
+
+    /**
+     * The byte values of the children of a sparse node, in ascending unsigned order, or
+     * {@code null} if the node is dense.
+     *
+     * @since 1.1.0
+     */
+    private byte[] sparseIndices;
+
+    /**
+     * The children of a sparse node, in the order of {@link #sparseIndices}, or {@code null} if the
+     * node is dense.
+     *
+     * @since 1.1.0
+     */
+    private Object[] sparseChildren;
 
     /**
      * The value associated with the node.
@@ -162,30 +953,260 @@ public class ByteBasedTrie<T> implements Iterable<T> {
     private T value;
 
     /**
-     * Determines if the node is empty, i.e., it has no children and no value.
+     * Gets the child of the node for the specified byte value.
      *
-     * @return {@code true} if the node is empty, {@code false} otherwise
+     * @param index the byte value, from {@code 0} to {@code 255}
      *
-     * @since 1.0.0
+     * @return the child, or {@code null} if there is none
+     *
+     * @since 1.1.0
      */
-    private boolean isEmpty() {
-      if (value != null) {
-        return false;
+    @SuppressWarnings("unchecked")
+    private Node child(int index) {
+      if (children != null) {
+        return children.get(index);
       }
-      for (Node child : children) {
+      int position = sparsePosition(index);
+      return position < 0 ? null : (Node) sparseChildren[position];
+    }
+
+    /**
+     * Sets the child of the node for the specified byte value, converting a sparse node to a dense
+     * node if it would exceed {@value #SPARSE_MAX_CHILDREN} children.
+     *
+     * @param index the byte value, from {@code 0} to {@code 255}
+     * @param child the child, or {@code null} to remove the child
+     *
+     * @since 1.1.0
+     */
+    private void setChild(int index, Node child) {
+      if (children != null) {
+        children.set(index, child);
+        return;
+      }
+      int position = sparsePosition(index);
+      if (position >= 0) {
         if (child != null) {
-          return false;
+          sparseChildren[position] = child;
+        } else {
+          setSparse(removeAt(sparseIndices, position), removeAt(sparseChildren, position));
+        }
+      } else if (child != null) {
+        if (sparseIndices.length == SPARSE_MAX_CHILDREN) {
+          expand();
+          children.set(index, child);
+        } else {
+          int insertion = -position - 1;
+          byte[] indices = new byte[sparseIndices.length + 1];
+          Object[] nodes = new Object[indices.length];
+          System.arraycopy(sparseIndices, 0, indices, 0, insertion);
+          System.arraycopy(sparseChildren, 0, nodes, 0, insertion);
+          indices[insertion] = (byte) index;
+          nodes[insertion] = child;
+          System.arraycopy(sparseIndices, insertion, indices, insertion + 1,
+              sparseIndices.length - insertion);
+          System.arraycopy(sparseChildren, insertion, nodes, insertion + 1,
+              sparseChildren.length - insertion);
+          setSparse(indices, nodes);
         }
       }
-      return true;
     }
+
+    /**
+     * Gets the smallest byte value, from the specified value upwards, for which the node has a
+     * child.
+     *
+     * @param from the smallest byte value to consider
+     *
+     * @return the byte value of the next child, or {@code -1} if there is none
+     *
+     * @since 1.1.0
+     */
+    private int nextChildIndex(int from) {
+      if (children != null) {
+        for (int index = from; index < FAN_OUT; index++) {
+          if (children.get(index) != null) {
+            return index;
+          }
+        }
+        return -1;
+      }
+      for (byte b : sparseIndices) {
+        int index = b & 0xFF;
+        if (index >= from) {
+          return index;
+        }
+      }
+      return -1;
+    }
+
+    /**
+     * Finds the position of the specified byte value in the arrays of a sparse node.
+     *
+     * @param index the byte value, from {@code 0} to {@code 255}
+     *
+     * @return the position, or {@code -(insertion point) - 1} if the node has no such child
+     *
+     * @since 1.1.0
+     */
+    private int sparsePosition(int index) {
+      for (int position = 0; position < sparseIndices.length; position++) {
+        int current = sparseIndices[position] & 0xFF;
+        if (current >= index) {
+          return current == index ? position : -position - 1;
+        }
+      }
+      return -sparseIndices.length - 1;
+    }
+
+    /**
+     * Converts the node to a sparse node if it has at most {@value #SPARSE_MAX_CHILDREN} children.
+     *
+     * @return the estimated number of bytes reclaimed
+     *
+     * @since 1.1.0
+     */
+    private long compact() {
+      if (children == null) {
+        return 0;
+      }
+      long before = estimatedBytes();
+      int count = 0;
+      for (Node child : children) {
+        if (child != null && ++count > SPARSE_MAX_CHILDREN) {
+          return 0;
+        }
+      }
+      byte[] indices = count == 0 ? EMPTY_INDICES : new byte[count];
+      Object[] nodes = count == 0 ? EMPTY_CHILDREN : new Object[count];
+      int position = 0;
+      for (int index = nextChildIndex(0); index >= 0; index = nextChildIndex(index + 1)) {
+        indices[position] = (byte) index;
+        nodes[position++] = children.get(index);
+      }
+      children = null;
+      setSparse(indices, nodes);
+      return before - estimatedBytes();
+    }
+
+    /**
+     * Converts the sparse node to a dense node.
+     *
+     * @since 1.1.0
+     */
+    @SuppressWarnings("unchecked")
+    private void expand() {
+      ArrayList<Node> dense = new ArrayList<>(Collections.nCopies(FAN_OUT, null));
+      for (int position = 0; position < sparseIndices.length; position++) {
+        dense.set(sparseIndices[position] & 0xFF, (Node) sparseChildren[position]);
+      }
+      children = dense;
+      sparseIndices = null;
+      sparseChildren = null;
+    }
+
+    /**
+     * Replaces the arrays of the sparse node, using the shared empty arrays when it has no
+     * children.
+     *
+     * @param indices the byte values of the children
+     * @param nodes   the children
+     *
+     * @since 1.1.0
+     */
+    private void setSparse(byte[] indices, Object[] nodes) {
+      sparseIndices = indices.length == 0 ? EMPTY_INDICES : indices;
+      sparseChildren = nodes.length == 0 ? EMPTY_CHILDREN : nodes;
+    }
+
+    /**
+     * Estimates the size of the node in memory, excluding its children and value, on a 64-bit JVM
+     * with compressed object pointers.
+     *
+     * @return the estimated size, in bytes
+     *
+     * @since 1.1.0
+     */
+    private long estimatedBytes() {
+      // Object header and four references
+      long bytes = 32;
+      if (children != null) {
+        // ArrayList and its 256-element array
+        bytes += 24 + align(16 + 4L * FAN_OUT);
+      } else if (sparseIndices != EMPTY_INDICES) {
+        bytes += align(16 + sparseIndices.length) + align(16 + 4L * sparseChildren.length);
+      }
+      return bytes;
+    }
+
+    /**
+     * Determines if the node is empty, i.e., it has no children and no value.
+     *
+     * @return {@code true} if the node is empty, {@code false} otherwise
+     *
+     * @since 1.0.0
+     */
+    private boolean isEmpty() {
+      return value == null && nextChildIndex(0) < 0;
+    }
+  }
+
+  /**
+   * The order in which a {@link ByteBasedTrie} traverses the bytes of its keys.
+   *
+   * @since 1.1.0
+   */
+  public enum KeyOrder {
+
+    /**
+     * Keys are traversed in the order of {@link ByteBased#toBytes()}.
+     *
+     * @since 1.1.0
+     */
+    STANDARD,
+
+    /**
+     * Keys are traversed in the order of {@link ByteBased#toBytesReversed()}.
+     *
+     * @since 1.1.0
+     */
+    REVERSED
+  }
+
+  /**
+   * The kinds of combination of two tries.
+   *
+   * @since 1.1.0
+   */
+  private enum CombineMode {
+
+    /**
+     * Keeps the keys of both tries.
+     *
+     * @since 1.1.0
+     */
+    MERGE,
+
+    /**
+     * Keeps the keys present in both tries.
+     *
+     * @since 1.1.0
+     */
+    INTERSECT,
+
+    /**
+     * Keeps the keys of this trie.
+     *
+     * @since 1.1.0
+     */
+    DIFF
   }
 
   /**
    * An iterator for the {@link ByteBasedTrie} that traverses the trie in a depth-first manner,
    * visiting each node that has a value.
    *
-   * @version 1.0.0
+   * @version 1.1.0
    * @since 1.0.1
    */
   private class TrieIterator implements Iterator<T> {
@@ -212,7 +1233,7 @@ public class ByteBasedTrie<T> implements Iterable<T> {
      * @since 1.0.0
      */
     public TrieIterator() {
-      pushNodes(root);
+      stack.push(root);
       findNext();
     }
 
@@ -224,10 +1245,8 @@ public class ByteBasedTrie<T> implements Iterable<T> {
      * @since 1.0.0
      */
     private void pushNodes(Node node) {
-      for (Node child : node.children) {
-        if (child != null) {
-          stack.push(child);
-        }
+      for (int i = node.nextChildIndex(0); i >= 0; i = node.nextChildIndex(i + 1)) {
+        stack.push(node.child(i));
       }
     }
 
@@ -242,11 +1261,11 @@ public class ByteBasedTrie<T> implements Iterable<T> {
       nextValue = null;
       while (!stack.isEmpty()) {
         Node currentNode = stack.pop();
+        pushNodes(currentNode);
         if (currentNode.value != null) {
           nextValue = currentNode.value;
           break;
         }
-        pushNodes(currentNode);
       }
     }
 
@@ -0,0 +1,471 @@
+package com.micatechnologies.micautils_j8.data;
+
+import com.micatechnologies.micautils_j8.types.ByteBased;
+import com.micatechnologies.micautils_j8.types.ByteBasedSlice;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * A size-bounded cache of values with {@link ByteBased} keys, stored in a {@link ByteBasedTrie}
+ * and evicted in least recently used order.
+ * <p>
+ * The cache is bounded either by a maximum number of entries, or by a maximum total weight
+ * computed by a weigher function for each value. When an insertion exceeds the bound, the least
+ * recently used entries are evicted until the cache is within its bound again. Each entry is part
+ * of a doubly linked list in access order, so that reads, insertions and evictions maintain the
+ * order in constant time.
+ * </p>
+ * <p>
+ * As {@link ByteBasedTrie} never retains key objects, each entry holds a copy of its key bytes as
+ * a {@link ByteBasedSlice}, which is used to remove the entry from the trie when it is evicted.
+ * Removal prunes the trie nodes which become empty, so that the memory of evicted entries is
+ * reclaimed.
+ * </p>
+ * <p>
+ * The cache records the number of hits, misses and evictions. It is not synchronized, and must be
+ * externally synchronized if it is accessed by multiple threads.
+ * </p>
+ *
+ * @param <V> the type of values stored in the cache
+ *
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class ByteBasedTrieCache<V> {
+
+  /**
+   * The trie which maps keys to cache entries.
+   *
+   * @since 1.1.0
+   */
+  private final ByteBasedTrie<Entry<V>> trie = new ByteBasedTrie<>();
+
+  /**
+   * The maximum total weight of the cache.
+   *
+   * @since 1.1.0
+   */
+  private final long maxWeight;
+
+  /**
+   * The function which computes the weight of a value.
+   *
+   * @since 1.1.0
+   */
+  private final ToLongFunction<? super V> weigher;
+
+  /**
+   * The most recently used entry, or {@code null} if the cache is empty.
+   *
+   * @since 1.1.0
+   */
+  private Entry<V> head;
+
+  /**
+   * The least recently used entry, or {@code null} if the cache is empty.
+   *
+   * @since 1.1.0
+   */
+  private Entry<V> tail;
+
+  /**
+   * The number of entries in the cache.
+   *
+   * @since 1.1.0
+   */
+  private int size;
+
+  /**
+   * The total weight of the entries in the cache.
+   *
+   * @since 1.1.0
+   */
+  private long weight;
+
+  /**
+   * The number of lookups which found a value.
+   *
+   * @since 1.1.0
+   */
+  private long hitCount;
+
+  /**
+   * The number of lookups which did not find a value.
+   *
+   * @since 1.1.0
+   */
+  private long missCount;
+
+  /**
+   * The number of entries evicted to keep the cache within its bound.
+   *
+   * @since 1.1.0
+   */
+  private long evictionCount;
+
+  /**
+   * Constructor for a new, empty {@link ByteBasedTrieCache} which holds at most the specified
+   * number of entries.
+   *
+   * @param maxEntries the maximum number of entries
+   *
+   * @throws IllegalArgumentException if {@code maxEntries} is not positive.
+   * @since 1.1.0
+   */
+  public ByteBasedTrieCache(int maxEntries) {
+    this(maxEntries, value -> 1);
+  }
+
+  /**
+   * Constructor for a new, empty {@link ByteBasedTrieCache} whose entries have at most the
+   * specified total weight, as computed by the specified weigher.
+   *
+   * @param maxWeight the maximum total weight of the entries
+   * @param weigher   the function which computes the weight of a value, which must not be negative
+   *
+   * @throws IllegalArgumentException if {@code maxWeight} is not positive.
+   * @since 1.1.0
+   */
+  public ByteBasedTrieCache(long maxWeight, ToLongFunction<? super V> weigher) {
+    if (maxWeight <= 0) {
+      throw new IllegalArgumentException("Maximum weight must be positive: " + maxWeight);
+    }
+    this.maxWeight = maxWeight;
+    this.weigher = Objects.requireNonNull(weigher);
+  }
+
+  /**
+   * Retrieves the value associated with the given {@link ByteBased} key, marking it as the most
+   * recently used entry, and records a hit or a miss.
+   *
+   * @param key the key whose associated value is to be returned
+   *
+   * @return the value associated with the given key, or {@code null} if the cache contains no
+   *     mapping for the key
+   *
+   * @since 1.1.0
+   */
+  public V get(ByteBased key) {
+    Entry<V> entry = trie.getValue(key);
+    if (entry == null) {
+      missCount++;
+      return null;
+    }
+    hitCount++;
+    moveToHead(entry);
+    return entry.value;
+  }
+
+  /**
+   * Retrieves the value associated with the given {@link ByteBased} key, or loads it with the
+   * specified loader and caches it if there is none. A {@code null} value returned by the loader is
+   * not cached.
+   *
+   * @param key    the key whose associated value is to be returned
+   * @param loader the function which loads the value for a key which is not cached
+   *
+   * @return the cached or loaded value
+   *
+   * @since 1.1.0
+   */
+  public V get(ByteBased key, Function<? super ByteBased, ? extends V> loader) {
+    V value = get(key);
+    if (value == null) {
+      value = loader.apply(key);
+      if (value != null) {
+        put(key, value);
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Associates the specified value with the given {@link ByteBased} key, marking it as the most
+   * recently used entry, then evicts least recently used entries until the cache is within its
+   * bound. A value which alone exceeds the maximum weight is evicted immediately.
+   *
+   * @param key   the key with which the specified value is to be associated
+   * @param value the value to be associated with the specified key
+   *
+   * @return the previous value associated with the key, or {@code null} if there was no mapping for
+   *     the key
+   *
+   * @throws NullPointerException if {@code value} is {@code null}.
+   * @since 1.1.0
+   */
+  public V put(ByteBased key, V value) {
+    Objects.requireNonNull(value);
+    long valueWeight = weigher.applyAsLong(value);
+    if (valueWeight < 0) {
+      throw new IllegalArgumentException("Weight must not be negative: " + valueWeight);
+    }
+    V previous = null;
+    Entry<V> entry = trie.getValue(key);
+    if (entry == null) {
+      entry = new Entry<>(ByteBasedSlice.of(key.toBytes()));
+      trie.setValue(entry.key, entry);
+      size++;
+      linkAtHead(entry);
+    } else {
+      previous = entry.value;
+      weight -= entry.weight;
+      moveToHead(entry);
+    }
+    entry.value = value;
+    entry.weight = valueWeight;
+    weight += valueWeight;
+    while (weight > maxWeight) {
+      evictionCount++;
+      removeEntry(tail);
+    }
+    return previous;
+  }
+
+  /**
+   * Removes the mapping for the specified {@link ByteBased} key from the cache if present. Removal
+   * is not counted as an eviction.
+   *
+   * @param key the key whose mapping is to be removed
+   *
+   * @return the previous value associated with the key, or {@code null} if there was no mapping for
+   *     the key
+   *
+   * @since 1.1.0
+   */
+  public V remove(ByteBased key) {
+    Entry<V> entry = trie.getValue(key);
+    if (entry == null) {
+      return null;
+    }
+    removeEntry(entry);
+    return entry.value;
+  }
+
+  /**
+   * Removes all entries from the cache. The statistics are not reset.
+   *
+   * @since 1.1.0
+   */
+  public void clear() {
+    while (tail != null) {
+      removeEntry(tail);
+    }
+  }
+
+  /**
+   * Gets the number of entries in the cache.
+   *
+   * @return the number of entries
+   *
+   * @since 1.1.0
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the total weight of the entries in the cache. Without a weigher, this is the number of
+   * entries.
+   *
+   * @return the total weight
+   *
+   * @since 1.1.0
+   */
+  public long weight() {
+    return weight;
+  }
+
+  /**
+   * Gets the maximum total weight of the cache. Without a weigher, this is the maximum number of
+   * entries.
+   *
+   * @return the maximum total weight
+   *
+   * @since 1.1.0
+   */
+  public long getMaxWeight() {
+    return maxWeight;
+  }
+
+  /**
+   * Gets the number of lookups which found a value.
+   *
+   * @return the hit count
+   *
+   * @since 1.1.0
+   */
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * Gets the number of lookups which did not find a value.
+   *
+   * @return the miss count
+   *
+   * @since 1.1.0
+   */
+  public long getMissCount() {
+    return missCount;
+  }
+
+  /**
+   * Gets the number of entries evicted to keep the cache within its bound.
+   *
+   * @return the eviction count
+   *
+   * @since 1.1.0
+   */
+  public long getEvictionCount() {
+    return evictionCount;
+  }
+
+  /**
+   * Gets the ratio of lookups which found a value, or {@code 1.0} if there have been no lookups.
+   *
+   * @return the hit rate, from {@code 0.0} to {@code 1.0}
+   *
+   * @since 1.1.0
+   */
+  public double getHitRate() {
+    long lookups = hitCount + missCount;
+    return lookups == 0 ? 1.0 : (double) hitCount / lookups;
+  }
+
+  /**
+   * Resets the hit, miss and eviction counts to zero.
+   *
+   * @since 1.1.0
+   */
+  public void resetStats() {
+    hitCount = 0;
+    missCount = 0;
+    evictionCount = 0;
+  }
+
+  /**
+   * Removes the specified entry from the trie, pruning emptied nodes, and from the access order.
+   *
+   * @param entry the entry to remove
+   *
+   * @since 1.1.0
+   */
+  private void removeEntry(Entry<V> entry) {
+    trie.remove(entry.key);
+    unlink(entry);
+    size--;
+    weight -= entry.weight;
+  }
+
+  /**
+   * Moves the specified entry to the head of the access order, as the most recently used entry.
+   *
+   * @param entry the entry to move
+   *
+   * @since 1.1.0
+   */
+  private void moveToHead(Entry<V> entry) {
+    if (entry != head) {
+      unlink(entry);
+      linkAtHead(entry);
+    }
+  }
+
+  /**
+   * Links the specified unlinked entry at the head of the access order.
+   *
+   * @param entry the entry to link
+   *
+   * @since 1.1.0
+   */
+  private void linkAtHead(Entry<V> entry) {
+    entry.previous = null;
+    entry.next = head;
+    if (head == null) {
+      tail = entry;
+    } else {
+      head.previous = entry;
+    }
+    head = entry;
+  }
+
+  /**
+   * Unlinks the specified entry from the access order.
+   *
+   * @param entry the entry to unlink
+   *
+   * @since 1.1.0
+   */
+  private void unlink(Entry<V> entry) {
+    if (entry.previous == null) {
+      head = entry.next;
+    } else {
+      entry.previous.next = entry.next;
+    }
+    if (entry.next == null) {
+      tail = entry.previous;
+    } else {
+      entry.next.previous = entry.previous;
+    }
+    entry.previous = null;
+    entry.next = null;
+  }
+
+  /**
+   * Represents an entry of the {@link ByteBasedTrieCache}, which is a node of the access order
+   * list.
+   *
+   * @param <V> the type of the value of the entry
+   *
+   * @since 1.1.0
+   */
+  private static final class Entry<V> {
+
+    /**
+     * A copy of the key bytes of the entry.
+     *
+     * @since 1.1.0
+     */
+    private final ByteBasedSlice key;
+
+    /**
+     * The value of the entry.
+     *
+     * @since 1.1.0
+     */
+    private V value;
+
+    /**
+     * The weight of the value of the entry.
+     *
+     * @since 1.1.0
+     */
+    private long weight;
+
+    /**
+     * The more recently used entry, or {@code null} if this is the most recently used entry.
+     *
+     * @since 1.1.0
+     */
+    private Entry<V> previous;
+
+    /**
+     * The less recently used entry, or {@code null} if this is the least recently used entry.
+     *
+     * @since 1.1.0
+     */
+    private Entry<V> next;
+
+    /**
+     * Constructs a new entry with the specified key bytes.
+     *
+     * @param key a copy of the key bytes
+     *
+     * @since 1.1.0
+     */
+    private Entry(ByteBasedSlice key) {
+      this.key = key;
+    }
+  }
+}
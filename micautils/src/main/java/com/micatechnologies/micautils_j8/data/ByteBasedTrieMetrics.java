@@ -0,0 +1,343 @@
+package com.micatechnologies.micautils_j8.data;
+
+/**
+ * An immutable snapshot of the metrics of a {@link ByteBasedInstrumentedTrie}, which combines its
+ * operation counters, its sampled lookup latencies and the structure of the trie at the time the
+ * snapshot was taken.
+ * <p>
+ * Lookup latencies are recorded in a histogram with {@value #LATENCY_BUCKETS} buckets, in which
+ * bucket {@code i} counts the sampled lookups which took from {@code 2^i} to {@code 2^(i+1) - 1}
+ * nanoseconds (bucket {@code 0} also counts lookups which took {@code 0} nanoseconds, and the last
+ * bucket also counts longer lookups). The fan-out histogram counts the nodes with each number of
+ * children, from {@code 0} to {@code 256}.
+ * </p>
+ *
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public final class ByteBasedTrieMetrics {
+
+  /**
+   * The number of buckets of the lookup latency histogram.
+   *
+   * @since 1.1.0
+   */
+  public static final int LATENCY_BUCKETS = 40;
+
+  /**
+   * The number of lookups.
+   *
+   * @since 1.1.0
+   */
+  private final long lookupCount;
+
+  /**
+   * The number of lookups which found a value.
+   *
+   * @since 1.1.0
+   */
+  private final long hitCount;
+
+  /**
+   * The number of insertions and updates.
+   *
+   * @since 1.1.0
+   */
+  private final long setCount;
+
+  /**
+   * The number of removals.
+   *
+   * @since 1.1.0
+   */
+  private final long removeCount;
+
+  /**
+   * The histogram of sampled lookup latencies.
+   *
+   * @since 1.1.0
+   */
+  private final long[] lookupLatencyHistogram;
+
+  /**
+   * The structure of the trie.
+   *
+   * @since 1.1.0
+   */
+  private final Structure structure;
+
+  /**
+   * Constructs a new snapshot of trie metrics.
+   *
+   * @param lookupCount            the number of lookups
+   * @param hitCount               the number of lookups which found a value
+   * @param setCount               the number of insertions and updates
+   * @param removeCount            the number of removals
+   * @param lookupLatencyHistogram the histogram of sampled lookup latencies, which is not copied
+   * @param structure              the structure of the trie, which must not be modified afterwards
+   *
+   * @since 1.1.0
+   */
+  ByteBasedTrieMetrics(long lookupCount, long hitCount, long setCount, long removeCount,
+      long[] lookupLatencyHistogram, Structure structure) {
+    this.lookupCount = lookupCount;
+    this.hitCount = hitCount;
+    this.setCount = setCount;
+    this.removeCount = removeCount;
+    this.lookupLatencyHistogram = lookupLatencyHistogram;
+    this.structure = structure;
+  }
+
+  /**
+   * Gets the number of lookups.
+   *
+   * @return the lookup count
+   *
+   * @since 1.1.0
+   */
+  public long getLookupCount() {
+    return lookupCount;
+  }
+
+  /**
+   * Gets the number of lookups which found a value.
+   *
+   * @return the hit count
+   *
+   * @since 1.1.0
+   */
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * Gets the number of lookups which did not find a value.
+   *
+   * @return the miss count
+   *
+   * @since 1.1.0
+   */
+  public long getMissCount() {
+    return lookupCount - hitCount;
+  }
+
+  /**
+   * Gets the number of insertions and updates.
+   *
+   * @return the set count
+   *
+   * @since 1.1.0
+   */
+  public long getSetCount() {
+    return setCount;
+  }
+
+  /**
+   * Gets the number of removals.
+   *
+   * @return the remove count
+   *
+   * @since 1.1.0
+   */
+  public long getRemoveCount() {
+    return removeCount;
+  }
+
+  /**
+   * Gets the histogram of sampled lookup latencies.
+   *
+   * @return a copy of the histogram, with {@value #LATENCY_BUCKETS} buckets
+   *
+   * @since 1.1.0
+   */
+  public long[] getLookupLatencyHistogram() {
+    return lookupLatencyHistogram.clone();
+  }
+
+  /**
+   * Estimates a percentile of the sampled lookup latencies, as the upper bound of the histogram
+   * bucket which contains it.
+   *
+   * @param percentile the percentile, from {@code 0} to {@code 100}
+   *
+   * @return the estimated latency, in nanoseconds, or {@code 0} if no lookups were sampled
+   *
+   * @throws IllegalArgumentException if {@code percentile} is not between {@code 0} and
+   *                                  {@code 100}.
+   * @since 1.1.0
+   */
+  public long getLookupLatencyPercentileNanos(double percentile) {
+    if (!(percentile >= 0 && percentile <= 100)) {
+      throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+    }
+    long total = 0;
+    for (long count : lookupLatencyHistogram) {
+      total += count;
+    }
+    if (total == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+    long seen = 0;
+    int bucket = 0;
+    while (bucket < LATENCY_BUCKETS - 1 && (seen += lookupLatencyHistogram[bucket]) < rank) {
+      bucket++;
+    }
+    return (1L << (bucket + 1)) - 1;
+  }
+
+  /**
+   * Gets the number of entries, i.e., of nodes with a value.
+   *
+   * @return the entry count
+   *
+   * @since 1.1.0
+   */
+  public long getEntryCount() {
+    return structure.entryCount;
+  }
+
+  /**
+   * Gets the number of nodes, including the root.
+   *
+   * @return the node count
+   *
+   * @since 1.1.0
+   */
+  public long getNodeCount() {
+    return structure.nodeCount;
+  }
+
+  /**
+   * Gets the average depth of the entries, i.e., the average length of their keys.
+   *
+   * @return the average depth, or {@code 0} if there are no entries
+   *
+   * @since 1.1.0
+   */
+  public double getAverageDepth() {
+    return structure.entryCount == 0 ? 0 : (double) structure.depthSum / structure.entryCount;
+  }
+
+  /**
+   * Gets the maximum depth of the nodes, i.e., the length of the longest key.
+   *
+   * @return the maximum depth
+   *
+   * @since 1.1.0
+   */
+  public int getMaxDepth() {
+    return structure.maxDepth;
+  }
+
+  /**
+   * Gets the histogram of node fan-outs, in which element {@code i} is the number of nodes with
+   * {@code i} children.
+   *
+   * @return a copy of the histogram, with 257 elements
+   *
+   * @since 1.1.0
+   */
+  public long[] getFanOutHistogram() {
+    return structure.fanOutHistogram.clone();
+  }
+
+  /**
+   * Gets the estimated memory used by the nodes of the trie, excluding keys and values, in bytes.
+   *
+   * @return the estimated memory
+   *
+   * @since 1.1.0
+   */
+  public long getEstimatedMemoryBytes() {
+    return structure.estimatedBytes;
+  }
+
+  /**
+   * Returns a string representation of the metrics.
+   *
+   * @return a string representation of the metrics
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public String toString() {
+    return "ByteBasedTrieMetrics{lookups=" + lookupCount + ", hits=" + hitCount + ", sets="
+        + setCount + ", removes=" + removeCount + ", p50LookupNanos="
+        + getLookupLatencyPercentileNanos(50) + ", p99LookupNanos="
+        + getLookupLatencyPercentileNanos(99) + ", entries=" + structure.entryCount + ", nodes="
+        + structure.nodeCount + ", averageDepth=" + getAverageDepth() + ", maxDepth="
+        + structure.maxDepth + ", estimatedBytes=" + structure.estimatedBytes + "}";
+  }
+
+  /**
+   * The structural statistics of a trie, which are accumulated while visiting its nodes.
+   *
+   * @since 1.1.0
+   */
+  static final class Structure {
+
+    /**
+     * The number of entries.
+     *
+     * @since 1.1.0
+     */
+    private long entryCount;
+
+    /**
+     * The number of nodes.
+     *
+     * @since 1.1.0
+     */
+    private long nodeCount;
+
+    /**
+     * The sum of the depths of the entries.
+     *
+     * @since 1.1.0
+     */
+    private long depthSum;
+
+    /**
+     * The maximum depth of the nodes.
+     *
+     * @since 1.1.0
+     */
+    private int maxDepth;
+
+    /**
+     * The number of nodes with each number of children.
+     *
+     * @since 1.1.0
+     */
+    private final long[] fanOutHistogram = new long[257];
+
+    /**
+     * The estimated memory used by the nodes, in bytes.
+     *
+     * @since 1.1.0
+     */
+    private long estimatedBytes;
+
+    /**
+     * Adds a node to the statistics.
+     *
+     * @param depth          the depth of the node
+     * @param fanOut         the number of children of the node
+     * @param hasValue       whether the node has a value
+     * @param estimatedBytes the estimated memory used by the node, in bytes
+     *
+     * @since 1.1.0
+     */
+    void addNode(int depth, int fanOut, boolean hasValue, long estimatedBytes) {
+      nodeCount++;
+      fanOutHistogram[fanOut]++;
+      maxDepth = Math.max(maxDepth, depth);
+      this.estimatedBytes += estimatedBytes;
+      if (hasValue) {
+        entryCount++;
+        depthSum += depth;
+      }
+    }
+  }
+}
@@ -0,0 +1,144 @@
+package com.micatechnologies.micautils_j8.data;
+
+/**
+ * Management interface which exposes the metrics of a {@link ByteBasedInstrumentedTrie} through
+ * JMX, once registered with
+ * {@link ByteBasedInstrumentedTrie#registerMBean(javax.management.ObjectName)}.
+ * <p>
+ * The operation counters and lookup latencies are live. The structural attributes, such as the
+ * entry and node counts, are those of the most recent call to
+ * {@link ByteBasedInstrumentedTrie#getMetrics()}, as the trie is not thread-safe and cannot be
+ * traversed by the JMX thread.
+ * </p>
+ *
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public interface ByteBasedTrieMetricsMXBean {
+
+  /**
+   * Gets the number of lookups.
+   *
+   * @return the lookup count
+   *
+   * @since 1.1.0
+   */
+  long getLookupCount();
+
+  /**
+   * Gets the number of lookups which found a value.
+   *
+   * @return the hit count
+   *
+   * @since 1.1.0
+   */
+  long getHitCount();
+
+  /**
+   * Gets the number of lookups which did not find a value.
+   *
+   * @return the miss count
+   *
+   * @since 1.1.0
+   */
+  long getMissCount();
+
+  /**
+   * Gets the number of insertions and updates.
+   *
+   * @return the set count
+   *
+   * @since 1.1.0
+   */
+  long getSetCount();
+
+  /**
+   * Gets the number of removals.
+   *
+   * @return the remove count
+   *
+   * @since 1.1.0
+   */
+  long getRemoveCount();
+
+  /**
+   * Gets the histogram of sampled lookup latencies.
+   *
+   * @return the histogram, as described in {@link ByteBasedTrieMetrics}
+   *
+   * @since 1.1.0
+   */
+  long[] getLookupLatencyHistogram();
+
+  /**
+   * Gets the estimated median of the sampled lookup latencies.
+   *
+   * @return the estimated median latency, in nanoseconds
+   *
+   * @since 1.1.0
+   */
+  long getLookupLatencyP50Nanos();
+
+  /**
+   * Gets the estimated 99th percentile of the sampled lookup latencies.
+   *
+   * @return the estimated 99th percentile latency, in nanoseconds
+   *
+   * @since 1.1.0
+   */
+  long getLookupLatencyP99Nanos();
+
+  /**
+   * Gets the number of entries at the most recent snapshot.
+   *
+   * @return the entry count
+   *
+   * @since 1.1.0
+   */
+  long getEntryCount();
+
+  /**
+   * Gets the number of nodes at the most recent snapshot.
+   *
+   * @return the node count
+   *
+   * @since 1.1.0
+   */
+  long getNodeCount();
+
+  /**
+   * Gets the average depth of the entries at the most recent snapshot.
+   *
+   * @return the average depth
+   *
+   * @since 1.1.0
+   */
+  double getAverageDepth();
+
+  /**
+   * Gets the maximum depth of the nodes at the most recent snapshot.
+   *
+   * @return the maximum depth
+   *
+   * @since 1.1.0
+   */
+  int getMaxDepth();
+
+  /**
+   * Gets the histogram of node fan-outs at the most recent snapshot.
+   *
+   * @return the histogram, as described in {@link ByteBasedTrieMetrics}
+   *
+   * @since 1.1.0
+   */
+  long[] getFanOutHistogram();
+
+  /**
+   * Gets the estimated memory used by the nodes at the most recent snapshot.
+   *
+   * @return the estimated memory, in bytes
+   *
+   * @since 1.1.0
+   */
+  long getEstimatedMemoryBytes();
+}
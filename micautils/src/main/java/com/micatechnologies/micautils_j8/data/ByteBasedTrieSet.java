@@ -0,0 +1,732 @@
+package com.micatechnologies.micautils_j8.data;
+
+import com.micatechnologies.micautils_j8.data.ByteBasedTrie.KeyOrder;
+import com.micatechnologies.micautils_j8.types.ByteBased;
+import com.micatechnologies.micautils_j8.types.ByteBasedSequence;
+import com.micatechnologies.micautils_j8.types.ByteBasedSlice;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A set of {@link ByteBased} keys which all have the same length, stored as a trie whose last key
+ * byte is represented by a 256-bit bitmap.
+ * <p>
+ * Membership of a key is a single bit in a bitmap of four {@code long} words on the node for the
+ * second to last key byte, so no object or value is stored per member. This makes the set much
+ * smaller than a {@link ByteBasedTrie} of {@link Boolean} values. The
+ * {@link #union(ByteBasedTrieSet)}, {@link #intersection(ByteBasedTrieSet)} and
+ * {@link #difference(ByteBasedTrieSet)} operations walk both sets together, combining bitmaps a
+ * word at a time and skipping subtrees which cannot contribute to the result.
+ * </p>
+ * <p>
+ * Keys are traversed in the same way as in {@link ByteBasedTrie}, including support for
+ * {@link KeyOrder#REVERSED}, and the set never retains key objects.
+ * </p>
+ *
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class ByteBasedTrieSet implements Iterable<ByteBasedSlice> {
+
+  /**
+   * The number of {@code long} words in each bitmap.
+   *
+   * @since 1.1.0
+   */
+  private static final int BITMAP_WORDS = ByteBasedTrie.FAN_OUT / Long.SIZE;
+
+  /**
+   * The length of the keys, in bytes.
+   *
+   * @since 1.1.0
+   */
+  private final int keyLength;
+
+  /**
+   * The order in which key bytes are traversed.
+   *
+   * @since 1.1.0
+   */
+  private final KeyOrder keyOrder;
+
+  /**
+   * The root of the trie: a {@link Node}, or a bitmap if the key length is 1.
+   *
+   * @since 1.1.0
+   */
+  private Object root;
+
+  /**
+   * The number of keys in the set.
+   *
+   * @since 1.1.0
+   */
+  private int size;
+
+  /**
+   * Constructor for a new, empty {@link ByteBasedTrieSet} which traverses keys in standard order.
+   *
+   * @param keyLength the length of the keys, in bytes.
+   *
+   * @throws IllegalArgumentException if the key length is less than 1.
+   * @since 1.1.0
+   */
+  public ByteBasedTrieSet(int keyLength) {
+    this(keyLength, KeyOrder.STANDARD);
+  }
+
+  /**
+   * Constructor for a new, empty {@link ByteBasedTrieSet} which traverses keys in the specified
+   * order.
+   *
+   * @param keyLength the length of the keys, in bytes.
+   * @param keyOrder  the order in which key bytes are traversed.
+   *
+   * @throws IllegalArgumentException if the key length is less than 1.
+   * @since 1.1.0
+   */
+  public ByteBasedTrieSet(int keyLength, KeyOrder keyOrder) {
+    if (keyLength < 1) {
+      throw new IllegalArgumentException("Key length must be at least 1: " + keyLength);
+    }
+    this.keyLength = keyLength;
+    this.keyOrder = keyOrder;
+    this.root = newEmpty(0);
+  }
+
+  /**
+   * Gets the length of the keys, in bytes.
+   *
+   * @return the key length.
+   *
+   * @since 1.1.0
+   */
+  public int getKeyLength() {
+    return keyLength;
+  }
+
+  /**
+   * Gets the order in which key bytes are traversed.
+   *
+   * @return the key order.
+   *
+   * @since 1.1.0
+   */
+  public KeyOrder getKeyOrder() {
+    return keyOrder;
+  }
+
+  /**
+   * Gets the number of keys in the set.
+   *
+   * @return the number of keys.
+   *
+   * @since 1.1.0
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Determines if the set contains no keys.
+   *
+   * @return {@code true} if the set is empty, {@code false} otherwise.
+   *
+   * @since 1.1.0
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Determines if the set contains the given {@link ByteBased} key.
+   *
+   * @param key the key to look for
+   *
+   * @return {@code true} if the set contains the key, {@code false} otherwise
+   *
+   * @throws IllegalArgumentException if the length of the key does not match the key length of the
+   *                                  set.
+   * @since 1.1.0
+   */
+  public boolean contains(ByteBased key) {
+    ByteBasedSequence sequence = checkKey(key);
+    int last = keyLength - 1;
+    Object current = root;
+    for (int i = 0; i < last; i++) {
+      current = ((Node) current).children[ByteBasedTrie.keyByte(keyOrder, sequence, i)];
+      if (current == null) {
+        return false;
+      }
+    }
+    int bit = ByteBasedTrie.keyByte(keyOrder, sequence, last);
+    return (((long[]) current)[bit >>> 6] & (1L << bit)) != 0;
+  }
+
+  /**
+   * Adds the given {@link ByteBased} key to the set.
+   *
+   * @param key the key to be added
+   *
+   * @return {@code true} if the set did not already contain the key, {@code false} otherwise
+   *
+   * @throws IllegalArgumentException if the length of the key does not match the key length of the
+   *                                  set.
+   * @since 1.1.0
+   */
+  public boolean add(ByteBased key) {
+    ByteBasedSequence sequence = checkKey(key);
+    int last = keyLength - 1;
+    Object current = root;
+    for (int i = 0; i < last; i++) {
+      Node node = (Node) current;
+      int index = ByteBasedTrie.keyByte(keyOrder, sequence, i);
+      current = node.children[index];
+      if (current == null) {
+        current = newEmpty(i + 1);
+        node.children[index] = current;
+        node.count++;
+      }
+    }
+    long[] bits = (long[]) current;
+    int bit = ByteBasedTrie.keyByte(keyOrder, sequence, last);
+    long mask = 1L << bit;
+    if ((bits[bit >>> 6] & mask) != 0) {
+      return false;
+    }
+    bits[bit >>> 6] |= mask;
+    size++;
+    return true;
+  }
+
+  /**
+   * Removes the given {@link ByteBased} key from the set if present.
+   *
+   * @param key the key to be removed
+   *
+   * @return {@code true} if the set contained the key, {@code false} otherwise
+   *
+   * @throws IllegalArgumentException if the length of the key does not match the key length of the
+   *                                  set.
+   * @since 1.1.0
+   */
+  public boolean remove(ByteBased key) {
+    return remove(root, checkKey(key), 0);
+  }
+
+  /**
+   * Recursively removes the given key from the subtree rooted at the given node or bitmap. This
+   * method prunes nodes and bitmaps that become empty after the removal.
+   *
+   * @param current the current node or bitmap being inspected
+   * @param key     the key, as a byte sequence
+   * @param depth   the depth of the current node or bitmap
+   *
+   * @return {@code true} if the key was removed, {@code false} if it was not present
+   *
+   * @since 1.1.0
+   */
+  private boolean remove(Object current, ByteBasedSequence key, int depth) {
+    if (depth == keyLength - 1) {
+      long[] bits = (long[]) current;
+      int bit = ByteBasedTrie.keyByte(keyOrder, key, depth);
+      long mask = 1L << bit;
+      if ((bits[bit >>> 6] & mask) == 0) {
+        return false;
+      }
+      bits[bit >>> 6] &= ~mask;
+      size--;
+      return true;
+    }
+
+    Node node = (Node) current;
+    int index = ByteBasedTrie.keyByte(keyOrder, key, depth);
+    Object child = node.children[index];
+    if (child == null || !remove(child, key, depth + 1)) {
+      return false;
+    }
+    if (isEmpty(child, depth + 1)) {
+      node.children[index] = null;
+      node.count--;
+    }
+    return true;
+  }
+
+  /**
+   * Creates a new set containing the keys which are in this set, the specified set, or both.
+   *
+   * @param other the other set
+   *
+   * @return the union of the two sets
+   *
+   * @throws IllegalArgumentException if the sets have different key lengths or key orders.
+   * @since 1.1.0
+   */
+  public ByteBasedTrieSet union(ByteBasedTrieSet other) {
+    checkCompatible(other);
+    ByteBasedTrieSet result = new ByteBasedTrieSet(keyLength, keyOrder);
+    result.root = result.union(root, other.root, 0);
+    return result;
+  }
+
+  /**
+   * Creates a new set containing the keys which are in both this set and the specified set.
+   *
+   * @param other the other set
+   *
+   * @return the intersection of the two sets
+   *
+   * @throws IllegalArgumentException if the sets have different key lengths or key orders.
+   * @since 1.1.0
+   */
+  public ByteBasedTrieSet intersection(ByteBasedTrieSet other) {
+    checkCompatible(other);
+    ByteBasedTrieSet result = new ByteBasedTrieSet(keyLength, keyOrder);
+    Object intersection = result.intersection(root, other.root, 0);
+    if (intersection != null) {
+      result.root = intersection;
+    }
+    return result;
+  }
+
+  /**
+   * Creates a new set containing the keys which are in this set but not in the specified set.
+   *
+   * @param other the other set
+   *
+   * @return the difference of the two sets
+   *
+   * @throws IllegalArgumentException if the sets have different key lengths or key orders.
+   * @since 1.1.0
+   */
+  public ByteBasedTrieSet difference(ByteBasedTrieSet other) {
+    checkCompatible(other);
+    ByteBasedTrieSet result = new ByteBasedTrieSet(keyLength, keyOrder);
+    Object difference = result.difference(root, other.root, 0);
+    if (difference != null) {
+      result.root = difference;
+    }
+    return result;
+  }
+
+  /**
+   * Recursively computes the union of two subtrees, adding the number of keys in the result to the
+   * size of this set.
+   *
+   * @param a     the node or bitmap of the first subtree, or {@code null} if it is absent
+   * @param b     the node or bitmap of the second subtree, or {@code null} if it is absent
+   * @param depth the depth of the subtrees
+   *
+   * @return the node or bitmap of the union, or {@code null} if both subtrees are absent
+   *
+   * @since 1.1.0
+   */
+  private Object union(Object a, Object b, int depth) {
+    if (a == null || b == null) {
+      return copy(a == null ? b : a, depth);
+    }
+    if (depth == keyLength - 1) {
+      long[] bitsA = (long[]) a;
+      long[] bitsB = (long[]) b;
+      long[] bits = new long[BITMAP_WORDS];
+      for (int i = 0; i < BITMAP_WORDS; i++) {
+        bits[i] = bitsA[i] | bitsB[i];
+        size += Long.bitCount(bits[i]);
+      }
+      return bits;
+    }
+    Node nodeA = (Node) a;
+    Node nodeB = (Node) b;
+    Node node = new Node();
+    for (int i = 0; i < ByteBasedTrie.FAN_OUT; i++) {
+      Object child = union(nodeA.children[i], nodeB.children[i], depth + 1);
+      if (child != null) {
+        node.children[i] = child;
+        node.count++;
+      }
+    }
+    return node;
+  }
+
+  /**
+   * Recursively computes the intersection of two subtrees, adding the number of keys in the result
+   * to the size of this set. Subtrees which are absent on either side are skipped.
+   *
+   * @param a     the node or bitmap of the first subtree, or {@code null} if it is absent
+   * @param b     the node or bitmap of the second subtree, or {@code null} if it is absent
+   * @param depth the depth of the subtrees
+   *
+   * @return the node or bitmap of the intersection, or {@code null} if it is empty
+   *
+   * @since 1.1.0
+   */
+  private Object intersection(Object a, Object b, int depth) {
+    if (a == null || b == null) {
+      return null;
+    }
+    if (depth == keyLength - 1) {
+      long[] bitsA = (long[]) a;
+      long[] bitsB = (long[]) b;
+      long[] bits = new long[BITMAP_WORDS];
+      int count = 0;
+      for (int i = 0; i < BITMAP_WORDS; i++) {
+        bits[i] = bitsA[i] & bitsB[i];
+        count += Long.bitCount(bits[i]);
+      }
+      size += count;
+      return count == 0 ? null : bits;
+    }
+    Node nodeA = (Node) a;
+    Node nodeB = (Node) b;
+    Node node = new Node();
+    for (int i = 0; i < ByteBasedTrie.FAN_OUT; i++) {
+      Object child = intersection(nodeA.children[i], nodeB.children[i], depth + 1);
+      if (child != null) {
+        node.children[i] = child;
+        node.count++;
+      }
+    }
+    return node.count == 0 ? null : node;
+  }
+
+  /**
+   * Recursively computes the difference of two subtrees, adding the number of keys in the result
+   * to the size of this set. Subtrees which are absent from the second subtree are copied without
+   * comparison.
+   *
+   * @param a     the node or bitmap of the first subtree, or {@code null} if it is absent
+   * @param b     the node or bitmap of the second subtree, or {@code null} if it is absent
+   * @param depth the depth of the subtrees
+   *
+   * @return the node or bitmap of the difference, or {@code null} if it is empty
+   *
+   * @since 1.1.0
+   */
+  private Object difference(Object a, Object b, int depth) {
+    if (a == null || b == null) {
+      return copy(a, depth);
+    }
+    if (depth == keyLength - 1) {
+      long[] bitsA = (long[]) a;
+      long[] bitsB = (long[]) b;
+      long[] bits = new long[BITMAP_WORDS];
+      int count = 0;
+      for (int i = 0; i < BITMAP_WORDS; i++) {
+        bits[i] = bitsA[i] & ~bitsB[i];
+        count += Long.bitCount(bits[i]);
+      }
+      size += count;
+      return count == 0 ? null : bits;
+    }
+    Node nodeA = (Node) a;
+    Node nodeB = (Node) b;
+    Node node = new Node();
+    for (int i = 0; i < ByteBasedTrie.FAN_OUT; i++) {
+      Object child = difference(nodeA.children[i], nodeB.children[i], depth + 1);
+      if (child != null) {
+        node.children[i] = child;
+        node.count++;
+      }
+    }
+    return node.count == 0 ? null : node;
+  }
+
+  /**
+   * Recursively copies a subtree, adding the number of keys in the copy to the size of this set.
+   *
+   * @param source the node or bitmap of the subtree, or {@code null} if it is absent
+   * @param depth  the depth of the subtree
+   *
+   * @return the copied node or bitmap, or {@code null} if the subtree is absent
+   *
+   * @since 1.1.0
+   */
+  private Object copy(Object source, int depth) {
+    if (source == null) {
+      return null;
+    }
+    if (depth == keyLength - 1) {
+      long[] bits = ((long[]) source).clone();
+      for (long word : bits) {
+        size += Long.bitCount(word);
+      }
+      return bits;
+    }
+    Node sourceNode = (Node) source;
+    Node node = new Node();
+    for (int i = 0; i < ByteBasedTrie.FAN_OUT; i++) {
+      if (sourceNode.children[i] != null) {
+        node.children[i] = copy(sourceNode.children[i], depth + 1);
+      }
+    }
+    node.count = sourceNode.count;
+    return node;
+  }
+
+  /**
+   * Creates an empty node, or an empty bitmap for the depth of the last key byte.
+   *
+   * @param depth the depth of the node or bitmap
+   *
+   * @return the new node or bitmap
+   *
+   * @since 1.1.0
+   */
+  private Object newEmpty(int depth) {
+    return depth == keyLength - 1 ? new long[BITMAP_WORDS] : new Node();
+  }
+
+  /**
+   * Determines if the given node or bitmap is empty.
+   *
+   * @param current the node or bitmap
+   * @param depth   the depth of the node or bitmap
+   *
+   * @return {@code true} if it contains no keys, {@code false} otherwise
+   *
+   * @since 1.1.0
+   */
+  private boolean isEmpty(Object current, int depth) {
+    if (depth == keyLength - 1) {
+      long[] bits = (long[]) current;
+      return (bits[0] | bits[1] | bits[2] | bits[3]) == 0;
+    }
+    return ((Node) current).count == 0;
+  }
+
+  /**
+   * Checks that the specified set has the same key length and key order as this set.
+   *
+   * @param other the other set
+   *
+   * @throws IllegalArgumentException if the sets have different key lengths or key orders.
+   * @since 1.1.0
+   */
+  private void checkCompatible(ByteBasedTrieSet other) {
+    if (other.keyLength != keyLength || other.keyOrder != keyOrder) {
+      throw new IllegalArgumentException("Sets must have the same key length and key order");
+    }
+  }
+
+  /**
+   * Gets a {@link ByteBasedSequence} view of the given key, checking that its length matches the
+   * key length of the set.
+   *
+   * @param key the key
+   *
+   * @return the key as a byte sequence
+   *
+   * @throws IllegalArgumentException if the length of the key does not match the key length of the
+   *                                  set.
+   * @since 1.1.0
+   */
+  private ByteBasedSequence checkKey(ByteBased key) {
+    ByteBasedSequence sequence = ByteBasedTrie.asSequence(key);
+    if (sequence.byteLength() != keyLength) {
+      throw new IllegalArgumentException(
+          "Key length " + sequence.byteLength() + " does not match set key length " + keyLength);
+    }
+    return sequence;
+  }
+
+  /**
+   * Returns an iterator over the keys in the set, in traversal order. Each key is returned as a new
+   * {@link ByteBasedSlice} of its {@link ByteBased#toBytes()} representation.
+   *
+   * @return an Iterator over the keys in the {@link ByteBasedTrieSet}
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public Iterator<ByteBasedSlice> iterator() {
+    return new TrieSetIterator();
+  }
+
+  /**
+   * Represents an inner node in the {@link ByteBasedTrieSet}. The children of a node are nodes, or
+   * bitmaps for nodes at the depth of the second to last key byte.
+   *
+   * @since 1.1.0
+   */
+  private static class Node {
+
+    /**
+     * The child nodes or bitmaps of the node, indexed by byte value.
+     *
+     * @since 1.1.0
+     */
+    private final Object[] children = new Object[ByteBasedTrie.FAN_OUT];
+
+    /**
+     * The number of non-null children.
+     *
+     * @since 1.1.0
+     */
+    private int count;
+  }
+
+  /**
+   * An iterator for the {@link ByteBasedTrieSet} that traverses the trie in depth-first order and
+   * scans bitmaps a word at a time.
+   *
+   * @since 1.1.0
+   */
+  private class TrieSetIterator implements Iterator<ByteBasedSlice> {
+
+    /**
+     * The nodes and bitmap on the current path, indexed by depth.
+     *
+     * @since 1.1.0
+     */
+    private final Object[] path = new Object[keyLength];
+
+    /**
+     * The next child or bit to visit at each depth of the current path.
+     *
+     * @since 1.1.0
+     */
+    private final int[] positions = new int[keyLength];
+
+    /**
+     * The depth of the deepest element of the current path, or {@code -1} once traversal is
+     * complete.
+     *
+     * @since 1.1.0
+     */
+    private int depth;
+
+    /**
+     * The next key to be returned by the iterator, or {@code null} if there are no more keys.
+     *
+     * @since 1.1.0
+     */
+    private ByteBasedSlice nextKey;
+
+    /**
+     * Constructs a new {@link TrieSetIterator}, starting from the root of the trie.
+     *
+     * @since 1.1.0
+     */
+    private TrieSetIterator() {
+      path[0] = root;
+      findNext();
+    }
+
+    /**
+     * Finds the next key in the set, updating {@link #nextKey}.
+     *
+     * @since 1.1.0
+     */
+    private void findNext() {
+      nextKey = null;
+      int last = keyLength - 1;
+      while (depth >= 0) {
+        if (depth == last) {
+          int bit = nextSetBit((long[]) path[depth], positions[depth]);
+          if (bit < 0) {
+            depth--;
+            continue;
+          }
+          positions[depth] = bit + 1;
+          nextKey = ByteBasedSlice.of(buildKey(bit));
+          return;
+        }
+        Node node = (Node) path[depth];
+        int position = positions[depth];
+        while (position < ByteBasedTrie.FAN_OUT && node.children[position] == null) {
+          position++;
+        }
+        if (position == ByteBasedTrie.FAN_OUT) {
+          depth--;
+          continue;
+        }
+        positions[depth] = position + 1;
+        depth++;
+        path[depth] = node.children[position];
+        positions[depth] = 0;
+      }
+    }
+
+    /**
+     * Finds the first set bit of a bitmap at or after the given index.
+     *
+     * @param bits the bitmap
+     * @param from the index from which to search
+     *
+     * @return the index of the set bit, or {@code -1} if there is none
+     *
+     * @since 1.1.0
+     */
+    private int nextSetBit(long[] bits, int from) {
+      int word = from >>> 6;
+      if (word >= BITMAP_WORDS) {
+        return -1;
+      }
+      long remaining = bits[word] & (-1L << from);
+      while (remaining == 0) {
+        if (++word == BITMAP_WORDS) {
+          return -1;
+        }
+        remaining = bits[word];
+      }
+      return (word << 6) + Long.numberOfTrailingZeros(remaining);
+    }
+
+    /**
+     * Builds the byte array representation of the key on the current path, ending with the given
+     * last byte.
+     *
+     * @param lastByte the last key byte, in traversal order
+     *
+     * @return the byte array representation of the key
+     *
+     * @since 1.1.0
+     */
+    private byte[] buildKey(int lastByte) {
+      byte[] key = new byte[keyLength];
+      int last = keyLength - 1;
+      for (int i = 0; i < last; i++) {
+        key[i] = (byte) (positions[i] - 1);
+      }
+      key[last] = (byte) lastByte;
+      if (keyOrder == KeyOrder.REVERSED) {
+        for (int i = 0, j = last; i < j; i++, j--) {
+          byte b = key[i];
+          key[i] = key[j];
+          key[j] = b;
+        }
+      }
+      return key;
+    }
+
+    /**
+     * Determines if the iterator has more keys to return.
+     *
+     * @return {@code true} if there are more keys to return, {@code false} otherwise
+     *
+     * @since 1.1.0
+     */
+    @Override
+    public boolean hasNext() {
+      return nextKey != null;
+    }
+
+    /**
+     * Returns the next key in the iteration.
+     *
+     * @return the next key
+     *
+     * @throws NoSuchElementException if there are no more keys.
+     * @since 1.1.0
+     */
+    @Override
+    public ByteBasedSlice next() {
+      if (nextKey == null) {
+        throw new NoSuchElementException();
+      }
+      ByteBasedSlice currentKey = nextKey;
+      findNext();
+      return currentKey;
+    }
+  }
+}
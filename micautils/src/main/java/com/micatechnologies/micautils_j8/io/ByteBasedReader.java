@@ -0,0 +1,583 @@
+package com.micatechnologies.micautils_j8.io;
+
+import com.micatechnologies.micautils_j8.ByteArrayTool;
+import com.micatechnologies.micautils_j8.types.ByteBased;
+import com.micatechnologies.micautils_j8.types.ByteBasedChar;
+import com.micatechnologies.micautils_j8.types.ByteBasedDouble;
+import com.micatechnologies.micautils_j8.types.ByteBasedFloat;
+import com.micatechnologies.micautils_j8.types.ByteBasedInteger;
+import com.micatechnologies.micautils_j8.types.ByteBasedLong;
+import com.micatechnologies.micautils_j8.types.ByteBasedShort;
+import com.micatechnologies.micautils_j8.types.ByteBasedSortableDouble;
+import com.micatechnologies.micautils_j8.types.ByteBasedSortableFloat;
+import com.micatechnologies.micautils_j8.types.ByteBasedSortableInteger;
+import com.micatechnologies.micautils_j8.types.ByteBasedSortableLong;
+import com.micatechnologies.micautils_j8.types.ByteBasedString;
+import com.micatechnologies.micautils_j8.types.ByteBasedUUID;
+import com.micatechnologies.micautils_j8.types.ByteBasedVarInt;
+import com.micatechnologies.micautils_j8.types.ByteBasedVarLong;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reader which streams {@link ByteBased} values from a blocking {@link ReadableByteChannel}, such
+ * as a {@link java.nio.channels.FileChannel} or a {@link java.nio.channels.SocketChannel}.
+ * <p>
+ * Bytes are read from the channel in large batches into a single reusable buffer, and values are
+ * decoded directly from the buffer. The primitive {@code read} methods do not allocate, while the
+ * typed {@code readByteBasedX} methods allocate only the returned {@link ByteBased} object. The
+ * buffer may be supplied by the caller, allowing a pool of direct buffers to be reused across
+ * readers.
+ * </p>
+ * <p>
+ * Values are expected in the format written by a {@link ByteBasedWriter}. This class is not
+ * thread-safe.
+ * </p>
+ * <p>
+ * Only blocking channels are supported, as reading a value waits until enough bytes are available
+ * and would spin on a non-blocking channel which has none. A {@link SelectableChannel} in
+ * non-blocking mode is therefore rejected on construction.
+ * </p>
+ *
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class ByteBasedReader implements Closeable {
+
+  /**
+   * The channel from which values are read.
+   *
+   * @since 1.1.0
+   */
+  private final ReadableByteChannel channel;
+
+  /**
+   * The buffer from which values are decoded. The buffer is always in read mode (its remaining
+   * bytes are the bytes read from the channel but not yet decoded).
+   *
+   * @since 1.1.0
+   */
+  private final ByteBuffer buffer;
+
+  /**
+   * Constructor for a new {@link ByteBasedReader} object which allocates a direct buffer of
+   * {@link ByteBasedWriter#DEFAULT_BUFFER_SIZE} bytes.
+   *
+   * @param channel the channel from which values are read.
+   *
+   * @throws IllegalArgumentException if the channel is a non-blocking {@link SelectableChannel}.
+   * @since 1.1.0
+   */
+  public ByteBasedReader(ReadableByteChannel channel) {
+    this(channel, ByteBasedWriter.DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * Constructor for a new {@link ByteBasedReader} object which allocates a direct buffer of the
+   * specified size.
+   *
+   * @param channel    the channel from which values are read.
+   * @param bufferSize the size, in bytes, of the buffer.
+   *
+   * @throws IllegalArgumentException if the buffer size is less than
+   *                                  {@link ByteBasedWriter#MINIMUM_BUFFER_SIZE} or the channel is
+   *                                  a non-blocking {@link SelectableChannel}.
+   * @since 1.1.0
+   */
+  public ByteBasedReader(ReadableByteChannel channel, int bufferSize) {
+    this(channel, ByteBuffer.allocateDirect(ByteBasedWriter.checkBufferSize(bufferSize)));
+  }
+
+  /**
+   * Constructor for a new {@link ByteBasedReader} object which uses the specified buffer. The
+   * buffer is cleared and its byte order is set to big-endian. The buffer must not be used
+   * elsewhere until the reader has been closed, after which it may be reused.
+   *
+   * @param channel the channel from which values are read.
+   * @param buffer  the buffer into which bytes are read.
+   *
+   * @throws IllegalArgumentException if the buffer capacity is less than
+   *                                  {@link ByteBasedWriter#MINIMUM_BUFFER_SIZE}, the buffer is
+   *                                  read-only or the channel is a non-blocking
+   *                                  {@link SelectableChannel}.
+   * @since 1.1.0
+   */
+  public ByteBasedReader(ReadableByteChannel channel, ByteBuffer buffer) {
+    ByteBasedWriter.checkBlocking(channel);
+    ByteBasedWriter.checkBufferSize(buffer.capacity());
+    if (buffer.isReadOnly()) {
+      throw new IllegalArgumentException("Buffer must not be read-only");
+    }
+    this.channel = channel;
+    this.buffer = buffer;
+    this.buffer.clear().flip();
+    this.buffer.order(ByteOrder.BIG_ENDIAN);
+  }
+
+  /**
+   * Determines if there are more bytes to be read, reading from the channel if needed.
+   *
+   * @return {@code true} if at least one more byte can be read, {@code false} if the end of the
+   *     channel has been reached.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public boolean hasRemaining() throws IOException {
+    return fill(1);
+  }
+
+  /**
+   * Reads the specified number of bytes into a range of a byte array.
+   *
+   * @param dst    the destination byte array.
+   * @param offset the offset in the byte array at which to start writing.
+   * @param length the number of bytes to read.
+   *
+   * @throws EOFException if the end of the channel is reached before all bytes are read.
+   * @throws IOException  if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public void readBytes(byte[] dst, int offset, int length) throws IOException {
+    while (length > 0) {
+      require(1);
+      int count = Math.min(length, buffer.remaining());
+      buffer.get(dst, offset, count);
+      offset += count;
+      length -= count;
+    }
+  }
+
+  /**
+   * Reads a byte array which was written with
+   * {@link ByteBasedWriter#writeLengthPrefixed(ByteBased)}.
+   *
+   * @return the byte array.
+   *
+   * @throws EOFException if the end of the channel is reached before all bytes are read.
+   * @throws IOException  if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public byte[] readLengthPrefixed() throws IOException {
+    int length = readVarInt();
+    if (length < 0) {
+      throw new IOException("Invalid length prefix: " + (length & 0xFFFFFFFFL));
+    }
+    byte[] bytes = new byte[length];
+    readBytes(bytes, 0, length);
+    return bytes;
+  }
+
+  /**
+   * Reads a {@link ByteBasedChar} value (2 bytes).
+   *
+   * @return the value.
+   *
+   * @throws EOFException if the end of the channel is reached before the value is read.
+   * @throws IOException  if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public ByteBasedChar readByteBasedChar() throws IOException {
+    return ByteBasedChar.of(readChar());
+  }
+
+  /**
+   * Reads a {@link ByteBasedShort} value (2 bytes).
+   *
+   * @return the value.
+   *
+   * @throws EOFException if the end of the channel is reached before the value is read.
+   * @throws IOException  if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public ByteBasedShort readByteBasedShort() throws IOException {
+    return ByteBasedShort.of(readShort());
+  }
+
+  /**
+   * Reads a {@link ByteBasedInteger} value (4 bytes).
+   *
+   * @return the value.
+   *
+   * @throws EOFException if the end of the channel is reached before the value is read.
+   * @throws IOException  if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public ByteBasedInteger readByteBasedInteger() throws IOException {
+    return ByteBasedInteger.of(readInt());
+  }
+
+  /**
+   * Reads a {@link ByteBasedLong} value (8 bytes).
+   *
+   * @return the value.
+   *
+   * @throws EOFException if the end of the channel is reached before the value is read.
+   * @throws IOException  if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public ByteBasedLong readByteBasedLong() throws IOException {
+    return ByteBasedLong.of(readLong());
+  }
+
+  /**
+   * Reads a {@link ByteBasedFloat} value (4 bytes).
+   *
+   * @return the value.
+   *
+   * @throws EOFException if the end of the channel is reached before the value is read.
+   * @throws IOException  if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public ByteBasedFloat readByteBasedFloat() throws IOException {
+    return ByteBasedFloat.of(readFloat());
+  }
+
+  /**
+   * Reads a {@link ByteBasedDouble} value (8 bytes).
+   *
+   * @return the value.
+   *
+   * @throws EOFException if the end of the channel is reached before the value is read.
+   * @throws IOException  if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public ByteBasedDouble readByteBasedDouble() throws IOException {
+    return ByteBasedDouble.of(readDouble());
+  }
+
+  /**
+   * Reads a {@link ByteBasedSortableInteger} value (4 bytes).
+   *
+   * @return the value.
+   *
+   * @throws EOFException if the end of the channel is reached before the value is read.
+   * @throws IOException  if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public ByteBasedSortableInteger readByteBasedSortableInteger() throws IOException {
+    return ByteBasedSortableInteger.of(readInt() ^ Integer.MIN_VALUE);
+  }
+
+  /**
+   * Reads a {@link ByteBasedSortableLong} value (8 bytes).
+   *
+   * @return the value.
+   *
+   * @throws EOFException if the end of the channel is reached before the value is read.
+   * @throws IOException  if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public ByteBasedSortableLong readByteBasedSortableLong() throws IOException {
+    return ByteBasedSortableLong.of(readLong() ^ Long.MIN_VALUE);
+  }
+
+  /**
+   * Reads a {@link ByteBasedSortableFloat} value (4 bytes).
+   *
+   * @return the value.
+   *
+   * @throws EOFException if the end of the channel is reached before the value is read.
+   * @throws IOException  if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public ByteBasedSortableFloat readByteBasedSortableFloat() throws IOException {
+    return ByteBasedSortableFloat.of(ByteArrayTool.fromSortableBits(readInt()));
+  }
+
+  /**
+   * Reads a {@link ByteBasedSortableDouble} value (8 bytes).
+   *
+   * @return the value.
+   *
+   * @throws EOFException if the end of the channel is reached before the value is read.
+   * @throws IOException  if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public ByteBasedSortableDouble readByteBasedSortableDouble() throws IOException {
+    return ByteBasedSortableDouble.of(ByteArrayTool.fromSortableBits(readLong()));
+  }
+
+  /**
+   * Reads a {@link ByteBasedVarInt} value.
+   *
+   * @param zigZag {@code true} if the value was ZigZag encoded, as created by
+   *               {@link ByteBasedVarInt#of(int)}, or {@code false} if it was unsigned, as
+   *               created by {@link ByteBasedVarInt#ofUnsigned(int)}.
+   *
+   * @return the value.
+   *
+   * @throws EOFException if the end of the channel is reached before the value is read.
+   * @throws IOException  if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public ByteBasedVarInt readByteBasedVarInt(boolean zigZag) throws IOException {
+    int value = readVarInt();
+    return new ByteBasedVarInt(zigZag ? ByteArrayTool.decodeZigZag(value) : value, zigZag);
+  }
+
+  /**
+   * Reads a {@link ByteBasedVarLong} value.
+   *
+   * @param zigZag {@code true} if the value was ZigZag encoded, as created by
+   *               {@link ByteBasedVarLong#of(long)}, or {@code false} if it was unsigned, as
+   *               created by {@link ByteBasedVarLong#ofUnsigned(long)}.
+   *
+   * @return the value.
+   *
+   * @throws EOFException if the end of the channel is reached before the value is read.
+   * @throws IOException  if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public ByteBasedVarLong readByteBasedVarLong(boolean zigZag) throws IOException {
+    long value = readVarLong();
+    return new ByteBasedVarLong(zigZag ? ByteArrayTool.decodeZigZag(value) : value, zigZag);
+  }
+
+  /**
+   * Reads a {@link ByteBasedUUID} value (16 bytes).
+   *
+   * @return the value.
+   *
+   * @throws EOFException if the end of the channel is reached before the value is read.
+   * @throws IOException  if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public ByteBasedUUID readByteBasedUUID() throws IOException {
+    require(16);
+    long mostSignificantBits = buffer.getLong();
+    return ByteBasedUUID.of(mostSignificantBits, buffer.getLong());
+  }
+
+  /**
+   * Reads a {@link ByteBasedString} value which was written with
+   * {@link ByteBasedWriter#writeLengthPrefixed(ByteBased)}.
+   *
+   * @return the value.
+   *
+   * @throws EOFException if the end of the channel is reached before the value is read.
+   * @throws IOException  if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public ByteBasedString readByteBasedString() throws IOException {
+    return ByteBasedString.of(new String(readLengthPrefixed(), StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Reads a char value (2 bytes) in standard (big-endian) order.
+   *
+   * @return the char value.
+   *
+   * @throws EOFException if the end of the channel is reached before the value is read.
+   * @throws IOException  if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public char readChar() throws IOException {
+    require(2);
+    return buffer.getChar();
+  }
+
+  /**
+   * Reads a short value (2 bytes) in standard (big-endian) order.
+   *
+   * @return the short value.
+   *
+   * @throws EOFException if the end of the channel is reached before the value is read.
+   * @throws IOException  if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public short readShort() throws IOException {
+    require(2);
+    return buffer.getShort();
+  }
+
+  /**
+   * Reads an int value (4 bytes) in standard (big-endian) order.
+   *
+   * @return the int value.
+   *
+   * @throws EOFException if the end of the channel is reached before the value is read.
+   * @throws IOException  if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public int readInt() throws IOException {
+    require(4);
+    return buffer.getInt();
+  }
+
+  /**
+   * Reads a long value (8 bytes) in standard (big-endian) order.
+   *
+   * @return the long value.
+   *
+   * @throws EOFException if the end of the channel is reached before the value is read.
+   * @throws IOException  if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public long readLong() throws IOException {
+    require(8);
+    return buffer.getLong();
+  }
+
+  /**
+   * Reads a float value (4 bytes) in standard (big-endian) order.
+   *
+   * @return the float value.
+   *
+   * @throws EOFException if the end of the channel is reached before the value is read.
+   * @throws IOException  if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public float readFloat() throws IOException {
+    require(4);
+    return buffer.getFloat();
+  }
+
+  /**
+   * Reads a double value (8 bytes) in standard (big-endian) order.
+   *
+   * @return the double value.
+   *
+   * @throws EOFException if the end of the channel is reached before the value is read.
+   * @throws IOException  if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public double readDouble() throws IOException {
+    require(8);
+    return buffer.getDouble();
+  }
+
+  /**
+   * Reads an int value, interpreted as unsigned, in the LEB128 variable-length encoding (1 to
+   * 5 bytes). The value is decoded directly from the buffer if the longest encoding is already
+   * buffered, and otherwise one byte at a time, so that reading a short value at the end of a
+   * message does not wait for bytes which the peer has not sent.
+   *
+   * @return the int value, interpreted as unsigned.
+   *
+   * @throws EOFException if the end of the channel is reached before the value is read.
+   * @throws IOException  if an I/O error occurs or the value is malformed.
+   * @see ByteArrayTool#readVarInt(ByteBuffer)
+   * @since 1.1.0
+   */
+  public int readVarInt() throws IOException {
+    if (buffer.remaining() >= 5) {
+      try {
+        return ByteArrayTool.readVarInt(buffer);
+      } catch (IllegalArgumentException e) {
+        throw new IOException(e.getMessage(), e);
+      }
+    }
+    int result = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      if (!fill(1)) {
+        throw new EOFException("End of channel reached while reading variable-length int");
+      }
+      byte b = buffer.get();
+      result |= (b & 0x7F) << shift;
+      if (b >= 0) {
+        return result;
+      }
+    }
+    throw new IOException("Malformed variable-length int: more than 5 bytes");
+  }
+
+  /**
+   * Reads a long value, interpreted as unsigned, in the LEB128 variable-length encoding (1 to
+   * 10 bytes). The value is decoded directly from the buffer if the longest encoding is already
+   * buffered, and otherwise one byte at a time, so that reading a short value at the end of a
+   * message does not wait for bytes which the peer has not sent.
+   *
+   * @return the long value, interpreted as unsigned.
+   *
+   * @throws EOFException if the end of the channel is reached before the value is read.
+   * @throws IOException  if an I/O error occurs or the value is malformed.
+   * @see ByteArrayTool#readVarLong(ByteBuffer)
+   * @since 1.1.0
+   */
+  public long readVarLong() throws IOException {
+    if (buffer.remaining() >= 10) {
+      try {
+        return ByteArrayTool.readVarLong(buffer);
+      } catch (IllegalArgumentException e) {
+        throw new IOException(e.getMessage(), e);
+      }
+    }
+    long result = 0;
+    for (int shift = 0; shift < 70; shift += 7) {
+      if (!fill(1)) {
+        throw new EOFException("End of channel reached while reading variable-length long");
+      }
+      byte b = buffer.get();
+      result |= (long) (b & 0x7F) << shift;
+      if (b >= 0) {
+        return result;
+      }
+    }
+    throw new IOException("Malformed variable-length long: more than 10 bytes");
+  }
+
+  /**
+   * Closes the channel. After this method returns, a buffer supplied to the constructor may be
+   * reused.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  /**
+   * Ensures that the buffer has at least the specified number of bytes remaining.
+   *
+   * @param length the number of bytes required, at most
+   *               {@link ByteBasedWriter#MINIMUM_BUFFER_SIZE}.
+   *
+   * @throws EOFException if the end of the channel is reached before enough bytes are read.
+   * @throws IOException  if an I/O error occurs.
+   * @since 1.1.0
+   */
+  private void require(int length) throws IOException {
+    if (!fill(length)) {
+      throw new EOFException("End of channel reached");
+    }
+  }
+
+  /**
+   * Attempts to ensure that the buffer has at least the specified number of bytes remaining,
+   * reading as many bytes as the channel provides (up to the buffer capacity) at a time.
+   *
+   * @param length the number of bytes required, at most
+   *               {@link ByteBasedWriter#MINIMUM_BUFFER_SIZE}.
+   *
+   * @return {@code true} if the buffer has at least the specified number of bytes remaining, or
+   *     {@code false} if the end of the channel was reached first.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  private boolean fill(int length) throws IOException {
+    if (buffer.remaining() >= length) {
+      return true;
+    }
+    buffer.compact();
+    try {
+      while (buffer.position() < length) {
+        if (channel.read(buffer) < 0) {
+          return false;
+        }
+      }
+      return true;
+    } finally {
+      buffer.flip();
+    }
+  }
+}
@@ -0,0 +1,571 @@
+package com.micatechnologies.micautils_j8.io;
+
+import com.micatechnologies.micautils_j8.ByteArrayTool;
+import com.micatechnologies.micautils_j8.types.ByteBased;
+import com.micatechnologies.micautils_j8.types.ByteBasedChar;
+import com.micatechnologies.micautils_j8.types.ByteBasedDouble;
+import com.micatechnologies.micautils_j8.types.ByteBasedFloat;
+import com.micatechnologies.micautils_j8.types.ByteBasedInteger;
+import com.micatechnologies.micautils_j8.types.ByteBasedLong;
+import com.micatechnologies.micautils_j8.types.ByteBasedShort;
+import com.micatechnologies.micautils_j8.types.ByteBasedSortableDouble;
+import com.micatechnologies.micautils_j8.types.ByteBasedSortableFloat;
+import com.micatechnologies.micautils_j8.types.ByteBasedSortableInteger;
+import com.micatechnologies.micautils_j8.types.ByteBasedSortableLong;
+import com.micatechnologies.micautils_j8.types.ByteBasedUUID;
+import com.micatechnologies.micautils_j8.types.ByteBasedVarInt;
+import com.micatechnologies.micautils_j8.types.ByteBasedVarLong;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writer which streams {@link ByteBased} values to a blocking {@link WritableByteChannel}, such as
+ * a {@link java.nio.channels.FileChannel} or a {@link java.nio.channels.SocketChannel}.
+ * <p>
+ * Values are batched into a single reusable buffer, which is only written to the channel when it
+ * is full or when the writer is flushed, so that many small values are written with a single
+ * system call. The typed {@code write} methods encode values directly into the buffer from their
+ * primitive form, without creating intermediate byte arrays. The buffer may be supplied by the
+ * caller, allowing a pool of direct buffers to be reused across writers.
+ * </p>
+ * <p>
+ * Values are written in the same byte format as returned by {@link ByteBased#toBytes()}, and can
+ * be read back using a {@link ByteBasedReader}. This class is not thread-safe.
+ * </p>
+ * <p>
+ * Only blocking channels are supported, as a flush writes until the buffer is empty and would spin
+ * on a non-blocking channel which accepts no bytes. A {@link SelectableChannel} in non-blocking
+ * mode is therefore rejected on construction.
+ * </p>
+ *
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class ByteBasedWriter implements Flushable, Closeable {
+
+  /**
+   * The default size, in bytes, of the buffer allocated by a {@link ByteBasedWriter}.
+   *
+   * @since 1.1.0
+   */
+  public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * The minimum size, in bytes, of a buffer used by a {@link ByteBasedWriter}, which is large
+   * enough to hold any fixed-size or variable-length primitive value.
+   *
+   * @since 1.1.0
+   */
+  public static final int MINIMUM_BUFFER_SIZE = 16;
+
+  /**
+   * The channel to which values are written.
+   *
+   * @since 1.1.0
+   */
+  private final WritableByteChannel channel;
+
+  /**
+   * The buffer in which values are batched before being written to the channel. The buffer is
+   * always in write mode (its position is the number of pending bytes).
+   *
+   * @since 1.1.0
+   */
+  private final ByteBuffer buffer;
+
+  /**
+   * Constructor for a new {@link ByteBasedWriter} object which allocates a direct buffer of
+   * {@link #DEFAULT_BUFFER_SIZE} bytes.
+   *
+   * @param channel the channel to which values are written.
+   *
+   * @throws IllegalArgumentException if the channel is a non-blocking {@link SelectableChannel}.
+   * @since 1.1.0
+   */
+  public ByteBasedWriter(WritableByteChannel channel) {
+    this(channel, DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * Constructor for a new {@link ByteBasedWriter} object which allocates a direct buffer of the
+   * specified size.
+   *
+   * @param channel    the channel to which values are written.
+   * @param bufferSize the size, in bytes, of the buffer.
+   *
+   * @throws IllegalArgumentException if the buffer size is less than {@link #MINIMUM_BUFFER_SIZE}
+   *                                  or the channel is a non-blocking {@link SelectableChannel}.
+   * @since 1.1.0
+   */
+  public ByteBasedWriter(WritableByteChannel channel, int bufferSize) {
+    this(channel, ByteBuffer.allocateDirect(checkBufferSize(bufferSize)));
+  }
+
+  /**
+   * Constructor for a new {@link ByteBasedWriter} object which uses the specified buffer. The
+   * buffer is cleared and its byte order is set to big-endian. The buffer must not be used
+   * elsewhere until the writer has been closed, after which it may be reused.
+   *
+   * @param channel the channel to which values are written.
+   * @param buffer  the buffer in which values are batched.
+   *
+   * @throws IllegalArgumentException if the buffer capacity is less than
+   *                                  {@link #MINIMUM_BUFFER_SIZE}, the buffer is read-only or the
+   *                                  channel is a non-blocking {@link SelectableChannel}.
+   * @since 1.1.0
+   */
+  public ByteBasedWriter(WritableByteChannel channel, ByteBuffer buffer) {
+    checkBlocking(channel);
+    checkBufferSize(buffer.capacity());
+    if (buffer.isReadOnly()) {
+      throw new IllegalArgumentException("Buffer must not be read-only");
+    }
+    this.channel = channel;
+    this.buffer = buffer;
+    this.buffer.clear();
+    this.buffer.order(ByteOrder.BIG_ENDIAN);
+  }
+
+  /**
+   * Checks that a buffer size is at least {@link #MINIMUM_BUFFER_SIZE}.
+   *
+   * @param bufferSize the buffer size.
+   *
+   * @return the buffer size.
+   *
+   * @throws IllegalArgumentException if the buffer size is less than {@link #MINIMUM_BUFFER_SIZE}.
+   * @since 1.1.0
+   */
+  static int checkBufferSize(int bufferSize) {
+    if (bufferSize < MINIMUM_BUFFER_SIZE) {
+      throw new IllegalArgumentException(
+          "Buffer size must be at least " + MINIMUM_BUFFER_SIZE + " bytes: " + bufferSize);
+    }
+    return bufferSize;
+  }
+
+  /**
+   * Checks that a channel is blocking, i.e., that it is not a {@link SelectableChannel} in
+   * non-blocking mode.
+   *
+   * @param channel the channel.
+   *
+   * @throws IllegalArgumentException if the channel is a non-blocking {@link SelectableChannel}.
+   * @since 1.1.0
+   */
+  static void checkBlocking(Channel channel) {
+    if (channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking()) {
+      throw new IllegalArgumentException("Channel must be in blocking mode");
+    }
+  }
+
+  /**
+   * Writes the byte array representation of a {@link ByteBased} value, as returned by
+   * {@link ByteBased#toBytes()}. No length is written, so the reader must know the length of the
+   * value.
+   * <p>
+   * Values which fit in the buffer are written with {@link ByteBased#writeTo(ByteBuffer)}, so types
+   * which override it are written without creating an intermediate byte array.
+   * </p>
+   *
+   * @param value the value to be written.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public void write(ByteBased value) throws IOException {
+    writeValue(value, value.byteLength());
+  }
+
+  /**
+   * Writes the byte array representation of a {@link ByteBased} value, as returned by
+   * {@link ByteBased#toBytes()}, preceded by its length as a variable-length int. The value can be
+   * read back with {@link ByteBasedReader#readLengthPrefixed()}.
+   *
+   * @param value the value to be written.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public void writeLengthPrefixed(ByteBased value) throws IOException {
+    int length = value.byteLength();
+    writeVarInt(length);
+    writeValue(value, length);
+  }
+
+  /**
+   * Writes a range of a byte array.
+   *
+   * @param src    the byte array containing the range to be written.
+   * @param offset the offset of the range in the byte array.
+   * @param length the length of the range.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public void writeBytes(byte[] src, int offset, int length) throws IOException {
+    while (length > 0) {
+      if (!buffer.hasRemaining()) {
+        drain();
+      }
+      int count = Math.min(length, buffer.remaining());
+      buffer.put(src, offset, count);
+      offset += count;
+      length -= count;
+    }
+  }
+
+  /**
+   * Writes the byte array representation of a {@link ByteBased} value of the given length, directly
+   * into the buffer if it fits, or through an intermediate byte array otherwise.
+   *
+   * @param value  the value to be written.
+   * @param length the length of the byte array representation of the value.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  private void writeValue(ByteBased value, int length) throws IOException {
+    if (length <= buffer.capacity()) {
+      ensureRemaining(length);
+      value.writeTo(buffer);
+    } else {
+      byte[] bytes = value.toBytes();
+      writeBytes(bytes, 0, bytes.length);
+    }
+  }
+
+  /**
+   * Writes a {@link ByteBasedChar} value (2 bytes) directly from its primitive value.
+   *
+   * @param value the value to be written.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public void write(ByteBasedChar value) throws IOException {
+    writeChar(value.getValue());
+  }
+
+  /**
+   * Writes a {@link ByteBasedShort} value (2 bytes) directly from its primitive value.
+   *
+   * @param value the value to be written.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public void write(ByteBasedShort value) throws IOException {
+    writeShort(value.getValue());
+  }
+
+  /**
+   * Writes a {@link ByteBasedInteger} value (4 bytes) directly from its primitive value.
+   *
+   * @param value the value to be written.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public void write(ByteBasedInteger value) throws IOException {
+    writeInt(value.getValue());
+  }
+
+  /**
+   * Writes a {@link ByteBasedLong} value (8 bytes) directly from its primitive value.
+   *
+   * @param value the value to be written.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public void write(ByteBasedLong value) throws IOException {
+    writeLong(value.getValue());
+  }
+
+  /**
+   * Writes a {@link ByteBasedFloat} value (4 bytes) directly from its primitive value.
+   *
+   * @param value the value to be written.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public void write(ByteBasedFloat value) throws IOException {
+    writeFloat(value.getValue());
+  }
+
+  /**
+   * Writes a {@link ByteBasedDouble} value (8 bytes) directly from its primitive value.
+   *
+   * @param value the value to be written.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public void write(ByteBasedDouble value) throws IOException {
+    writeDouble(value.getValue());
+  }
+
+  /**
+   * Writes a {@link ByteBasedSortableInteger} value (4 bytes) directly from its primitive value.
+   *
+   * @param value the value to be written.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public void write(ByteBasedSortableInteger value) throws IOException {
+    writeInt(value.getValue() ^ Integer.MIN_VALUE);
+  }
+
+  /**
+   * Writes a {@link ByteBasedSortableLong} value (8 bytes) directly from its primitive value.
+   *
+   * @param value the value to be written.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public void write(ByteBasedSortableLong value) throws IOException {
+    writeLong(value.getValue() ^ Long.MIN_VALUE);
+  }
+
+  /**
+   * Writes a {@link ByteBasedSortableFloat} value (4 bytes) directly from its primitive value.
+   *
+   * @param value the value to be written.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public void write(ByteBasedSortableFloat value) throws IOException {
+    writeInt(ByteArrayTool.toSortableBits(value.getValue()));
+  }
+
+  /**
+   * Writes a {@link ByteBasedSortableDouble} value (8 bytes) directly from its primitive value.
+   *
+   * @param value the value to be written.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public void write(ByteBasedSortableDouble value) throws IOException {
+    writeLong(ByteArrayTool.toSortableBits(value.getValue()));
+  }
+
+  /**
+   * Writes a {@link ByteBasedVarInt} value directly from its primitive value.
+   *
+   * @param value the value to be written.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public void write(ByteBasedVarInt value) throws IOException {
+    int bits = value.getValue();
+    writeVarInt(value.isZigZag() ? ByteArrayTool.encodeZigZag(bits) : bits);
+  }
+
+  /**
+   * Writes a {@link ByteBasedVarLong} value directly from its primitive value.
+   *
+   * @param value the value to be written.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public void write(ByteBasedVarLong value) throws IOException {
+    long bits = value.getValue();
+    writeVarLong(value.isZigZag() ? ByteArrayTool.encodeZigZag(bits) : bits);
+  }
+
+  /**
+   * Writes a {@link ByteBasedUUID} value (16 bytes) directly from its most and least significant
+   * bits.
+   *
+   * @param value the value to be written.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public void write(ByteBasedUUID value) throws IOException {
+    ensureRemaining(16);
+    buffer.putLong(value.getMostSignificantBits());
+    buffer.putLong(value.getLeastSignificantBits());
+  }
+
+  /**
+   * Writes a char value (2 bytes) in standard (big-endian) order.
+   *
+   * @param value the char value to be written.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public void writeChar(char value) throws IOException {
+    ensureRemaining(2);
+    buffer.putChar(value);
+  }
+
+  /**
+   * Writes a short value (2 bytes) in standard (big-endian) order.
+   *
+   * @param value the short value to be written.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public void writeShort(short value) throws IOException {
+    ensureRemaining(2);
+    buffer.putShort(value);
+  }
+
+  /**
+   * Writes an int value (4 bytes) in standard (big-endian) order.
+   *
+   * @param value the int value to be written.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public void writeInt(int value) throws IOException {
+    ensureRemaining(4);
+    buffer.putInt(value);
+  }
+
+  /**
+   * Writes a long value (8 bytes) in standard (big-endian) order.
+   *
+   * @param value the long value to be written.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public void writeLong(long value) throws IOException {
+    ensureRemaining(8);
+    buffer.putLong(value);
+  }
+
+  /**
+   * Writes a float value (4 bytes) in standard (big-endian) order.
+   *
+   * @param value the float value to be written.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public void writeFloat(float value) throws IOException {
+    ensureRemaining(4);
+    buffer.putFloat(value);
+  }
+
+  /**
+   * Writes a double value (8 bytes) in standard (big-endian) order.
+   *
+   * @param value the double value to be written.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  public void writeDouble(double value) throws IOException {
+    ensureRemaining(8);
+    buffer.putDouble(value);
+  }
+
+  /**
+   * Writes an int value, interpreted as unsigned, in the LEB128 variable-length encoding (1 to
+   * 5 bytes).
+   *
+   * @param value the int value to be written, interpreted as unsigned.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @see ByteArrayTool#writeVarInt(int, ByteBuffer)
+   * @since 1.1.0
+   */
+  public void writeVarInt(int value) throws IOException {
+    ensureRemaining(5);
+    ByteArrayTool.writeVarInt(value, buffer);
+  }
+
+  /**
+   * Writes a long value, interpreted as unsigned, in the LEB128 variable-length encoding (1 to
+   * 10 bytes).
+   *
+   * @param value the long value to be written, interpreted as unsigned.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @see ByteArrayTool#writeVarLong(long, ByteBuffer)
+   * @since 1.1.0
+   */
+  public void writeVarLong(long value) throws IOException {
+    ensureRemaining(10);
+    ByteArrayTool.writeVarLong(value, buffer);
+  }
+
+  /**
+   * Writes all buffered bytes to the channel.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  @Override
+  public void flush() throws IOException {
+    drain();
+  }
+
+  /**
+   * Writes all buffered bytes to the channel and closes the channel. After this method returns,
+   * a buffer supplied to the constructor may be reused.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      drain();
+    } finally {
+      channel.close();
+    }
+  }
+
+  /**
+   * Ensures that the buffer has at least the specified number of bytes remaining, writing the
+   * buffered bytes to the channel if needed.
+   *
+   * @param length the number of bytes required, at most the capacity of the buffer.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  private void ensureRemaining(int length) throws IOException {
+    if (buffer.remaining() < length) {
+      drain();
+    }
+  }
+
+  /**
+   * Writes all buffered bytes to the channel and clears the buffer.
+   *
+   * @throws IOException if an I/O error occurs.
+   * @since 1.1.0
+   */
+  private void drain() throws IOException {
+    buffer.flip();
+    try {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    } finally {
+      buffer.compact();
+    }
+  }
+}
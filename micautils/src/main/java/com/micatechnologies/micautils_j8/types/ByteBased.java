@@ -1,6 +1,7 @@
 package com.micatechnologies.micautils_j8.types;
 
 import com.micatechnologies.micautils_j8.data.ByteBasedTrie;
+import java.nio.ByteBuffer;
 
 /**
  * Interface for objects that are backed by a byte array or can be converted to a byte array.
@@ -8,10 +9,17 @@ import com.micatechnologies.micautils_j8.data.ByteBasedTrie;
  * Consideration should be given to the fact that conversion to a byte array may be an expensive
  * operation. For data types that are backed by a byte array, the {@link #toBytes()} method should
  * return a reference to the backing byte array. Otherwise, the {@link #toBytes()} method should
- * return a new byte array representation of the object.
+ * return a new byte array representation of the object. Keys which are converted repeatedly can be
+ * wrapped in a {@link MemoizedByteBased} so that the conversion is only performed once.
+ * </p>
+ * <p>
+ * The {@link #writeTo(byte[], int)} and {@link #writeTo(ByteBuffer)} methods, and their reversed
+ * counterparts, write the byte array representation directly into a destination. Their default
+ * implementations copy the result of {@link #toBytes()}, and implementations which can produce
+ * their bytes directly should override them together with {@link #byteLength()}.
  * </p>
  *
- * @version 1.0.0
+ * @version 1.1.0
  * @since 1.0.0
  */
 public interface ByteBased {
@@ -30,7 +38,7 @@ public interface ByteBased {
    * {@link #toBytes()} method, but with the bytes in reverse order.
    * <br>
    * The reversed byte array is useful for reducing memory usage when using a byte based data type
-   * as a key in a {@link ByteBasedTrie}.
+   * as a key in a {@link ByteBasedTrie} created with {@link ByteBasedTrie.KeyOrder#REVERSED}.
    * <br>
    * When applicable, it is recommended to directly read the backing byte array in reverse order
    * instead of converting the standard byte array to a reversed byte array. This will reduce memory
@@ -40,4 +48,90 @@ public interface ByteBased {
    * @return the reversed byte array representation of the object.
    */
   byte[] toBytesReversed();
+
+  /**
+   * Gets the number of bytes in the byte array representation of the object.
+   * <p>
+   * The default implementation returns the length of the array returned by {@link #toBytes()}.
+   * </p>
+   *
+   * @return the number of bytes.
+   *
+   * @since 1.1.0
+   */
+  default int byteLength() {
+    return toBytes().length;
+  }
+
+  /**
+   * Writes the byte array representation of the object into the specified byte array at the
+   * specified offset.
+   *
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws IndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  default int writeTo(byte[] dst, int offset) {
+    byte[] bytes = toBytes();
+    System.arraycopy(bytes, 0, dst, offset, bytes.length);
+    return bytes.length;
+  }
+
+  /**
+   * Writes the byte array representation of the object to the specified buffer at its current
+   * position, advancing the position by the number of bytes written. The byte order of the buffer
+   * does not affect the bytes written.
+   *
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws java.nio.BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  default int writeTo(ByteBuffer buffer) {
+    byte[] bytes = toBytes();
+    buffer.put(bytes);
+    return bytes.length;
+  }
+
+  /**
+   * Writes the reversed byte array representation of the object, as returned by
+   * {@link #toBytesReversed()}, into the specified byte array at the specified offset.
+   *
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws IndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  default int writeReversedTo(byte[] dst, int offset) {
+    byte[] bytes = toBytesReversed();
+    System.arraycopy(bytes, 0, dst, offset, bytes.length);
+    return bytes.length;
+  }
+
+  /**
+   * Writes the reversed byte array representation of the object, as returned by
+   * {@link #toBytesReversed()}, to the specified buffer at its current position, advancing the
+   * position by the number of bytes written.
+   *
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws java.nio.BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  default int writeReversedTo(ByteBuffer buffer) {
+    byte[] bytes = toBytesReversed();
+    buffer.put(bytes);
+    return bytes.length;
+  }
 }
@@ -0,0 +1,261 @@
+package com.micatechnologies.micautils_j8.types;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Byte buffer slice wrapper class that implements the {@link ByteBased} interface.
+ * <p>
+ * This class is used to view a region of an existing heap or direct {@link ByteBuffer}, such as a
+ * memory-mapped file, as a {@link ByteBased} key, without copying it. Bytes are read using absolute
+ * reads, so the position and limit of the buffer are neither used nor modified after the slice has
+ * been created. The reversed form reads the same region backwards.
+ * </p>
+ * <p>
+ * Changes to the underlying buffer are visible through the slice, so the region should not be
+ * modified while the slice is in use as a key.
+ * </p>
+ *
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class ByteBasedBufferSlice implements ByteBasedSequence, Comparable<ByteBasedBufferSlice> {
+
+  /**
+   * The underlying buffer.
+   *
+   * @since 1.1.0
+   */
+  private final ByteBuffer buffer;
+
+  /**
+   * The absolute index of the slice in the underlying buffer.
+   *
+   * @since 1.1.0
+   */
+  private final int index;
+
+  /**
+   * The length of the slice.
+   *
+   * @since 1.1.0
+   */
+  private final int length;
+
+  /**
+   * Constructor for a new {@link ByteBasedBufferSlice} object.
+   *
+   * @param buffer the underlying buffer.
+   * @param index  the absolute index of the slice in the underlying buffer.
+   * @param length the length of the slice.
+   *
+   * @throws IndexOutOfBoundsException if the region is not within the limit of the buffer.
+   * @since 1.1.0
+   */
+  public ByteBasedBufferSlice(ByteBuffer buffer, int index, int length) {
+    if (index < 0 || length < 0 || index > buffer.limit() - length) {
+      throw new IndexOutOfBoundsException(
+          "Region [" + index + ", " + index + " + " + length + ") out of bounds for limit "
+              + buffer.limit());
+    }
+    this.buffer = buffer;
+    this.index = index;
+    this.length = length;
+  }
+
+  /**
+   * Creates a new {@link ByteBasedBufferSlice} object viewing the remaining bytes of a buffer,
+   * from its current position to its limit.
+   *
+   * @param buffer the underlying buffer.
+   *
+   * @return the new {@link ByteBasedBufferSlice} object.
+   *
+   * @since 1.1.0
+   */
+  public static ByteBasedBufferSlice of(ByteBuffer buffer) {
+    return new ByteBasedBufferSlice(buffer, buffer.position(), buffer.remaining());
+  }
+
+  /**
+   * Creates a new {@link ByteBasedBufferSlice} object viewing a region of a buffer.
+   *
+   * @param buffer the underlying buffer.
+   * @param index  the absolute index of the slice in the underlying buffer.
+   * @param length the length of the slice.
+   *
+   * @return the new {@link ByteBasedBufferSlice} object.
+   *
+   * @throws IndexOutOfBoundsException if the region is not within the limit of the buffer.
+   * @since 1.1.0
+   */
+  public static ByteBasedBufferSlice of(ByteBuffer buffer, int index, int length) {
+    return new ByteBasedBufferSlice(buffer, index, length);
+  }
+
+  /**
+   * Gets the underlying buffer.
+   *
+   * @return the underlying buffer.
+   *
+   * @since 1.1.0
+   */
+  public ByteBuffer getBuffer() {
+    return buffer;
+  }
+
+  /**
+   * Gets the absolute index of the slice in the underlying buffer.
+   *
+   * @return the absolute index of the slice.
+   *
+   * @since 1.1.0
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  /**
+   * Converts the object to a byte array, by copying the region into a new byte array.
+   *
+   * @return the byte array representation of the object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public byte[] toBytes() {
+    byte[] bytes = new byte[length];
+    if (buffer.hasArray()) {
+      System.arraycopy(buffer.array(), buffer.arrayOffset() + index, bytes, 0, length);
+    } else {
+      for (int i = 0; i < length; i++) {
+        bytes[i] = buffer.get(index + i);
+      }
+    }
+    return bytes;
+  }
+
+  /**
+   * Converts the object to a reversed byte array, by reading the region backwards.
+   *
+   * @return the reversed byte array representation of the object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public byte[] toBytesReversed() {
+    byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      bytes[i] = buffer.get(index + length - 1 - i);
+    }
+    return bytes;
+  }
+
+  /**
+   * Gets the length of the slice.
+   *
+   * @return the number of bytes.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int byteLength() {
+    return length;
+  }
+
+  /**
+   * Gets the byte at the specified index of the slice, using an absolute read.
+   *
+   * @param i the index of the byte, from {@code 0} to {@code byteLength() - 1}.
+   *
+   * @return the byte at the specified index.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1.0
+   */
+  @Override
+  public byte byteAt(int i) {
+    checkIndex(i);
+    return buffer.get(index + i);
+  }
+
+  /**
+   * Gets the byte at the specified index of the reversed slice, by reading the region backwards.
+   *
+   * @param i the index of the byte, from {@code 0} to {@code byteLength() - 1}.
+   *
+   * @return the byte at the specified index of the reversed slice.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1.0
+   */
+  @Override
+  public byte byteAtReversed(int i) {
+    checkIndex(i);
+    return buffer.get(index + length - 1 - i);
+  }
+
+  /**
+   * Checks that an index is within the slice.
+   *
+   * @param i the index.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1.0
+   */
+  private void checkIndex(int i) {
+    if (i < 0 || i >= length) {
+      throw new IndexOutOfBoundsException("Index " + i + " out of bounds for length " + length);
+    }
+  }
+
+  /**
+   * Compares this object with the specified object for equality. Two objects are equal if they have
+   * the same length and bytes, regardless of their backing buffers and indices. As the bytes are
+   * read from the backing buffer, modifying the buffer changes the result.
+   *
+   * @param obj the object to compare with.
+   *
+   * @return {@code true} if the objects are equal, {@code false} otherwise.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof ByteBasedBufferSlice)) {
+      return false;
+    }
+    ByteBasedBufferSlice other = (ByteBasedBufferSlice) obj;
+    return ByteBasedSequence.contentEquals(this, other);
+  }
+
+  /**
+   * Returns a hash code for the object, computed from its bytes, without creating a byte array.
+   *
+   * @return the hash code.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int hashCode() {
+    return ByteBasedSequence.contentHashCode(this);
+  }
+
+  /**
+   * Compares this object with the specified object in the unsigned lexicographic order of their
+   * byte array representations.
+   *
+   * @param other the object to be compared.
+   *
+   * @return a negative value, zero or a positive value as this object is less than, equal to or
+   *     greater than the specified object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int compareTo(ByteBasedBufferSlice other) {
+    return ByteBasedSequence.compare(this, other);
+  }
+}
@@ -2,6 +2,8 @@ package com.micatechnologies.micautils_j8.types;
 
 import com.micatechnologies.micautils_j8.ByteArrayTool;
 import com.micatechnologies.micautils_j8.data.ByteBasedTrie;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 
 /**
  * Float wrapper class that implements the {@link ByteBased} interface.
@@ -9,10 +11,10 @@ import com.micatechnologies.micautils_j8.data.ByteBasedTrie;
  * This class is used to wrap an float value and convert it to a byte array.
  * </p>
  *
- * @version 1.0.0
+ * @version 1.1.0
  * @since 1.0.0
  */
-public class ByteBasedFloat implements ByteBased {
+public class ByteBasedFloat implements ByteBasedSequence, Comparable<ByteBasedFloat> {
 
   /**
    * The float value.
@@ -91,4 +93,173 @@ public class ByteBasedFloat implements ByteBased {
     return ByteArrayTool.fromFloatReversed(value);
   }
 
+  /**
+   * Gets the number of bytes in the byte array representation of the object, which is always 4.
+   *
+   * @return the number of bytes.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int byteLength() {
+    return 4;
+  }
+
+  /**
+   * Gets the byte at the specified index of the byte array representation of the object, directly
+   * from the float value.
+   *
+   * @param index the index of the byte, from {@code 0} to {@code 3}.
+   *
+   * @return the byte at the specified index.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1.0
+   */
+  @Override
+  public byte byteAt(int index) {
+    if (index < 0 || index >= 4) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length 4");
+    }
+    return (byte) (Float.floatToIntBits(value) >>> (24 - (index << 3)));
+  }
+
+  /**
+   * Gets the byte at the specified index of the reversed byte array representation of the object,
+   * directly from the float value.
+   *
+   * @param index the index of the byte, from {@code 0} to {@code 3}.
+   *
+   * @return the byte at the specified index of the reversed byte array representation.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1.0
+   */
+  @Override
+  public byte byteAtReversed(int index) {
+    if (index < 0 || index >= 4) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length 4");
+    }
+    return (byte) (Float.floatToIntBits(value) >>> (index << 3));
+  }
+
+  /**
+   * Writes the byte array representation of the object into the specified byte array at the
+   * specified offset, directly from the float value.
+   *
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws IndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeTo(byte[] dst, int offset) {
+    return ByteArrayTool.writeInt(Float.floatToIntBits(value), dst, offset);
+  }
+
+  /**
+   * Writes the byte array representation of the object to the specified buffer at its current
+   * position, directly from the float value.
+   *
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeTo(ByteBuffer buffer) {
+    return ByteArrayTool.writeInt(Float.floatToIntBits(value), buffer);
+  }
+
+  /**
+   * Writes the reversed byte array representation of the object into the specified byte array at
+   * the specified offset, directly from the float value.
+   *
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws IndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeReversedTo(byte[] dst, int offset) {
+    return ByteArrayTool.writeInt(Integer.reverseBytes(Float.floatToIntBits(value)), dst, offset);
+  }
+
+  /**
+   * Writes the reversed byte array representation of the object to the specified buffer at its
+   * current position, directly from the float value.
+   *
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeReversedTo(ByteBuffer buffer) {
+    return ByteArrayTool.writeInt(Integer.reverseBytes(Float.floatToIntBits(value)), buffer);
+  }
+
+  /**
+   * Compares this object with the specified object for equality. Two objects are equal if their
+   * values have the same bit representation, as determined by {@link Float#floatToIntBits(float)},
+   * and hence the same byte array representation.
+   *
+   * @param obj the object to compare with.
+   *
+   * @return {@code true} if the objects are equal, {@code false} otherwise.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof ByteBasedFloat)) {
+      return false;
+    }
+    ByteBasedFloat other = (ByteBasedFloat) obj;
+    return Float.floatToIntBits(value) == Float.floatToIntBits(other.value);
+  }
+
+  /**
+   * Returns a hash code for the object, computed from the float value, without creating a byte
+   * array.
+   *
+   * @return the hash code.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int hashCode() {
+    return Float.hashCode(value);
+  }
+
+  /**
+   * Compares this object with the specified object in the unsigned lexicographic order of their
+   * byte array representations, i.e., the unsigned order of their IEEE 754 bit representations, in
+   * which negative values order after positive values and larger negative values order after
+   * smaller ones.
+   *
+   * @param other the object to be compared.
+   *
+   * @return a negative value, zero or a positive value as this object is less than, equal to or
+   *     greater than the specified object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int compareTo(ByteBasedFloat other) {
+    return Integer.compareUnsigned(Float.floatToIntBits(value), Float.floatToIntBits(other.value));
+  }
 }
@@ -0,0 +1,364 @@
+package com.micatechnologies.micautils_j8.types;
+
+import com.micatechnologies.micautils_j8.ByteArrayTool;
+import com.micatechnologies.micautils_j8.data.ByteBasedTrie;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.UnsupportedTemporalTypeException;
+
+/**
+ * Order-preserving instant wrapper class that implements the {@link ByteBased} interface.
+ * <p>
+ * This class is used to wrap an {@link Instant}, truncated to a {@link ChronoUnit} from
+ * {@link ChronoUnit#NANOS} to {@link ChronoUnit#DAYS}, and convert it to a byte array whose
+ * unsigned lexicographic order matches the chronological order of the instants, including instants
+ * before the epoch. The byte array is the number of whole units since the epoch, rounded towards
+ * negative infinity, as an 8-byte big-endian value with its sign bit flipped. For
+ * {@link ChronoUnit#NANOS}, it is the number of seconds followed by the 4-byte nanosecond of the
+ * second.
+ * </p>
+ * <p>
+ * Instants with the same unit can be queried by time window using
+ * {@link ByteBasedTrie#getValuesInRange(ByteBased, ByteBased)}. Combining a coarse instant with a
+ * finer one in a {@link ByteBasedTuple}, such as an {@link ChronoUnit#HOURS} bucket followed by the
+ * exact time, allows the entries of a bucket to be retrieved with
+ * {@link ByteBasedTrie#getValuesWithPrefix(ByteBased)}.
+ * </p>
+ *
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class ByteBasedInstant implements ByteBasedSequence, Comparable<ByteBasedInstant> {
+
+  /**
+   * The number of whole units since the epoch, or the number of seconds for
+   * {@link ChronoUnit#NANOS}.
+   *
+   * @since 1.1.0
+   */
+  private final long units;
+
+  /**
+   * The nanosecond of the second for {@link ChronoUnit#NANOS}, or zero for other units.
+   *
+   * @since 1.1.0
+   */
+  private final int nanos;
+
+  /**
+   * The unit to which the instant is truncated.
+   *
+   * @since 1.1.0
+   */
+  private final ChronoUnit unit;
+
+  /**
+   * Constructor for a new {@link ByteBasedInstant} object.
+   *
+   * @param instant the instant.
+   * @param unit    the unit to which the instant is truncated, from {@link ChronoUnit#NANOS} to
+   *                {@link ChronoUnit#DAYS}.
+   *
+   * @throws UnsupportedTemporalTypeException if the unit is not supported.
+   * @throws ArithmeticException              if the instant cannot be represented in the unit as a
+   *                                          long value.
+   * @since 1.1.0
+   */
+  public ByteBasedInstant(Instant instant, ChronoUnit unit) {
+    long seconds = instant.getEpochSecond();
+    int nano = instant.getNano();
+    switch (unit) {
+      case NANOS:
+        this.units = seconds;
+        this.nanos = nano;
+        break;
+      case MICROS:
+        this.units = Math.addExact(Math.multiplyExact(seconds, 1_000_000L), nano / 1_000);
+        this.nanos = 0;
+        break;
+      case MILLIS:
+        this.units = Math.addExact(Math.multiplyExact(seconds, 1_000L), nano / 1_000_000);
+        this.nanos = 0;
+        break;
+      case SECONDS:
+      case MINUTES:
+      case HOURS:
+      case HALF_DAYS:
+      case DAYS:
+        this.units = Math.floorDiv(seconds, unit.getDuration().getSeconds());
+        this.nanos = 0;
+        break;
+      default:
+        throw new UnsupportedTemporalTypeException("Unsupported unit: " + unit);
+    }
+    this.unit = unit;
+  }
+
+  /**
+   * Creates a new {@link ByteBasedInstant} object with the specified instant, truncated to
+   * milliseconds.
+   *
+   * @param instant the instant.
+   *
+   * @return the new {@link ByteBasedInstant} object.
+   *
+   * @throws ArithmeticException if the instant cannot be represented in milliseconds as a long
+   *                             value.
+   * @since 1.1.0
+   */
+  public static ByteBasedInstant of(Instant instant) {
+    return new ByteBasedInstant(instant, ChronoUnit.MILLIS);
+  }
+
+  /**
+   * Creates a new {@link ByteBasedInstant} object with the specified instant, truncated to the
+   * specified unit.
+   *
+   * @param instant the instant.
+   * @param unit    the unit to which the instant is truncated, from {@link ChronoUnit#NANOS} to
+   *                {@link ChronoUnit#DAYS}.
+   *
+   * @return the new {@link ByteBasedInstant} object.
+   *
+   * @throws UnsupportedTemporalTypeException if the unit is not supported.
+   * @throws ArithmeticException              if the instant cannot be represented in the unit as a
+   *                                          long value.
+   * @since 1.1.0
+   */
+  public static ByteBasedInstant of(Instant instant, ChronoUnit unit) {
+    return new ByteBasedInstant(instant, unit);
+  }
+
+  /**
+   * Creates a new {@link ByteBasedInstant} object from a number of milliseconds since the epoch.
+   *
+   * @param epochMilli the number of milliseconds since the epoch.
+   *
+   * @return the new {@link ByteBasedInstant} object, truncated to milliseconds.
+   *
+   * @since 1.1.0
+   */
+  public static ByteBasedInstant ofEpochMilli(long epochMilli) {
+    return new ByteBasedInstant(Instant.ofEpochMilli(epochMilli), ChronoUnit.MILLIS);
+  }
+
+  /**
+   * Creates a new {@link ByteBasedInstant} object from a number of seconds since the epoch.
+   *
+   * @param epochSecond the number of seconds since the epoch.
+   *
+   * @return the new {@link ByteBasedInstant} object, truncated to seconds.
+   *
+   * @throws java.time.DateTimeException if the instant exceeds the supported range of
+   *                                     {@link Instant}.
+   * @since 1.1.0
+   */
+  public static ByteBasedInstant ofEpochSecond(long epochSecond) {
+    return new ByteBasedInstant(Instant.ofEpochSecond(epochSecond), ChronoUnit.SECONDS);
+  }
+
+  /**
+   * Gets the instant, truncated to the unit of the object.
+   *
+   * @return the truncated instant.
+   *
+   * @since 1.1.0
+   */
+  public Instant getValue() {
+    switch (unit) {
+      case NANOS:
+        return Instant.ofEpochSecond(units, nanos);
+      case MICROS:
+        return Instant.ofEpochSecond(Math.floorDiv(units, 1_000_000L),
+            Math.floorMod(units, 1_000_000L) * 1_000L);
+      case MILLIS:
+        return Instant.ofEpochMilli(units);
+      default:
+        return Instant.ofEpochSecond(units * unit.getDuration().getSeconds());
+    }
+  }
+
+  /**
+   * Gets the unit to which the instant is truncated.
+   *
+   * @return the unit.
+   *
+   * @since 1.1.0
+   */
+  public ChronoUnit getUnit() {
+    return unit;
+  }
+
+  /**
+   * Converts the object to an order-preserving byte array.
+   *
+   * @return the order-preserving byte array representation of the object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public byte[] toBytes() {
+    byte[] bytes = new byte[byteLength()];
+    writeTo(bytes, 0);
+    return bytes;
+  }
+
+  /**
+   * Converts the object to a reversed order-preserving byte array.
+   * <p>
+   * The resulting reversed byte array should be the same as the byte array returned by the
+   * {@link #toBytes()} method, but with the bytes in reverse order. Note that the reversed byte
+   * array is not order-preserving.
+   * </p>
+   *
+   * @return the reversed byte array representation of the object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public byte[] toBytesReversed() {
+    byte[] bytes = new byte[byteLength()];
+    writeReversedTo(bytes, 0);
+    return bytes;
+  }
+
+  /**
+   * Gets the number of bytes in the byte array representation of the object, which is 12 for
+   * {@link ChronoUnit#NANOS} and 8 otherwise.
+   *
+   * @return the number of bytes.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int byteLength() {
+    return unit == ChronoUnit.NANOS ? 12 : 8;
+  }
+
+  /**
+   * Gets the byte at the specified index of the byte array representation of the object, directly
+   * from the number of units and nanoseconds.
+   *
+   * @param index the index of the byte, from {@code 0} to {@code byteLength() - 1}.
+   *
+   * @return the byte at the specified index.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1.0
+   */
+  @Override
+  public byte byteAt(int index) {
+    int length = byteLength();
+    if (index < 0 || index >= length) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+    }
+    if (index < 8) {
+      return (byte) ((units ^ Long.MIN_VALUE) >>> (56 - (index << 3)));
+    }
+    return (byte) (nanos >>> (24 - ((index - 8) << 3)));
+  }
+
+  /**
+   * Writes the byte array representation of the object into the specified byte array at the
+   * specified offset, directly from the number of units and nanoseconds.
+   *
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws IndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeTo(byte[] dst, int offset) {
+    int length = ByteArrayTool.writeLong(units ^ Long.MIN_VALUE, dst, offset);
+    if (unit == ChronoUnit.NANOS) {
+      length += ByteArrayTool.writeInt(nanos, dst, offset + length);
+    }
+    return length;
+  }
+
+  /**
+   * Writes the byte array representation of the object to the specified buffer at its current
+   * position, directly from the number of units and nanoseconds.
+   *
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeTo(ByteBuffer buffer) {
+    if (buffer.remaining() < byteLength()) {
+      throw new BufferOverflowException();
+    }
+    int length = ByteArrayTool.writeLong(units ^ Long.MIN_VALUE, buffer);
+    if (unit == ChronoUnit.NANOS) {
+      length += ByteArrayTool.writeInt(nanos, buffer);
+    }
+    return length;
+  }
+
+  /**
+   * Compares this object with the specified object for equality. Two objects are equal if they
+   * have the same unit and the same truncated instant.
+   *
+   * @param obj the object to compare with.
+   *
+   * @return {@code true} if the objects are equal, {@code false} otherwise.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof ByteBasedInstant)) {
+      return false;
+    }
+    ByteBasedInstant other = (ByteBasedInstant) obj;
+    return unit == other.unit && units == other.units && nanos == other.nanos;
+  }
+
+  /**
+   * Returns a hash code for the object, computed from the unit, the number of units and the
+   * nanoseconds, without creating a byte array.
+   *
+   * @return the hash code.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int hashCode() {
+    return 31 * (31 * unit.ordinal() + Long.hashCode(units)) + nanos;
+  }
+
+  /**
+   * Compares this object with the specified object in the unsigned lexicographic order of their
+   * byte array representations. For objects with the same unit, this is the chronological order
+   * of the truncated instants. Objects with different units but equal byte array representations
+   * are ordered by unit, so that the order is consistent with {@link #equals(Object)}.
+   *
+   * @param other the object to be compared.
+   *
+   * @return a negative value, zero or a positive value as this object is less than, equal to or
+   *     greater than the specified object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int compareTo(ByteBasedInstant other) {
+    if (unit != other.unit) {
+      int result = ByteBasedSequence.compare(this, other);
+      return result != 0 ? result : Integer.compare(unit.ordinal(), other.unit.ordinal());
+    }
+    int result = Long.compare(units, other.units);
+    return result != 0 ? result : Integer.compare(nanos, other.nanos);
+  }
+}
@@ -2,6 +2,8 @@ package com.micatechnologies.micautils_j8.types;
 
 import com.micatechnologies.micautils_j8.ByteArrayTool;
 import com.micatechnologies.micautils_j8.data.ByteBasedTrie;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 
 /**
  * Long wrapper class that implements the {@link ByteBased} interface.
@@ -9,10 +11,10 @@ import com.micatechnologies.micautils_j8.data.ByteBasedTrie;
  * This class is used to wrap a long value and convert it to a byte array.
  * </p>
  *
- * @version 1.0.0
+ * @version 1.1.0
  * @since 1.0.0
  */
-public class ByteBasedLong implements ByteBased {
+public class ByteBasedLong implements ByteBasedSequence, Comparable<ByteBasedLong> {
 
   /**
    * The long value.
@@ -21,6 +23,34 @@ public class ByteBasedLong implements ByteBased {
    */
   private final long value;
 
+  /**
+   * The lowest value for which {@link #of(long)} returns a cached instance.
+   *
+   * @since 1.1.0
+   */
+  private static final int CACHE_LOW = -128;
+
+  /**
+   * The highest value for which {@link #of(long)} returns a cached instance.
+   *
+   * @since 1.1.0
+   */
+  private static final int CACHE_HIGH = 127;
+
+  /**
+   * The cached instances for values from {@link #CACHE_LOW} to {@link #CACHE_HIGH}, indexed by
+   * {@code value - CACHE_LOW}.
+   *
+   * @since 1.1.0
+   */
+  private static final ByteBasedLong[] CACHE = new ByteBasedLong[CACHE_HIGH - CACHE_LOW + 1];
+
+  static {
+    for (int i = 0; i < CACHE.length; i++) {
+      CACHE[i] = new ByteBasedLong(i + CACHE_LOW);
+    }
+  }
+
   /**
    * Constructor for a new {@link ByteBasedLong} object.
    *
@@ -33,15 +63,20 @@ public class ByteBasedLong implements ByteBased {
   }
 
   /**
-   * Creates a new {@link ByteBasedLong} object with the specified value.
+   * Gets a {@link ByteBasedLong} object with the specified value. Like {@link Long#valueOf(long)},
+   * this method returns a shared cached instance for small values (from {@value #CACHE_LOW} to
+   * {@value #CACHE_HIGH}) and creates a new object otherwise.
    *
    * @param value the long value.
    *
-   * @return the new {@link ByteBasedLong} object.
+   * @return the {@link ByteBasedLong} object.
    *
    * @since 1.0.0
    */
   public static ByteBasedLong of(long value) {
+    if (value >= CACHE_LOW && value <= CACHE_HIGH) {
+      return CACHE[(int) value - CACHE_LOW];
+    }
     return new ByteBasedLong(value);
   }
 
@@ -90,4 +125,172 @@ public class ByteBasedLong implements ByteBased {
   public byte[] toBytesReversed() {
     return ByteArrayTool.fromLongReversed(value);
   }
+
+  /**
+   * Gets the number of bytes in the byte array representation of the object, which is always 8.
+   *
+   * @return the number of bytes.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int byteLength() {
+    return 8;
+  }
+
+  /**
+   * Gets the byte at the specified index of the byte array representation of the object, directly
+   * from the long value.
+   *
+   * @param index the index of the byte, from {@code 0} to {@code 7}.
+   *
+   * @return the byte at the specified index.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1.0
+   */
+  @Override
+  public byte byteAt(int index) {
+    if (index < 0 || index >= 8) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length 8");
+    }
+    return (byte) (value >>> (56 - (index << 3)));
+  }
+
+  /**
+   * Gets the byte at the specified index of the reversed byte array representation of the object,
+   * directly from the long value.
+   *
+   * @param index the index of the byte, from {@code 0} to {@code 7}.
+   *
+   * @return the byte at the specified index of the reversed byte array representation.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1.0
+   */
+  @Override
+  public byte byteAtReversed(int index) {
+    if (index < 0 || index >= 8) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length 8");
+    }
+    return (byte) (value >>> (index << 3));
+  }
+
+  /**
+   * Writes the byte array representation of the object into the specified byte array at the
+   * specified offset, directly from the long value.
+   *
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws IndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeTo(byte[] dst, int offset) {
+    return ByteArrayTool.writeLong(value, dst, offset);
+  }
+
+  /**
+   * Writes the byte array representation of the object to the specified buffer at its current
+   * position, directly from the long value.
+   *
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeTo(ByteBuffer buffer) {
+    return ByteArrayTool.writeLong(value, buffer);
+  }
+
+  /**
+   * Writes the reversed byte array representation of the object into the specified byte array at
+   * the specified offset, directly from the long value.
+   *
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws IndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeReversedTo(byte[] dst, int offset) {
+    return ByteArrayTool.writeLong(Long.reverseBytes(value), dst, offset);
+  }
+
+  /**
+   * Writes the reversed byte array representation of the object to the specified buffer at its
+   * current position, directly from the long value.
+   *
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeReversedTo(ByteBuffer buffer) {
+    return ByteArrayTool.writeLong(Long.reverseBytes(value), buffer);
+  }
+
+  /**
+   * Compares this object with the specified object for equality. Two objects are equal if they wrap
+   * the same long value.
+   *
+   * @param obj the object to compare with.
+   *
+   * @return {@code true} if the objects are equal, {@code false} otherwise.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof ByteBasedLong)) {
+      return false;
+    }
+    ByteBasedLong other = (ByteBasedLong) obj;
+    return value == other.value;
+  }
+
+  /**
+   * Returns a hash code for the object, computed from the long value, without creating a byte
+   * array.
+   *
+   * @return the hash code.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int hashCode() {
+    return Long.hashCode(value);
+  }
+
+  /**
+   * Compares this object with the specified object in the unsigned lexicographic order of their
+   * byte array representations, i.e., the order of the long values interpreted as unsigned, in
+   * which negative values order after positive values.
+   *
+   * @param other the object to be compared.
+   *
+   * @return a negative value, zero or a positive value as this object is less than, equal to or
+   *     greater than the specified object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int compareTo(ByteBasedLong other) {
+    return Long.compareUnsigned(value, other.value);
+  }
 }
@@ -0,0 +1,214 @@
+package com.micatechnologies.micautils_j8.types;
+
+import com.micatechnologies.micautils_j8.data.ByteBasedTrie;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Interface for {@link ByteBased} objects whose bytes can be read individually, without creating a
+ * byte array.
+ * <p>
+ * A {@link ByteBasedTrie} traverses keys which implement this interface byte by byte using
+ * {@link #byteAt(int)}, instead of calling {@link #toBytes()}, so lookups with such keys do not
+ * allocate. The bytes returned by {@link #byteAt(int)} must be the same as those in the array
+ * returned by {@link #toBytes()}.
+ * </p>
+ *
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public interface ByteBasedSequence extends ByteBased {
+
+  /**
+   * Gets the number of bytes in the byte array representation of the object.
+   *
+   * @return the number of bytes.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  int byteLength();
+
+  /**
+   * Gets the byte at the specified index of the byte array representation of the object.
+   *
+   * @param index the index of the byte, from {@code 0} to {@code byteLength() - 1}.
+   *
+   * @return the byte at the specified index.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1.0
+   */
+  byte byteAt(int index);
+
+  /**
+   * Gets the byte at the specified index of the reversed byte array representation of the object.
+   * This is equivalent to {@code byteAt(byteLength() - 1 - index)}.
+   *
+   * @param index the index of the byte, from {@code 0} to {@code byteLength() - 1}.
+   *
+   * @return the byte at the specified index of the reversed byte array representation.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1.0
+   */
+  default byte byteAtReversed(int index) {
+    return byteAt(byteLength() - 1 - index);
+  }
+
+  /**
+   * Writes the byte array representation of the object into the specified byte array at the
+   * specified offset, reading the bytes with {@link #byteAt(int)}.
+   *
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws IndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  @Override
+  default int writeTo(byte[] dst, int offset) {
+    int length = byteLength();
+    for (int i = 0; i < length; i++) {
+      dst[offset + i] = byteAt(i);
+    }
+    return length;
+  }
+
+  /**
+   * Writes the byte array representation of the object to the specified buffer at its current
+   * position, reading the bytes with {@link #byteAt(int)}.
+   *
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  @Override
+  default int writeTo(ByteBuffer buffer) {
+    int length = byteLength();
+    if (buffer.remaining() < length) {
+      throw new BufferOverflowException();
+    }
+    for (int i = 0; i < length; i++) {
+      buffer.put(byteAt(i));
+    }
+    return length;
+  }
+
+  /**
+   * Writes the reversed byte array representation of the object into the specified byte array at
+   * the specified offset, reading the bytes with {@link #byteAtReversed(int)}.
+   *
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws IndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  @Override
+  default int writeReversedTo(byte[] dst, int offset) {
+    int length = byteLength();
+    for (int i = 0; i < length; i++) {
+      dst[offset + i] = byteAtReversed(i);
+    }
+    return length;
+  }
+
+  /**
+   * Writes the reversed byte array representation of the object to the specified buffer at its
+   * current position, reading the bytes with {@link #byteAtReversed(int)}.
+   *
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  @Override
+  default int writeReversedTo(ByteBuffer buffer) {
+    int length = byteLength();
+    if (buffer.remaining() < length) {
+      throw new BufferOverflowException();
+    }
+    for (int i = 0; i < length; i++) {
+      buffer.put(byteAtReversed(i));
+    }
+    return length;
+  }
+
+  /**
+   * Compares the bytes of two sequences lexicographically, treating the bytes as unsigned values,
+   * without creating byte arrays. This is the order in which keys are arranged in a
+   * {@link ByteBasedTrie}.
+   *
+   * @param a the first sequence.
+   * @param b the second sequence.
+   *
+   * @return a negative value if {@code a} is less than {@code b}, zero if they have the same bytes,
+   *     or a positive value if {@code a} is greater than {@code b}.
+   *
+   * @since 1.1.0
+   */
+  static int compare(ByteBasedSequence a, ByteBasedSequence b) {
+    int aLength = a.byteLength();
+    int bLength = b.byteLength();
+    int length = Math.min(aLength, bLength);
+    for (int i = 0; i < length; i++) {
+      int difference = (a.byteAt(i) & 0xFF) - (b.byteAt(i) & 0xFF);
+      if (difference != 0) {
+        return difference;
+      }
+    }
+    return aLength - bLength;
+  }
+
+  /**
+   * Determines whether two sequences have the same bytes, without creating byte arrays.
+   *
+   * @param a the first sequence.
+   * @param b the second sequence.
+   *
+   * @return {@code true} if the sequences have the same length and bytes, {@code false} otherwise.
+   *
+   * @since 1.1.0
+   */
+  static boolean contentEquals(ByteBasedSequence a, ByteBasedSequence b) {
+    int length = a.byteLength();
+    if (length != b.byteLength()) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (a.byteAt(i) != b.byteAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Computes a hash code from the bytes of a sequence, without creating a byte array. The result
+   * is the same as {@link java.util.Arrays#hashCode(byte[])} of {@link #toBytes()}.
+   *
+   * @param sequence the sequence.
+   *
+   * @return the hash code of the bytes of the sequence.
+   *
+   * @since 1.1.0
+   */
+  static int contentHashCode(ByteBasedSequence sequence) {
+    int length = sequence.byteLength();
+    int result = 1;
+    for (int i = 0; i < length; i++) {
+      result = 31 * result + sequence.byteAt(i);
+    }
+    return result;
+  }
+}
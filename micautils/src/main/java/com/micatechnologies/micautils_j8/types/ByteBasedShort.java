@@ -2,6 +2,8 @@ package com.micatechnologies.micautils_j8.types;
 
 import com.micatechnologies.micautils_j8.ByteArrayTool;
 import com.micatechnologies.micautils_j8.data.ByteBasedTrie;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 
 /**
  * Short wrapper class that implements the {@link ByteBased} interface.
@@ -9,10 +11,10 @@ import com.micatechnologies.micautils_j8.data.ByteBasedTrie;
  * This class is used to wrap a short value and convert it to a byte array.
  * </p>
  *
- * @version 1.0.0
+ * @version 1.1.0
  * @since 1.0.0
  */
-public class ByteBasedShort implements ByteBased {
+public class ByteBasedShort implements ByteBasedSequence, Comparable<ByteBasedShort> {
 
   /**
    * The short value.
@@ -21,6 +23,34 @@ public class ByteBasedShort implements ByteBased {
    */
   private final short value;
 
+  /**
+   * The lowest value for which {@link #of(short)} returns a cached instance.
+   *
+   * @since 1.1.0
+   */
+  private static final int CACHE_LOW = -128;
+
+  /**
+   * The highest value for which {@link #of(short)} returns a cached instance.
+   *
+   * @since 1.1.0
+   */
+  private static final int CACHE_HIGH = 127;
+
+  /**
+   * The cached instances for values from {@link #CACHE_LOW} to {@link #CACHE_HIGH}, indexed by
+   * {@code value - CACHE_LOW}.
+   *
+   * @since 1.1.0
+   */
+  private static final ByteBasedShort[] CACHE = new ByteBasedShort[CACHE_HIGH - CACHE_LOW + 1];
+
+  static {
+    for (int i = 0; i < CACHE.length; i++) {
+      CACHE[i] = new ByteBasedShort((short) (i + CACHE_LOW));
+    }
+  }
+
   /**
    * Constructor for a new {@link ByteBasedShort} object.
    *
@@ -33,15 +63,20 @@ public class ByteBasedShort implements ByteBased {
   }
 
   /**
-   * Creates a new {@link ByteBasedShort} object with the specified value.
+   * Gets a {@link ByteBasedShort} object with the specified value. Like {@link
+   * Short#valueOf(short)}, this method returns a shared cached instance for small values (from
+   * {@value #CACHE_LOW} to {@value #CACHE_HIGH}) and creates a new object otherwise.
    *
    * @param value the short value.
    *
-   * @return the new {@link ByteBasedShort} object.
+   * @return the {@link ByteBasedShort} object.
    *
    * @since 1.0.0
    */
   public static ByteBasedShort of(short value) {
+    if (value >= CACHE_LOW && value <= CACHE_HIGH) {
+      return CACHE[value - CACHE_LOW];
+    }
     return new ByteBasedShort(value);
   }
 
@@ -90,4 +125,172 @@ public class ByteBasedShort implements ByteBased {
   public byte[] toBytesReversed() {
     return ByteArrayTool.fromShortReversed(value);
   }
+
+  /**
+   * Gets the number of bytes in the byte array representation of the object, which is always 2.
+   *
+   * @return the number of bytes.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int byteLength() {
+    return 2;
+  }
+
+  /**
+   * Gets the byte at the specified index of the byte array representation of the object, directly
+   * from the short value.
+   *
+   * @param index the index of the byte, from {@code 0} to {@code 1}.
+   *
+   * @return the byte at the specified index.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1.0
+   */
+  @Override
+  public byte byteAt(int index) {
+    if (index < 0 || index >= 2) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length 2");
+    }
+    return (byte) (value >>> (8 - (index << 3)));
+  }
+
+  /**
+   * Gets the byte at the specified index of the reversed byte array representation of the object,
+   * directly from the short value.
+   *
+   * @param index the index of the byte, from {@code 0} to {@code 1}.
+   *
+   * @return the byte at the specified index of the reversed byte array representation.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1.0
+   */
+  @Override
+  public byte byteAtReversed(int index) {
+    if (index < 0 || index >= 2) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length 2");
+    }
+    return (byte) (value >>> (index << 3));
+  }
+
+  /**
+   * Writes the byte array representation of the object into the specified byte array at the
+   * specified offset, directly from the short value.
+   *
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws IndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeTo(byte[] dst, int offset) {
+    return ByteArrayTool.writeShort(value, dst, offset);
+  }
+
+  /**
+   * Writes the byte array representation of the object to the specified buffer at its current
+   * position, directly from the short value.
+   *
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeTo(ByteBuffer buffer) {
+    return ByteArrayTool.writeShort(value, buffer);
+  }
+
+  /**
+   * Writes the reversed byte array representation of the object into the specified byte array at
+   * the specified offset, directly from the short value.
+   *
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws IndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeReversedTo(byte[] dst, int offset) {
+    return ByteArrayTool.writeShort(Short.reverseBytes(value), dst, offset);
+  }
+
+  /**
+   * Writes the reversed byte array representation of the object to the specified buffer at its
+   * current position, directly from the short value.
+   *
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeReversedTo(ByteBuffer buffer) {
+    return ByteArrayTool.writeShort(Short.reverseBytes(value), buffer);
+  }
+
+  /**
+   * Compares this object with the specified object for equality. Two objects are equal if they wrap
+   * the same short value.
+   *
+   * @param obj the object to compare with.
+   *
+   * @return {@code true} if the objects are equal, {@code false} otherwise.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof ByteBasedShort)) {
+      return false;
+    }
+    ByteBasedShort other = (ByteBasedShort) obj;
+    return value == other.value;
+  }
+
+  /**
+   * Returns a hash code for the object, computed from the short value, without creating a byte
+   * array.
+   *
+   * @return the hash code.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int hashCode() {
+    return Short.hashCode(value);
+  }
+
+  /**
+   * Compares this object with the specified object in the unsigned lexicographic order of their
+   * byte array representations, i.e., the order of the short values interpreted as unsigned, in
+   * which negative values order after positive values.
+   *
+   * @param other the object to be compared.
+   *
+   * @return a negative value, zero or a positive value as this object is less than, equal to or
+   *     greater than the specified object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int compareTo(ByteBasedShort other) {
+    return Integer.compare(value & 0xFFFF, other.value & 0xFFFF);
+  }
 }
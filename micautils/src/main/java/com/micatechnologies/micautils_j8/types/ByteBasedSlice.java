@@ -0,0 +1,298 @@
+package com.micatechnologies.micautils_j8.types;
+
+import com.micatechnologies.micautils_j8.ByteArrayTool;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Byte array slice wrapper class that implements the {@link ByteBased} interface.
+ * <p>
+ * This class is used to view a range of an existing byte array as a {@link ByteBased} key, without
+ * copying it. This allows keys embedded in larger records, such as network frames, to be used
+ * directly for lookups in a {@link com.micatechnologies.micautils_j8.data.ByteBasedTrie}. The
+ * reversed form reads the same range backwards.
+ * </p>
+ * <p>
+ * Changes to the underlying byte array are visible through the slice, so the range should not be
+ * modified while the slice is in use as a key.
+ * </p>
+ *
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class ByteBasedSlice implements ByteBasedSequence, Comparable<ByteBasedSlice> {
+
+  /**
+   * The underlying byte array.
+   *
+   * @since 1.1.0
+   */
+  private final byte[] array;
+
+  /**
+   * The offset of the slice in the underlying byte array.
+   *
+   * @since 1.1.0
+   */
+  private final int offset;
+
+  /**
+   * The length of the slice.
+   *
+   * @since 1.1.0
+   */
+  private final int length;
+
+  /**
+   * Constructor for a new {@link ByteBasedSlice} object.
+   *
+   * @param array  the underlying byte array.
+   * @param offset the offset of the slice in the underlying byte array.
+   * @param length the length of the slice.
+   *
+   * @throws IndexOutOfBoundsException if the range is out of bounds.
+   * @since 1.1.0
+   */
+  public ByteBasedSlice(byte[] array, int offset, int length) {
+    if (offset < 0 || length < 0 || offset > array.length - length) {
+      throw new IndexOutOfBoundsException(
+          "Range [" + offset + ", " + offset + " + " + length + ") out of bounds for length "
+              + array.length);
+    }
+    this.array = array;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  /**
+   * Creates a new {@link ByteBasedSlice} object viewing an entire byte array.
+   *
+   * @param array the underlying byte array.
+   *
+   * @return the new {@link ByteBasedSlice} object.
+   *
+   * @since 1.1.0
+   */
+  public static ByteBasedSlice of(byte[] array) {
+    return new ByteBasedSlice(array, 0, array.length);
+  }
+
+  /**
+   * Creates a new {@link ByteBasedSlice} object viewing a range of a byte array.
+   *
+   * @param array  the underlying byte array.
+   * @param offset the offset of the slice in the underlying byte array.
+   * @param length the length of the slice.
+   *
+   * @return the new {@link ByteBasedSlice} object.
+   *
+   * @throws IndexOutOfBoundsException if the range is out of bounds.
+   * @since 1.1.0
+   */
+  public static ByteBasedSlice of(byte[] array, int offset, int length) {
+    return new ByteBasedSlice(array, offset, length);
+  }
+
+  /**
+   * Gets the underlying byte array.
+   *
+   * @return the underlying byte array.
+   *
+   * @since 1.1.0
+   */
+  public byte[] getArray() {
+    return array;
+  }
+
+  /**
+   * Gets the offset of the slice in the underlying byte array.
+   *
+   * @return the offset of the slice.
+   *
+   * @since 1.1.0
+   */
+  public int getOffset() {
+    return offset;
+  }
+
+  /**
+   * Converts the object to a byte array.
+   * <p>
+   * If the slice covers the entire underlying byte array, the underlying byte array itself is
+   * returned. Otherwise, the range is copied into a new byte array.
+   * </p>
+   *
+   * @return the byte array representation of the object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public byte[] toBytes() {
+    if (offset == 0 && length == array.length) {
+      return array;
+    }
+    byte[] bytes = new byte[length];
+    System.arraycopy(array, offset, bytes, 0, length);
+    return bytes;
+  }
+
+  /**
+   * Converts the object to a reversed byte array, by reading the range backwards.
+   *
+   * @return the reversed byte array representation of the object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public byte[] toBytesReversed() {
+    byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      bytes[i] = array[offset + length - 1 - i];
+    }
+    return bytes;
+  }
+
+  /**
+   * Writes the byte array representation of the object into the specified byte array at the
+   * specified offset, copying directly from the backing array.
+   *
+   * @param dst       the destination byte array.
+   * @param dstOffset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws IndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeTo(byte[] dst, int dstOffset) {
+    System.arraycopy(array, offset, dst, dstOffset, length);
+    return length;
+  }
+
+  /**
+   * Writes the byte array representation of the object to the specified buffer at its current
+   * position, copying directly from the backing array.
+   *
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeTo(ByteBuffer buffer) {
+    buffer.put(array, offset, length);
+    return length;
+  }
+
+  /**
+   * Gets the length of the slice.
+   *
+   * @return the number of bytes.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int byteLength() {
+    return length;
+  }
+
+  /**
+   * Gets the byte at the specified index of the slice.
+   *
+   * @param index the index of the byte, from {@code 0} to {@code byteLength() - 1}.
+   *
+   * @return the byte at the specified index.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1.0
+   */
+  @Override
+  public byte byteAt(int index) {
+    checkIndex(index);
+    return array[offset + index];
+  }
+
+  /**
+   * Gets the byte at the specified index of the reversed slice, by reading the range backwards.
+   *
+   * @param index the index of the byte, from {@code 0} to {@code byteLength() - 1}.
+   *
+   * @return the byte at the specified index of the reversed slice.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1.0
+   */
+  @Override
+  public byte byteAtReversed(int index) {
+    checkIndex(index);
+    return array[offset + length - 1 - index];
+  }
+
+  /**
+   * Checks that an index is within the slice.
+   *
+   * @param index the index.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1.0
+   */
+  private void checkIndex(int index) {
+    if (index < 0 || index >= length) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+    }
+  }
+
+  /**
+   * Compares this object with the specified object for equality. Two objects are equal if they have
+   * the same length and bytes, regardless of their backing arrays and offsets. As the bytes are
+   * read from the backing array, modifying the array changes the result.
+   *
+   * @param obj the object to compare with.
+   *
+   * @return {@code true} if the objects are equal, {@code false} otherwise.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof ByteBasedSlice)) {
+      return false;
+    }
+    ByteBasedSlice other = (ByteBasedSlice) obj;
+    return ByteArrayTool.equals(array, offset, length, other.array, other.offset, other.length);
+  }
+
+  /**
+   * Returns a hash code for the object, computed from its bytes, without creating a byte array.
+   *
+   * @return the hash code.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int hashCode() {
+    return ByteBasedSequence.contentHashCode(this);
+  }
+
+  /**
+   * Compares this object with the specified object in the unsigned lexicographic order of their
+   * byte array representations.
+   *
+   * @param other the object to be compared.
+   *
+   * @return a negative value, zero or a positive value as this object is less than, equal to or
+   *     greater than the specified object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int compareTo(ByteBasedSlice other) {
+    return ByteArrayTool.compare(array, offset, length, other.array, other.offset, other.length);
+  }
+}
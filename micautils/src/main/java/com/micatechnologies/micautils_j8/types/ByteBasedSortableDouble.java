@@ -0,0 +1,266 @@
+package com.micatechnologies.micautils_j8.types;
+
+import com.micatechnologies.micautils_j8.ByteArrayTool;
+import com.micatechnologies.micautils_j8.data.ByteBasedTrie;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Order-preserving double wrapper class that implements the {@link ByteBased} interface.
+ * <p>
+ * This class is used to wrap a double value and convert it to a byte array whose unsigned
+ * lexicographic order matches the numeric order of the value, by flipping the sign bit of positive
+ * values and all bits of negative values in the standard big-endian IEEE 754 representation.
+ * Unlike {@link ByteBasedDouble}, negative values order before positive values, so numeric range
+ * queries can be answered by walking a {@link ByteBasedTrie} in order. Negative zero orders
+ * before positive zero, and NaN orders after positive infinity.
+ * </p>
+ *
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class ByteBasedSortableDouble
+    implements ByteBasedSequence, Comparable<ByteBasedSortableDouble> {
+
+  /**
+   * The double value.
+   *
+   * @since 1.1.0
+   */
+  private final double value;
+
+  /**
+   * Constructor for a new {@link ByteBasedSortableDouble} object.
+   *
+   * @param value the double value.
+   *
+   * @since 1.1.0
+   */
+  public ByteBasedSortableDouble(double value) {
+    this.value = value;
+  }
+
+  /**
+   * Creates a new {@link ByteBasedSortableDouble} object with the specified value.
+   *
+   * @param value the double value.
+   *
+   * @return the new {@link ByteBasedSortableDouble} object.
+   *
+   * @since 1.1.0
+   */
+  public static ByteBasedSortableDouble of(double value) {
+    return new ByteBasedSortableDouble(value);
+  }
+
+  /**
+   * Gets the double value.
+   *
+   * @return the double value.
+   *
+   * @since 1.1.0
+   */
+  public double getValue() {
+    return value;
+  }
+
+  /**
+   * Converts the object to an order-preserving byte array.
+   *
+   * @return the order-preserving byte array representation of the object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public byte[] toBytes() {
+    return ByteArrayTool.fromDoubleSortable(value);
+  }
+
+  /**
+   * Converts the object to a reversed order-preserving byte array.
+   * <p>
+   * The resulting reversed byte array should be the same as the byte array returned by the
+   * {@link #toBytes()} method, but with the bytes in reverse order. Note that the reversed byte
+   * array is not order-preserving.
+   * </p>
+   *
+   * @return the reversed byte array representation of the object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public byte[] toBytesReversed() {
+    return ByteArrayTool.fromDoubleSortableReversed(value);
+  }
+
+  /**
+   * Gets the number of bytes in the byte array representation of the object, which is always 8.
+   *
+   * @return the number of bytes.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int byteLength() {
+    return 8;
+  }
+
+  /**
+   * Gets the byte at the specified index of the byte array representation of the object, directly
+   * from the double value.
+   *
+   * @param index the index of the byte, from {@code 0} to {@code 7}.
+   *
+   * @return the byte at the specified index.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1.0
+   */
+  @Override
+  public byte byteAt(int index) {
+    if (index < 0 || index >= 8) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length 8");
+    }
+    return (byte) (ByteArrayTool.toSortableBits(value) >>> (56 - (index << 3)));
+  }
+
+  /**
+   * Gets the byte at the specified index of the reversed byte array representation of the object,
+   * directly from the double value.
+   *
+   * @param index the index of the byte, from {@code 0} to {@code 7}.
+   *
+   * @return the byte at the specified index of the reversed byte array representation.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1.0
+   */
+  @Override
+  public byte byteAtReversed(int index) {
+    if (index < 0 || index >= 8) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length 8");
+    }
+    return (byte) (ByteArrayTool.toSortableBits(value) >>> (index << 3));
+  }
+
+  /**
+   * Writes the byte array representation of the object into the specified byte array at the
+   * specified offset, directly from the double value.
+   *
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws IndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeTo(byte[] dst, int offset) {
+    return ByteArrayTool.writeLong(ByteArrayTool.toSortableBits(value), dst, offset);
+  }
+
+  /**
+   * Writes the byte array representation of the object to the specified buffer at its current
+   * position, directly from the double value.
+   *
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeTo(ByteBuffer buffer) {
+    return ByteArrayTool.writeLong(ByteArrayTool.toSortableBits(value), buffer);
+  }
+
+  /**
+   * Writes the reversed byte array representation of the object into the specified byte array at
+   * the specified offset, directly from the double value.
+   *
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws IndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeReversedTo(byte[] dst, int offset) {
+    return ByteArrayTool.writeLong(Long.reverseBytes(ByteArrayTool.toSortableBits(value)),
+        dst, offset);
+  }
+
+  /**
+   * Writes the reversed byte array representation of the object to the specified buffer at its
+   * current position, directly from the double value.
+   *
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeReversedTo(ByteBuffer buffer) {
+    return ByteArrayTool.writeLong(Long.reverseBytes(ByteArrayTool.toSortableBits(value)), buffer);
+  }
+
+  /**
+   * Compares this object with the specified object for equality. Two objects are equal if their
+   * values have the same bit representation, as determined by {@link
+   * Double#doubleToLongBits(double)}, and hence the same byte array representation.
+   *
+   * @param obj the object to compare with.
+   *
+   * @return {@code true} if the objects are equal, {@code false} otherwise.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof ByteBasedSortableDouble)) {
+      return false;
+    }
+    ByteBasedSortableDouble other = (ByteBasedSortableDouble) obj;
+    return Double.doubleToLongBits(value) == Double.doubleToLongBits(other.value);
+  }
+
+  /**
+   * Returns a hash code for the object, computed from the double value, without creating a byte
+   * array.
+   *
+   * @return the hash code.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int hashCode() {
+    return Double.hashCode(value);
+  }
+
+  /**
+   * Compares this object with the specified object in the unsigned lexicographic order of their
+   * byte array representations, which is the numeric order of the double values, with negative zero
+   * before positive zero and NaN after positive infinity.
+   *
+   * @param other the object to be compared.
+   *
+   * @return a negative value, zero or a positive value as this object is less than, equal to or
+   *     greater than the specified object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int compareTo(ByteBasedSortableDouble other) {
+    return Long.compareUnsigned(ByteArrayTool.toSortableBits(value),
+        ByteArrayTool.toSortableBits(other.value));
+  }
+}
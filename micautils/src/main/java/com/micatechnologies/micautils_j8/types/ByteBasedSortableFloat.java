@@ -0,0 +1,267 @@
+package com.micatechnologies.micautils_j8.types;
+
+import com.micatechnologies.micautils_j8.ByteArrayTool;
+import com.micatechnologies.micautils_j8.data.ByteBasedTrie;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Order-preserving float wrapper class that implements the {@link ByteBased} interface.
+ * <p>
+ * This class is used to wrap a float value and convert it to a byte array whose unsigned
+ * lexicographic order matches the numeric order of the value, by flipping the sign bit of positive
+ * values and all bits of negative values in the standard big-endian IEEE 754 representation.
+ * Unlike {@link ByteBasedFloat}, negative values order before positive values, so numeric range
+ * queries can be answered by walking a {@link ByteBasedTrie} in order. Negative zero orders
+ * before positive zero, and NaN orders after positive infinity.
+ * </p>
+ *
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class ByteBasedSortableFloat
+    implements ByteBasedSequence, Comparable<ByteBasedSortableFloat> {
+
+  /**
+   * The float value.
+   *
+   * @since 1.1.0
+   */
+  private final float value;
+
+  /**
+   * Constructor for a new {@link ByteBasedSortableFloat} object.
+   *
+   * @param value the float value.
+   *
+   * @since 1.1.0
+   */
+  public ByteBasedSortableFloat(float value) {
+    this.value = value;
+  }
+
+  /**
+   * Creates a new {@link ByteBasedSortableFloat} object with the specified value.
+   *
+   * @param value the float value.
+   *
+   * @return the new {@link ByteBasedSortableFloat} object.
+   *
+   * @since 1.1.0
+   */
+  public static ByteBasedSortableFloat of(float value) {
+    return new ByteBasedSortableFloat(value);
+  }
+
+  /**
+   * Gets the float value.
+   *
+   * @return the float value.
+   *
+   * @since 1.1.0
+   */
+  public float getValue() {
+    return value;
+  }
+
+  /**
+   * Converts the object to an order-preserving byte array.
+   *
+   * @return the order-preserving byte array representation of the object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public byte[] toBytes() {
+    return ByteArrayTool.fromFloatSortable(value);
+  }
+
+  /**
+   * Converts the object to a reversed order-preserving byte array.
+   * <p>
+   * The resulting reversed byte array should be the same as the byte array returned by the
+   * {@link #toBytes()} method, but with the bytes in reverse order. Note that the reversed byte
+   * array is not order-preserving.
+   * </p>
+   *
+   * @return the reversed byte array representation of the object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public byte[] toBytesReversed() {
+    return ByteArrayTool.fromFloatSortableReversed(value);
+  }
+
+  /**
+   * Gets the number of bytes in the byte array representation of the object, which is always 4.
+   *
+   * @return the number of bytes.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int byteLength() {
+    return 4;
+  }
+
+  /**
+   * Gets the byte at the specified index of the byte array representation of the object, directly
+   * from the float value.
+   *
+   * @param index the index of the byte, from {@code 0} to {@code 3}.
+   *
+   * @return the byte at the specified index.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1.0
+   */
+  @Override
+  public byte byteAt(int index) {
+    if (index < 0 || index >= 4) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length 4");
+    }
+    return (byte) (ByteArrayTool.toSortableBits(value) >>> (24 - (index << 3)));
+  }
+
+  /**
+   * Gets the byte at the specified index of the reversed byte array representation of the object,
+   * directly from the float value.
+   *
+   * @param index the index of the byte, from {@code 0} to {@code 3}.
+   *
+   * @return the byte at the specified index of the reversed byte array representation.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1.0
+   */
+  @Override
+  public byte byteAtReversed(int index) {
+    if (index < 0 || index >= 4) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length 4");
+    }
+    return (byte) (ByteArrayTool.toSortableBits(value) >>> (index << 3));
+  }
+
+  /**
+   * Writes the byte array representation of the object into the specified byte array at the
+   * specified offset, directly from the float value.
+   *
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws IndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeTo(byte[] dst, int offset) {
+    return ByteArrayTool.writeInt(ByteArrayTool.toSortableBits(value), dst, offset);
+  }
+
+  /**
+   * Writes the byte array representation of the object to the specified buffer at its current
+   * position, directly from the float value.
+   *
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeTo(ByteBuffer buffer) {
+    return ByteArrayTool.writeInt(ByteArrayTool.toSortableBits(value), buffer);
+  }
+
+  /**
+   * Writes the reversed byte array representation of the object into the specified byte array at
+   * the specified offset, directly from the float value.
+   *
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws IndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeReversedTo(byte[] dst, int offset) {
+    return ByteArrayTool.writeInt(Integer.reverseBytes(ByteArrayTool.toSortableBits(value)),
+        dst, offset);
+  }
+
+  /**
+   * Writes the reversed byte array representation of the object to the specified buffer at its
+   * current position, directly from the float value.
+   *
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeReversedTo(ByteBuffer buffer) {
+    return ByteArrayTool.writeInt(Integer.reverseBytes(ByteArrayTool.toSortableBits(value)),
+        buffer);
+  }
+
+  /**
+   * Compares this object with the specified object for equality. Two objects are equal if their
+   * values have the same bit representation, as determined by {@link Float#floatToIntBits(float)},
+   * and hence the same byte array representation.
+   *
+   * @param obj the object to compare with.
+   *
+   * @return {@code true} if the objects are equal, {@code false} otherwise.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof ByteBasedSortableFloat)) {
+      return false;
+    }
+    ByteBasedSortableFloat other = (ByteBasedSortableFloat) obj;
+    return Float.floatToIntBits(value) == Float.floatToIntBits(other.value);
+  }
+
+  /**
+   * Returns a hash code for the object, computed from the float value, without creating a byte
+   * array.
+   *
+   * @return the hash code.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int hashCode() {
+    return Float.hashCode(value);
+  }
+
+  /**
+   * Compares this object with the specified object in the unsigned lexicographic order of their
+   * byte array representations, which is the numeric order of the float values, with negative zero
+   * before positive zero and NaN after positive infinity.
+   *
+   * @param other the object to be compared.
+   *
+   * @return a negative value, zero or a positive value as this object is less than, equal to or
+   *     greater than the specified object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int compareTo(ByteBasedSortableFloat other) {
+    return Integer.compareUnsigned(ByteArrayTool.toSortableBits(value),
+        ByteArrayTool.toSortableBits(other.value));
+  }
+}
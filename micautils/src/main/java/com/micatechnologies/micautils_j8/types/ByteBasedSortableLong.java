@@ -0,0 +1,294 @@
+package com.micatechnologies.micautils_j8.types;
+
+import com.micatechnologies.micautils_j8.ByteArrayTool;
+import com.micatechnologies.micautils_j8.data.ByteBasedTrie;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Order-preserving long wrapper class that implements the {@link ByteBased} interface.
+ * <p>
+ * This class is used to wrap a long value and convert it to a byte array whose unsigned
+ * lexicographic order matches the numeric order of the value, by flipping the sign bit of the
+ * standard big-endian representation. Unlike {@link ByteBasedLong}, negative values order
+ * before positive values, so numeric range queries can be answered by walking a
+ * {@link ByteBasedTrie} in order.
+ * </p>
+ *
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class ByteBasedSortableLong implements ByteBasedSequence, Comparable<ByteBasedSortableLong> {
+
+  /**
+   * The long value.
+   *
+   * @since 1.1.0
+   */
+  private final long value;
+
+  /**
+   * The lowest value for which {@link #of(long)} returns a cached instance.
+   *
+   * @since 1.1.0
+   */
+  private static final int CACHE_LOW = -128;
+
+  /**
+   * The highest value for which {@link #of(long)} returns a cached instance.
+   *
+   * @since 1.1.0
+   */
+  private static final int CACHE_HIGH = 127;
+
+  /**
+   * The cached instances for values from {@link #CACHE_LOW} to {@link #CACHE_HIGH}, indexed by
+   * {@code value - CACHE_LOW}.
+   *
+   * @since 1.1.0
+   */
+  private static final ByteBasedSortableLong[] CACHE =
+      new ByteBasedSortableLong[CACHE_HIGH - CACHE_LOW + 1];
+
+  static {
+    for (int i = 0; i < CACHE.length; i++) {
+      CACHE[i] = new ByteBasedSortableLong(i + CACHE_LOW);
+    }
+  }
+
+  /**
+   * Constructor for a new {@link ByteBasedSortableLong} object.
+   *
+   * @param value the long value.
+   *
+   * @since 1.1.0
+   */
+  public ByteBasedSortableLong(long value) {
+    this.value = value;
+  }
+
+  /**
+   * Gets a {@link ByteBasedSortableLong} object with the specified value. Like {@link
+   * Long#valueOf(long)}, this method returns a shared cached instance for small values (from
+   * {@value #CACHE_LOW} to {@value #CACHE_HIGH}) and creates a new object otherwise.
+   *
+   * @param value the long value.
+   *
+   * @return the {@link ByteBasedSortableLong} object.
+   *
+   * @since 1.1.0
+   */
+  public static ByteBasedSortableLong of(long value) {
+    if (value >= CACHE_LOW && value <= CACHE_HIGH) {
+      return CACHE[(int) value - CACHE_LOW];
+    }
+    return new ByteBasedSortableLong(value);
+  }
+
+  /**
+   * Gets the long value.
+   *
+   * @return the long value.
+   *
+   * @since 1.1.0
+   */
+  public long getValue() {
+    return value;
+  }
+
+  /**
+   * Converts the object to an order-preserving byte array.
+   *
+   * @return the order-preserving byte array representation of the object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public byte[] toBytes() {
+    return ByteArrayTool.fromLongSortable(value);
+  }
+
+  /**
+   * Converts the object to a reversed order-preserving byte array.
+   * <p>
+   * The resulting reversed byte array should be the same as the byte array returned by the
+   * {@link #toBytes()} method, but with the bytes in reverse order. Note that the reversed byte
+   * array is not order-preserving.
+   * </p>
+   *
+   * @return the reversed byte array representation of the object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public byte[] toBytesReversed() {
+    return ByteArrayTool.fromLongSortableReversed(value);
+  }
+
+  /**
+   * Gets the number of bytes in the byte array representation of the object, which is always 8.
+   *
+   * @return the number of bytes.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int byteLength() {
+    return 8;
+  }
+
+  /**
+   * Gets the byte at the specified index of the byte array representation of the object, directly
+   * from the long value.
+   *
+   * @param index the index of the byte, from {@code 0} to {@code 7}.
+   *
+   * @return the byte at the specified index.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1.0
+   */
+  @Override
+  public byte byteAt(int index) {
+    if (index < 0 || index >= 8) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length 8");
+    }
+    return (byte) ((value ^ Long.MIN_VALUE) >>> (56 - (index << 3)));
+  }
+
+  /**
+   * Gets the byte at the specified index of the reversed byte array representation of the object,
+   * directly from the long value.
+   *
+   * @param index the index of the byte, from {@code 0} to {@code 7}.
+   *
+   * @return the byte at the specified index of the reversed byte array representation.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1.0
+   */
+  @Override
+  public byte byteAtReversed(int index) {
+    if (index < 0 || index >= 8) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length 8");
+    }
+    return (byte) ((value ^ Long.MIN_VALUE) >>> (index << 3));
+  }
+
+  /**
+   * Writes the byte array representation of the object into the specified byte array at the
+   * specified offset, directly from the long value.
+   *
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws IndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeTo(byte[] dst, int offset) {
+    return ByteArrayTool.writeLong(value ^ Long.MIN_VALUE, dst, offset);
+  }
+
+  /**
+   * Writes the byte array representation of the object to the specified buffer at its current
+   * position, directly from the long value.
+   *
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeTo(ByteBuffer buffer) {
+    return ByteArrayTool.writeLong(value ^ Long.MIN_VALUE, buffer);
+  }
+
+  /**
+   * Writes the reversed byte array representation of the object into the specified byte array at
+   * the specified offset, directly from the long value.
+   *
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws IndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeReversedTo(byte[] dst, int offset) {
+    return ByteArrayTool.writeLong(Long.reverseBytes(value ^ Long.MIN_VALUE), dst, offset);
+  }
+
+  /**
+   * Writes the reversed byte array representation of the object to the specified buffer at its
+   * current position, directly from the long value.
+   *
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeReversedTo(ByteBuffer buffer) {
+    return ByteArrayTool.writeLong(Long.reverseBytes(value ^ Long.MIN_VALUE), buffer);
+  }
+
+  /**
+   * Compares this object with the specified object for equality. Two objects are equal if they wrap
+   * the same long value.
+   *
+   * @param obj the object to compare with.
+   *
+   * @return {@code true} if the objects are equal, {@code false} otherwise.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof ByteBasedSortableLong)) {
+      return false;
+    }
+    ByteBasedSortableLong other = (ByteBasedSortableLong) obj;
+    return value == other.value;
+  }
+
+  /**
+   * Returns a hash code for the object, computed from the long value, without creating a byte
+   * array.
+   *
+   * @return the hash code.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int hashCode() {
+    return Long.hashCode(value);
+  }
+
+  /**
+   * Compares this object with the specified object in the unsigned lexicographic order of their
+   * byte array representations, which is the numeric order of the long values.
+   *
+   * @param other the object to be compared.
+   *
+   * @return a negative value, zero or a positive value as this object is less than, equal to or
+   *     greater than the specified object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int compareTo(ByteBasedSortableLong other) {
+    return Long.compare(value, other.value);
+  }
+}
@@ -0,0 +1,229 @@
+package com.micatechnologies.micautils_j8.types;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * String wrapper class that implements the {@link ByteBased} interface.
+ * <p>
+ * This class is used to wrap a {@link String} value and convert it to its UTF-8 byte array
+ * representation. The encoding is performed lazily, at most once per instance, and only when
+ * needed: strings consisting only of ASCII characters are never encoded, as each of their bytes is
+ * read directly from the corresponding character when traversing a
+ * {@link com.micatechnologies.micautils_j8.data.ByteBasedTrie}.
+ * </p>
+ * <p>
+ * The UTF-8 byte order of strings matches their code point order. Note that string keys are not
+ * prefix-free, for example {@code "ab"} is a prefix of {@code "abc"}.
+ * </p>
+ *
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class ByteBasedString implements ByteBasedSequence, Comparable<ByteBasedString> {
+
+  /**
+   * The string value.
+   *
+   * @since 1.1.0
+   */
+  private final String value;
+
+  /**
+   * The lazily computed UTF-8 byte array representation of the string, or {@code null} if it has
+   * not been computed or is not needed because the string is ASCII.
+   *
+   * @since 1.1.0
+   */
+  private volatile byte[] bytes;
+
+  /**
+   * The lazily computed number of bytes in the UTF-8 representation of the string, or {@code -1}
+   * if it has not been computed.
+   *
+   * @since 1.1.0
+   */
+  private volatile int byteLength = -1;
+
+  /**
+   * Constructor for a new {@link ByteBasedString} object.
+   *
+   * @param value the string value.
+   *
+   * @throws NullPointerException if the string value is {@code null}.
+   * @since 1.1.0
+   */
+  public ByteBasedString(String value) {
+    if (value == null) {
+      throw new NullPointerException("String value must not be null");
+    }
+    this.value = value;
+  }
+
+  /**
+   * Creates a new {@link ByteBasedString} object with the specified value.
+   *
+   * @param value the string value.
+   *
+   * @return the new {@link ByteBasedString} object.
+   *
+   * @throws NullPointerException if the string value is {@code null}.
+   * @since 1.1.0
+   */
+  public static ByteBasedString of(String value) {
+    return new ByteBasedString(value);
+  }
+
+  /**
+   * Gets the string value.
+   *
+   * @return the string value.
+   *
+   * @since 1.1.0
+   */
+  public String getValue() {
+    return value;
+  }
+
+  /**
+   * Converts the object to its UTF-8 byte array representation.
+   * <p>
+   * For non-ASCII strings, the returned array is the memoized backing array and must not be
+   * modified.
+   * </p>
+   *
+   * @return the byte array representation of the object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public byte[] toBytes() {
+    byteLength();
+    byte[] encoded = bytes;
+    if (encoded == null) {
+      byte[] ascii = new byte[value.length()];
+      for (int i = 0; i < ascii.length; i++) {
+        ascii[i] = (byte) value.charAt(i);
+      }
+      return ascii;
+    }
+    return encoded;
+  }
+
+  /**
+   * Converts the object to a reversed UTF-8 byte array.
+   * <p>
+   * The resulting reversed byte array should be the same as the byte array returned by the
+   * {@link #toBytes()} method, but with the bytes in reverse order.
+   * </p>
+   *
+   * @return the reversed byte array representation of the object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public byte[] toBytesReversed() {
+    int length = byteLength();
+    byte[] reversed = new byte[length];
+    for (int i = 0; i < length; i++) {
+      reversed[i] = byteAt(length - 1 - i);
+    }
+    return reversed;
+  }
+
+  /**
+   * Gets the number of bytes in the UTF-8 representation of the string. The first call scans the
+   * string, and encodes it only if it contains non-ASCII characters.
+   *
+   * @return the number of bytes.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int byteLength() {
+    int length = byteLength;
+    if (length < 0) {
+      length = value.length();
+      for (int i = 0; i < value.length(); i++) {
+        if (value.charAt(i) >= 0x80) {
+          byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+          bytes = encoded;
+          length = encoded.length;
+          break;
+        }
+      }
+      byteLength = length;
+    }
+    return length;
+  }
+
+  /**
+   * Gets the byte at the specified index of the UTF-8 representation of the string. For ASCII
+   * strings, the byte is read directly from the corresponding character.
+   *
+   * @param index the index of the byte, from {@code 0} to {@code byteLength() - 1}.
+   *
+   * @return the byte at the specified index.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1.0
+   */
+  @Override
+  public byte byteAt(int index) {
+    byteLength();
+    byte[] encoded = bytes;
+    return encoded == null ? (byte) value.charAt(index) : encoded[index];
+  }
+
+  /**
+   * Compares this object with the specified object for equality. Two objects are equal if they wrap
+   * equal strings.
+   *
+   * @param obj the object to compare with.
+   *
+   * @return {@code true} if the objects are equal, {@code false} otherwise.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof ByteBasedString)) {
+      return false;
+    }
+    ByteBasedString other = (ByteBasedString) obj;
+    return value.equals(other.value);
+  }
+
+  /**
+   * Returns a hash code for the object, equal to the hash code of the wrapped string, without
+   * creating a byte array.
+   *
+   * @return the hash code.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int hashCode() {
+    return value.hashCode();
+  }
+
+  /**
+   * Compares this object with the specified object in the unsigned lexicographic order of their
+   * byte array representations, which is the order of the Unicode code points of the strings. Note
+   * that this differs from {@link String#compareTo(String)} for characters outside the Basic
+   * Multilingual Plane.
+   *
+   * @param other the object to be compared.
+   *
+   * @return a negative value, zero or a positive value as this object is less than, equal to or
+   *     greater than the specified object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int compareTo(ByteBasedString other) {
+    return ByteBasedSequence.compare(this, other);
+  }
+}
@@ -0,0 +1,461 @@
+package com.micatechnologies.micautils_j8.types;
+
+import com.micatechnologies.micautils_j8.data.ByteBasedTrie;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Composite key class that chains several {@link ByteBased} components into a single key which
+ * implements the {@link ByteBased} interface.
+ * <p>
+ * The bytes of the tuple are the bytes of its components, in order, and are read directly from the
+ * components when traversing a {@link ByteBasedTrie}, without creating an intermediate array. As a
+ * tuple whose components are a prefix of another tuple's components is also a byte prefix of it,
+ * all entries sharing leading components, such as a tenant identifier, can be retrieved with
+ * {@link ByteBasedTrie#getValuesWithPrefix(ByteBased)}.
+ * </p>
+ * <p>
+ * Tuples created with {@link #of(ByteBased...)} simply concatenate their components, which is
+ * suitable when every component has a fixed length or is prefix-free. Tuples created with
+ * {@link #ofSeparated(ByteBased...)} escape each {@code 0x00} byte of a component as
+ * {@code 0x00 0xFF} and terminate each component with {@code 0x00 0x01}, so that tuples of
+ * variable-length components, such as strings, remain unambiguous and order component by
+ * component. The escaped bytes are computed from the components as they are read, using the
+ * positions of the {@code 0x00} bytes of each component recorded on construction, so a separated
+ * tuple never holds a copy of its full byte array representation.
+ * </p>
+ *
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class ByteBasedTuple implements ByteBasedSequence, Comparable<ByteBasedTuple> {
+
+  /**
+   * The escape byte used by separated tuples.
+   *
+   * @since 1.1.0
+   */
+  private static final byte ESCAPE = 0x00;
+
+  /**
+   * The byte following an {@link #ESCAPE} byte to represent an escaped {@code 0x00} byte.
+   *
+   * @since 1.1.0
+   */
+  private static final byte ESCAPED_ZERO = (byte) 0xFF;
+
+  /**
+   * The byte following an {@link #ESCAPE} byte to represent the end of a component.
+   *
+   * @since 1.1.0
+   */
+  private static final byte TERMINATOR = 0x01;
+
+  /**
+   * The components of the tuple, as given.
+   *
+   * @since 1.1.0
+   */
+  private final ByteBased[] components;
+
+  /**
+   * The components of the tuple, as byte sequences.
+   *
+   * @since 1.1.0
+   */
+  private final ByteBasedSequence[] sequences;
+
+  /**
+   * The end offset of each component in the byte array representation of the tuple, including the
+   * escape bytes and terminator of each component of a separated tuple.
+   *
+   * @since 1.1.0
+   */
+  private final int[] ends;
+
+  /**
+   * The positions of the {@code 0x00} bytes of each component of a separated tuple, in ascending
+   * order, or {@code null} if the tuple is not separated.
+   *
+   * @since 1.1.0
+   */
+  private final int[][] zeros;
+
+  /**
+   * Whether the components are escaped and terminated.
+   *
+   * @since 1.1.0
+   */
+  private final boolean separated;
+
+  /**
+   * The number of bytes in the byte array representation of the tuple.
+   *
+   * @since 1.1.0
+   */
+  private final int length;
+
+  /**
+   * The positions of the {@code 0x00} bytes of a component which has none.
+   *
+   * @since 1.1.0
+   */
+  private static final int[] NO_ZEROS = new int[0];
+
+  /**
+   * Constructor for a new {@link ByteBasedTuple} object.
+   *
+   * @param separated  {@code true} if the components are escaped and terminated, {@code false} if
+   *                   they are simply concatenated.
+   * @param components the components of the tuple.
+   *
+   * @throws NullPointerException if any of the components is {@code null}.
+   * @since 1.1.0
+   */
+  public ByteBasedTuple(boolean separated, ByteBased... components) {
+    this.components = components.clone();
+    this.sequences = new ByteBasedSequence[components.length];
+    this.ends = new int[components.length];
+    this.zeros = separated ? new int[components.length][] : null;
+    this.separated = separated;
+
+    int end = 0;
+    for (int i = 0; i < components.length; i++) {
+      ByteBased component = components[i];
+      if (component == null) {
+        throw new NullPointerException("Tuple component " + i + " must not be null");
+      }
+      ByteBasedSequence sequence = component instanceof ByteBasedSequence
+          ? (ByteBasedSequence) component : ByteBasedSlice.of(component.toBytes());
+      sequences[i] = sequence;
+      int componentLength = sequence.byteLength();
+      end += componentLength;
+      if (separated) {
+        int[] positions = NO_ZEROS;
+        int count = 0;
+        for (int j = 0; j < componentLength; j++) {
+          if (sequence.byteAt(j) == ESCAPE) {
+            if (count == positions.length) {
+              positions = Arrays.copyOf(positions, Math.max(4, count * 2));
+            }
+            positions[count++] = j;
+          }
+        }
+        zeros[i] = count == positions.length ? positions : Arrays.copyOf(positions, count);
+        end += count + 2;
+      }
+      ends[i] = end;
+    }
+    this.length = end;
+  }
+
+  /**
+   * Creates a new {@link ByteBasedTuple} object which concatenates the specified components.
+   *
+   * @param components the components of the tuple.
+   *
+   * @return the new {@link ByteBasedTuple} object.
+   *
+   * @throws NullPointerException if any of the components is {@code null}.
+   * @since 1.1.0
+   */
+  public static ByteBasedTuple of(ByteBased... components) {
+    return new ByteBasedTuple(false, components);
+  }
+
+  /**
+   * Creates a new {@link ByteBasedTuple} object which escapes and terminates each of the specified
+   * components, preserving component-wise order for variable-length components.
+   *
+   * @param components the components of the tuple.
+   *
+   * @return the new {@link ByteBasedTuple} object.
+   *
+   * @throws NullPointerException if any of the components is {@code null}.
+   * @since 1.1.0
+   */
+  public static ByteBasedTuple ofSeparated(ByteBased... components) {
+    return new ByteBasedTuple(true, components);
+  }
+
+  /**
+   * Gets the number of components in the tuple.
+   *
+   * @return the number of components.
+   *
+   * @since 1.1.0
+   */
+  public int size() {
+    return components.length;
+  }
+
+  /**
+   * Gets the component at the specified index.
+   *
+   * @param index the index of the component.
+   *
+   * @return the component.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1.0
+   */
+  public ByteBased getComponent(int index) {
+    return components[index];
+  }
+
+  /**
+   * Gets whether the components of the tuple are escaped and terminated.
+   *
+   * @return {@code true} if the tuple is separated, {@code false} if its components are simply
+   *     concatenated.
+   *
+   * @since 1.1.0
+   */
+  public boolean isSeparated() {
+    return separated;
+  }
+
+  /**
+   * Converts the object to a byte array.
+   *
+   * @return the byte array representation of the object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public byte[] toBytes() {
+    byte[] bytes = new byte[length];
+    writeTo(bytes, 0);
+    return bytes;
+  }
+
+  /**
+   * Converts the object to a reversed byte array.
+   * <p>
+   * The resulting reversed byte array should be the same as the byte array returned by the
+   * {@link #toBytes()} method, but with the bytes in reverse order.
+   * </p>
+   *
+   * @return the reversed byte array representation of the object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public byte[] toBytesReversed() {
+    byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      bytes[i] = byteAt(length - 1 - i);
+    }
+    return bytes;
+  }
+
+  /**
+   * Writes the byte array representation of the object into the specified byte array at the
+   * specified offset, writing each component directly.
+   *
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws IndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeTo(byte[] dst, int offset) {
+    if (offset < 0 || dst.length - offset < length) {
+      throw new IndexOutOfBoundsException(
+          "Cannot write " + length + " bytes at offset " + offset + " of array of length "
+              + dst.length);
+    }
+    int position = offset;
+    for (ByteBasedSequence sequence : sequences) {
+      if (!separated) {
+        position += sequence.writeTo(dst, position);
+        continue;
+      }
+      int componentLength = sequence.byteLength();
+      for (int j = 0; j < componentLength; j++) {
+        byte b = sequence.byteAt(j);
+        dst[position++] = b;
+        if (b == ESCAPE) {
+          dst[position++] = ESCAPED_ZERO;
+        }
+      }
+      dst[position++] = ESCAPE;
+      dst[position++] = TERMINATOR;
+    }
+    return length;
+  }
+
+  /**
+   * Writes the byte array representation of the object to the specified buffer at its current
+   * position, writing each component directly.
+   *
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeTo(ByteBuffer buffer) {
+    if (buffer.remaining() < length) {
+      throw new BufferOverflowException();
+    }
+    for (ByteBasedSequence sequence : sequences) {
+      if (!separated) {
+        sequence.writeTo(buffer);
+        continue;
+      }
+      int componentLength = sequence.byteLength();
+      for (int j = 0; j < componentLength; j++) {
+        byte b = sequence.byteAt(j);
+        buffer.put(b);
+        if (b == ESCAPE) {
+          buffer.put(ESCAPED_ZERO);
+        }
+      }
+      buffer.put(ESCAPE).put(TERMINATOR);
+    }
+    return length;
+  }
+
+  /**
+   * Gets the number of bytes in the byte array representation of the tuple.
+   *
+   * @return the number of bytes.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int byteLength() {
+    return length;
+  }
+
+  /**
+   * Gets the byte at the specified index of the byte array representation of the tuple. The byte
+   * is read directly from the corresponding component, and for separated tuples the escape bytes
+   * are located by a binary search of the positions of the {@code 0x00} bytes of the component.
+   *
+   * @param index the index of the byte, from {@code 0} to {@code byteLength() - 1}.
+   *
+   * @return the byte at the specified index.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1.0
+   */
+  @Override
+  public byte byteAt(int index) {
+    if (index < 0 || index >= length) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+    }
+    int component = 0;
+    while (index >= ends[component]) {
+      component++;
+    }
+    int start = component == 0 ? 0 : ends[component - 1];
+    ByteBasedSequence sequence = sequences[component];
+    if (!separated) {
+      return sequence.byteAt(index - start);
+    }
+    return escapedByteAt(sequence, zeros[component], index - start);
+  }
+
+  /**
+   * Gets the byte at the specified offset of the escaped and terminated bytes of a component of a
+   * separated tuple.
+   *
+   * @param sequence the component.
+   * @param zeros    the positions of the {@code 0x00} bytes of the component, in ascending order.
+   * @param offset   the offset in the escaped and terminated bytes of the component.
+   *
+   * @return the byte at the specified offset.
+   *
+   * @since 1.1.0
+   */
+  private static byte escapedByteAt(ByteBasedSequence sequence, int[] zeros, int offset) {
+    int escapedLength = sequence.byteLength() + zeros.length;
+    if (offset >= escapedLength) {
+      return offset == escapedLength ? ESCAPE : TERMINATOR;
+    }
+
+    // The j-th zero byte is at escaped offset zeros[j] + j and its escape at the offset after it,
+    // so the last zero at or before the offset determines how many escapes precede it
+    int low = 0;
+    int high = zeros.length - 1;
+    int preceding = -1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      if (zeros[mid] + mid <= offset) {
+        preceding = mid;
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    if (preceding < 0) {
+      return sequence.byteAt(offset);
+    }
+    int zeroOffset = zeros[preceding] + preceding;
+    if (offset == zeroOffset) {
+      return ESCAPE;
+    }
+    if (offset == zeroOffset + 1) {
+      return ESCAPED_ZERO;
+    }
+    return sequence.byteAt(offset - preceding - 1);
+  }
+
+  /**
+   * Compares this object with the specified object for equality. Two objects are equal if they have
+   * the same byte array representation, regardless of the types of their components.
+   *
+   * @param obj the object to compare with.
+   *
+   * @return {@code true} if the objects are equal, {@code false} otherwise.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof ByteBasedTuple)) {
+      return false;
+    }
+    ByteBasedTuple other = (ByteBasedTuple) obj;
+    return ByteBasedSequence.contentEquals(this, other);
+  }
+
+  /**
+   * Returns a hash code for the object, computed from its bytes, without creating a byte array.
+   *
+   * @return the hash code.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int hashCode() {
+    return ByteBasedSequence.contentHashCode(this);
+  }
+
+  /**
+   * Compares this object with the specified object in the unsigned lexicographic order of their
+   * byte array representations.
+   *
+   * @param other the object to be compared.
+   *
+   * @return a negative value, zero or a positive value as this object is less than, equal to or
+   *     greater than the specified object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int compareTo(ByteBasedTuple other) {
+    return ByteBasedSequence.compare(this, other);
+  }
+}
@@ -0,0 +1,319 @@
+package com.micatechnologies.micautils_j8.types;
+
+import com.micatechnologies.micautils_j8.ByteArrayTool;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * UUID wrapper class that implements the {@link ByteBased} interface.
+ * <p>
+ * This class is used to wrap a {@link UUID} value and convert it to a 16 byte array, consisting of
+ * the most significant bits followed by the least significant bits in standard (big-endian) order.
+ * The bytes are read directly from the two long values, so traversing a
+ * {@link com.micatechnologies.micautils_j8.data.ByteBasedTrie} with this key does not allocate.
+ * </p>
+ *
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class ByteBasedUUID implements ByteBasedSequence, Comparable<ByteBasedUUID> {
+
+  /**
+   * The number of bytes in the byte array representation of a UUID.
+   *
+   * @since 1.1.0
+   */
+  private static final int LENGTH = 16;
+
+  /**
+   * The most significant 64 bits of the UUID.
+   *
+   * @since 1.1.0
+   */
+  private final long mostSignificantBits;
+
+  /**
+   * The least significant 64 bits of the UUID.
+   *
+   * @since 1.1.0
+   */
+  private final long leastSignificantBits;
+
+  /**
+   * Constructor for a new {@link ByteBasedUUID} object.
+   *
+   * @param mostSignificantBits  the most significant 64 bits of the UUID.
+   * @param leastSignificantBits the least significant 64 bits of the UUID.
+   *
+   * @since 1.1.0
+   */
+  public ByteBasedUUID(long mostSignificantBits, long leastSignificantBits) {
+    this.mostSignificantBits = mostSignificantBits;
+    this.leastSignificantBits = leastSignificantBits;
+  }
+
+  /**
+   * Creates a new {@link ByteBasedUUID} object with the specified value.
+   *
+   * @param value the UUID value.
+   *
+   * @return the new {@link ByteBasedUUID} object.
+   *
+   * @since 1.1.0
+   */
+  public static ByteBasedUUID of(UUID value) {
+    return new ByteBasedUUID(value.getMostSignificantBits(), value.getLeastSignificantBits());
+  }
+
+  /**
+   * Creates a new {@link ByteBasedUUID} object with the specified bits.
+   *
+   * @param mostSignificantBits  the most significant 64 bits of the UUID.
+   * @param leastSignificantBits the least significant 64 bits of the UUID.
+   *
+   * @return the new {@link ByteBasedUUID} object.
+   *
+   * @since 1.1.0
+   */
+  public static ByteBasedUUID of(long mostSignificantBits, long leastSignificantBits) {
+    return new ByteBasedUUID(mostSignificantBits, leastSignificantBits);
+  }
+
+  /**
+   * Gets the UUID value.
+   *
+   * @return the UUID value.
+   *
+   * @since 1.1.0
+   */
+  public UUID getValue() {
+    return new UUID(mostSignificantBits, leastSignificantBits);
+  }
+
+  /**
+   * Gets the most significant 64 bits of the UUID.
+   *
+   * @return the most significant 64 bits of the UUID.
+   *
+   * @since 1.1.0
+   */
+  public long getMostSignificantBits() {
+    return mostSignificantBits;
+  }
+
+  /**
+   * Gets the least significant 64 bits of the UUID.
+   *
+   * @return the least significant 64 bits of the UUID.
+   *
+   * @since 1.1.0
+   */
+  public long getLeastSignificantBits() {
+    return leastSignificantBits;
+  }
+
+  /**
+   * Converts the object to a byte array.
+   *
+   * @return the byte array representation (16 bytes) of the object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public byte[] toBytes() {
+    byte[] bytes = new byte[LENGTH];
+    for (int i = 0; i < LENGTH; i++) {
+      bytes[i] = byteAt(i);
+    }
+    return bytes;
+  }
+
+  /**
+   * Converts the object to a reversed byte array.
+   * <p>
+   * The resulting reversed byte array should be the same as the byte array returned by the
+   * {@link #toBytes()} method, but with the bytes in reverse order.
+   * </p>
+   *
+   * @return the reversed byte array representation (16 bytes) of the object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public byte[] toBytesReversed() {
+    byte[] bytes = new byte[LENGTH];
+    for (int i = 0; i < LENGTH; i++) {
+      bytes[i] = byteAtReversed(i);
+    }
+    return bytes;
+  }
+
+  /**
+   * Writes the byte array representation of the object into the specified byte array at the
+   * specified offset, directly from the most and least significant bits.
+   *
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws IndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeTo(byte[] dst, int offset) {
+    ByteArrayTool.writeLong(mostSignificantBits, dst, offset);
+    ByteArrayTool.writeLong(leastSignificantBits, dst, offset + 8);
+    return LENGTH;
+  }
+
+  /**
+   * Writes the byte array representation of the object to the specified buffer at its current
+   * position, directly from the most and least significant bits.
+   *
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeTo(ByteBuffer buffer) {
+    if (buffer.remaining() < LENGTH) {
+      throw new BufferOverflowException();
+    }
+    ByteArrayTool.writeLong(mostSignificantBits, buffer);
+    ByteArrayTool.writeLong(leastSignificantBits, buffer);
+    return LENGTH;
+  }
+
+  /**
+   * Writes the reversed byte array representation of the object into the specified byte array at
+   * the specified offset, directly from the most and least significant bits.
+   *
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws IndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeReversedTo(byte[] dst, int offset) {
+    ByteArrayTool.writeLong(Long.reverseBytes(leastSignificantBits), dst, offset);
+    ByteArrayTool.writeLong(Long.reverseBytes(mostSignificantBits), dst, offset + 8);
+    return LENGTH;
+  }
+
+  /**
+   * Writes the reversed byte array representation of the object to the specified buffer at its
+   * current position, directly from the most and least significant bits.
+   *
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeReversedTo(ByteBuffer buffer) {
+    if (buffer.remaining() < LENGTH) {
+      throw new BufferOverflowException();
+    }
+    ByteArrayTool.writeLong(Long.reverseBytes(leastSignificantBits), buffer);
+    ByteArrayTool.writeLong(Long.reverseBytes(mostSignificantBits), buffer);
+    return LENGTH;
+  }
+
+  /**
+   * Gets the number of bytes in the byte array representation of the object, which is always 16.
+   *
+   * @return the number of bytes.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int byteLength() {
+    return LENGTH;
+  }
+
+  /**
+   * Gets the byte at the specified index of the byte array representation of the object, directly
+   * from the most or least significant bits.
+   *
+   * @param index the index of the byte, from {@code 0} to {@code 15}.
+   *
+   * @return the byte at the specified index.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1.0
+   */
+  @Override
+  public byte byteAt(int index) {
+    if (index < 0 || index >= LENGTH) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + LENGTH);
+    }
+    long bits = index < 8 ? mostSignificantBits : leastSignificantBits;
+    return (byte) (bits >>> (56 - ((index & 7) << 3)));
+  }
+
+  /**
+   * Compares this object with the specified object for equality. Two objects are equal if they wrap
+   * the same UUID.
+   *
+   * @param obj the object to compare with.
+   *
+   * @return {@code true} if the objects are equal, {@code false} otherwise.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof ByteBasedUUID)) {
+      return false;
+    }
+    ByteBasedUUID other = (ByteBasedUUID) obj;
+    return mostSignificantBits == other.mostSignificantBits
+        && leastSignificantBits == other.leastSignificantBits;
+  }
+
+  /**
+   * Returns a hash code for the object, equal to the hash code of the wrapped UUID, without
+   * creating a byte array.
+   *
+   * @return the hash code.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int hashCode() {
+    return Long.hashCode(mostSignificantBits ^ leastSignificantBits);
+  }
+
+  /**
+   * Compares this object with the specified object in the unsigned lexicographic order of their
+   * byte array representations, i.e., the unsigned order of the most significant bits, then of the
+   * least significant bits. Note that this differs from {@link UUID#compareTo(UUID)}, which
+   * compares the bits as signed values.
+   *
+   * @param other the object to be compared.
+   *
+   * @return a negative value, zero or a positive value as this object is less than, equal to or
+   *     greater than the specified object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int compareTo(ByteBasedUUID other) {
+    int result = Long.compareUnsigned(mostSignificantBits, other.mostSignificantBits);
+    return result != 0 ? result
+        : Long.compareUnsigned(leastSignificantBits, other.leastSignificantBits);
+  }
+}
@@ -0,0 +1,306 @@
+package com.micatechnologies.micautils_j8.types;
+
+import com.micatechnologies.micautils_j8.ByteArrayTool;
+import com.micatechnologies.micautils_j8.data.ByteBasedTrie;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Variable-length long wrapper class that implements the {@link ByteBased} interface.
+ * <p>
+ * This class is used to wrap a long value and convert it to a LEB128 variable-length byte
+ * array (1 to 10 bytes), so that small values use fewer bytes, and fewer {@link ByteBasedTrie}
+ * levels, than the fixed 8 bytes of a {@link ByteBasedLong}. Values created with
+ * {@link #of(long)} are ZigZag encoded first so that small negative values are also short, while
+ * values created with {@link #ofUnsigned(long)} are encoded as-is.
+ * </p>
+ * <p>
+ * The encoding returned by {@link #toBytes()} is prefix-free, as every byte but the last has its
+ * continuation bit set, but the byte order of encoded values does not match their numeric order.
+ * The reversed encoding returned by {@link #toBytesReversed()} is not prefix-free, as it starts
+ * with the final byte, which is itself a complete encoding, so variable-length values should not
+ * be concatenated with other components in a {@link ByteBasedTrie} using
+ * {@link ByteBasedTrie.KeyOrder#REVERSED} order.
+ * </p>
+ *
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class ByteBasedVarLong implements ByteBasedSequence, Comparable<ByteBasedVarLong> {
+
+  /**
+   * The long value.
+   *
+   * @since 1.1.0
+   */
+  private final long value;
+
+  /**
+   * Whether the value is ZigZag encoded before being converted to bytes.
+   *
+   * @since 1.1.0
+   */
+  private final boolean zigZag;
+
+  /**
+   * Constructor for a new {@link ByteBasedVarLong} object.
+   *
+   * @param value  the long value.
+   * @param zigZag {@code true} if the value is signed and should be ZigZag encoded, {@code false}
+   *               if the value should be treated as unsigned.
+   *
+   * @since 1.1.0
+   */
+  public ByteBasedVarLong(long value, boolean zigZag) {
+    this.value = value;
+    this.zigZag = zigZag;
+  }
+
+  /**
+   * Creates a new {@link ByteBasedVarLong} object with the specified signed value, which is ZigZag
+   * encoded so that values close to zero, positive or negative, use the fewest bytes.
+   *
+   * @param value the signed long value.
+   *
+   * @return the new {@link ByteBasedVarLong} object.
+   *
+   * @since 1.1.0
+   */
+  public static ByteBasedVarLong of(long value) {
+    return new ByteBasedVarLong(value, true);
+  }
+
+  /**
+   * Creates a new {@link ByteBasedVarLong} object with the specified value, interpreted as
+   * unsigned. Small non-negative values use the fewest bytes, while negative values always use 10
+   * bytes.
+   *
+   * @param value the long value, interpreted as unsigned.
+   *
+   * @return the new {@link ByteBasedVarLong} object.
+   *
+   * @since 1.1.0
+   */
+  public static ByteBasedVarLong ofUnsigned(long value) {
+    return new ByteBasedVarLong(value, false);
+  }
+
+  /**
+   * Gets the long value.
+   *
+   * @return the long value.
+   *
+   * @since 1.1.0
+   */
+  public long getValue() {
+    return value;
+  }
+
+  /**
+   * Gets whether the value is ZigZag encoded before being converted to bytes.
+   *
+   * @return {@code true} if the value is ZigZag encoded, {@code false} if it is treated as
+   *     unsigned.
+   *
+   * @since 1.1.0
+   */
+  public boolean isZigZag() {
+    return zigZag;
+  }
+
+  /**
+   * Converts the object to a byte array.
+   *
+   * @return the byte array representation of the object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public byte[] toBytes() {
+    return ByteArrayTool.fromVarLong(encodedValue());
+  }
+
+  /**
+   * Converts the object to a reversed byte array.
+   * <p>
+   * The resulting reversed byte array should be the same as the byte array returned by the
+   * {@link #toBytes()} method, but with the bytes in reverse order.
+   * </p>
+   *
+   * @return the reversed byte array representation of the object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public byte[] toBytesReversed() {
+    return ByteArrayTool.fromVarLongReversed(encodedValue());
+  }
+
+  /**
+   * Gets the number of bytes in the byte array representation of the object.
+   *
+   * @return the number of bytes.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int byteLength() {
+    return ByteArrayTool.varLongLength(encodedValue());
+  }
+
+  /**
+   * Gets the byte at the specified index of the byte array representation of the object, directly
+   * from the encoded long value.
+   *
+   * @param index the index of the byte, from {@code 0} to {@code byteLength() - 1}.
+   *
+   * @return the byte at the specified index.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1.0
+   */
+  @Override
+  public byte byteAt(int index) {
+    long encoded = encodedValue();
+    int length = ByteArrayTool.varLongLength(encoded);
+    if (index < 0 || index >= length) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+    }
+    int group = (int) (encoded >>> (7 * index)) & 0x7F;
+    return (byte) (index < length - 1 ? group | 0x80 : group);
+  }
+
+  /**
+   * Writes the byte array representation of the object into the specified byte array at the
+   * specified offset, directly from the long value.
+   *
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws IndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeTo(byte[] dst, int offset) {
+    return ByteArrayTool.writeVarLong(encodedValue(), dst, offset);
+  }
+
+  /**
+   * Writes the byte array representation of the object to the specified buffer at its current
+   * position, directly from the long value.
+   *
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeTo(ByteBuffer buffer) {
+    return ByteArrayTool.writeVarLong(encodedValue(), buffer);
+  }
+
+  /**
+   * Writes the reversed byte array representation of the object into the specified byte array at
+   * the specified offset, directly from the long value.
+   *
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws IndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeReversedTo(byte[] dst, int offset) {
+    return ByteArrayTool.writeVarLongReversed(encodedValue(), dst, offset);
+  }
+
+  /**
+   * Writes the reversed byte array representation of the object to the specified buffer at its
+   * current position, directly from the long value.
+   *
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeReversedTo(ByteBuffer buffer) {
+    return ByteArrayTool.writeVarLongReversed(encodedValue(), buffer);
+  }
+
+  /**
+   * Compares this object with the specified object for equality. Two objects are equal if they have
+   * the same value and are either both or neither ZigZag encoded, so that objects which decode to
+   * different values are not equal even if they have the same byte array representation.
+   *
+   * @param obj the object to compare with.
+   *
+   * @return {@code true} if the objects are equal, {@code false} otherwise.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof ByteBasedVarLong)) {
+      return false;
+    }
+    ByteBasedVarLong other = (ByteBasedVarLong) obj;
+    return value == other.value && zigZag == other.zigZag;
+  }
+
+  /**
+   * Returns a hash code for the object, computed from the value and whether it is ZigZag encoded,
+   * without creating a byte array.
+   *
+   * @return the hash code.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int hashCode() {
+    return 31 * Long.hashCode(value) + Boolean.hashCode(zigZag);
+  }
+
+  /**
+   * Compares this object with the specified object in the unsigned lexicographic order of their
+   * byte array representations. As the least significant group of the encoded value is stored
+   * first, this order differs from the numeric order of the values. Objects with the same byte
+   * array representation are ordered unsigned before ZigZag encoded, so that the order is
+   * consistent with {@link #equals(Object)}.
+   *
+   * @param other the object to be compared.
+   *
+   * @return a negative value, zero or a positive value as this object is less than, equal to or
+   *     greater than the specified object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int compareTo(ByteBasedVarLong other) {
+    int result = ByteArrayTool.compareVarLong(encodedValue(), other.encodedValue());
+    return result != 0 ? result : Boolean.compare(zigZag, other.zigZag);
+  }
+
+  /**
+   * Gets the value which is written in the LEB128 variable-length representation, i.e., the value
+   * after ZigZag encoding if applicable.
+   *
+   * @return the encoded value.
+   *
+   * @since 1.1.0
+   */
+  private long encodedValue() {
+    return zigZag ? ByteArrayTool.encodeZigZag(value) : value;
+  }
+}
@@ -0,0 +1,252 @@
+package com.micatechnologies.micautils_j8.types;
+
+import com.micatechnologies.micautils_j8.data.ByteBasedTrie;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Wrapper class which memoizes the byte array representations of another {@link ByteBased}
+ * object.
+ * <p>
+ * The wrapped object's {@link ByteBased#toBytes()} and {@link ByteBased#toBytesReversed()} methods
+ * are each called at most once per {@link MemoizedByteBased} instance, when first needed, and the
+ * resulting arrays are returned as backing arrays on every subsequent call. This is useful when the
+ * same key is used repeatedly, such as for repeated lookups in a {@link ByteBasedTrie}, and its
+ * conversion to bytes is expensive.
+ * </p>
+ * <p>
+ * As the backing arrays are shared, callers must not modify the arrays returned by this class. The
+ * wrapped object should be immutable, as changes to it are not reflected once memoized.
+ * </p>
+ *
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class MemoizedByteBased implements ByteBased {
+
+  /**
+   * The wrapped {@link ByteBased} object.
+   *
+   * @since 1.1.0
+   */
+  private final ByteBased delegate;
+
+  /**
+   * The memoized byte array representation, or {@code null} if not yet computed.
+   *
+   * @since 1.1.0
+   */
+  private volatile byte[] bytes;
+
+  /**
+   * The memoized reversed byte array representation, or {@code null} if not yet computed.
+   *
+   * @since 1.1.0
+   */
+  private volatile byte[] bytesReversed;
+
+  /**
+   * Constructor for a new {@link MemoizedByteBased} object.
+   *
+   * @param delegate the {@link ByteBased} object to be wrapped.
+   *
+   * @throws NullPointerException if the wrapped object is {@code null}.
+   * @since 1.1.0
+   */
+  public MemoizedByteBased(ByteBased delegate) {
+    if (delegate == null) {
+      throw new NullPointerException("Wrapped ByteBased object must not be null");
+    }
+    this.delegate = delegate;
+  }
+
+  /**
+   * Creates a new {@link MemoizedByteBased} object wrapping the specified {@link ByteBased}
+   * object, or returns the object itself if it is already a {@link MemoizedByteBased}.
+   *
+   * @param delegate the {@link ByteBased} object to be wrapped.
+   *
+   * @return the {@link MemoizedByteBased} object.
+   *
+   * @throws NullPointerException if the wrapped object is {@code null}.
+   * @since 1.1.0
+   */
+  public static MemoizedByteBased of(ByteBased delegate) {
+    if (delegate instanceof MemoizedByteBased) {
+      return (MemoizedByteBased) delegate;
+    }
+    return new MemoizedByteBased(delegate);
+  }
+
+  /**
+   * Gets the wrapped {@link ByteBased} object.
+   *
+   * @return the wrapped {@link ByteBased} object.
+   *
+   * @since 1.1.0
+   */
+  public ByteBased getDelegate() {
+    return delegate;
+  }
+
+  /**
+   * Gets the byte array representation of the wrapped object, computing it on the first call.
+   * <p>
+   * The returned array is shared and must not be modified.
+   * </p>
+   *
+   * @return the byte array representation of the wrapped object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public byte[] toBytes() {
+    byte[] result = bytes;
+    if (result == null) {
+      result = delegate.toBytes();
+      bytes = result;
+    }
+    return result;
+  }
+
+  /**
+   * Gets the reversed byte array representation of the wrapped object, computing it on the first
+   * call.
+   * <p>
+   * The returned array is shared and must not be modified.
+   * </p>
+   *
+   * @return the reversed byte array representation of the wrapped object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public byte[] toBytesReversed() {
+    byte[] result = bytesReversed;
+    if (result == null) {
+      result = delegate.toBytesReversed();
+      bytesReversed = result;
+    }
+    return result;
+  }
+
+  /**
+   * Gets the number of bytes in the byte array representation of the wrapped object, computing the
+   * byte array on the first call.
+   *
+   * @return the number of bytes.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int byteLength() {
+    return toBytes().length;
+  }
+
+  /**
+   * Writes the byte array representation of the object into the specified byte array at the
+   * specified offset, copying from the memoized byte array.
+   *
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws IndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeTo(byte[] dst, int offset) {
+    byte[] source = toBytes();
+    System.arraycopy(source, 0, dst, offset, source.length);
+    return source.length;
+  }
+
+  /**
+   * Writes the byte array representation of the object to the specified buffer at its current
+   * position, copying from the memoized byte array.
+   *
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeTo(ByteBuffer buffer) {
+    byte[] source = toBytes();
+    buffer.put(source);
+    return source.length;
+  }
+
+  /**
+   * Writes the reversed byte array representation of the object into the specified byte array at
+   * the specified offset, copying from the memoized byte array.
+   *
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws IndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeReversedTo(byte[] dst, int offset) {
+    byte[] source = toBytesReversed();
+    System.arraycopy(source, 0, dst, offset, source.length);
+    return source.length;
+  }
+
+  /**
+   * Writes the reversed byte array representation of the object to the specified buffer at its
+   * current position, copying from the memoized byte array.
+   *
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeReversedTo(ByteBuffer buffer) {
+    byte[] source = toBytesReversed();
+    buffer.put(source);
+    return source.length;
+  }
+
+  /**
+   * Compares this object with the specified object for equality. Two memoizing wrappers are equal
+   * if their delegates are equal.
+   *
+   * @param obj the object to compare with.
+   *
+   * @return {@code true} if the objects are equal, {@code false} otherwise.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof MemoizedByteBased)) {
+      return false;
+    }
+    return delegate.equals(((MemoizedByteBased) obj).delegate);
+  }
+
+  /**
+   * Returns a hash code for the object, which is the hash code of the delegate.
+   *
+   * @return the hash code.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int hashCode() {
+    return delegate.hashCode();
+  }
+}
@@ -0,0 +1,241 @@
+package com.micatechnologies.micautils_j8.types;
+
+import com.micatechnologies.micautils_j8.ByteArrayTool;
+import com.micatechnologies.micautils_j8.data.ByteBasedTrie;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Mutable long wrapper class that implements the {@link ByteBased} interface, for reuse as a lookup
+ * key.
+ * <p>
+ * This class produces the same bytes as {@link ByteBasedLong}, but its value can be changed with
+ * {@link #set(long)}, so that a single instance can be kept, for example per thread, and reused for
+ * any number of lookups without allocation:
+ * </p>
+ * <pre>{@code
+ * MutableByteBasedLong key = new MutableByteBasedLong();
+ * for (long id : ids) {
+ *   String value = trie.getValue(key.set(id));
+ * }
+ * }</pre>
+ * <p>
+ * A {@link ByteBasedTrie} never retains key objects, so an instance may be changed as soon as a
+ * trie method returns. Instances are not thread-safe, use identity equality, and must not be used
+ * as keys in hash-based collections; use {@link #toImmutable()} to obtain a key which can be
+ * retained.
+ * </p>
+ *
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class MutableByteBasedLong implements ByteBasedSequence {
+
+  /**
+   * The long value.
+   *
+   * @since 1.1.0
+   */
+  private long value;
+
+  /**
+   * Constructor for a new {@link MutableByteBasedLong} object with a value of zero.
+   *
+   * @since 1.1.0
+   */
+  public MutableByteBasedLong() {
+    this(0L);
+  }
+
+  /**
+   * Constructor for a new {@link MutableByteBasedLong} object.
+   *
+   * @param value the initial long value.
+   *
+   * @since 1.1.0
+   */
+  public MutableByteBasedLong(long value) {
+    this.value = value;
+  }
+
+  /**
+   * Sets the long value.
+   *
+   * @param value the new long value.
+   *
+   * @return this object, to allow the call to be used as a key argument.
+   *
+   * @since 1.1.0
+   */
+  public MutableByteBasedLong set(long value) {
+    this.value = value;
+    return this;
+  }
+
+  /**
+   * Gets the long value.
+   *
+   * @return the long value.
+   *
+   * @since 1.1.0
+   */
+  public long getValue() {
+    return value;
+  }
+
+  /**
+   * Gets an immutable {@link ByteBasedLong} object with the current value, which can be retained
+   * or used as a key in collections.
+   *
+   * @return the immutable {@link ByteBasedLong} object.
+   *
+   * @since 1.1.0
+   */
+  public ByteBasedLong toImmutable() {
+    return ByteBasedLong.of(value);
+  }
+
+  /**
+   * Converts the object to a byte array.
+   *
+   * @return the byte array representation of the object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public byte[] toBytes() {
+    return ByteArrayTool.fromLong(value);
+  }
+
+  /**
+   * Converts the object to a reversed byte array.
+   * <p>
+   * The resulting reversed byte array should be the same as the byte array returned by the
+   * {@link #toBytes()} method, but with the bytes in reverse order.
+   * </p>
+   *
+   * @return the reversed byte array representation of the object.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public byte[] toBytesReversed() {
+    return ByteArrayTool.fromLongReversed(value);
+  }
+
+  /**
+   * Gets the number of bytes in the byte array representation of the object, which is always 8.
+   *
+   * @return the number of bytes.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public int byteLength() {
+    return 8;
+  }
+
+  /**
+   * Gets the byte at the specified index of the byte array representation of the object, directly
+   * from the long value.
+   *
+   * @param index the index of the byte, from {@code 0} to {@code 7}.
+   *
+   * @return the byte at the specified index.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1.0
+   */
+  @Override
+  public byte byteAt(int index) {
+    if (index < 0 || index >= 8) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length 8");
+    }
+    return (byte) (value >>> (56 - (index << 3)));
+  }
+
+  /**
+   * Gets the byte at the specified index of the reversed byte array representation of the object,
+   * directly from the long value.
+   *
+   * @param index the index of the byte, from {@code 0} to {@code 7}.
+   *
+   * @return the byte at the specified index of the reversed byte array representation.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1.0
+   */
+  @Override
+  public byte byteAtReversed(int index) {
+    if (index < 0 || index >= 8) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length 8");
+    }
+    return (byte) (value >>> (index << 3));
+  }
+
+  /**
+   * Writes the byte array representation of the object into the specified byte array at the
+   * specified offset, directly from the long value.
+   *
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws IndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeTo(byte[] dst, int offset) {
+    return ByteArrayTool.writeLong(value, dst, offset);
+  }
+
+  /**
+   * Writes the byte array representation of the object to the specified buffer at its current
+   * position, directly from the long value.
+   *
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeTo(ByteBuffer buffer) {
+    return ByteArrayTool.writeLong(value, buffer);
+  }
+
+  /**
+   * Writes the reversed byte array representation of the object into the specified byte array at
+   * the specified offset, directly from the long value.
+   *
+   * @param dst    the destination byte array.
+   * @param offset the offset in the destination byte array at which to start writing.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws IndexOutOfBoundsException if the destination byte array is too small.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeReversedTo(byte[] dst, int offset) {
+    return ByteArrayTool.writeLong(Long.reverseBytes(value), dst, offset);
+  }
+
+  /**
+   * Writes the reversed byte array representation of the object to the specified buffer at its
+   * current position, directly from the long value.
+   *
+   * @param buffer the destination buffer.
+   *
+   * @return the number of bytes written, which is {@link #byteLength()}.
+   *
+   * @throws BufferOverflowException if the buffer does not have enough remaining space.
+   * @since 1.1.0
+   */
+  @Override
+  public int writeReversedTo(ByteBuffer buffer) {
+    return ByteArrayTool.writeLong(Long.reverseBytes(value), buffer);
+  }
+}
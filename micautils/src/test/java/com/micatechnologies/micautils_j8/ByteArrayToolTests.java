@@ -1,8 +1,12 @@
 package com.micatechnologies.micautils_j8;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Random;
 import org.junit.jupiter.api.Test;
 
@@ -124,4 +128,215 @@ public class ByteArrayToolTests {
           ByteArrayTool.fromDoubleReversed(testDouble));
     }
   }
+
+  @Test
+  public void testZigZag() {
+    assertEquals(0, ByteArrayTool.encodeZigZag(0));
+    assertEquals(1, ByteArrayTool.encodeZigZag(-1));
+    assertEquals(2, ByteArrayTool.encodeZigZag(1));
+    assertEquals(-1, ByteArrayTool.encodeZigZag(Integer.MIN_VALUE));
+    assertEquals(-1L, ByteArrayTool.encodeZigZag(Long.MIN_VALUE));
+    for (int i = 0; i < NUM_TESTS; i++) {
+      int testInt = random.nextInt();
+      long testLong = random.nextLong();
+      assertEquals(testInt, ByteArrayTool.decodeZigZag(ByteArrayTool.encodeZigZag(testInt)));
+      assertEquals(testLong, ByteArrayTool.decodeZigZag(ByteArrayTool.encodeZigZag(testLong)));
+    }
+  }
+
+  @Test
+  public void testVarInt() {
+    assertArrayEquals(new byte[]{0}, ByteArrayTool.fromVarInt(0));
+    assertArrayEquals(new byte[]{127}, ByteArrayTool.fromVarInt(127));
+    assertArrayEquals(new byte[]{(byte) 0x80, 1}, ByteArrayTool.fromVarInt(128));
+    assertEquals(5, ByteArrayTool.fromVarInt(-1).length);
+    for (int i = 0; i < NUM_TESTS; i++) {
+      int testInt = random.nextInt() >>> random.nextInt(32);
+      byte[] bytes = ByteArrayTool.fromVarInt(testInt);
+      assertEquals(ByteArrayTool.varIntLength(testInt), bytes.length);
+      assertEquals(testInt, ByteArrayTool.readVarInt(bytes, 0));
+      assertArrayEquals(ByteArrayTool.reverseBytes(bytes),
+          ByteArrayTool.fromVarIntReversed(testInt));
+
+      byte[] offsetBytes = new byte[bytes.length + 3];
+      assertEquals(bytes.length, ByteArrayTool.writeVarInt(testInt, offsetBytes, 3));
+      assertEquals(testInt, ByteArrayTool.readVarInt(offsetBytes, 3));
+
+      ByteBuffer buffer = ByteBuffer.allocate(5);
+      assertEquals(bytes.length, ByteArrayTool.writeVarInt(testInt, buffer));
+      buffer.flip();
+      assertEquals(testInt, ByteArrayTool.readVarInt(buffer));
+      assertEquals(0, buffer.remaining());
+    }
+  }
+
+  @Test
+  public void testVarLong() {
+    assertEquals(1, ByteArrayTool.fromVarLong(0L).length);
+    assertEquals(10, ByteArrayTool.fromVarLong(-1L).length);
+    for (int i = 0; i < NUM_TESTS; i++) {
+      long testLong = random.nextLong() >>> random.nextInt(64);
+      byte[] bytes = ByteArrayTool.fromVarLong(testLong);
+      assertEquals(ByteArrayTool.varLongLength(testLong), bytes.length);
+      assertEquals(testLong, ByteArrayTool.readVarLong(bytes, 0));
+      assertArrayEquals(ByteArrayTool.reverseBytes(bytes),
+          ByteArrayTool.fromVarLongReversed(testLong));
+
+      ByteBuffer buffer = ByteBuffer.allocate(10);
+      assertEquals(bytes.length, ByteArrayTool.writeVarLong(testLong, buffer));
+      buffer.flip();
+      assertEquals(testLong, ByteArrayTool.readVarLong(buffer));
+    }
+  }
+
+  @Test
+  public void testMalformedVarInt() {
+    byte[] tooLong = {(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0};
+    assertThrows(IllegalArgumentException.class, () -> ByteArrayTool.readVarInt(tooLong, 0));
+  }
+
+  @Test
+  public void testSortableOrder() {
+    for (int i = 0; i < NUM_TESTS; i++) {
+      int int1 = random.nextInt();
+      int int2 = random.nextInt();
+      assertEquals(Integer.signum(Integer.compare(int1, int2)), Integer.signum(
+          compareUnsigned(ByteArrayTool.fromIntSortable(int1),
+              ByteArrayTool.fromIntSortable(int2))));
+
+      long long1 = random.nextLong();
+      long long2 = random.nextLong();
+      assertEquals(Integer.signum(Long.compare(long1, long2)), Integer.signum(
+          compareUnsigned(ByteArrayTool.fromLongSortable(long1),
+              ByteArrayTool.fromLongSortable(long2))));
+
+      float float1 = (random.nextFloat() - 0.5f) * random.nextInt(1000);
+      float float2 = (random.nextFloat() - 0.5f) * random.nextInt(1000);
+      assertEquals(Integer.signum(Float.compare(float1, float2)), Integer.signum(
+          compareUnsigned(ByteArrayTool.fromFloatSortable(float1),
+              ByteArrayTool.fromFloatSortable(float2))));
+      assertEquals(float1, ByteArrayTool.fromSortableBits(ByteArrayTool.toSortableBits(float1)));
+
+      double double1 = random.nextGaussian() * 1e6;
+      double double2 = random.nextGaussian() * 1e6;
+      assertEquals(Integer.signum(Double.compare(double1, double2)), Integer.signum(
+          compareUnsigned(ByteArrayTool.fromDoubleSortable(double1),
+              ByteArrayTool.fromDoubleSortable(double2))));
+      assertEquals(double1,
+          ByteArrayTool.fromSortableBits(ByteArrayTool.toSortableBits(double1)));
+    }
+  }
+
+  @Test
+  public void testSortableSpecialValues() {
+    double[] ordered = {Double.NEGATIVE_INFINITY, -Double.MAX_VALUE, -1.0, -Double.MIN_VALUE,
+        -0.0, 0.0, Double.MIN_VALUE, 1.0, Double.MAX_VALUE, Double.POSITIVE_INFINITY, Double.NaN};
+    for (int i = 1; i < ordered.length; i++) {
+      assertTrue(compareUnsigned(ByteArrayTool.fromDoubleSortable(ordered[i - 1]),
+          ByteArrayTool.fromDoubleSortable(ordered[i])) < 0);
+    }
+    assertArrayEquals(ByteArrayTool.reverseBytes(ByteArrayTool.fromDoubleSortable(-2.5)),
+        ByteArrayTool.fromDoubleSortableReversed(-2.5));
+  }
+
+  @Test
+  public void testCompareAndMismatch() {
+    for (int i = 0; i < NUM_TESTS; i++) {
+      byte[] a = new byte[random.nextInt(40)];
+      random.nextBytes(a);
+      byte[] b = a.clone();
+      if (b.length > 0 && random.nextBoolean()) {
+        b[random.nextInt(b.length)] = (byte) random.nextInt(256);
+      }
+      if (random.nextBoolean()) {
+        b = Arrays.copyOf(b, random.nextInt(b.length + 5));
+      }
+      assertEquals(Integer.signum(compareUnsigned(a, b)),
+          Integer.signum(ByteArrayTool.compare(a, b)));
+      assertEquals(Arrays.equals(a, b), ByteArrayTool.mismatch(a, b) == -1);
+      assertEquals(Arrays.equals(a, b),
+          ByteArrayTool.equals(a, 0, a.length, b, 0, b.length));
+
+      int mismatch = ByteArrayTool.mismatch(a, b);
+      if (mismatch >= 0) {
+        for (int j = 0; j < mismatch; j++) {
+          assertEquals(a[j], b[j]);
+        }
+        assertTrue(mismatch == Math.min(a.length, b.length) || a[mismatch] != b[mismatch]);
+      }
+    }
+
+    byte[] padded = {9, 9, 1, 2, 3, 4, 5, 6, 7, 8, (byte) 0xFF, 9};
+    byte[] other = {1, 2, 3, 4, 5, 6, 7, 8, 0x01};
+    assertEquals(8, ByteArrayTool.mismatch(padded, 2, 9, other, 0, 9));
+    assertTrue(ByteArrayTool.compare(padded, 2, 9, other, 0, 9) > 0);
+    assertTrue(ByteArrayTool.equals(padded, 2, 8, other, 0, 8));
+    assertThrows(ArrayIndexOutOfBoundsException.class,
+        () -> ByteArrayTool.mismatch(padded, 8, 8, other, 0, 8));
+  }
+
+  @Test
+  public void testXxHash64() {
+    assertEquals(0xEF46DB3751D8E999L, ByteArrayTool.xxHash64(new byte[0]));
+    assertEquals(0xD24EC4F1A98C6E5BL, ByteArrayTool.xxHash64("a".getBytes()));
+    assertEquals(0x44BC2CF5AD770999L, ByteArrayTool.xxHash64("abc".getBytes()));
+
+    for (int i = 0; i < NUM_TESTS / 10; i++) {
+      byte[] data = new byte[random.nextInt(100)];
+      random.nextBytes(data);
+      long expected = ByteArrayTool.xxHash64(data);
+
+      byte[] padded = new byte[data.length + 7];
+      System.arraycopy(data, 0, padded, 3, data.length);
+      assertEquals(expected, ByteArrayTool.xxHash64(padded, 3, data.length, 0L));
+
+      ByteBuffer direct = ByteBuffer.allocateDirect(data.length + 2);
+      direct.put((byte) 1).put(data).flip().position(1);
+      assertEquals(expected, ByteArrayTool.xxHash64(direct));
+      assertEquals(1, direct.position());
+      assertEquals(expected, ByteArrayTool.xxHash64(ByteBuffer.wrap(data)));
+    }
+  }
+
+  @Test
+  public void testHex() {
+    assertEquals("", ByteArrayTool.toHex(new byte[0]));
+    assertEquals("00ff7f80", ByteArrayTool.toHex(new byte[]{0, -1, 127, -128}));
+    assertArrayEquals(new byte[]{0, -1, 127, -128}, ByteArrayTool.fromHex("00FF7f80"));
+
+    for (int i = 0; i < NUM_TESTS; i++) {
+      byte[] data = new byte[random.nextInt(20)];
+      random.nextBytes(data);
+      StringBuilder expected = new StringBuilder();
+      for (byte b : data) {
+        expected.append(String.format("%02x", b));
+      }
+      assertEquals(expected.toString(), ByteArrayTool.toHex(data));
+      assertEquals("#" + expected, ByteArrayTool.appendHex(new StringBuilder("#"), data, 0,
+          data.length).toString());
+
+      char[] chars = new char[data.length * 2 + 1];
+      assertEquals(data.length * 2, ByteArrayTool.toHex(data, 0, data.length, chars, 1));
+      assertEquals(expected.toString(), new String(chars, 1, data.length * 2));
+
+      byte[] decoded = new byte[data.length + 2];
+      assertEquals(data.length,
+          ByteArrayTool.fromHex(expected, 0, expected.length(), decoded, 2));
+      assertArrayEquals(data, Arrays.copyOfRange(decoded, 2, decoded.length));
+    }
+
+    assertThrows(IllegalArgumentException.class, () -> ByteArrayTool.fromHex("abc"));
+    assertThrows(IllegalArgumentException.class, () -> ByteArrayTool.fromHex("0g"));
+    assertThrows(IllegalArgumentException.class, () -> ByteArrayTool.fromHex("\u00e90"));
+  }
+
+  private static int compareUnsigned(byte[] a, byte[] b) {
+    for (int i = 0; i < Math.min(a.length, b.length); i++) {
+      int cmp = (a[i] & 0xFF) - (b[i] & 0xFF);
+      if (cmp != 0) {
+        return cmp;
+      }
+    }
+    return a.length - b.length;
+  }
 }
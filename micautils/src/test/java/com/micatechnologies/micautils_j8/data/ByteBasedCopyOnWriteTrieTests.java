@@ -0,0 +1,129 @@
+package com.micatechnologies.micautils_j8.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.micatechnologies.micautils_j8.types.ByteBasedInteger;
+import com.micatechnologies.micautils_j8.types.ByteBasedString;
+import com.micatechnologies.micautils_j8.types.MutableByteBasedInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+public class ByteBasedCopyOnWriteTrieTests {
+
+  private static final int NUM_TESTS = 10000; // Number of random values to test
+  private static final int NUM_READERS = 4;
+  private static final int BATCH_SIZE = 16;
+  private final Random random = new Random();
+
+  @Test
+  public void testStagingAndPublishing() {
+    ByteBasedCopyOnWriteTrie<String> trie = new ByteBasedCopyOnWriteTrie<>();
+    assertFalse(trie.publish());
+    assertNull(trie.setValue(ByteBasedString.of("apple"), "a"));
+    assertTrue(trie.hasStagedChanges());
+    assertEquals("a", trie.getStagedValue(ByteBasedString.of("apple")));
+    assertNull(trie.getValue(ByteBasedString.of("apple")));
+    assertTrue(trie.publish());
+    assertFalse(trie.hasStagedChanges());
+    assertEquals("a", trie.getValue(ByteBasedString.of("apple")));
+
+    Iterator<String> snapshot = trie.iterator();
+    assertEquals("a", trie.setValue(ByteBasedString.of("apple"), "b"));
+    assertNull(trie.setValue(ByteBasedString.of("apricot"), "c"));
+    assertTrue(trie.publish());
+    assertEquals("a", snapshot.next());
+    assertFalse(snapshot.hasNext());
+    List<String> values = new ArrayList<>();
+    trie.forEach(values::add);
+    assertEquals(Arrays.asList("b", "c"), values);
+
+    assertEquals("c", trie.remove(ByteBasedString.of("apricot")));
+    assertNull(trie.remove(ByteBasedString.of("banana")));
+    trie.discard();
+    assertFalse(trie.hasStagedChanges());
+    assertEquals("c", trie.getStagedValue(ByteBasedString.of("apricot")));
+    assertEquals("b", trie.setValue(ByteBasedString.of("apple"), null));
+    assertTrue(trie.publish());
+    assertNull(trie.getValue(ByteBasedString.of("apple")));
+    assertEquals("c", trie.getValue(ByteBasedString.of("apricot")));
+  }
+
+  @Test
+  public void testRandomBatchesMatchReference() {
+    ByteBasedCopyOnWriteTrie<Integer> trie =
+        new ByteBasedCopyOnWriteTrie<>(ByteBasedTrie.KeyOrder.REVERSED);
+    TreeMap<Integer, Integer> published = new TreeMap<>();
+    TreeMap<Integer, Integer> staged = new TreeMap<>();
+    for (int i = 0; i < NUM_TESTS; i++) {
+      int key = random.nextInt(NUM_TESTS / 4);
+      if (random.nextInt(3) == 0) {
+        assertEquals(staged.remove(key), trie.remove(ByteBasedInteger.of(key)));
+      } else {
+        assertEquals(staged.put(key, i), trie.setValue(ByteBasedInteger.of(key), i));
+      }
+      if (i % BATCH_SIZE == 0) {
+        trie.publish();
+        published = new TreeMap<>(staged);
+      }
+      int probe = random.nextInt(NUM_TESTS / 4);
+      assertEquals(published.get(probe), trie.getValue(ByteBasedInteger.of(probe)));
+      assertEquals(staged.get(probe), trie.getStagedValue(ByteBasedInteger.of(probe)));
+    }
+    trie.publish();
+    int count = 0;
+    for (Integer ignored : trie) {
+      count++;
+    }
+    assertEquals(staged.size(), count);
+  }
+
+  @Test
+  public void testReadersSeeWholeBatches() throws Exception {
+    ByteBasedCopyOnWriteTrie<Integer> trie = new ByteBasedCopyOnWriteTrie<>();
+    AtomicBoolean done = new AtomicBoolean();
+    ExecutorService executor = Executors.newFixedThreadPool(NUM_READERS);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < NUM_READERS; t++) {
+        futures.add(executor.submit(() -> {
+          MutableByteBasedInteger key = new MutableByteBasedInteger();
+          while (!done.get()) {
+            // Within one published version, every batch is either complete or absent
+            int last = -1;
+            for (Integer value : trie) {
+              assertTrue(value == last + 1);
+              last = value;
+            }
+            assertEquals(0, (last + 1) % BATCH_SIZE);
+            if (last >= 0) {
+              assertEquals(Integer.valueOf(last), trie.getValue(key.set(last)));
+            }
+          }
+        }));
+      }
+      MutableByteBasedInteger key = new MutableByteBasedInteger();
+      for (int i = 0; i < NUM_TESTS; i++) {
+        trie.setValue(key.set(i), i);
+        if ((i + 1) % BATCH_SIZE == 0) {
+          trie.publish();
+        }
+      }
+      done.set(true);
+      for (Future<?> future : futures) {
+        future.get(1, TimeUnit.MINUTES);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
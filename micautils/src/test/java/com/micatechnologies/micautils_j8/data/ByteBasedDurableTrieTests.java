@@ -0,0 +1,166 @@
+package com.micatechnologies.micautils_j8.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.micatechnologies.micautils_j8.types.ByteBasedInteger;
+import com.micatechnologies.micautils_j8.types.ByteBasedString;
+import com.micatechnologies.micautils_j8.types.MutableByteBasedInteger;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ByteBasedDurableTrieTests {
+
+  private static final int NUM_TESTS = 10000; // Number of random values to test
+  private final Random random = new Random();
+
+  @TempDir
+  Path directory;
+
+  private ByteBasedDurableTrie<String> open(int syncEveryOperations) throws IOException {
+    return new ByteBasedDurableTrie<>(directory, ByteBasedString::of,
+        bytes -> new String(bytes, StandardCharsets.UTF_8), syncEveryOperations, 0);
+  }
+
+  private Map<Integer, String> populate(ByteBasedDurableTrie<String> trie, int count)
+      throws IOException {
+    Map<Integer, String> referenceMap = new HashMap<>();
+    MutableByteBasedInteger key = new MutableByteBasedInteger();
+    for (int i = 0; i < count; i++) {
+      int k = random.nextInt(count);
+      if (random.nextInt(4) == 0) {
+        assertEquals(referenceMap.remove(k), trie.remove(key.set(k)));
+      } else {
+        String value = Integer.toString(random.nextInt());
+        assertEquals(referenceMap.put(k, value), trie.setValue(key.set(k), value));
+      }
+    }
+    return referenceMap;
+  }
+
+  private void assertContents(Map<Integer, String> expected, ByteBasedDurableTrie<String> trie) {
+    for (int k = 0; k < NUM_TESTS; k++) {
+      assertEquals(expected.get(k), trie.getValue(ByteBasedInteger.of(k)));
+    }
+    int count = 0;
+    for (String ignored : trie) {
+      count++;
+    }
+    assertEquals(expected.size(), count);
+  }
+
+  @Test
+  public void testRecoveryFromLogAndSnapshot() throws IOException {
+    Map<Integer, String> referenceMap;
+    try (ByteBasedDurableTrie<String> trie = open(64)) {
+      referenceMap = populate(trie, NUM_TESTS);
+    }
+    try (ByteBasedDurableTrie<String> trie = open(64)) {
+      assertContents(referenceMap, trie);
+      assertTrue(trie.getLogLength() > 0);
+      trie.checkpoint();
+      assertEquals(0, trie.getLogLength());
+      assertEquals(0, Files.size(directory.resolve("trie.log")));
+      trie.setValue(ByteBasedInteger.of(-1), "after");
+      int removedKey = referenceMap.keySet().iterator().next();
+      assertEquals(referenceMap.remove(removedKey), trie.remove(ByteBasedInteger.of(removedKey)));
+    }
+    try (ByteBasedDurableTrie<String> trie = open(1)) {
+      assertEquals("after", trie.getValue(ByteBasedInteger.of(-1)));
+      assertEquals("after", trie.setValue(ByteBasedInteger.of(-1), null));
+      assertNull(trie.remove(ByteBasedInteger.of(-1)));
+      assertContents(referenceMap, trie);
+    }
+  }
+
+  @Test
+  public void testGroupCommit() throws IOException {
+    Path log = directory.resolve("trie.log");
+    try (ByteBasedDurableTrie<String> trie = open(100)) {
+      for (int i = 0; i < 99; i++) {
+        trie.setValue(ByteBasedInteger.of(i), "value");
+      }
+      assertEquals(0, Files.size(log));
+      trie.setValue(ByteBasedInteger.of(99), "value");
+      assertEquals(trie.getLogLength(), Files.size(log));
+      trie.setValue(ByteBasedInteger.of(100), "value");
+      assertTrue(Files.size(log) < trie.getLogLength());
+      trie.sync();
+      assertEquals(trie.getLogLength(), Files.size(log));
+    }
+    assertThrows(IllegalArgumentException.class, () -> open(0));
+  }
+
+  @Test
+  public void testTornAndCorruptTailIsTruncated() throws IOException {
+    Path log = directory.resolve("trie.log");
+    long validLength;
+    try (ByteBasedDurableTrie<String> trie = open(1)) {
+      trie.setValue(ByteBasedString.of("a"), "1");
+      trie.setValue(ByteBasedString.of("b"), "2");
+      validLength = trie.getLogLength();
+      trie.setValue(ByteBasedString.of("c"), "3");
+    }
+    // Simulate a crash in the middle of writing the last record
+    try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+      channel.truncate(channel.size() - 3);
+    }
+    try (ByteBasedDurableTrie<String> trie = open(1)) {
+      assertEquals("2", trie.getValue(ByteBasedString.of("b")));
+      assertNull(trie.getValue(ByteBasedString.of("c")));
+      assertEquals(validLength, Files.size(log));
+      trie.setValue(ByteBasedString.of("d"), "4");
+    }
+    // Flip a byte in the value of the last record, so that its checksum no longer matches
+    try (FileChannel channel = FileChannel.open(log, StandardOpenOption.READ,
+        StandardOpenOption.WRITE)) {
+      ByteBuffer buffer = ByteBuffer.allocate(1);
+      long position = channel.size() - Long.BYTES - 1;
+      channel.read(buffer, position);
+      buffer.put(0, (byte) (buffer.get(0) ^ 1));
+      buffer.rewind();
+      channel.write(buffer, position);
+    }
+    try (ByteBasedDurableTrie<String> trie = open(1)) {
+      assertEquals("1", trie.getValue(ByteBasedString.of("a")));
+      assertNull(trie.getValue(ByteBasedString.of("d")));
+      assertEquals(validLength, Files.size(log));
+    }
+  }
+
+  @Test
+  public void testCheckpointSyncsDirectoryBeforeTruncatingLog() throws IOException {
+    Path log = directory.resolve("trie.log");
+    Path snapshot = directory.resolve("trie.snapshot");
+    AtomicInteger directorySyncs = new AtomicInteger();
+    try (ByteBasedDurableTrie<String> trie = new ByteBasedDurableTrie<String>(directory,
+        ByteBasedString::of, bytes -> new String(bytes, StandardCharsets.UTF_8)) {
+      @Override
+      void syncDirectory() throws IOException {
+        // The renamed snapshot must be made durable while the log still holds the writes
+        assertTrue(Files.exists(snapshot));
+        assertTrue(Files.size(log) > 0);
+        directorySyncs.incrementAndGet();
+        super.syncDirectory();
+      }
+    }) {
+      trie.setValue(ByteBasedString.of("a"), "1");
+      trie.checkpoint();
+      assertEquals(1, directorySyncs.get());
+      assertEquals(0, Files.size(log));
+    }
+    try (ByteBasedDurableTrie<String> trie = open(1)) {
+      assertEquals("1", trie.getValue(ByteBasedString.of("a")));
+    }
+  }
+}
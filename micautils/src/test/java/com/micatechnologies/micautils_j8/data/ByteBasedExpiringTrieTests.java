@@ -0,0 +1,115 @@
+package com.micatechnologies.micautils_j8.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.micatechnologies.micautils_j8.types.ByteBasedInteger;
+import com.micatechnologies.micautils_j8.types.ByteBasedString;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class ByteBasedExpiringTrieTests {
+
+  private static final int NUM_TESTS = 10000; // Number of random values to test
+  private final Random random = new Random();
+  private final AtomicLong clock = new AtomicLong(random.nextInt(1 << 20));
+
+  @Test
+  public void testNegativeClock() {
+    clock.set(-5);
+    ByteBasedExpiringTrie<String> trie = new ByteBasedExpiringTrie<>(10, clock::get);
+    trie.setValue(ByteBasedString.of("session"), "a", 1000, TimeUnit.MILLISECONDS);
+    trie.setValue(ByteBasedString.of("forever"), "b", Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+    clock.addAndGet(999);
+    assertEquals("a", trie.getValue(ByteBasedString.of("session")));
+    clock.addAndGet(1);
+    assertNull(trie.getValue(ByteBasedString.of("session")));
+    clock.addAndGet(TimeUnit.DAYS.toMillis(1000));
+    assertEquals("b", trie.getValue(ByteBasedString.of("forever")));
+  }
+
+  @Test
+  public void testLazyExpirationOnRead() {
+    ByteBasedExpiringTrie<String> trie = new ByteBasedExpiringTrie<>(10, clock::get);
+    assertNull(trie.setValue(ByteBasedString.of("session"), "a", 100, TimeUnit.MILLISECONDS));
+    assertNull(trie.setValue(ByteBasedString.of("forever"), "b"));
+    clock.addAndGet(99);
+    assertEquals("a", trie.getValue(ByteBasedString.of("session")));
+    assertEquals("a", trie.setValue(ByteBasedString.of("session"), "c", 1, TimeUnit.SECONDS));
+    clock.addAndGet(999);
+    assertEquals("c", trie.getValue(ByteBasedString.of("session")));
+    clock.addAndGet(1);
+    Iterator<String> iterator = trie.iterator();
+    assertEquals("b", iterator.next());
+    assertFalse(iterator.hasNext());
+    assertEquals(2, trie.size());
+    assertNull(trie.getValue(ByteBasedString.of("session")));
+    assertEquals(1, trie.size());
+    assertEquals(0, trie.cleanUp());
+    clock.addAndGet(TimeUnit.DAYS.toMillis(1000));
+    assertEquals("b", trie.remove(ByteBasedString.of("forever")));
+    assertEquals(0, trie.size());
+    assertThrows(IllegalArgumentException.class,
+        () -> trie.setValue(ByteBasedString.of("x"), "x", 0, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testCleanUpMatchesReference() {
+    ByteBasedExpiringTrie<Integer> trie = new ByteBasedExpiringTrie<>(1, clock::get);
+    Map<Integer, Long> expirations = new HashMap<>();
+    for (int i = 0; i < NUM_TESTS; i++) {
+      int key = random.nextInt(NUM_TESTS);
+      // Spread the time-to-live over every level of the wheel and beyond its span
+      long ttl = 1 + (random.nextLong() & Long.MAX_VALUE) % (1L << (6 * random.nextInt(6)));
+      trie.setValue(ByteBasedInteger.of(key), i, ttl, TimeUnit.MILLISECONDS);
+      expirations.put(key, clock.get() + ttl);
+      if (random.nextInt(100) == 0) {
+        clock.addAndGet(random.nextInt(1 << (2 * random.nextInt(10))));
+        int expected = 0;
+        for (Iterator<Long> it = expirations.values().iterator(); it.hasNext(); ) {
+          if (it.next() <= clock.get()) {
+            it.remove();
+            expected++;
+          }
+        }
+        assertEquals(expected, trie.cleanUp());
+        assertEquals(expirations.size(), trie.size());
+      }
+    }
+    long latest = 0;
+    for (long expiresAt : expirations.values()) {
+      latest = Math.max(latest, expiresAt);
+    }
+    clock.set(latest);
+    assertEquals(expirations.size(), trie.cleanUp());
+    assertEquals(0, trie.size());
+    assertFalse(trie.iterator().hasNext());
+  }
+
+  @Test
+  public void testIncrementalCleanUp() {
+    ByteBasedExpiringTrie<Integer> trie = new ByteBasedExpiringTrie<>(1000, clock::get);
+    for (int i = 0; i < NUM_TESTS; i++) {
+      trie.setValue(ByteBasedInteger.of(i), i, 1 + random.nextInt(60), TimeUnit.SECONDS);
+    }
+    trie.setValue(ByteBasedInteger.of(-1), -1, 1, TimeUnit.HOURS);
+    // The wheel removes an entry once the whole tick containing its expiration has passed
+    clock.addAndGet(TimeUnit.SECONDS.toMillis(61));
+    int removed = 0;
+    int calls = 0;
+    int expired;
+    while ((expired = trie.cleanUp(100)) > 0) {
+      assertTrue(expired <= 100);
+      removed += expired;
+      calls++;
+    }
+    assertEquals(NUM_TESTS, removed);
+    assertTrue(calls >= NUM_TESTS / 100);
+    assertEquals(1, trie.size());
+    assertEquals(Integer.valueOf(-1), trie.getValue(ByteBasedInteger.of(-1)));
+  }
+}
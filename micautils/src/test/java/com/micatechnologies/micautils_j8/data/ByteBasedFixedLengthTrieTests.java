@@ -0,0 +1,109 @@
+package com.micatechnologies.micautils_j8.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.micatechnologies.micautils_j8.types.ByteBasedInteger;
+import com.micatechnologies.micautils_j8.types.ByteBasedLong;
+import com.micatechnologies.micautils_j8.types.ByteBasedSlice;
+import com.micatechnologies.micautils_j8.types.ByteBasedSortableInteger;
+import com.micatechnologies.micautils_j8.types.MutableByteBasedInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ByteBasedFixedLengthTrieTests {
+
+  private static final int NUM_TESTS = 10000; // Number of random values to test
+  private final Random random = new Random();
+  private ByteBasedFixedLengthTrie<String> trie;
+
+  @BeforeEach
+  public void setUp() {
+    trie = new ByteBasedFixedLengthTrie<>(4);
+  }
+
+  @Test
+  public void testSetGetAndRemove() {
+    Map<Integer, String> referenceMap = new HashMap<>();
+    for (int i = 0; i < NUM_TESTS; i++) {
+      int key = random.nextInt(NUM_TESTS * 4);
+      String value = Integer.toString(random.nextInt());
+      assertEquals(referenceMap.put(key, value), trie.setValue(ByteBasedInteger.of(key), value));
+    }
+    assertEquals(referenceMap.size(), trie.size());
+
+    MutableByteBasedInteger key = new MutableByteBasedInteger();
+    for (Map.Entry<Integer, String> entry : referenceMap.entrySet()) {
+      assertEquals(entry.getValue(), trie.getValue(key.set(entry.getKey())));
+    }
+    for (int i = 0; i < NUM_TESTS; i++) {
+      int k = random.nextInt(NUM_TESTS * 4);
+      assertEquals(referenceMap.remove(k), trie.remove(key.set(k)));
+      assertNull(trie.getValue(key));
+    }
+    assertEquals(referenceMap.size(), trie.size());
+
+    for (Integer k : new ArrayList<>(referenceMap.keySet())) {
+      assertEquals(referenceMap.remove(k), trie.setValue(ByteBasedInteger.of(k), null));
+    }
+    assertTrue(trie.isEmpty());
+    assertFalse(trie.iterator().hasNext());
+  }
+
+  @Test
+  public void testIterationInKeyOrder() {
+    TreeMap<Integer, String> referenceMap = new TreeMap<>();
+    for (int i = 0; i < NUM_TESTS; i++) {
+      int key = random.nextInt();
+      String value = Integer.toString(key);
+      trie.setValue(ByteBasedSortableInteger.of(key), value);
+      referenceMap.put(key, value);
+    }
+
+    List<String> values = new ArrayList<>();
+    for (String value : trie) {
+      values.add(value);
+    }
+    assertEquals(new ArrayList<>(referenceMap.values()), values);
+
+    Iterator<String> empty = new ByteBasedFixedLengthTrie<String>(2).iterator();
+    assertThrows(NoSuchElementException.class, empty::next);
+  }
+
+  @Test
+  public void testSingleByteAndReversedKeys() {
+    ByteBasedFixedLengthTrie<Integer> single = new ByteBasedFixedLengthTrie<>(1);
+    for (int i = 0; i < 256; i++) {
+      single.setValue(ByteBasedSlice.of(new byte[]{(byte) i}), i);
+    }
+    assertEquals(256, single.size());
+    int expected = 0;
+    for (int value : single) {
+      assertEquals(expected++, value);
+    }
+
+    ByteBasedFixedLengthTrie<String> reversed =
+        new ByteBasedFixedLengthTrie<>(8, ByteBasedTrie.KeyOrder.REVERSED);
+    long base = random.nextLong();
+    for (int i = 0; i < NUM_TESTS; i++) {
+      reversed.setValue(ByteBasedLong.of(base + i), Long.toString(base + i));
+    }
+    for (int i = 0; i < NUM_TESTS; i++) {
+      assertEquals(Long.toString(base + i), reversed.getValue(ByteBasedLong.of(base + i)));
+    }
+  }
+
+  @Test
+  public void testKeyLengthMismatch() {
+    assertThrows(IllegalArgumentException.class, () -> new ByteBasedFixedLengthTrie<String>(0));
+    assertThrows(IllegalArgumentException.class, () -> trie.getValue(ByteBasedLong.of(1L)));
+    assertThrows(IllegalArgumentException.class, () -> trie.setValue(ByteBasedLong.of(1L), "x"));
+  }
+}
@@ -0,0 +1,101 @@
+package com.micatechnologies.micautils_j8.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.micatechnologies.micautils_j8.types.ByteBasedInteger;
+import com.micatechnologies.micautils_j8.types.ByteBasedString;
+import java.lang.management.ManagementFactory;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.Test;
+
+public class ByteBasedInstrumentedTrieTests {
+
+  private static final int NUM_TESTS = 10000; // Number of random values to test
+  private final Random random = new Random();
+
+  @Test
+  public void testCountersAndLatencySampling() {
+    ByteBasedInstrumentedTrie<Integer> trie =
+        new ByteBasedInstrumentedTrie<>(ByteBasedTrie.KeyOrder.STANDARD, 16);
+    int hits = 0;
+    for (int i = 0; i < NUM_TESTS; i++) {
+      trie.setValue(ByteBasedInteger.of(random.nextInt(NUM_TESTS)), i);
+    }
+    for (int i = 0; i < NUM_TESTS; i++) {
+      if (trie.getValue(ByteBasedInteger.of(random.nextInt(NUM_TESTS * 2))) != null) {
+        hits++;
+      }
+    }
+    trie.remove(ByteBasedInteger.of(0));
+    ByteBasedTrieMetrics metrics = trie.getMetrics();
+    assertEquals(NUM_TESTS, metrics.getLookupCount());
+    assertEquals(hits, metrics.getHitCount());
+    assertEquals(NUM_TESTS - hits, metrics.getMissCount());
+    assertEquals(NUM_TESTS, metrics.getSetCount());
+    assertEquals(1, metrics.getRemoveCount());
+    long sampled = 0;
+    for (long count : metrics.getLookupLatencyHistogram()) {
+      sampled += count;
+    }
+    assertEquals(NUM_TESTS / 16 + (NUM_TESTS % 16 == 0 ? 0 : 1), sampled);
+    assertTrue(metrics.getLookupLatencyPercentileNanos(50) > 0);
+    assertTrue(metrics.getLookupLatencyPercentileNanos(50)
+        <= metrics.getLookupLatencyPercentileNanos(99));
+    assertEquals(4, metrics.getMaxDepth());
+    assertEquals(4.0, metrics.getAverageDepth());
+
+    trie.resetMetrics();
+    assertEquals(0, trie.getMetrics().getLookupCount());
+    List<Map.Entry<ByteBasedInteger, Integer>> entries = new ArrayList<>();
+    for (int i = 0; i < NUM_TESTS; i++) {
+      entries.add(new AbstractMap.SimpleEntry<>(ByteBasedInteger.of(i), i));
+    }
+    trie.setValuesInParallel(entries);
+    assertEquals(NUM_TESTS, trie.getMetrics().getSetCount());
+    assertEquals(0, trie.getMetrics().getLookupLatencyPercentileNanos(99));
+    assertThrows(IllegalArgumentException.class,
+        () -> new ByteBasedInstrumentedTrie<Integer>(ByteBasedTrie.KeyOrder.STANDARD, 3));
+  }
+
+  @Test
+  public void testStructureAndMBean() throws Exception {
+    ByteBasedInstrumentedTrie<String> trie = new ByteBasedInstrumentedTrie<>();
+    for (String key : new String[]{"a", "ab", "b"}) {
+      trie.setValue(ByteBasedString.of(key), key);
+    }
+    ByteBasedTrieMetrics metrics = trie.getMetrics();
+    assertEquals(3, metrics.getEntryCount());
+    assertEquals(4, metrics.getNodeCount());
+    assertEquals(2, metrics.getMaxDepth());
+    assertEquals(4.0 / 3, metrics.getAverageDepth(), 1e-9);
+    long[] fanOut = metrics.getFanOutHistogram();
+    assertEquals(257, fanOut.length);
+    assertEquals(2, fanOut[0]);
+    assertEquals(1, fanOut[1]);
+    assertEquals(1, fanOut[2]);
+    assertTrue(metrics.getEstimatedMemoryBytes() >= 4 * 256 * 4);
+
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName name = new ObjectName("com.micatechnologies.micautils_j8:type=ByteBasedTrie,name="
+        + getClass().getSimpleName());
+    trie.registerMBean(name);
+    try {
+      assertThrows(IllegalStateException.class, () -> trie.registerMBean(name));
+      trie.getValue(ByteBasedString.of("a"));
+      trie.getValue(ByteBasedString.of("c"));
+      assertEquals(2L, server.getAttribute(name, "LookupCount"));
+      assertEquals(1L, server.getAttribute(name, "MissCount"));
+      assertEquals(3L, server.getAttribute(name, "EntryCount"));
+      assertArrayEquals(fanOut, (long[]) server.getAttribute(name, "FanOutHistogram"));
+    } finally {
+      trie.unregisterMBean();
+    }
+    assertFalse(server.isRegistered(name));
+  }
+}
@@ -0,0 +1,107 @@
+package com.micatechnologies.micautils_j8.data;
+
+import com.micatechnologies.micautils_j8.types.ByteBased;
+import com.micatechnologies.micautils_j8.types.MutableByteBasedLong;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Manual throughput benchmark comparing {@link ByteBasedStripedTrie} with a {@link ByteBasedTrie}
+ * behind a single lock. It is not run as part of the test suite; run its {@code main} method with
+ * the test classpath, optionally passing the number of threads, the read percentage and the
+ * duration of each run in seconds.
+ */
+public class ByteBasedStripedTrieBenchmark {
+
+  private static final int KEY_SPACE = 1 << 20;
+
+  private interface BenchmarkTrie {
+
+    Object getValue(ByteBased key);
+
+    void setValue(ByteBased key, Object value);
+  }
+
+  public static void main(String[] args) throws InterruptedException {
+    int threads = args.length > 0 ? Integer.parseInt(args[0])
+        : Runtime.getRuntime().availableProcessors();
+    int readPercent = args.length > 1 ? Integer.parseInt(args[1]) : 90;
+    int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+    ByteBasedTrie<Object> globalTrie = new ByteBasedTrie<>();
+    BenchmarkTrie global = new BenchmarkTrie() {
+      @Override
+      public synchronized Object getValue(ByteBased key) {
+        return globalTrie.getValue(key);
+      }
+
+      @Override
+      public synchronized void setValue(ByteBased key, Object value) {
+        globalTrie.setValue(key, value);
+      }
+    };
+    ByteBasedStripedTrie<Object> stripedTrie = new ByteBasedStripedTrie<>();
+    BenchmarkTrie striped = new BenchmarkTrie() {
+      @Override
+      public Object getValue(ByteBased key) {
+        return stripedTrie.getValue(key);
+      }
+
+      @Override
+      public void setValue(ByteBased key, Object value) {
+        stripedTrie.setValue(key, value);
+      }
+    };
+
+    System.out.printf("threads=%d reads=%d%% duration=%ds%n", threads, readPercent, seconds);
+    for (int round = 0; round < 2; round++) {
+      report(round == 0 ? "warm-up synchronized" : "synchronized",
+          run(global, threads, readPercent, seconds));
+      report(round == 0 ? "warm-up striped" : "striped",
+          run(striped, threads, readPercent, seconds));
+    }
+  }
+
+  private static long run(BenchmarkTrie trie, int threads, int readPercent, int seconds)
+      throws InterruptedException {
+    LongAdder operations = new LongAdder();
+    CountDownLatch start = new CountDownLatch(1);
+    long deadline = System.nanoTime() + seconds * 1_000_000_000L + 100_000_000L;
+    Thread[] workers = new Thread[threads];
+    for (int t = 0; t < threads; t++) {
+      long seed = t;
+      workers[t] = new Thread(() -> {
+        SplittableRandom random = new SplittableRandom(seed);
+        MutableByteBasedLong key = new MutableByteBasedLong();
+        Object value = new Object();
+        long count = 0;
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          return;
+        }
+        while ((count & 1023) != 0 || System.nanoTime() < deadline) {
+          key.set(random.nextInt(KEY_SPACE) * 0x9E3779B97F4A7C15L);
+          if (random.nextInt(100) < readPercent) {
+            trie.getValue(key);
+          } else {
+            trie.setValue(key, value);
+          }
+          count++;
+        }
+        operations.add(count);
+      });
+      workers[t].start();
+    }
+    start.countDown();
+    for (Thread worker : workers) {
+      worker.join();
+    }
+    return operations.sum() / seconds;
+  }
+
+  private static void report(String name, long operationsPerSecond) {
+    System.out.printf("%-22s %,15d ops/s%n", name, operationsPerSecond);
+  }
+}
@@ -0,0 +1,95 @@
+package com.micatechnologies.micautils_j8.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.micatechnologies.micautils_j8.types.ByteBasedInteger;
+import com.micatechnologies.micautils_j8.types.ByteBasedSlice;
+import com.micatechnologies.micautils_j8.types.ByteBasedString;
+import com.micatechnologies.micautils_j8.types.MutableByteBasedInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class ByteBasedStripedTrieTests {
+
+  private static final int NUM_TESTS = 10000; // Number of random values to test
+  private static final int NUM_THREADS = 8;
+  private final Random random = new Random();
+
+  @Test
+  public void testSingleThreadedOperations() {
+    ByteBasedStripedTrie<String> trie = new ByteBasedStripedTrie<>();
+    assertEquals(256, trie.getStripeCount());
+    Map<Integer, String> referenceMap = new HashMap<>();
+    for (int i = 0; i < NUM_TESTS; i++) {
+      int key = random.nextInt();
+      String value = Integer.toString(key);
+      trie.setValue(ByteBasedInteger.of(key), value);
+      referenceMap.put(key, value);
+    }
+    for (Map.Entry<Integer, String> entry : referenceMap.entrySet()) {
+      assertEquals(entry.getValue(), trie.getValue(ByteBasedInteger.of(entry.getKey())));
+    }
+    List<String> values = new ArrayList<>();
+    for (String value : trie) {
+      values.add(value);
+    }
+    assertEquals(referenceMap.size(), values.size());
+    for (Integer key : referenceMap.keySet()) {
+      assertEquals(referenceMap.get(key), trie.remove(ByteBasedInteger.of(key)));
+    }
+    assertFalse(trie.iterator().hasNext());
+
+    ByteBasedStripedTrie<String> strings =
+        new ByteBasedStripedTrie<>(2, ByteBasedTrie.KeyOrder.STANDARD);
+    for (String key : new String[]{"", "apple", "apricot", "banana"}) {
+      strings.setValue(ByteBasedString.of(key), key);
+    }
+    assertEquals(Arrays.asList("apple", "apricot"),
+        strings.getValuesWithPrefix(ByteBasedString.of("ap")));
+    assertEquals(Arrays.asList("", "apple", "apricot", "banana"),
+        strings.getValuesWithPrefix(ByteBasedSlice.of(new byte[0])));
+    assertThrows(IllegalArgumentException.class,
+        () -> new ByteBasedStripedTrie<String>(9, ByteBasedTrie.KeyOrder.STANDARD));
+  }
+
+  @Test
+  public void testConcurrentReadersAndWriters() throws Exception {
+    ByteBasedStripedTrie<Integer> trie = new ByteBasedStripedTrie<>();
+    ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < NUM_THREADS; t++) {
+        int thread = t;
+        futures.add(executor.submit(() -> {
+          MutableByteBasedInteger key = new MutableByteBasedInteger();
+          for (int i = thread; i < NUM_TESTS * NUM_THREADS; i += NUM_THREADS) {
+            trie.setValue(key.set(Integer.reverse(i)), i);
+            assertEquals(Integer.valueOf(i), trie.getValue(key));
+            int other = Integer.reverse(i - thread);
+            Integer value = trie.getValue(key.set(other));
+            assertTrue(value == null || value == i - thread);
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get(60, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    MutableByteBasedInteger key = new MutableByteBasedInteger();
+    for (int i = 0; i < NUM_TESTS * NUM_THREADS; i++) {
+      assertEquals(Integer.valueOf(i), trie.getValue(key.set(Integer.reverse(i))));
+    }
+  }
+}
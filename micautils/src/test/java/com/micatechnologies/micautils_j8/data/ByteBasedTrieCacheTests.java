@@ -0,0 +1,99 @@
+package com.micatechnologies.micautils_j8.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.micatechnologies.micautils_j8.types.ByteBasedInteger;
+import com.micatechnologies.micautils_j8.types.ByteBasedString;
+import com.micatechnologies.micautils_j8.types.MutableByteBasedInteger;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class ByteBasedTrieCacheTests {
+
+  private static final int NUM_TESTS = 10000; // Number of random values to test
+  private static final int MAX_ENTRIES = 100;
+  private final Random random = new Random();
+
+  @Test
+  public void testLeastRecentlyUsedEviction() {
+    ByteBasedTrieCache<String> cache = new ByteBasedTrieCache<>(2);
+    assertNull(cache.put(ByteBasedString.of("a"), "1"));
+    assertNull(cache.put(ByteBasedString.of("b"), "2"));
+    assertEquals("1", cache.get(ByteBasedString.of("a")));
+    assertNull(cache.put(ByteBasedString.of("c"), "3"));
+    assertNull(cache.get(ByteBasedString.of("b")));
+    assertEquals("1", cache.get(ByteBasedString.of("a")));
+    assertEquals("3", cache.get(ByteBasedString.of("c")));
+    assertEquals(2, cache.size());
+    assertEquals(3, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(1, cache.getEvictionCount());
+    assertEquals(0.75, cache.getHitRate());
+
+    assertEquals("3", cache.put(ByteBasedString.of("c"), "4"));
+    assertEquals("4", cache.remove(ByteBasedString.of("c")));
+    assertNull(cache.remove(ByteBasedString.of("c")));
+    assertEquals(1, cache.size());
+    assertEquals(1, cache.getEvictionCount());
+    cache.clear();
+    assertEquals(0, cache.size());
+    cache.resetStats();
+    assertEquals(1.0, cache.getHitRate());
+    assertThrows(IllegalArgumentException.class, () -> new ByteBasedTrieCache<String>(0));
+    assertThrows(NullPointerException.class, () -> cache.put(ByteBasedString.of("a"), null));
+  }
+
+  @Test
+  public void testWeightBound() {
+    ByteBasedTrieCache<String> cache = new ByteBasedTrieCache<>(10, String::length);
+    cache.put(ByteBasedString.of("a"), "aaaa");
+    cache.put(ByteBasedString.of("b"), "bbbb");
+    assertEquals(8, cache.weight());
+    cache.put(ByteBasedString.of("c"), "cccc");
+    assertEquals(8, cache.weight());
+    assertNull(cache.get(ByteBasedString.of("a")));
+    cache.put(ByteBasedString.of("b"), "b");
+    assertEquals(5, cache.weight());
+    cache.put(ByteBasedString.of("d"), "dddddddddddd");
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.weight());
+    assertEquals(4, cache.getEvictionCount());
+  }
+
+  @Test
+  public void testMatchesReferenceAndLoads() {
+    ByteBasedTrieCache<Integer> cache = new ByteBasedTrieCache<>(MAX_ENTRIES);
+    Map<Integer, Integer> reference = new LinkedHashMap<Integer, Integer>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest) {
+        return size() > MAX_ENTRIES;
+      }
+    };
+    MutableByteBasedInteger key = new MutableByteBasedInteger();
+    for (int i = 0; i < NUM_TESTS; i++) {
+      int k = random.nextInt(MAX_ENTRIES * 2);
+      if (random.nextBoolean()) {
+        assertEquals(reference.put(k, i), cache.put(key.set(k), i));
+      } else {
+        assertEquals(reference.get(k), cache.get(key.set(k)));
+      }
+    }
+    assertEquals(reference.size(), cache.size());
+
+    int loads = 0;
+    for (int k = 0; k < MAX_ENTRIES * 2; k++) {
+      int loadedValue = -k;
+      Integer expected = reference.get(k);
+      if (expected == null) {
+        expected = loadedValue;
+        reference.put(k, loadedValue);
+        loads++;
+      }
+      assertEquals(expected, cache.get(ByteBasedInteger.of(k), loaded -> loadedValue));
+    }
+    assertEquals(MAX_ENTRIES, cache.size());
+    assertTrue(loads > 0);
+  }
+}
@@ -0,0 +1,131 @@
+package com.micatechnologies.micautils_j8.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.micatechnologies.micautils_j8.types.ByteBasedInteger;
+import com.micatechnologies.micautils_j8.types.ByteBasedLong;
+import com.micatechnologies.micautils_j8.types.ByteBasedSlice;
+import com.micatechnologies.micautils_j8.types.ByteBasedSortableInteger;
+import com.micatechnologies.micautils_j8.types.MutableByteBasedInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+public class ByteBasedTrieSetTests {
+
+  private static final int NUM_TESTS = 10000; // Number of random values to test
+  private final Random random = new Random();
+
+  @Test
+  public void testAddContainsAndRemove() {
+    ByteBasedTrieSet set = new ByteBasedTrieSet(4);
+    Set<Integer> referenceSet = new HashSet<>();
+    MutableByteBasedInteger key = new MutableByteBasedInteger();
+    for (int i = 0; i < NUM_TESTS; i++) {
+      int value = random.nextInt(NUM_TESTS * 4);
+      assertEquals(referenceSet.add(value), set.add(key.set(value)));
+    }
+    assertEquals(referenceSet.size(), set.size());
+    for (int i = 0; i < NUM_TESTS * 4; i++) {
+      assertEquals(referenceSet.contains(i), set.contains(key.set(i)));
+    }
+    for (int i = 0; i < NUM_TESTS; i++) {
+      int value = random.nextInt(NUM_TESTS * 4);
+      assertEquals(referenceSet.remove(value), set.remove(key.set(value)));
+      assertFalse(set.contains(key));
+    }
+    assertEquals(referenceSet.size(), set.size());
+    for (int value : referenceSet) {
+      assertTrue(set.remove(key.set(value)));
+    }
+    assertTrue(set.isEmpty());
+    assertFalse(set.iterator().hasNext());
+    assertThrows(IllegalArgumentException.class, () -> set.add(ByteBasedLong.of(1L)));
+  }
+
+  @Test
+  public void testIterationInKeyOrder() {
+    ByteBasedTrieSet set = new ByteBasedTrieSet(4);
+    TreeSet<Integer> referenceSet = new TreeSet<>();
+    for (int i = 0; i < NUM_TESTS; i++) {
+      int value = random.nextInt();
+      set.add(ByteBasedSortableInteger.of(value));
+      referenceSet.add(value);
+    }
+    List<Integer> values = new ArrayList<>();
+    for (ByteBasedSlice key : set) {
+      values.add(ByteBuffer.wrap(key.toBytes()).getInt() ^ Integer.MIN_VALUE);
+    }
+    assertEquals(new ArrayList<>(referenceSet), values);
+
+    ByteBasedTrieSet reversed = new ByteBasedTrieSet(4, ByteBasedTrie.KeyOrder.REVERSED);
+    for (int value : referenceSet) {
+      reversed.add(ByteBasedInteger.of(value));
+    }
+    Set<Integer> reversedValues = new HashSet<>();
+    for (ByteBasedSlice key : reversed) {
+      reversedValues.add(ByteBuffer.wrap(key.toBytes()).getInt());
+    }
+    assertEquals(referenceSet, reversedValues);
+
+    ByteBasedTrieSet single = new ByteBasedTrieSet(1);
+    single.add(ByteBasedSlice.of(new byte[]{(byte) 0xFF}));
+    single.add(ByteBasedSlice.of(new byte[]{0x01}));
+    List<Byte> bytes = new ArrayList<>();
+    for (ByteBasedSlice key : single) {
+      bytes.add(key.byteAt(0));
+    }
+    assertEquals(2, single.size());
+    assertEquals(Arrays.asList((byte) 0x01, (byte) 0xFF), bytes);
+  }
+
+  @Test
+  public void testSetAlgebra() {
+    ByteBasedTrieSet a = new ByteBasedTrieSet(4);
+    ByteBasedTrieSet b = new ByteBasedTrieSet(4);
+    Set<Integer> referenceA = new HashSet<>();
+    Set<Integer> referenceB = new HashSet<>();
+    for (int i = 0; i < NUM_TESTS; i++) {
+      int valueA = random.nextInt(NUM_TESTS * 2) * (random.nextBoolean() ? 1 : 65_537);
+      int valueB = random.nextInt(NUM_TESTS * 2) * (random.nextBoolean() ? 1 : 65_537);
+      a.add(ByteBasedInteger.of(valueA));
+      b.add(ByteBasedInteger.of(valueB));
+      referenceA.add(valueA);
+      referenceB.add(valueB);
+    }
+
+    Set<Integer> union = new HashSet<>(referenceA);
+    union.addAll(referenceB);
+    Set<Integer> intersection = new HashSet<>(referenceA);
+    intersection.retainAll(referenceB);
+    Set<Integer> difference = new HashSet<>(referenceA);
+    difference.removeAll(referenceB);
+
+    assertSetEquals(union, a.union(b));
+    assertSetEquals(intersection, a.intersection(b));
+    assertSetEquals(difference, a.difference(b));
+    assertSetEquals(referenceA, a.difference(new ByteBasedTrieSet(4)));
+    assertTrue(a.intersection(new ByteBasedTrieSet(4)).isEmpty());
+    assertTrue(a.difference(a).isEmpty());
+    assertEquals(referenceA.size(), a.size());
+    assertThrows(IllegalArgumentException.class, () -> a.union(new ByteBasedTrieSet(8)));
+  }
+
+  private static void assertSetEquals(Set<Integer> expected, ByteBasedTrieSet actual) {
+    Set<Integer> values = new HashSet<>();
+    for (ByteBasedSlice key : actual) {
+      values.add(ByteBuffer.wrap(key.toBytes()).getInt());
+    }
+    assertEquals(expected, values);
+    assertEquals(expected.size(), actual.size());
+    for (int value : expected) {
+      assertTrue(actual.contains(ByteBasedInteger.of(value)));
+    }
+  }
+}
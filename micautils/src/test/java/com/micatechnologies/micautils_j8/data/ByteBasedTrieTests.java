@@ -2,14 +2,33 @@ package com.micatechnologies.micautils_j8.data;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.micatechnologies.micautils_j8.types.ByteBased;
+import com.micatechnologies.micautils_j8.types.ByteBasedBufferSlice;
+import com.micatechnologies.micautils_j8.types.ByteBasedChar;
+import com.micatechnologies.micautils_j8.types.ByteBasedInstant;
 import com.micatechnologies.micautils_j8.types.ByteBasedInteger;
+import com.micatechnologies.micautils_j8.types.ByteBasedLong;
+import com.micatechnologies.micautils_j8.types.ByteBasedSlice;
+import com.micatechnologies.micautils_j8.types.ByteBasedSortableInteger;
+import com.micatechnologies.micautils_j8.types.ByteBasedString;
+import com.micatechnologies.micautils_j8.types.ByteBasedTuple;
+import com.micatechnologies.micautils_j8.types.ByteBasedUUID;
+import com.micatechnologies.micautils_j8.types.MutableByteBasedInteger;
+import com.micatechnologies.micautils_j8.types.MutableByteBasedLong;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -99,8 +118,8 @@ public class ByteBasedTrieTests {
     String value1 = "firstValue";
     String value2 = "secondValue";
 
-    trie.setValue(key, value1);
-    trie.setValue(key, value2);
+    assertNull(trie.setValue(key, value1));
+    assertEquals(value1, trie.setValue(key, value2));
 
     int count = 0;
     for (String trieValue : trie) {
@@ -420,4 +439,372 @@ public class ByteBasedTrieTests {
     // Verification
     verifyTrieMatchesReferenceMap(referenceMap);
   }
+
+  @Test
+  public void testValuesInRange() {
+    ByteBasedTrie<Integer> sortableTrie = new ByteBasedTrie<>();
+    List<Integer> inserted = new ArrayList<>();
+    for (int i = 0; i < NUM_TESTS; i++) {
+      int key = random.nextInt(2000) - 1000;
+      if (sortableTrie.getValue(ByteBasedSortableInteger.of(key)) == null) {
+        inserted.add(key);
+      }
+      sortableTrie.setValue(ByteBasedSortableInteger.of(key), key);
+    }
+    Collections.sort(inserted);
+
+    int from = random.nextInt(1000) - 750;
+    int to = from + random.nextInt(1000);
+    List<Integer> expected = new ArrayList<>();
+    for (int key : inserted) {
+      if (key >= from && key <= to) {
+        expected.add(key);
+      }
+    }
+    assertEquals(expected, sortableTrie.getValuesInRange(ByteBasedSortableInteger.of(from),
+        ByteBasedSortableInteger.of(to)));
+    assertEquals(inserted, sortableTrie.getValuesInRange(
+        ByteBasedSortableInteger.of(Integer.MIN_VALUE),
+        ByteBasedSortableInteger.of(Integer.MAX_VALUE)));
+    assertTrue(sortableTrie.getValuesInRange(ByteBasedSortableInteger.of(to),
+        ByteBasedSortableInteger.of(from - 1)).isEmpty());
+  }
+
+  @Test
+  public void testStringKeysWithSharedPrefixes() {
+    String[] keys = {"", "a", "ab", "abc", "abd", "b", "caf\u00e9", "caf"};
+    for (String key : keys) {
+      trie.setValue(ByteBasedString.of(key), "value:" + key);
+    }
+    for (String key : keys) {
+      assertEquals("value:" + key, trie.getValue(ByteBasedString.of(key)));
+    }
+    assertNull(trie.getValue(ByteBasedString.of("abcd")));
+
+    List<String> values = new ArrayList<>();
+    for (String value : trie) {
+      values.add(value);
+    }
+    assertEquals(keys.length, values.size());
+
+    assertEquals("value:ab", trie.remove(ByteBasedString.of("ab")));
+    assertNull(trie.getValue(ByteBasedString.of("ab")));
+    assertEquals("value:abc", trie.getValue(ByteBasedString.of("abc")));
+    assertEquals(Arrays.asList("value:a", "value:abc", "value:abd"),
+        trie.getValuesInRange(ByteBasedString.of("a"), ByteBasedString.of("abz")));
+  }
+
+  @Test
+  public void testUUIDKeys() {
+    Map<UUID, String> referenceMap = new HashMap<>();
+    for (int i = 0; i < NUM_TESTS; i++) {
+      UUID key = UUID.randomUUID();
+      String value = generateRandomValue();
+      trie.setValue(ByteBasedUUID.of(key), value);
+      referenceMap.put(key, value);
+    }
+    for (Map.Entry<UUID, String> entry : referenceMap.entrySet()) {
+      assertEquals(entry.getValue(), trie.getValue(ByteBasedUUID.of(entry.getKey())));
+    }
+  }
+
+  @Test
+  public void testSliceKeysMatchCopiedKeys() {
+    ByteBuffer frames = ByteBuffer.allocateDirect(NUM_TESTS * 6);
+    for (int i = 0; i < NUM_TESTS; i++) {
+      int key = random.nextInt();
+      trie.setValue(ByteBasedInteger.of(key), Integer.toString(key));
+      frames.putShort((short) i).putInt(key);
+    }
+
+    byte[] heapFrames = new byte[frames.capacity()];
+    frames.flip();
+    frames.duplicate().get(heapFrames);
+    for (int i = 0; i < NUM_TESTS; i++) {
+      String expected = Integer.toString(frames.getInt(i * 6 + 2));
+      assertEquals(expected, trie.getValue(ByteBasedBufferSlice.of(frames, i * 6 + 2, 4)));
+      assertEquals(expected, trie.getValue(ByteBasedSlice.of(heapFrames, i * 6 + 2, 4)));
+    }
+  }
+
+  @Test
+  public void testTupleKeysWithTenantPrefix() {
+    Map<Integer, List<String>> referenceMap = new HashMap<>();
+    for (int i = 0; i < NUM_TESTS; i++) {
+      int tenant = random.nextInt(16);
+      String value = tenant + ":" + i;
+      trie.setValue(ByteBasedTuple.of(ByteBasedInteger.of(tenant), ByteBasedSortableInteger.of(i)),
+          value);
+      referenceMap.computeIfAbsent(tenant, k -> new ArrayList<>()).add(value);
+    }
+    for (Map.Entry<Integer, List<String>> entry : referenceMap.entrySet()) {
+      ByteBasedTuple prefix = ByteBasedTuple.of(ByteBasedInteger.of(entry.getKey()));
+      assertEquals(entry.getValue(), trie.getValuesWithPrefix(prefix));
+    }
+    assertTrue(trie.getValuesWithPrefix(ByteBasedTuple.of(ByteBasedInteger.of(-1))).isEmpty());
+    assertEquals(NUM_TESTS, trie.getValuesWithPrefix(ByteBasedTuple.of()).size());
+  }
+
+  @Test
+  public void testSeparatedTupleKeysDoNotMatchPartialComponents() {
+    trie.setValue(ByteBasedTuple.ofSeparated(ByteBasedString.of("acme"), ByteBasedString.of("x")),
+        "acme:x");
+    trie.setValue(ByteBasedTuple.ofSeparated(ByteBasedString.of("acme"), ByteBasedString.of("y")),
+        "acme:y");
+    trie.setValue(ByteBasedTuple.ofSeparated(ByteBasedString.of("acmecorp"),
+        ByteBasedString.of("x")), "acmecorp:x");
+
+    assertEquals(Arrays.asList("acme:x", "acme:y"),
+        trie.getValuesWithPrefix(ByteBasedTuple.ofSeparated(ByteBasedString.of("acme"))));
+    assertEquals(3, trie.getValuesWithPrefix(ByteBasedString.of("acme")).size());
+  }
+
+  @Test
+  public void testReusedMutableKeys() {
+    Map<Long, String> referenceMap = new HashMap<>();
+    MutableByteBasedLong key = new MutableByteBasedLong();
+    for (int i = 0; i < NUM_TESTS; i++) {
+      long id = random.nextLong();
+      String value = generateRandomValue();
+      trie.setValue(key.set(id), value);
+      referenceMap.put(id, value);
+    }
+    for (Map.Entry<Long, String> entry : referenceMap.entrySet()) {
+      assertEquals(entry.getValue(), trie.getValue(key.set(entry.getKey())));
+      assertEquals(entry.getValue(), trie.getValue(ByteBasedLong.of(entry.getKey())));
+    }
+
+    MutableByteBasedInteger intKey = new MutableByteBasedInteger(42);
+    trie.setValue(intKey, "42");
+    intKey.set(43);
+    assertEquals("42", trie.getValue(ByteBasedInteger.of(42)));
+    assertNull(trie.getValue(intKey));
+    assertEquals(ByteBasedInteger.of(43), intKey.toImmutable());
+  }
+
+  @Test
+  public void testInstantWindowsAndBuckets() {
+    Instant start = Instant.parse("1969-12-31T22:00:00Z");
+    long[] offsets = new long[NUM_TESTS];
+    for (int i = 0; i < NUM_TESTS; i++) {
+      offsets[i] = i * 1_000L + random.nextInt(1_000);
+    }
+    for (long offset : offsets) {
+      Instant time = start.plusMillis(offset);
+      trie.setValue(ByteBasedInstant.of(time), "event:" + offset);
+      trie.setValue(ByteBasedTuple.of(ByteBasedChar.of('h'),
+          ByteBasedInstant.of(time, ChronoUnit.HOURS), ByteBasedInstant.of(time)),
+          "bucket:" + offset);
+    }
+
+    List<String> window = trie.getValuesInRange(ByteBasedInstant.of(start.plusSeconds(3_590)),
+        ByteBasedInstant.of(start.plusSeconds(3_610)));
+    List<String> expectedWindow = new ArrayList<>();
+    List<String> expectedBucket = new ArrayList<>();
+    for (long offset : offsets) {
+      if (offset >= 3_590_000 && offset <= 3_610_000) {
+        expectedWindow.add("event:" + offset);
+      }
+      if (offset >= 3_600_000 && offset < 7_200_000) {
+        expectedBucket.add("bucket:" + offset);
+      }
+    }
+    assertEquals(expectedWindow, window);
+    assertEquals(expectedBucket, trie.getValuesWithPrefix(ByteBasedTuple.of(ByteBasedChar.of('h'),
+        ByteBasedInstant.of(Instant.parse("1969-12-31T23:00:00Z"), ChronoUnit.HOURS))));
+  }
+
+  @Test
+  public void testReversedKeyOrder() {
+    ByteBasedTrie<String> reversed = new ByteBasedTrie<>(ByteBasedTrie.KeyOrder.REVERSED);
+    assertEquals(ByteBasedTrie.KeyOrder.REVERSED, reversed.getKeyOrder());
+    assertEquals(ByteBasedTrie.KeyOrder.STANDARD, trie.getKeyOrder());
+
+    Map<Long, String> referenceMap = new HashMap<>();
+    long base = random.nextLong();
+    for (int i = 0; i < NUM_TESTS; i++) {
+      long id = base + i;
+      String value = generateRandomValue();
+      reversed.setValue(ByteBasedLong.of(id), value);
+      referenceMap.put(id, value);
+    }
+    MutableByteBasedLong key = new MutableByteBasedLong();
+    for (Map.Entry<Long, String> entry : referenceMap.entrySet()) {
+      assertEquals(entry.getValue(), reversed.getValue(key.set(entry.getKey())));
+      assertEquals(entry.getValue(), reversed.getValue(ByteBasedSlice.of(key.toBytes())));
+    }
+    assertEquals(referenceMap.get(base), reversed.remove(ByteBasedLong.of(base)));
+    assertNull(reversed.getValue(ByteBasedLong.of(base)));
+
+    ByteBasedTrie<String> files = new ByteBasedTrie<>(ByteBasedTrie.KeyOrder.REVERSED);
+    for (String name : new String[]{"a.txt", "b.txt", "a.csv", "txt"}) {
+      files.setValue(ByteBasedString.of(name), name);
+    }
+    assertEquals(Arrays.asList("txt", "a.txt", "b.txt"),
+        files.getValuesWithPrefix(ByteBasedString.of("txt")));
+    assertEquals(Arrays.asList("a.txt", "b.txt"),
+        files.getValuesInRange(ByteBasedString.of("a.txt"), ByteBasedString.of("b.txt")));
+  }
+
+  @Test
+  public void testParallelBulkInsert() {
+    Map<ByteBasedInteger, String> referenceMap = populateTrieAndReferenceMap();
+    List<Map.Entry<ByteBased, String>> entries = new ArrayList<>();
+    for (int i = 0; i < NUM_TESTS; i++) {
+      ByteBasedInteger key = generateRandomKey();
+      String value = generateRandomValue();
+      // Mix key types, and add duplicates whose later values must win
+      entries.add(new AbstractMap.SimpleEntry<>(ByteBasedSlice.of(key.toBytes()), "old"));
+      entries.add(new AbstractMap.SimpleEntry<>(key, value));
+      referenceMap.put(key, value);
+    }
+    entries.add(new AbstractMap.SimpleEntry<>(ByteBasedString.of(""), "root"));
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      trie.setValuesInParallel(entries, pool);
+    } finally {
+      pool.shutdown();
+    }
+    for (Map.Entry<ByteBasedInteger, String> entry : referenceMap.entrySet()) {
+      assertEquals(entry.getValue(), trie.getValue(entry.getKey()));
+    }
+    assertEquals("root", trie.getValue(ByteBasedString.of("")));
+    int count = 0;
+    for (String ignored : trie) {
+      count++;
+    }
+    assertEquals(referenceMap.size() + 1, count);
+
+    ByteBasedTrie<String> reversed = new ByteBasedTrie<>(ByteBasedTrie.KeyOrder.REVERSED);
+    reversed.setValuesInParallel(Collections.singletonMap(ByteBasedLong.of(1L), "one").entrySet());
+    assertEquals("one", reversed.getValue(ByteBasedLong.of(1L)));
+  }
+
+  @Test
+  public void testMergeIntersectAndDiff() {
+    Map<Integer, String> left = new HashMap<>();
+    Map<Integer, String> right = new HashMap<>();
+    for (int i = 0; i < NUM_TESTS; i++) {
+      int key = random.nextInt(NUM_TESTS * 4) - NUM_TESTS * 2;
+      String value = Integer.toString(random.nextInt(4));
+      (random.nextBoolean() ? left : right).put(key, value);
+    }
+    Map<Integer, String> merged = new HashMap<>(left);
+    right.forEach((key, value) -> merged.merge(key, value, String::concat));
+    Map<Integer, String> intersected = new HashMap<>();
+    Map<Integer, String> changed = new HashMap<>(left);
+    for (Map.Entry<Integer, String> entry : left.entrySet()) {
+      String otherValue = right.get(entry.getKey());
+      if (otherValue != null) {
+        intersected.put(entry.getKey(), entry.getValue() + otherValue);
+        if (otherValue.equals(entry.getValue())) {
+          changed.remove(entry.getKey());
+        }
+      }
+    }
+    Map<Integer, String> removed = new HashMap<>(left);
+    removed.keySet().removeAll(right.keySet());
+
+    ByteBasedTrie<String> other = trieOf(right);
+    ByteBasedTrie<String> union = trieOf(left);
+    union.merge(other, String::concat);
+    assertTrieEquals(merged, union);
+    ByteBasedTrie<String> intersection = trieOf(left);
+    intersection.intersect(other, String::concat);
+    assertTrieEquals(intersected, intersection);
+    ByteBasedTrie<String> difference = trieOf(left);
+    difference.diff(other);
+    assertTrieEquals(removed, difference);
+    ByteBasedTrie<String> changes = trieOf(left);
+    changes.diff(other, (value, otherValue) -> value.equals(otherValue) ? null : value);
+    assertTrieEquals(changed, changes);
+    assertTrieEquals(right, other);
+
+    // Merged subtrees are copied, so later changes to the other trie do not affect the union
+    for (Integer key : right.keySet()) {
+      other.remove(ByteBasedInteger.of(key));
+    }
+    assertTrieEquals(merged, union);
+    union.diff(union);
+    assertFalse(union.iterator().hasNext());
+    assertThrows(IllegalArgumentException.class,
+        () -> union.merge(new ByteBasedTrie<>(ByteBasedTrie.KeyOrder.REVERSED), String::concat));
+  }
+
+  private ByteBasedTrie<String> trieOf(Map<Integer, String> map) {
+    ByteBasedTrie<String> result = new ByteBasedTrie<>();
+    map.forEach((key, value) -> result.setValue(ByteBasedInteger.of(key), value));
+    return result;
+  }
+
+  private void assertTrieEquals(Map<Integer, String> expected, ByteBasedTrie<String> actual) {
+    for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+      assertEquals(entry.getValue(), actual.getValue(ByteBasedInteger.of(entry.getKey())));
+    }
+    int count = 0;
+    for (String ignored : actual) {
+      count++;
+    }
+    assertEquals(expected.size(), count);
+  }
+
+  @Test
+  public void testCompaction() {
+    ByteBasedInstrumentedTrie<Integer> churned = new ByteBasedInstrumentedTrie<>();
+    Map<Integer, Integer> referenceMap = new HashMap<>();
+    for (int i = 0; i < NUM_TESTS; i++) {
+      int key = random.nextInt();
+      churned.setValue(ByteBasedInteger.of(key), i);
+      referenceMap.put(key, i);
+    }
+    Iterator<Integer> keys = referenceMap.keySet().iterator();
+    while (referenceMap.size() > NUM_TESTS / 10) {
+      int key = keys.next();
+      // Clearing values with setValue leaves empty nodes, which compaction removes
+      if (random.nextBoolean()) {
+        churned.remove(ByteBasedInteger.of(key));
+      } else {
+        churned.setValue(ByteBasedInteger.of(key), null);
+      }
+      keys.remove();
+    }
+    ByteBasedTrieMetrics before = churned.getMetrics();
+    long reclaimed = churned.compact();
+    ByteBasedTrieMetrics after = churned.getMetrics();
+    assertTrue(reclaimed > before.getEstimatedMemoryBytes() / 2);
+    assertEquals(before.getEstimatedMemoryBytes() - reclaimed, after.getEstimatedMemoryBytes());
+    assertTrue(after.getNodeCount() < before.getNodeCount());
+    assertEquals(referenceMap.size(), after.getEntryCount());
+    assertEquals(0, churned.compact());
+
+    // Compacted nodes accept new children, and become dense again when they outgrow sparse form
+    int base = random.nextInt() & ~0xFFFF;
+    for (int i = 0; i < 0x10000; i += 0x101) {
+      churned.setValue(ByteBasedInteger.of(base + i), i);
+      referenceMap.put(base + i, i);
+    }
+    for (Map.Entry<Integer, Integer> entry : referenceMap.entrySet()) {
+      assertEquals(entry.getValue(), churned.getValue(ByteBasedInteger.of(entry.getKey())));
+    }
+    for (int i = 0; i < 0x10000; i += 0x101) {
+      assertEquals(Integer.valueOf(i), churned.remove(ByteBasedInteger.of(base + i)));
+      referenceMap.remove(base + i);
+    }
+    List<Integer> values = new ArrayList<>();
+    churned.forEach(values::add);
+    assertEquals(referenceMap.size(), values.size());
+
+    // Incremental compaction covers the whole trie after one call per root child plus the root
+    ByteBasedTrie<Integer> incremental = new ByteBasedTrie<>();
+    for (int i = 0; i < NUM_TESTS; i++) {
+      incremental.setValue(ByteBasedInteger.of(random.nextInt()), i);
+    }
+    long total = 0;
+    for (int i = 0; i <= 256; i++) {
+      total += incremental.compactNext();
+    }
+    assertTrue(total > 0);
+    assertEquals(0, incremental.compact());
+    assertEquals(0, incremental.compactNext());
+  }
 }
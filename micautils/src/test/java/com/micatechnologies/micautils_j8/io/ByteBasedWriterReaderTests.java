@@ -0,0 +1,156 @@
+package com.micatechnologies.micautils_j8.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.micatechnologies.micautils_j8.types.ByteBasedChar;
+import com.micatechnologies.micautils_j8.types.ByteBasedDouble;
+import com.micatechnologies.micautils_j8.types.ByteBasedInteger;
+import com.micatechnologies.micautils_j8.types.ByteBasedLong;
+import com.micatechnologies.micautils_j8.types.ByteBasedSortableDouble;
+import com.micatechnologies.micautils_j8.types.ByteBasedSortableInteger;
+import com.micatechnologies.micautils_j8.types.ByteBasedString;
+import com.micatechnologies.micautils_j8.types.ByteBasedUUID;
+import com.micatechnologies.micautils_j8.types.ByteBasedVarInt;
+import com.micatechnologies.micautils_j8.types.ByteBasedVarLong;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.Pipe;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class ByteBasedWriterReaderTests {
+
+  private static final int NUM_TESTS = 10000; // Number of random values to test
+  private final Random random = new Random();
+
+  @Test
+  public void testRoundTripThroughFileChannel() throws IOException {
+    Path file = Files.createTempFile("micautils", ".bin");
+    try {
+      long seed = random.nextLong();
+      Random values = new Random(seed);
+      try (ByteBasedWriter writer = new ByteBasedWriter(
+          FileChannel.open(file, StandardOpenOption.WRITE))) {
+        for (int i = 0; i < NUM_TESTS; i++) {
+          writer.write(ByteBasedInteger.of(values.nextInt()));
+          writer.write(ByteBasedLong.of(values.nextLong()));
+          writer.write(ByteBasedDouble.of(values.nextDouble()));
+          writer.write(ByteBasedChar.of((char) values.nextInt()));
+          writer.write(ByteBasedSortableInteger.of(values.nextInt()));
+          writer.write(ByteBasedSortableDouble.of(values.nextGaussian()));
+          writer.write(ByteBasedVarInt.of(values.nextInt() >> values.nextInt(32)));
+          writer.write(ByteBasedVarLong.ofUnsigned(values.nextLong() >>> values.nextInt(64)));
+        }
+      }
+
+      values = new Random(seed);
+      try (ByteBasedReader reader = new ByteBasedReader(
+          FileChannel.open(file, StandardOpenOption.READ))) {
+        for (int i = 0; i < NUM_TESTS; i++) {
+          assertEquals(values.nextInt(), reader.readByteBasedInteger().getValue());
+          assertEquals(values.nextLong(), reader.readByteBasedLong().getValue());
+          assertEquals(values.nextDouble(), reader.readByteBasedDouble().getValue());
+          assertEquals((char) values.nextInt(), reader.readByteBasedChar().getValue());
+          assertEquals(values.nextInt(), reader.readByteBasedSortableInteger().getValue());
+          assertEquals(values.nextGaussian(), reader.readByteBasedSortableDouble().getValue());
+          assertEquals(values.nextInt() >> values.nextInt(32),
+              reader.readByteBasedVarInt(true).getValue());
+          assertEquals(values.nextLong() >>> values.nextInt(64),
+              reader.readByteBasedVarLong(false).getValue());
+        }
+        assertFalse(reader.hasRemaining());
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testSmallSuppliedBuffer() throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    ByteBuffer buffer = ByteBuffer.allocateDirect(ByteBasedWriter.MINIMUM_BUFFER_SIZE);
+    byte[] payload = new byte[100];
+    random.nextBytes(payload);
+
+    try (ByteBasedWriter writer = new ByteBasedWriter(Channels.newChannel(output), buffer)) {
+      writer.writeLengthPrefixed(ByteBasedLong.of(42L));
+      writer.writeBytes(payload, 0, payload.length);
+      writer.write(ByteBasedInteger.of(7));
+    }
+    assertEquals(1 + 8 + payload.length + 4, output.size());
+
+    try (ByteBasedReader reader = new ByteBasedReader(
+        Channels.newChannel(new ByteArrayInputStream(output.toByteArray())), buffer)) {
+      assertArrayEquals(ByteBasedLong.of(42L).toBytes(), reader.readLengthPrefixed());
+      byte[] read = new byte[payload.length];
+      reader.readBytes(read, 0, read.length);
+      assertArrayEquals(payload, read);
+      assertEquals(7, reader.readInt());
+      assertThrows(EOFException.class, reader::readInt);
+    }
+  }
+
+  @Test
+  public void testInvalidBufferSize() {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    assertThrows(IllegalArgumentException.class,
+        () -> new ByteBasedWriter(Channels.newChannel(output), 4));
+  }
+
+  @Test
+  public void testNonBlockingChannelRejected() throws IOException {
+    Pipe pipe = Pipe.open();
+    try {
+      pipe.sink().configureBlocking(false);
+      pipe.source().configureBlocking(false);
+      assertThrows(IllegalArgumentException.class, () -> new ByteBasedWriter(pipe.sink()));
+      assertThrows(IllegalArgumentException.class, () -> new ByteBasedReader(pipe.source()));
+    } finally {
+      pipe.sink().close();
+      pipe.source().close();
+    }
+  }
+
+  @Test
+  public void testShortVarIntsDoNotWaitForMoreBytes() throws IOException {
+    Pipe pipe = Pipe.open();
+    try (ByteBasedWriter writer = new ByteBasedWriter(pipe.sink());
+        ByteBasedReader reader = new ByteBasedReader(pipe.source())) {
+      writer.writeVarInt(1);
+      writer.writeVarLong(300);
+      writer.writeLengthPrefixed(ByteBasedString.of("ok"));
+      writer.flush();
+      assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+        assertEquals(1, reader.readVarInt());
+        assertEquals(300, reader.readVarLong());
+        assertEquals("ok", reader.readByteBasedString().getValue());
+      });
+    }
+  }
+
+  @Test
+  public void testUUIDAndString() throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    UUID uuid = UUID.randomUUID();
+    try (ByteBasedWriter writer = new ByteBasedWriter(Channels.newChannel(output))) {
+      writer.write(ByteBasedUUID.of(uuid));
+      writer.writeLengthPrefixed(ByteBasedString.of("caf\u00e9"));
+    }
+    try (ByteBasedReader reader = new ByteBasedReader(
+        Channels.newChannel(new ByteArrayInputStream(output.toByteArray())))) {
+      assertEquals(uuid, reader.readByteBasedUUID().getValue());
+      assertEquals("caf\u00e9", reader.readByteBasedString().getValue());
+      assertFalse(reader.hasRemaining());
+    }
+  }
+}
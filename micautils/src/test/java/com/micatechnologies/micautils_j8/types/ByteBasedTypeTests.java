@@ -1,12 +1,25 @@
 package com.micatechnologies.micautils_j8.types;
 
+import com.micatechnologies.micautils_j8.ByteArrayTool;
 import org.junit.jupiter.api.Test;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.UnsupportedTemporalTypeException;
+import java.util.Arrays;
 import java.util.Random;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ByteBasedTypeTests {
 
@@ -48,4 +61,366 @@ public class ByteBasedTypeTests {
             assertArrayEquals(expectedBytes, byteConvertibleLong.toBytes());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testByteConvertibleVarInt() {
+        for (int i = 0; i < NUM_TESTS; i++) {
+            int testInt = random.nextInt() >> random.nextInt(32);
+            ByteBasedVarInt signed = ByteBasedVarInt.of(testInt);
+            assertEquals(testInt, signed.getValue());
+            assertEquals(testInt, ByteArrayTool.decodeZigZag(ByteArrayTool.readVarInt(signed.toBytes(), 0)));
+            assertArrayEquals(ByteArrayTool.reverseBytes(signed.toBytes()), signed.toBytesReversed());
+
+            ByteBasedVarInt unsigned = ByteBasedVarInt.ofUnsigned(testInt);
+            assertEquals(testInt, ByteArrayTool.readVarInt(unsigned.toBytes(), 0));
+        }
+        assertEquals(1, ByteBasedVarInt.of(-64).toBytes().length);
+        assertEquals(5, ByteBasedVarInt.ofUnsigned(-1).toBytes().length);
+    }
+
+    @Test
+    public void testByteConvertibleVarLong() {
+        for (int i = 0; i < NUM_TESTS; i++) {
+            long testLong = random.nextLong() >> random.nextInt(64);
+            ByteBasedVarLong signed = ByteBasedVarLong.of(testLong);
+            assertEquals(testLong, signed.getValue());
+            assertEquals(testLong, ByteArrayTool.decodeZigZag(ByteArrayTool.readVarLong(signed.toBytes(), 0)));
+            assertArrayEquals(ByteArrayTool.reverseBytes(signed.toBytes()), signed.toBytesReversed());
+        }
+        assertEquals(1, ByteBasedVarLong.of(63L).toBytes().length);
+    }
+
+    @Test
+    public void testByteConvertibleSortable() {
+        for (int i = 0; i < NUM_TESTS; i++) {
+            long testLong = random.nextLong();
+            ByteBasedSortableLong sortableLong = ByteBasedSortableLong.of(testLong);
+            assertEquals(testLong, sortableLong.getValue());
+            assertArrayEquals(ByteBuffer.allocate(8).putLong(testLong ^ Long.MIN_VALUE).array(), sortableLong.toBytes());
+
+            double testDouble = random.nextGaussian();
+            ByteBasedSortableDouble sortableDouble = ByteBasedSortableDouble.of(testDouble);
+            assertEquals(testDouble, sortableDouble.getValue());
+            assertArrayEquals(ByteArrayTool.reverseBytes(sortableDouble.toBytes()), sortableDouble.toBytesReversed());
+        }
+    }
+
+    @Test
+    public void testInstanceCache() {
+        for (int i = -128; i <= 127; i++) {
+            assertSame(ByteBasedInteger.of(i), ByteBasedInteger.of(i));
+            assertSame(ByteBasedLong.of(i), ByteBasedLong.of(i));
+            assertSame(ByteBasedShort.of((short) i), ByteBasedShort.of((short) i));
+            assertSame(ByteBasedSortableInteger.of(i), ByteBasedSortableInteger.of(i));
+            assertEquals(i, ByteBasedInteger.of(i).getValue());
+            assertEquals(i, ByteBasedSortableLong.of(i).getValue());
+        }
+        assertSame(ByteBasedChar.of('a'), ByteBasedChar.of('a'));
+        assertNotSame(ByteBasedInteger.of(128), ByteBasedInteger.of(128));
+        assertEquals(Long.MIN_VALUE, ByteBasedLong.of(Long.MIN_VALUE).getValue());
+    }
+
+    @Test
+    public void testMemoizedByteBased() {
+        ByteBasedLong key = ByteBasedLong.of(random.nextLong());
+        MemoizedByteBased memoized = MemoizedByteBased.of(key);
+        assertSame(key, memoized.getDelegate());
+        assertSame(memoized, MemoizedByteBased.of(memoized));
+        assertArrayEquals(key.toBytes(), memoized.toBytes());
+        assertSame(memoized.toBytes(), memoized.toBytes());
+        assertArrayEquals(key.toBytesReversed(), memoized.toBytesReversed());
+        assertSame(memoized.toBytesReversed(), memoized.toBytesReversed());
+    }
+
+    @Test
+    public void testByteConvertibleUUID() {
+        for (int i = 0; i < NUM_TESTS; i++) {
+            UUID testUUID = UUID.randomUUID();
+            ByteBasedUUID byteBasedUUID = ByteBasedUUID.of(testUUID);
+            assertEquals(testUUID, byteBasedUUID.getValue());
+
+            byte[] expectedBytes = ByteBuffer.allocate(16).putLong(testUUID.getMostSignificantBits())
+                .putLong(testUUID.getLeastSignificantBits()).array();
+            assertArrayEquals(expectedBytes, byteBasedUUID.toBytes());
+            assertArrayEquals(ByteArrayTool.reverseBytes(expectedBytes), byteBasedUUID.toBytesReversed());
+            assertEquals(16, byteBasedUUID.byteLength());
+            for (int j = 0; j < 16; j++) {
+                assertEquals(expectedBytes[j], byteBasedUUID.byteAt(j));
+            }
+        }
+    }
+
+    @Test
+    public void testByteConvertibleString() {
+        String[] testStrings = {"", "ascii key", "caf\u00e9", "\u65e5\u672c\u8a9e", "emoji \ud83d\ude00", "\ud800"};
+        for (String testString : testStrings) {
+            ByteBasedString byteBasedString = ByteBasedString.of(testString);
+            assertEquals(testString, byteBasedString.getValue());
+
+            byte[] expectedBytes = testString.getBytes(StandardCharsets.UTF_8);
+            assertArrayEquals(expectedBytes, byteBasedString.toBytes());
+            assertArrayEquals(ByteArrayTool.reverseBytes(expectedBytes), byteBasedString.toBytesReversed());
+            assertEquals(expectedBytes.length, byteBasedString.byteLength());
+            for (int j = 0; j < expectedBytes.length; j++) {
+                assertEquals(expectedBytes[j], byteBasedString.byteAt(j));
+                assertEquals(expectedBytes[expectedBytes.length - 1 - j], byteBasedString.byteAtReversed(j));
+            }
+        }
+    }
+
+    @Test
+    public void testByteBasedSlices() {
+        for (int i = 0; i < NUM_TESTS; i++) {
+            byte[] frame = new byte[random.nextInt(32) + 1];
+            random.nextBytes(frame);
+            int offset = random.nextInt(frame.length);
+            int length = random.nextInt(frame.length - offset + 1);
+            byte[] expectedBytes = Arrays.copyOfRange(frame, offset, offset + length);
+
+            ByteBasedSlice slice = ByteBasedSlice.of(frame, offset, length);
+            ByteBuffer direct = ByteBuffer.allocateDirect(frame.length);
+            direct.put(frame).clear();
+            ByteBasedBufferSlice bufferSlice = ByteBasedBufferSlice.of(direct, offset, length);
+            ByteBasedBufferSlice heapSlice = ByteBasedBufferSlice.of(ByteBuffer.wrap(frame, offset, length));
+
+            for (ByteBasedSequence sequence : new ByteBasedSequence[]{slice, bufferSlice, heapSlice}) {
+                assertArrayEquals(expectedBytes, sequence.toBytes());
+                assertArrayEquals(ByteArrayTool.reverseBytes(expectedBytes), sequence.toBytesReversed());
+                assertEquals(length, sequence.byteLength());
+                for (int j = 0; j < length; j++) {
+                    assertEquals(expectedBytes[j], sequence.byteAt(j));
+                    assertEquals(expectedBytes[length - 1 - j], sequence.byteAtReversed(j));
+                }
+                assertThrows(IndexOutOfBoundsException.class, () -> sequence.byteAt(length));
+            }
+        }
+        byte[] whole = {1, 2, 3};
+        assertSame(whole, ByteBasedSlice.of(whole).toBytes());
+        assertThrows(IndexOutOfBoundsException.class, () -> ByteBasedSlice.of(whole, 2, 2));
+    }
+
+    @Test
+    public void testByteBasedTuple() {
+        for (int i = 0; i < NUM_TESTS; i++) {
+            int first = random.nextInt();
+            long second = random.nextLong();
+            String third = Long.toString(random.nextLong(), 36);
+            ByteBasedTuple tuple = ByteBasedTuple.of(
+                    ByteBasedInteger.of(first), ByteBasedLong.of(second), ByteBasedString.of(third));
+
+            byte[] thirdBytes = third.getBytes(StandardCharsets.UTF_8);
+            byte[] expectedBytes = ByteBuffer.allocate(12 + thirdBytes.length)
+                    .putInt(first).putLong(second).put(thirdBytes).array();
+            assertEquals(3, tuple.size());
+            assertArrayEquals(expectedBytes, tuple.toBytes());
+            assertArrayEquals(ByteArrayTool.reverseBytes(expectedBytes), tuple.toBytesReversed());
+            assertEquals(expectedBytes.length, tuple.byteLength());
+            for (int j = 0; j < expectedBytes.length; j++) {
+                assertEquals(expectedBytes[j], tuple.byteAt(j));
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> tuple.byteAt(expectedBytes.length));
+        }
+    }
+
+    @Test
+    public void testSeparatedByteBasedTupleOrder() {
+        byte[] escaped = ByteBasedTuple.ofSeparated(ByteBasedSlice.of(new byte[]{1, 0, 2})).toBytes();
+        assertArrayEquals(new byte[]{1, 0, (byte) 0xFF, 2, 0, 1}, escaped);
+        ByteBasedTuple zeros = ByteBasedTuple.ofSeparated(ByteBasedSlice.of(new byte[]{0, 0, 3, 0}),
+                ByteBasedSlice.of(new byte[]{4}));
+        byte[] expectedZeros = {0, (byte) 0xFF, 0, (byte) 0xFF, 3, 0, (byte) 0xFF, 0, 1, 4, 0, 1};
+        assertArrayEquals(expectedZeros, zeros.toBytes());
+        for (int j = 0; j < expectedZeros.length; j++) {
+            assertEquals(expectedZeros[j], zeros.byteAt(j));
+        }
+
+        String[][] tuples = {{"a", "b"}, {"a", "ba"}, {"a\u0000", "a"}, {"ab", ""}, {"", "z"}};
+        for (int i = 0; i < NUM_TESTS; i++) {
+            String[] a = tuples[random.nextInt(tuples.length)];
+            String[] b = tuples[random.nextInt(tuples.length)];
+            int expected = Integer.signum(a[0].equals(b[0]) ? a[1].compareTo(b[1]) : a[0].compareTo(b[0]));
+            byte[] aBytes = ByteBasedTuple.ofSeparated(ByteBasedString.of(a[0]), ByteBasedString.of(a[1])).toBytes();
+            byte[] bBytes = ByteBasedTuple.ofSeparated(ByteBasedString.of(b[0]), ByteBasedString.of(b[1])).toBytes();
+            assertEquals(expected, Integer.signum(ByteArrayTool.compare(aBytes, bBytes)));
+        }
+    }
+
+    @Test
+    public void testEqualsHashCodeAndCompareToMatchBytes() {
+        for (int i = 0; i < NUM_TESTS; i++) {
+            int int1 = random.nextInt(), int2 = random.nextBoolean() ? int1 : random.nextInt();
+            long long1 = random.nextLong(), long2 = random.nextBoolean() ? long1 : random.nextLong();
+            float float1 = randomFloat(), float2 = random.nextBoolean() ? float1 : randomFloat();
+            double double1 = randomDouble(), double2 = random.nextBoolean() ? double1 : randomDouble();
+            String string1 = randomString(), string2 = random.nextBoolean() ? string1 : randomString();
+
+            assertConsistentWithBytes(ByteBasedChar.of((char) int1), ByteBasedChar.of((char) int2));
+            assertConsistentWithBytes(ByteBasedShort.of((short) int1), ByteBasedShort.of((short) int2));
+            assertConsistentWithBytes(new ByteBasedInteger(int1), new ByteBasedInteger(int2));
+            assertConsistentWithBytes(new ByteBasedLong(long1), new ByteBasedLong(long2));
+            assertConsistentWithBytes(ByteBasedFloat.of(float1), ByteBasedFloat.of(float2));
+            assertConsistentWithBytes(ByteBasedDouble.of(double1), ByteBasedDouble.of(double2));
+            assertConsistentWithBytes(ByteBasedSortableInteger.of(int1), ByteBasedSortableInteger.of(int2));
+            assertConsistentWithBytes(ByteBasedSortableLong.of(long1), ByteBasedSortableLong.of(long2));
+            assertConsistentWithBytes(ByteBasedSortableFloat.of(float1), ByteBasedSortableFloat.of(float2));
+            assertConsistentWithBytes(ByteBasedSortableDouble.of(double1), ByteBasedSortableDouble.of(double2));
+            assertConsistentWithBytes(ByteBasedVarInt.of(int1 >> random.nextInt(32)),
+                    ByteBasedVarInt.of(int2 >> random.nextInt(32)));
+            assertConsistentWithBytes(ByteBasedVarLong.ofUnsigned(long1 >>> random.nextInt(64)),
+                    ByteBasedVarLong.ofUnsigned(long2 >>> random.nextInt(64)));
+            assertConsistentWithBytes(ByteBasedUUID.of(long1, long2), ByteBasedUUID.of(long2, long1));
+            assertConsistentWithBytes(ByteBasedString.of(string1), ByteBasedString.of(string2));
+
+            byte[] bytes1 = string1.getBytes(StandardCharsets.UTF_8);
+            byte[] bytes2 = string2.getBytes(StandardCharsets.UTF_8);
+            assertConsistentWithBytes(ByteBasedSlice.of(bytes1), ByteBasedSlice.of(bytes2.clone()));
+            assertConsistentWithBytes(ByteBasedBufferSlice.of(ByteBuffer.wrap(bytes1)),
+                    ByteBasedBufferSlice.of(ByteBuffer.wrap(bytes2)));
+            assertConsistentWithBytes(ByteBasedTuple.of(ByteBasedInteger.of(int1), ByteBasedString.of(string1)),
+                    ByteBasedTuple.of(ByteBasedInteger.of(int2), ByteBasedString.of(string2)));
+        }
+        assertArrayEquals(ByteBasedVarInt.of(-1).toBytes(), ByteBasedVarInt.ofUnsigned(1).toBytes());
+        assertNotEquals(ByteBasedVarInt.of(-1), ByteBasedVarInt.ofUnsigned(1));
+        assertTrue(ByteBasedVarInt.ofUnsigned(1).compareTo(ByteBasedVarInt.of(-1)) < 0);
+        assertNotEquals(ByteBasedVarLong.of(-1), ByteBasedVarLong.ofUnsigned(1));
+        assertEquals(MemoizedByteBased.of(new ByteBasedLong(1L << 40)), MemoizedByteBased.of(new ByteBasedLong(1L << 40)));
+    }
+
+    @Test
+    public void testWriteToAndByteAtMatchToBytes() {
+        for (int i = 0; i < NUM_TESTS; i++) {
+            int intValue = random.nextInt();
+            long longValue = random.nextLong();
+            String string = randomString();
+            ByteBased[] values = {
+                    ByteBasedChar.of((char) intValue), ByteBasedShort.of((short) intValue),
+                    ByteBasedInteger.of(intValue), ByteBasedLong.of(longValue),
+                    ByteBasedFloat.of(randomFloat()), ByteBasedDouble.of(randomDouble()),
+                    ByteBasedSortableInteger.of(intValue), ByteBasedSortableLong.of(longValue),
+                    ByteBasedSortableFloat.of(randomFloat()), ByteBasedSortableDouble.of(randomDouble()),
+                    ByteBasedVarInt.of(intValue >> random.nextInt(32)),
+                    ByteBasedVarLong.ofUnsigned(longValue >>> random.nextInt(64)),
+                    ByteBasedUUID.of(longValue, intValue), ByteBasedString.of(string),
+                    ByteBasedSlice.of(string.getBytes(StandardCharsets.UTF_8)),
+                    ByteBasedBufferSlice.of(ByteBuffer.wrap(string.getBytes(StandardCharsets.UTF_8))),
+                    ByteBasedTuple.of(ByteBasedInteger.of(intValue), ByteBasedString.of(string)),
+                    ByteBasedTuple.ofSeparated(ByteBasedString.of(string), ByteBasedLong.of(longValue)),
+                    MemoizedByteBased.of(ByteBasedLong.of(longValue)),
+                    new MutableByteBasedInteger(intValue), new MutableByteBasedLong().set(longValue),
+                    ByteBasedInstant.of(randomInstant(), ChronoUnit.NANOS), ByteBasedInstant.of(randomInstant())
+            };
+            for (ByteBased value : values) {
+                byte[] expectedBytes = value.toBytes();
+                if (value instanceof ByteBasedSequence) {
+                    ByteBasedSequence sequence = (ByteBasedSequence) value;
+                    for (int j = 0; j < expectedBytes.length; j++) {
+                        assertEquals(expectedBytes[j], sequence.byteAt(j));
+                        assertEquals(expectedBytes[expectedBytes.length - 1 - j], sequence.byteAtReversed(j));
+                    }
+                    assertThrows(IndexOutOfBoundsException.class, () -> sequence.byteAt(expectedBytes.length));
+                }
+                byte[] expectedReversed = value.toBytesReversed();
+                int offset = random.nextInt(4);
+                assertEquals(expectedBytes.length, value.byteLength());
+
+                byte[] dst = new byte[offset + expectedBytes.length];
+                assertEquals(expectedBytes.length, value.writeTo(dst, offset));
+                assertArrayEquals(expectedBytes, Arrays.copyOfRange(dst, offset, dst.length));
+                assertEquals(expectedBytes.length, value.writeReversedTo(dst, offset));
+                assertArrayEquals(expectedReversed, Arrays.copyOfRange(dst, offset, dst.length));
+
+                ByteBuffer buffer = ByteBuffer.allocate(offset + expectedBytes.length)
+                        .order(random.nextBoolean() ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+                buffer.position(offset);
+                assertEquals(expectedBytes.length, value.writeTo(buffer));
+                assertEquals(buffer.capacity(), buffer.position());
+                assertArrayEquals(expectedBytes, Arrays.copyOfRange(buffer.array(), offset, dst.length));
+                buffer.position(offset);
+                assertEquals(expectedBytes.length, value.writeReversedTo(buffer));
+                assertArrayEquals(expectedReversed, Arrays.copyOfRange(buffer.array(), offset, dst.length));
+            }
+        }
+    }
+
+    @Test
+    public void testByteBasedInstant() {
+        ChronoUnit[] units = {ChronoUnit.NANOS, ChronoUnit.MICROS, ChronoUnit.MILLIS, ChronoUnit.SECONDS,
+                ChronoUnit.MINUTES, ChronoUnit.HOURS, ChronoUnit.HALF_DAYS, ChronoUnit.DAYS};
+        for (int i = 0; i < NUM_TESTS; i++) {
+            ChronoUnit unit = units[random.nextInt(units.length)];
+            Instant instant1 = randomInstant();
+            Instant instant2 = random.nextBoolean() ? instant1.plusNanos(random.nextInt(2_000_000)) : randomInstant();
+            ByteBasedInstant key1 = ByteBasedInstant.of(instant1, unit);
+            ByteBasedInstant key2 = ByteBasedInstant.of(instant2, unit);
+
+            assertEquals(instant1.truncatedTo(unit), key1.getValue());
+            assertEquals(unit, key1.getUnit());
+            assertEquals(unit == ChronoUnit.NANOS ? 12 : 8, key1.toBytes().length);
+            assertEquals(Integer.signum(instant1.truncatedTo(unit).compareTo(instant2.truncatedTo(unit))),
+                    Integer.signum(ByteArrayTool.compare(key1.toBytes(), key2.toBytes())));
+            assertConsistentWithBytes(key1, key2);
+        }
+        assertEquals(Instant.ofEpochMilli(-1), ByteBasedInstant.ofEpochMilli(-1).getValue());
+        ByteBasedInstant millis = ByteBasedInstant.ofEpochMilli(1_000);
+        ByteBasedInstant micros = ByteBasedInstant.of(Instant.ofEpochSecond(0, 1_000_000), ChronoUnit.MICROS);
+        assertArrayEquals(millis.toBytes(), micros.toBytes());
+        assertNotEquals(millis, micros);
+        assertTrue(millis.compareTo(micros) > 0);
+        assertTrue(micros.compareTo(millis) < 0);
+        assertEquals(ByteBasedInstant.of(Instant.ofEpochSecond(59)), ByteBasedInstant.ofEpochMilli(59_000));
+        assertEquals(ByteBasedInstant.ofEpochSecond(3_599), ByteBasedInstant.of(Instant.ofEpochSecond(3_599), ChronoUnit.SECONDS));
+        assertThrows(UnsupportedTemporalTypeException.class, () -> ByteBasedInstant.of(Instant.EPOCH, ChronoUnit.WEEKS));
+        assertThrows(ArithmeticException.class, () -> ByteBasedInstant.of(Instant.MAX, ChronoUnit.MILLIS));
+    }
+
+    private Instant randomInstant() {
+        long seconds = random.nextInt(8) == 0 ? random.nextLong() % 100_000_000_000L : random.nextInt() / 4;
+        return Instant.ofEpochSecond(seconds, random.nextInt(1_000_000_000));
+    }
+
+    private static <T extends ByteBased & Comparable<T>> void assertConsistentWithBytes(T a, T b) {
+        int expected = Integer.signum(ByteArrayTool.compare(a.toBytes(), b.toBytes()));
+        assertEquals(expected, Integer.signum(a.compareTo(b)));
+        assertEquals(-expected, Integer.signum(b.compareTo(a)));
+        assertEquals(expected == 0, a.equals(b));
+        if (expected == 0) {
+            assertEquals(a.hashCode(), b.hashCode());
+        }
+    }
+
+    private float randomFloat() {
+        switch (random.nextInt(8)) {
+            case 0:
+                return Float.NaN;
+            case 1:
+                return -0.0f;
+            case 2:
+                return Float.intBitsToFloat(random.nextInt());
+            default:
+                return (random.nextFloat() - 0.5f) * 1000f;
+        }
+    }
+
+    private double randomDouble() {
+        switch (random.nextInt(8)) {
+            case 0:
+                return Double.NaN;
+            case 1:
+                return -0.0d;
+            case 2:
+                return Double.longBitsToDouble(random.nextLong());
+            default:
+                return (random.nextDouble() - 0.5d) * 1000d;
+        }
+    }
+
+    private String randomString() {
+        StringBuilder builder = new StringBuilder();
+        int length = random.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            builder.appendCodePoint(random.nextBoolean() ? 'a' + random.nextInt(3)
+                    : random.nextInt(0x20000) & ~0x800);
+        }
+        return builder.toString();
+    }
+}
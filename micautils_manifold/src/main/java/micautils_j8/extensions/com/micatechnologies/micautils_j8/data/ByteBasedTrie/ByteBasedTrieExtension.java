@@ -8,6 +8,9 @@ import com.micatechnologies.micautils_j8.types.ByteBasedFloat;
 import com.micatechnologies.micautils_j8.types.ByteBasedInteger;
 import com.micatechnologies.micautils_j8.types.ByteBasedLong;
 import com.micatechnologies.micautils_j8.types.ByteBasedShort;
+import com.micatechnologies.micautils_j8.types.ByteBasedString;
+import com.micatechnologies.micautils_j8.types.ByteBasedUUID;
+import java.util.UUID;
 import manifold.ext.rt.api.Extension;
 import manifold.ext.rt.api.This;
 
@@ -23,7 +26,7 @@ import manifold.ext.rt.api.This;
  * trie[someByteBasedKey] = "newValue";
  * </pre>
  *
- * @version 1.0.0
+ * @version 1.1.0
  * @since 1.0.0
  */
 @Extension
@@ -302,4 +305,82 @@ public class ByteBasedTrieExtension {
     return thiz.setValue(ByteBasedShort.of(key), value);
   }
 
-}
\ No newline at end of file
+  /**
+   * Manifold extension method for {@link ByteBasedTrie#getValue(ByteBased)} which facilitates the
+   * overloading of the {@code []} operator.
+   *
+   * @param <T>  the type of the value to be retrieved/returned
+   * @param thiz the {@link ByteBasedTrie} instance on which this method is called
+   * @param key  the key whose associated value is to be returned
+   *
+   * @return the value associated with the given key, or {@code null} if the trie contains no
+   *     mapping for the key
+   *
+   * @since 1.1.0
+   */
+  public static <T> T get(
+      @This
+      ByteBasedTrie<T> thiz, String key) {
+    return thiz.getValue(ByteBasedString.of(key));
+  }
+
+  /**
+   * Manifold extension method for {@link ByteBasedTrie#setValue(ByteBased, Object)} which
+   * facilitates the overloading of the {@code []} operator.
+   *
+   * @param <T>   the type of the value to be set
+   * @param thiz  the {@link ByteBasedTrie} instance on which this method is called
+   * @param key   the key with which the specified value is to be associated
+   * @param value the value to be associated with the specified key
+   *
+   * @return the previous value associated with the key, or {@code null} if there was no mapping for
+   *     the key
+   *
+   * @since 1.1.0
+   */
+  public static <T> T set(
+      @This
+      ByteBasedTrie<T> thiz, String key, T value) {
+    return thiz.setValue(ByteBasedString.of(key), value);
+  }
+
+  /**
+   * Manifold extension method for {@link ByteBasedTrie#getValue(ByteBased)} which facilitates the
+   * overloading of the {@code []} operator.
+   *
+   * @param <T>  the type of the value to be retrieved/returned
+   * @param thiz the {@link ByteBasedTrie} instance on which this method is called
+   * @param key  the key whose associated value is to be returned
+   *
+   * @return the value associated with the given key, or {@code null} if the trie contains no
+   *     mapping for the key
+   *
+   * @since 1.1.0
+   */
+  public static <T> T get(
+      @This
+      ByteBasedTrie<T> thiz, UUID key) {
+    return thiz.getValue(ByteBasedUUID.of(key));
+  }
+
+  /**
+   * Manifold extension method for {@link ByteBasedTrie#setValue(ByteBased, Object)} which
+   * facilitates the overloading of the {@code []} operator.
+   *
+   * @param <T>   the type of the value to be set
+   * @param thiz  the {@link ByteBasedTrie} instance on which this method is called
+   * @param key   the key with which the specified value is to be associated
+   * @param value the value to be associated with the specified key
+   *
+   * @return the previous value associated with the key, or {@code null} if there was no mapping for
+   *     the key
+   *
+   * @since 1.1.0
+   */
+  public static <T> T set(
+      @This
+      ByteBasedTrie<T> thiz, UUID key, T value) {
+    return thiz.setValue(ByteBasedUUID.of(key), value);
+  }
+
+}